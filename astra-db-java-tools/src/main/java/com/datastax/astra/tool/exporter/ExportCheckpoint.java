@@ -0,0 +1,122 @@
+package com.datastax.astra.tool.exporter;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Page state and file offset of each partition of an export.
+ */
+@Slf4j
+class ExportCheckpoint {
+
+    /** Checkpoint file, can be null. */
+    private final Path checkpointFile;
+
+    /** Saved values. */
+    private final Properties values = new Properties();
+
+    /**
+     * Create a checkpoint, resuming from the checkpoint file if it exists.
+     *
+     * @param checkpointFile
+     *      checkpoint file, can be null
+     */
+    ExportCheckpoint(String checkpointFile) {
+        this.checkpointFile = checkpointFile == null ? null : Paths.get(checkpointFile);
+        if (this.checkpointFile != null && Files.exists(this.checkpointFile)) {
+            try (Reader reader = Files.newBufferedReader(this.checkpointFile, StandardCharsets.UTF_8)) {
+                values.load(reader);
+                log.info("Resuming export from checkpoint {}", checkpointFile);
+            } catch (IOException e) {
+                log.warn("Cannot read checkpoint {}: {}", checkpointFile, e.getMessage());
+            }
+        }
+    }
+
+    synchronized String getPageState(int partition) {
+        return values.getProperty(key(partition, "pageState"));
+    }
+
+    synchronized long getOffset(int partition) {
+        return Long.parseLong(values.getProperty(key(partition, "offset"), "0"));
+    }
+
+    synchronized long getDocumentCount(int partition) {
+        return Long.parseLong(values.getProperty(key(partition, "documents"), "0"));
+    }
+
+    synchronized boolean isDone(int partition) {
+        return Boolean.parseBoolean(values.getProperty(key(partition, "done"), "false"));
+    }
+
+    /**
+     * Columns of the CSV file of a partition, inferred from its first document.
+     *
+     * @param partition
+     *      partition index
+     * @return
+     *      columns as a json array, null if not known yet
+     */
+    synchronized String getColumns(int partition) {
+        return values.getProperty(key(partition, "columns"));
+    }
+
+    synchronized void setColumns(int partition, String columns) {
+        values.setProperty(key(partition, "columns"), columns);
+    }
+
+    /**
+     * Record the progress of a partition and save the checkpoint file.
+     *
+     * @param partition
+     *      partition index
+     * @param pageState
+     *      page state of the next page, null when the partition is exported
+     * @param offset
+     *      offset of the file after the last document exported
+     * @param documents
+     *      number of documents exported
+     */
+    synchronized void update(int partition, String pageState, long offset, long documents) {
+        if (pageState == null) {
+            values.remove(key(partition, "pageState"));
+            values.setProperty(key(partition, "done"), "true");
+        } else {
+            values.setProperty(key(partition, "pageState"), pageState);
+        }
+        values.setProperty(key(partition, "offset"), String.valueOf(offset));
+        values.setProperty(key(partition, "documents"), String.valueOf(documents));
+        save();
+    }
+
+    /**
+     * Write the checkpoint file.
+     */
+    private void save() {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                values.store(writer, "export checkpoint");
+            }
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot write checkpoint {}: {}", checkpointFile, e.getMessage());
+        }
+    }
+
+    private static String key(int partition, String name) {
+        return "partition." + partition + "." + name;
+    }
+}
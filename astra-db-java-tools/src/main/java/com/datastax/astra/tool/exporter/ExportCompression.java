@@ -0,0 +1,29 @@
+package com.datastax.astra.tool.exporter;
+
+/**
+ * Compression of the exported files.
+ */
+public enum ExportCompression {
+
+    /** No compression. */
+    NONE(""),
+
+    /** Gzip, a new gzip member is started at each checkpoint so an export can be resumed. */
+    GZIP(".gz");
+
+    /** File extension suffix. */
+    private final String extension;
+
+    ExportCompression(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets extension
+     *
+     * @return value of extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
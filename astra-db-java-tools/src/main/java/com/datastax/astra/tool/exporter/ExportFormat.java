@@ -0,0 +1,29 @@
+package com.datastax.astra.tool.exporter;
+
+/**
+ * Format of the exported files.
+ */
+public enum ExportFormat {
+
+    /** One JSON document per line. */
+    NDJSON("ndjson"),
+
+    /** Comma separated values with a header row, nested values are written as JSON. */
+    CSV("csv");
+
+    /** File extension. */
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Gets extension
+     *
+     * @return value of extension
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,144 @@
+package com.datastax.astra.tool.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffered output of an exported file, optionally gzip compressed.
+ * <p>
+ * Records are copied in a direct buffer flushed to the file channel when full. With gzip, each checkpoint ends the
+ * current gzip member: the file is valid at every checkpoint offset (concatenated members) and can be truncated to
+ * it to resume an export.
+ * </p>
+ */
+class ExportSink implements Closeable {
+
+    /** File. */
+    private final FileChannel fileChannel;
+
+    /** Compress the output. */
+    private final boolean gzip;
+
+    /** Records not yet written. */
+    private final ByteBuffer buffer;
+
+    /** Current gzip member, created on first write after a checkpoint. */
+    private GZIPOutputStream gzipMember;
+
+    /** Destination of the buffer. */
+    private WritableByteChannel target;
+
+    /**
+     * Open the file, truncated to the offset of the last checkpoint.
+     *
+     * @param path
+     *      file path
+     * @param compression
+     *      compression
+     * @param bufferSize
+     *      size of the write buffer
+     * @param resumeOffset
+     *      offset of the last checkpoint, 0 for a new export
+     * @throws IOException
+     *      cannot open the file
+     */
+    ExportSink(Path path, ExportCompression compression, int bufferSize, long resumeOffset) throws IOException {
+        this.fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.fileChannel.truncate(resumeOffset);
+        this.fileChannel.position(resumeOffset);
+        this.gzip   = compression == ExportCompression.GZIP;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.target = gzip ? null : fileChannel;
+    }
+
+    /**
+     * Write a record.
+     *
+     * @param bytes
+     *      encoded record
+     * @throws IOException
+     *      cannot write the file
+     */
+    void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (bytes.length > buffer.capacity()) {
+            writeFully(ByteBuffer.wrap(bytes));
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Write all pending records to the file.
+     *
+     * @return
+     *      offset of the file to resume from
+     * @throws IOException
+     *      cannot write the file
+     */
+    long checkpoint() throws IOException {
+        flushBuffer();
+        if (gzipMember != null) {
+            gzipMember.finish();
+            gzipMember = null;
+            target     = null;
+        }
+        return fileChannel.position();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close() throws IOException {
+        try {
+            checkpoint();
+            fileChannel.force(false);
+        } finally {
+            fileChannel.close();
+        }
+    }
+
+    /**
+     * Write the buffer.
+     *
+     * @throws IOException
+     *      cannot write the file
+     */
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Write bytes to the file, through the gzip member if any.
+     *
+     * @param bytes
+     *      bytes to write
+     * @throws IOException
+     *      cannot write the file
+     */
+    private void writeFully(ByteBuffer bytes) throws IOException {
+        if (!bytes.hasRemaining()) {
+            return;
+        }
+        if (target == null) {
+            // closing the member stream would close the file channel, members are only finished
+            OutputStream fileStream = Channels.newOutputStream(fileChannel);
+            gzipMember = new GZIPOutputStream(fileStream, 64 * 1024);
+            target     = Channels.newChannel(gzipMember);
+        }
+        while (bytes.hasRemaining()) {
+            target.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,415 @@
+package com.datastax.astra.tool.exporter;
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.Projection;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.command.AbstractCommandRunner;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Export a collection or a table to NDJSON or CSV files.
+ * <p>
+ * Each partition (a filter) is scanned by its own worker into its own file. The next page is requested as soon
+ * as the page state is known, while the current page is written. Documents are written as returned by the
+ * Data API, without mapping them to beans. The page state and the file offset of each partition are saved
+ * periodically to the checkpoint file so an interrupted export can be resumed.
+ * </p>
+ * <pre>
+ * {@code
+ * Exporter.export(collection, ExporterSettings.builder()
+ *   .output("/data/snapshots/products")
+ *   .compression(ExportCompression.GZIP)
+ *   .checkpointFile("/data/snapshots/products.checkpoint")
+ *   .build());
+ * }
+ * </pre>
+ */
+@Slf4j
+public class Exporter {
+
+    /** Settings. */
+    private final ExporterSettings settings;
+
+    /** Collection or table. */
+    private final AbstractCommandRunner<?> source;
+
+    /** Serializer of the source. */
+    private final DataAPISerializer serializer;
+
+    /** Partitions to export. */
+    private final List<Filter> partitions;
+
+    /** Progress. */
+    private final ExportCheckpoint checkpoint;
+
+    /** Documents exported. */
+    private final AtomicLong documentCount = new AtomicLong();
+
+    /** Pages read. */
+    private final AtomicLong pageCount = new AtomicLong();
+
+    /**
+     * Export a collection.
+     *
+     * @param collection
+     *      collection to export
+     * @param settings
+     *      settings
+     * @return
+     *      number of documents exported
+     * @throws Exception
+     *      error during the export
+     */
+    public static long export(Collection<?> collection, ExporterSettings settings) throws Exception {
+        return export(collection, settings, Collections.singletonList(null));
+    }
+
+    /**
+     * Export a collection, each partition in its own file.
+     *
+     * @param collection
+     *      collection to export
+     * @param settings
+     *      settings
+     * @param partitions
+     *      filters splitting the collection, a null filter exports everything
+     * @return
+     *      number of documents exported
+     * @throws Exception
+     *      error during the export
+     */
+    public static long export(Collection<?> collection, ExporterSettings settings, List<Filter> partitions) throws Exception {
+        return new Exporter(collection, collection.getOptions().getSerializer(), settings, partitions).run();
+    }
+
+    /**
+     * Export a table.
+     *
+     * @param table
+     *      table to export
+     * @param settings
+     *      settings
+     * @return
+     *      number of rows exported
+     * @throws Exception
+     *      error during the export
+     */
+    public static long export(Table<?> table, ExporterSettings settings) throws Exception {
+        return export(table, settings, Collections.singletonList(null));
+    }
+
+    /**
+     * Export a table, each partition in its own file.
+     *
+     * @param table
+     *      table to export
+     * @param settings
+     *      settings
+     * @param partitions
+     *      filters splitting the table, a null filter exports everything
+     * @return
+     *      number of rows exported
+     * @throws Exception
+     *      error during the export
+     */
+    public static long export(Table<?> table, ExporterSettings settings, List<Filter> partitions) throws Exception {
+        return new Exporter(table, table.getOptions().getSerializer(), settings, partitions).run();
+    }
+
+    /**
+     * Exporter for a source.
+     *
+     * @param source
+     *      collection or table
+     * @param serializer
+     *      serializer of the source
+     * @param settings
+     *      settings
+     * @param partitions
+     *      filters splitting the source
+     */
+    private Exporter(AbstractCommandRunner<?> source, DataAPISerializer serializer,
+                     ExporterSettings settings, List<Filter> partitions) {
+        if (settings.output == null) {
+            throw new IllegalArgumentException("output is required");
+        }
+        if (partitions == null || partitions.isEmpty()) {
+            throw new IllegalArgumentException("at least one partition is required");
+        }
+        this.source     = source;
+        this.serializer = serializer;
+        this.settings   = settings;
+        this.partitions = partitions;
+        this.checkpoint = new ExportCheckpoint(settings.checkpointFile);
+    }
+
+    /**
+     * Export all partitions and wait for completion.
+     *
+     * @return
+     *      number of documents exported
+     * @throws Exception
+     *      error during the export
+     */
+    private long run() throws Exception {
+        long start = System.currentTimeMillis();
+        int workers = Math.min(settings.threadPoolSize, partitions.size());
+        ExecutorService exporters = Executors.newFixedThreadPool(workers);
+        // one prefetch in flight per worker
+        ExecutorService fetchers = Executors.newFixedThreadPool(workers);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> log.info("Exporting to {}: {} documents, {} pages, {} docs/s",
+                        settings.output, documentCount.get(), pageCount.get(),
+                        documentCount.get() * 1000 / Math.max(1, System.currentTimeMillis() - start)),
+                settings.checkpointIntervalSeconds, settings.checkpointIntervalSeconds, TimeUnit.SECONDS);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < partitions.size(); i++) {
+                final int partition = i;
+                tasks.add(exporters.submit(() -> exportPartition(partition, fetchers)));
+            }
+            long deadline = start + TimeUnit.SECONDS.toMillis(settings.timeoutSeconds);
+            for (Future<?> task : tasks) {
+                task.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        } finally {
+            exporters.shutdownNow();
+            fetchers.shutdownNow();
+            reporter.shutdownNow();
+            log.info("Exported {} documents to {} in {} ms", documentCount.get(), settings.output,
+                    System.currentTimeMillis() - start);
+        }
+        return documentCount.get();
+    }
+
+    /**
+     * Export a partition into its own file.
+     *
+     * @param partition
+     *      partition index
+     * @param fetchers
+     *      executor prefetching pages
+     * @return
+     *      null
+     * @throws IOException
+     *      error writing the file
+     */
+    private Void exportPartition(int partition, ExecutorService fetchers) throws IOException {
+        if (checkpoint.isDone(partition)) {
+            log.info("Partition {} already exported", partition);
+            return null;
+        }
+        Filter filter = partitions.get(partition);
+        String pageState = checkpoint.getPageState(partition);
+        long offset = checkpoint.getOffset(partition);
+        long documents = checkpoint.getDocumentCount(partition);
+        long lastCheckpoint = System.currentTimeMillis();
+        List<String> columns = getCsvColumns(partition);
+        // columns of the first document, documents with other fields cannot be written
+        boolean inferredColumns = settings.format == ExportFormat.CSV && getConfiguredCsvColumns() == null;
+
+        try (ExportSink sink = new ExportSink(Paths.get(getFileName(partition)),
+                settings.compression, settings.bufferSize, offset)) {
+            if (columns != null && offset == 0) {
+                sink.write(toCsvLine(columns, columns));
+            }
+            CompletableFuture<DataAPIResponse> nextPage = fetch(filter, pageState, fetchers);
+            while (nextPage != null) {
+                DataAPIResponse page = nextPage.join();
+                pageCount.incrementAndGet();
+                pageState = page.getData().getNextPageState();
+                // Prefetch while the current page is written
+                nextPage = pageState == null ? null : fetch(filter, pageState, fetchers);
+                for (Document doc : page.getData().getDocuments()) {
+                    if (settings.format == ExportFormat.CSV && columns == null) {
+                        columns = new ArrayList<>(doc.getDocumentMap().keySet());
+                        checkpoint.setColumns(partition, serializer.marshall(columns));
+                        sink.write(toCsvLine(columns, columns));
+                    }
+                    if (inferredColumns) {
+                        checkColumns(doc, columns);
+                    }
+                    sink.write(encode(doc, columns));
+                    documents++;
+                    documentCount.incrementAndGet();
+                }
+                if (pageState != null && System.currentTimeMillis() - lastCheckpoint > settings.checkpointIntervalSeconds * 1000L) {
+                    checkpoint.update(partition, pageState, sink.checkpoint(), documents);
+                    lastCheckpoint = System.currentTimeMillis();
+                }
+            }
+            checkpoint.update(partition, null, sink.checkpoint(), documents);
+        }
+        return null;
+    }
+
+    /**
+     * Columns of the CSV file of a partition.
+     *
+     * @param partition
+     *      partition index
+     * @return
+     *      columns, null if they are not known before the first document
+     */
+    private List<String> getCsvColumns(int partition) {
+        if (settings.format != ExportFormat.CSV) {
+            return null;
+        }
+        String saved = checkpoint.getColumns(partition);
+        if (saved != null) {
+            // json array, field names may contain commas
+            return Arrays.asList(serializer.unMarshallBean(saved, String[].class));
+        }
+        return getConfiguredCsvColumns();
+    }
+
+    /**
+     * Columns of the CSV files set in the settings or from the fields included by the projection.
+     *
+     * @return
+     *      columns, null if they must be read from the first document
+     */
+    private List<String> getConfiguredCsvColumns() {
+        List<String> columns = settings.csvColumns;
+        if (columns == null && settings.projection != null) {
+            List<String> included = Arrays.stream(settings.projection)
+                    .filter(p -> Boolean.TRUE.equals(p.getPresent()))
+                    .map(Projection::getField)
+                    .toList();
+            columns = included.isEmpty() ? null : included;
+        }
+        return columns;
+    }
+
+    /**
+     * Columns read from the first document: fail on a field not in the header rather than dropping its value.
+     *
+     * @param doc
+     *      document to export
+     * @param columns
+     *      columns of the file
+     */
+    private static void checkColumns(Document doc, List<String> columns) {
+        for (String field : doc.getDocumentMap().keySet()) {
+            if (!columns.contains(field)) {
+                throw new IllegalStateException("Field '" + field + "' is not in the CSV header " + columns
+                        + " built from the first document, set csvColumns or a projection including the fields to export");
+            }
+        }
+    }
+
+    /**
+     * Name of the file of a partition.
+     *
+     * @param partition
+     *      partition index
+     * @return
+     *      file name
+     */
+    private String getFileName(int partition) {
+        String suffix = partitions.size() > 1 ? String.format("-%03d", partition) : "";
+        return settings.output + suffix + "." + settings.format.getExtension() + settings.compression.getExtension();
+    }
+
+    /**
+     * Request a page asynchronously.
+     *
+     * @param filter
+     *      partition filter
+     * @param pageState
+     *      page to fetch, null for the first page
+     * @param fetchers
+     *      executor
+     * @return
+     *      the page
+     */
+    private CompletableFuture<DataAPIResponse> fetch(Filter filter, String pageState, ExecutorService fetchers) {
+        Command find = Command.create("find")
+                .withFilter(filter)
+                .withProjection(settings.projection)
+                .withOptions(new Document().appendIfNotNull("pageState", pageState));
+        return CompletableFuture.supplyAsync(() -> source.runCommand(find), fetchers);
+    }
+
+    /**
+     * Encode a document as a line of the output.
+     *
+     * @param doc
+     *      document as returned by the Data API
+     * @param columns
+     *      columns for CSV
+     * @return
+     *      bytes of the line
+     */
+    private byte[] encode(Document doc, List<String> columns) {
+        if (settings.format == ExportFormat.NDJSON) {
+            return (serializer.marshall(doc.getDocumentMap()) + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+        Map<String, Object> values = doc.getDocumentMap();
+        List<String> line = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            Object value = values.get(column);
+            if (value == null) {
+                line.add("");
+            } else if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+                line.add(value.toString());
+            } else {
+                line.add(serializer.marshall(value));
+            }
+        }
+        return toCsvLine(line, columns);
+    }
+
+    /**
+     * Build a CSV line, quoting values when needed.
+     *
+     * @param values
+     *      values of the line
+     * @param columns
+     *      columns of the file
+     * @return
+     *      bytes of the line
+     */
+    private static byte[] toCsvLine(List<String> values, List<String> columns) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            String value = values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                sb.append('"').append(value.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(value);
+            }
+        }
+        return sb.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
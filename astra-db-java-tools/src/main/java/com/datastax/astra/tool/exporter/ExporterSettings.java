@@ -0,0 +1,60 @@
+package com.datastax.astra.tool.exporter;
+
+import com.datastax.astra.client.core.query.Projection;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Settings for the Exporter.
+ */
+@Builder
+public class ExporterSettings {
+
+    private static final int THREAD_POOL_SIZE = 4;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final int CHECKPOINT_INTERVAL_SECONDS = 10;
+
+    private static final int TIMEOUT = 24 * 3600;
+
+    /** Output file path without extension, partitions are suffixed with their index. */
+    String output;
+
+    /** Format of the files. */
+    @Builder.Default
+    ExportFormat format = ExportFormat.NDJSON;
+
+    /** Compression of the files. */
+    @Builder.Default
+    ExportCompression compression = ExportCompression.NONE;
+
+    /** Fields to export (optional). */
+    Projection[] projection;
+
+    /**
+     * Columns of the CSV files, default to the included fields of the projection or the fields of the first document.
+     * When read from the first document, the export fails on a document with another field.
+     */
+    List<String> csvColumns;
+
+    /** Number of partitions exported in parallel. */
+    @Builder.Default
+    int threadPoolSize = THREAD_POOL_SIZE;
+
+    /** Size of the write buffer. */
+    @Builder.Default
+    int bufferSize = BUFFER_SIZE;
+
+    /** File keeping the page state of each partition, a new export with the same settings resumes from it (optional). */
+    String checkpointFile;
+
+    /** Interval in between two progress logs and checkpoints. */
+    @Builder.Default
+    int checkpointIntervalSeconds = CHECKPOINT_INTERVAL_SECONDS;
+
+    /** Maximum duration of the export. */
+    @Builder.Default
+    int timeoutSeconds = TIMEOUT;
+}
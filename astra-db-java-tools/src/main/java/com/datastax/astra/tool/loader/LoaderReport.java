@@ -0,0 +1,103 @@
+package com.datastax.astra.tool.loader;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a load.
+ */
+@Getter
+public class LoaderReport {
+
+    /** Records read from the file. */
+    private final AtomicLong rowsRead = new AtomicLong();
+
+    /** Records inserted. */
+    private final AtomicLong rowsInserted = new AtomicLong();
+
+    /** Records sent to the dead letter file. */
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    /** Records rejected as their id already exists, also counted as failed. */
+    private final AtomicLong rowsDuplicated = new AtomicLong();
+
+    /** Retries of batches. */
+    private final AtomicLong batchRetries = new AtomicLong();
+
+    /** Bytes of the file parsed. */
+    private final AtomicLong bytesRead = new AtomicLong();
+
+    /** Size of the file. */
+    private final long fileSize;
+
+    /** Start of the load. */
+    private final long startTime = System.currentTimeMillis();
+
+    /** End of the load. */
+    private volatile long endTime;
+
+    /**
+     * Report for a file.
+     *
+     * @param fileSize
+     *      size of the file
+     */
+    public LoaderReport(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    /**
+     * Elapsed time.
+     *
+     * @return
+     *      elapsed time in millis
+     */
+    public long getElapsedMillis() {
+        return (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    /**
+     * Records inserted per second.
+     *
+     * @return
+     *      throughput
+     */
+    public double getThroughput() {
+        long elapsed = Math.max(1, getElapsedMillis());
+        return rowsInserted.get() * 1000d / elapsed;
+    }
+
+    /**
+     * Estimated remaining time based on the bytes parsed.
+     *
+     * @return
+     *      remaining time in seconds, -1 if unknown
+     */
+    public long getEtaSeconds() {
+        long processed = rowsInserted.get() + rowsFailed.get();
+        long read = rowsRead.get();
+        if (processed == 0 || read == 0 || bytesRead.get() == 0) {
+            return -1;
+        }
+        // estimate total rows from the bytes read so far
+        double estimatedRows = read * ((double) fileSize / bytesRead.get());
+        double rate = processed * 1000d / Math.max(1, getElapsedMillis());
+        return (long) (Math.max(0, estimatedRows - processed) / rate);
+    }
+
+    /**
+     * Mark the end of the load.
+     */
+    public void complete() {
+        this.endTime = System.currentTimeMillis();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return String.format("read=%d, inserted=%d, failed=%d, duplicated=%d, retries=%d, progress=%d%%, throughput=%.0f rows/s, eta=%ds",
+                rowsRead.get(), rowsInserted.get(), rowsFailed.get(), rowsDuplicated.get(), batchRetries.get(),
+                fileSize == 0 ? 100 : bytesRead.get() * 100 / fileSize, getThroughput(), getEtaSeconds());
+    }
+}
@@ -0,0 +1,235 @@
+package com.datastax.astra.tool.loader;
+
+import com.datastax.astra.client.exceptions.DataAPIErrorDescriptor;
+import com.datastax.astra.client.exceptions.DataAPIResponseException;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.command.ExecutionInfos;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Insert stage shared by the loaders: batches are inserted in order so a rejected record can be isolated.
+ * <p>
+ * The records before the first error of an ordered insert are committed and never sent again: the rejected
+ * record goes to the dead letter and only the rest of the batch is sent. Only errors scoped to a document
+ * reject the record where the insert stopped, other errors of the API (database, schema, server) are not caused
+ * by that record and the rest of the batch is retried. Records rejected because their id already exists are
+ * reported as duplicates, not as inserted. Transient errors (no response from the API) and errors not scoped
+ * to a document are retried with a backoff and the batch goes to the dead letter when retries are exhausted; as the outcome
+ * of the failed attempt is unknown, duplicates found by a retry are reported as possibly inserted by that attempt.
+ * </p>
+ * <p>
+ * The inserter must run ordered {@code insertMany} commands. The {@code BufferedWriter} of the client sends
+ * unordered commands with a result per record and is not used by the loaders.
+ * </p>
+ *
+ * @param <I>
+ *      items of the batch (record with its source)
+ * @param <T>
+ *      records inserted
+ */
+@Slf4j
+public class OrderedBatchInserter<I, T> {
+
+    /** Error code returned by the Data API when the id of a document is already used. */
+    public static final String ERROR_DOCUMENT_ALREADY_EXISTS = "DOCUMENT_ALREADY_EXISTS";
+
+    /** Scopes of the errors caused by a document. */
+    private static final Set<String> DOCUMENT_SCOPES = Set.of("DOCUMENT", "SHRED");
+
+    /** Insert records in order, failing on first error. */
+    private final Consumer<List<T>> inserter;
+
+    /** Record to insert for an item. */
+    private final Function<I, T> recordOf;
+
+    /** Items that could not be inserted with the error. */
+    private final BiConsumer<List<I>, String> deadLetter;
+
+    /** Number of retries for transient errors. */
+    private final int maxRetries;
+
+    /** Delay before first retry, doubled on each retry. */
+    private final long retryDelayMillis;
+
+    /** Records inserted. */
+    private final AtomicLong insertedCount;
+
+    /** Retries of batches. */
+    private final AtomicLong retryCount;
+
+    /** Records rejected as their id already exists. */
+    private final AtomicLong duplicateCount;
+
+    /**
+     * Insert stage.
+     *
+     * @param inserter
+     *      insert records in order, failing on first error
+     * @param recordOf
+     *      record to insert for an item
+     * @param deadLetter
+     *      items that could not be inserted with the error
+     * @param maxRetries
+     *      number of retries for transient errors
+     * @param retryDelayMillis
+     *      delay before first retry, doubled on each retry
+     * @param insertedCount
+     *      counter of records inserted
+     * @param retryCount
+     *      counter of batch retries
+     */
+    public OrderedBatchInserter(Consumer<List<T>> inserter, Function<I, T> recordOf,
+                                BiConsumer<List<I>, String> deadLetter, int maxRetries, long retryDelayMillis,
+                                AtomicLong insertedCount, AtomicLong retryCount) {
+        this(inserter, recordOf, deadLetter, maxRetries, retryDelayMillis, insertedCount, retryCount, new AtomicLong());
+    }
+
+    /**
+     * Insert stage counting duplicates.
+     *
+     * @param inserter
+     *      insert records in order, failing on first error
+     * @param recordOf
+     *      record to insert for an item
+     * @param deadLetter
+     *      items that could not be inserted with the error
+     * @param maxRetries
+     *      number of retries for transient errors
+     * @param retryDelayMillis
+     *      delay before first retry, doubled on each retry
+     * @param insertedCount
+     *      counter of records inserted
+     * @param retryCount
+     *      counter of batch retries
+     * @param duplicateCount
+     *      counter of records rejected as their id already exists
+     */
+    public OrderedBatchInserter(Consumer<List<T>> inserter, Function<I, T> recordOf,
+                                BiConsumer<List<I>, String> deadLetter, int maxRetries, long retryDelayMillis,
+                                AtomicLong insertedCount, AtomicLong retryCount, AtomicLong duplicateCount) {
+        this.inserter         = inserter;
+        this.recordOf         = recordOf;
+        this.deadLetter       = deadLetter;
+        this.maxRetries       = maxRetries;
+        this.retryDelayMillis = retryDelayMillis;
+        this.insertedCount    = insertedCount;
+        this.retryCount       = retryCount;
+        this.duplicateCount   = duplicateCount;
+    }
+
+    /**
+     * Insert a batch, isolating rejected records and retrying transient errors.
+     *
+     * @param batch
+     *      items to insert
+     * @throws InterruptedException
+     *      interrupted while waiting for a retry
+     */
+    public void insert(List<I> batch) throws InterruptedException {
+        List<I> remaining = batch;
+        int attempt = 0;
+        // records sent by an attempt with an unknown outcome, they may have been inserted
+        int uncertain = 0;
+        while (!remaining.isEmpty()) {
+            RuntimeException error;
+            try {
+                inserter.accept(remaining.stream().map(recordOf).toList());
+                insertedCount.addAndGet(remaining.size());
+                return;
+            } catch (DataAPIResponseException e) {
+                int inserted = getInsertedCount(e);
+                if (inserted >= remaining.size()) {
+                    insertedCount.addAndGet(remaining.size());
+                    return;
+                }
+                if (inserted >= 0 && isDocumentError(e)) {
+                    // Ordered insert stopped on the record at index 'inserted', the records before are committed
+                    insertedCount.addAndGet(inserted);
+                    deadLetter.accept(List.of(remaining.get(inserted)), getRejection(e, inserted < uncertain));
+                    remaining = remaining.subList(inserted + 1, remaining.size());
+                    uncertain = Math.max(0, uncertain - inserted - 1);
+                    attempt = 0;
+                    continue;
+                }
+                if (inserted > 0) {
+                    // the records before the error are committed, the others are retried
+                    insertedCount.addAndGet(inserted);
+                    remaining = remaining.subList(inserted, remaining.size());
+                }
+                error = e;
+            } catch (RuntimeException e) {
+                error = e;
+            }
+            if (attempt >= maxRetries) {
+                log.warn("Batch of {} records failed after {} retries: {}", remaining.size(), attempt, error.getMessage());
+                deadLetter.accept(remaining, error.getMessage());
+                return;
+            }
+            uncertain = remaining.size();
+            retryCount.incrementAndGet();
+            Thread.sleep(retryDelayMillis << attempt);
+            attempt++;
+        }
+    }
+
+    /**
+     * Build the error of a rejected record, duplicates are counted.
+     *
+     * @param e
+     *      error of the insert
+     * @param sentBefore
+     *      the record was part of an attempt with an unknown outcome
+     * @return
+     *      error reported with the record
+     */
+    private String getRejection(DataAPIResponseException e, boolean sentBefore) {
+        if (!ERROR_DOCUMENT_ALREADY_EXISTS.equals(e.getErrorCode())) {
+            return e.getMessage();
+        }
+        duplicateCount.incrementAndGet();
+        return (sentBefore ? "Duplicate id, possibly inserted by a failed attempt: " : "Duplicate id: ") + e.getMessage();
+    }
+
+    /**
+     * Check if an error was caused by the record where the insert stopped, older versions of the API only
+     * return a code prefixed by the scope.
+     *
+     * @param e
+     *      error of the insert
+     * @return
+     *      true if all the errors are scoped to a document
+     */
+    private static boolean isDocumentError(DataAPIResponseException e) {
+        List<DataAPIErrorDescriptor> errors = e.getApiErrors();
+        return !errors.isEmpty() && errors.stream().allMatch(error -> error.getScope() != null ?
+                DOCUMENT_SCOPES.contains(error.getScope()) :
+                error.getErrorCode() != null && DOCUMENT_SCOPES.stream()
+                        .anyMatch(scope -> error.getErrorCode().startsWith(scope + "_")));
+    }
+
+    /**
+     * Number of records inserted before an ordered insert failed, summed over the commands of the insert.
+     *
+     * @param e
+     *      error of the insert
+     * @return
+     *      number of records inserted or -1 if unknown
+     */
+    private static int getInsertedCount(DataAPIResponseException e) {
+        int inserted = -1;
+        for (ExecutionInfos command : e.getCommandsList()) {
+            DataAPIResponse response = command.getResponse();
+            if (response != null && response.getStatus() != null && response.getStatus().getInsertedIds() != null) {
+                inserted = Math.max(inserted, 0) + response.getStatus().getInsertedIds().size();
+            }
+        }
+        return inserted;
+    }
+}
@@ -1,18 +1,15 @@
 package com.datastax.astra.tool.loader.csv;
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.options.CollectionInsertManyOptions;
 import com.datastax.astra.client.collections.definition.documents.Document;
-import com.opencsv.CSVReader;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.options.TableInsertManyOptions;
+import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.internal.serdes.tables.RowMapper;
+import com.datastax.astra.tool.loader.LoaderReport;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.FileReader;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-
 /**
  * CSV Loader
  */
@@ -22,76 +19,104 @@ public class CsvLoader {
     /**
      * Distributed import of CSV file into Astra.
      *
+     * @param fileName
+     *     csv file with a header row
+     * @param collection
+     *     collection
+     * @param processor
+     *     processor
+     * @return
+     *     counters of the load
      * @throws Exception
      *      exception in processing CSV
      */
-    public static void load(String fileName, Collection<Document> collection, CsvRowMapper processor) throws Exception {
-        load(fileName, CsvLoaderSettings.builder().build(), collection, processor);
+    public static LoaderReport load(String fileName, Collection<Document> collection, CsvRowMapper processor) throws Exception {
+        return load(fileName, CsvLoaderSettings.builder().build(), collection, processor);
     }
 
     /**
      * Distributed import of CSV file into Astra.
      *
+     * @param fileName
+     *     csv file with a header row
+     * @param settings
+     *     settings
+     * @param collection
+     *     collection
+     * @return
+     *     counters of the load
      * @throws Exception
      *      exception in processing CSV
      */
-    public static void load(String fileName, CsvLoaderSettings settings, Collection<Document> collection) throws Exception {
-        load(fileName, settings, collection, doc -> doc);
+    public static LoaderReport load(String fileName, CsvLoaderSettings settings, Collection<Document> collection) throws Exception {
+        return load(fileName, settings, collection, doc -> doc);
     }
 
     /**
      * Distributed import of CSV file into Astra.
      *
+     * @param fileName
+     *     csv file with a header row
      * @param settings
      *     settings
      * @param collection
      *     collection
      * @param processor
      *     processor
+     * @return
+     *     counters of the load
+     * @throws Exception
+     *      exception in processing CSV
+     */
+    public static LoaderReport load(String fileName, CsvLoaderSettings settings, Collection<Document> collection, CsvRowMapper processor) throws Exception {
+        CollectionInsertManyOptions insertManyOptions = new CollectionInsertManyOptions().ordered(true);
+        return new CsvLoaderPipeline<Document>(fileName, settings, processor, doc -> doc,
+                batch -> collection.insertMany(batch, insertManyOptions)).run();
+    }
+
+    /**
+     * Distributed import of CSV file into a table, rows are mapped to the entity of the table
+     * (column names from annotations, values converted to the field types).
+     *
+     * @param fileName
+     *     csv file with a header row
+     * @param settings
+     *     settings
+     * @param table
+     *     table
+     * @param processor
+     *     processor applied to the document before the mapping to the entity
+     * @param <T>
+     *     type of the table entity
+     * @return
+     *     counters of the load
+     * @throws Exception
+     *      exception in processing CSV
+     */
+    public static <T> LoaderReport load(String fileName, CsvLoaderSettings settings, Table<T> table, CsvRowMapper processor) throws Exception {
+        TableInsertManyOptions insertManyOptions = new TableInsertManyOptions().ordered(true);
+        return new CsvLoaderPipeline<T>(fileName, settings, processor,
+                doc -> RowMapper.mapFromRow(new Row(doc.getDocumentMap()), table.getOptions().getSerializer(), table.getRowClass()),
+                batch -> table.insertMany(batch, insertManyOptions)).run();
+    }
+
+    /**
+     * Distributed import of CSV file into a table.
+     *
+     * @param fileName
+     *     csv file with a header row
+     * @param settings
+     *     settings
+     * @param table
+     *     table
+     * @param <T>
+     *     type of the table entity
+     * @return
+     *     counters of the load
      * @throws Exception
      *      exception in processing CSV
      */
-    public static void load(String fileName, CsvLoaderSettings settings, Collection<Document> collection, CsvRowMapper processor) throws Exception {
-        AtomicInteger counter = new AtomicInteger();
-        long top = System.currentTimeMillis();
-        ExecutorService executor = Executors.newFixedThreadPool(settings.threadPoolSize);
-        try (CSVReader reader = new CSVReader(new FileReader(fileName))) {
-            String[] headers = reader.readNext(); // Read the header row
-            if (headers == null) {
-                throw new RuntimeException("CSV file is empty or does not contain a header row.");
-            }
-            List<Document> batch = new ArrayList<>(settings.batchSize);
-            String[] nextLine;
-            while ((nextLine = reader.readNext()) != null) {
-                Document rowMap = new Document();
-                for (int i = 0; i < headers.length; i++) {
-                    rowMap.put(headers[i], nextLine.length > i ? nextLine[i] : null);
-                }
-                counter.incrementAndGet();
-                batch.add(processor.map(rowMap));
-                if (batch.size() == settings.batchSize) {
-                    final List<Document> batchToInsert = new ArrayList<>(batch);
-                    log.info("Enqueuing {} rows from {}... ", collection, batch.size());
-                    executor.submit(() -> collection.insertMany(batchToInsert));
-                    batch.clear(); // Clear the batch for the next set of rows
-                }
-            }
-            // Process any remaining rows which didn't fill the last batch
-            if (!batch.isEmpty()) {
-                executor.submit(() -> collection.insertMany(batch));
-            }
-        } finally {
-            executor.shutdown();
-            log.info("{} rows enqueues from " + collection + " in {} ms", counter.get(), System.currentTimeMillis()-top);
-            try {
-                if (!executor.awaitTermination(settings.timeoutSeconds, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                    log.info("{} rows process in {} ms", counter.get(), System.currentTimeMillis()-top);
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                executor.shutdownNow();
-            }
-        }
+    public static <T> LoaderReport load(String fileName, CsvLoaderSettings settings, Table<T> table) throws Exception {
+        return load(fileName, settings, table, doc -> doc);
     }
 }
@@ -0,0 +1,568 @@
+package com.datastax.astra.tool.loader.csv;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.tool.loader.LoaderReport;
+import com.datastax.astra.tool.loader.OrderedBatchInserter;
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Staged import of a CSV file: parse, map and insert stages are connected with bounded queues so the file is
+ * never read faster than rows are inserted.
+ * <p>
+ * Batches are inserted with an {@link OrderedBatchInserter}, rows that cannot be mapped or inserted go to the
+ * dead letter file.
+ * </p>
+ * <p>
+ * The first task of a stage to fail aborts the other stages, so producers do not wait on a full queue until
+ * the timeout, and its error is the one reported by {@link #run()}.
+ * </p>
+ *
+ * @param <T>
+ *      type of the records inserted
+ */
+@Slf4j
+public class CsvLoaderPipeline<T> {
+
+    /** Column added to the dead letter file. */
+    private static final String ERROR_COLUMN = "_error";
+
+    /** File to load. */
+    private final Path file;
+
+    /** Settings. */
+    private final CsvLoaderSettings settings;
+
+    /** Process the document built from a line. */
+    private final CsvRowMapper rowMapper;
+
+    /** Convert the document to the record inserted. */
+    private final Function<Document, T> entityMapper;
+
+    /** Insert stage. */
+    private final OrderedBatchInserter<MappedRow<T>, T> batchInserter;
+
+    /** Counters. */
+    private final LoaderReport report;
+
+    /** Rows per batch. */
+    private final int batchSize;
+
+    /** Headers of the file. */
+    private String[] headers;
+
+    /** Dead letter file, opened on first error. */
+    private CSVWriter deadLetterWriter;
+
+    /** Stop all stages on fatal error. */
+    private volatile boolean aborted;
+
+    /** First error of a stage, the others stopped because of it. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * A line of the file with its mapped record.
+     *
+     * @param <T>
+     *      type of the records inserted
+     */
+    private static final class MappedRow<T> {
+        /** Raw values. */
+        private final String[] values;
+        /** Record. */
+        private final T record;
+
+        private MappedRow(String[] values, T record) {
+            this.values = values;
+            this.record = record;
+        }
+    }
+
+    /**
+     * Pipeline for a file.
+     *
+     * @param fileName
+     *      csv file with a header row
+     * @param settings
+     *      settings
+     * @param rowMapper
+     *      process the document built from a line
+     * @param entityMapper
+     *      convert the document to the record inserted
+     * @param inserter
+     *      insert a batch of records in order, failing on first error
+     */
+    public CsvLoaderPipeline(String fileName, CsvLoaderSettings settings, CsvRowMapper rowMapper,
+                             Function<Document, T> entityMapper, Consumer<List<T>> inserter) {
+        this.file         = Paths.get(fileName);
+        this.settings     = settings;
+        this.rowMapper    = rowMapper;
+        this.entityMapper = entityMapper;
+        this.batchSize    = Math.max(1, Math.min(settings.batchSize, DataAPIClientOptions.MAX_CHUNK_SIZE));
+        try {
+            this.report = new LoaderReport(Files.size(file));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read file " + fileName, e);
+        }
+        this.batchInserter = new OrderedBatchInserter<>(inserter, row -> row.record,
+                (rows, error) -> deadLetter(rows.stream().map(row -> row.values).toList(), error),
+                settings.maxRetries, settings.retryDelayMillis, report.getRowsInserted(), report.getBatchRetries(),
+                report.getRowsDuplicated());
+    }
+
+    /**
+     * Run the load and wait for completion.
+     *
+     * @return
+     *      counters of the load
+     * @throws Exception
+     *      error reading the file, error of a stage or timeout
+     */
+    public LoaderReport run() throws Exception {
+        long headerEnd = readHeaders();
+        List<long[]> splits = computeSplits(headerEnd, Math.max(1, settings.parserThreads));
+        log.info("Loading {} ({} bytes) with {} parser(s), {} mapper(s), {} inserter(s)",
+                file, report.getFileSize(), splits.size(), settings.mapperThreads, settings.threadPoolSize);
+
+        BlockingQueue<List<String[]>> parsedQueue = new ArrayBlockingQueue<>(settings.queueCapacity);
+        BlockingQueue<List<MappedRow<T>>> mappedQueue = new ArrayBlockingQueue<>(settings.queueCapacity);
+        ExecutorService parsers   = Executors.newFixedThreadPool(splits.size());
+        ExecutorService mappers   = Executors.newFixedThreadPool(settings.mapperThreads);
+        ExecutorService inserters = Executors.newFixedThreadPool(settings.threadPoolSize);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> log.info("Loading {}: {}", file.getFileName(), report),
+                settings.reportIntervalSeconds, settings.reportIntervalSeconds, TimeUnit.SECONDS);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(settings.timeoutSeconds);
+        try {
+            List<Future<?>> parserTasks = new ArrayList<>();
+            for (long[] split : splits) {
+                parserTasks.add(parsers.submit(stage(() -> parse(split[0], split[1], parsedQueue))));
+            }
+            List<Future<?>> mapperTasks = new ArrayList<>();
+            for (int i = 0; i < settings.mapperThreads; i++) {
+                mapperTasks.add(mappers.submit(stage(() -> map(parsedQueue, mappedQueue))));
+            }
+            List<Future<?>> inserterTasks = new ArrayList<>();
+            for (int i = 0; i < settings.threadPoolSize; i++) {
+                inserterTasks.add(inserters.submit(stage(() -> insert(mappedQueue))));
+            }
+            // Each stage ends with an empty batch per consumer once the previous stage is done
+            await(parserTasks, deadline);
+            for (int i = 0; i < settings.mapperThreads; i++) {
+                offer(parsedQueue, new ArrayList<>());
+            }
+            await(mapperTasks, deadline);
+            for (int i = 0; i < settings.threadPoolSize; i++) {
+                offer(mappedQueue, new ArrayList<>());
+            }
+            await(inserterTasks, deadline);
+        } catch (ExecutionException | TimeoutException | InterruptedException e) {
+            aborted = true;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = failure.get();
+            if (cause != null && e.getCause() != cause) {
+                // the awaited task or queue was stopped by the failure of another stage
+                throw new ExecutionException("Loading " + file.getFileName() + " failed", cause);
+            }
+            throw e;
+        } finally {
+            parsers.shutdownNow();
+            mappers.shutdownNow();
+            inserters.shutdownNow();
+            reporter.shutdownNow();
+            closeDeadLetterWriter();
+            report.complete();
+            log.info("Loaded {} in {} ms: {}", file.getFileName(), report.getElapsedMillis(), report);
+        }
+        return report;
+    }
+
+    /**
+     * Wrap a task of a stage to abort the pipeline when it fails.
+     *
+     * @param task
+     *      task of a stage
+     * @return
+     *      task recording its error
+     */
+    private Callable<Void> stage(Callable<Void> task) {
+        return () -> {
+            try {
+                return task.call();
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+                aborted = true;
+                throw e;
+            }
+        };
+    }
+
+    /**
+     * Read the header row.
+     *
+     * @return
+     *      offset of the first data row
+     * @throws IOException
+     *      error reading the file
+     * @throws CsvValidationException
+     *      invalid header row
+     */
+    private long readHeaders() throws IOException, CsvValidationException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long headerEnd = nextLineStart(raf, 0);
+            byte[] headerBytes = new byte[(int) headerEnd];
+            raf.seek(0);
+            raf.readFully(headerBytes);
+            try (CSVReader reader = newReader(new StringReader(new String(headerBytes, StandardCharsets.UTF_8)))) {
+                headers = reader.readNext();
+            }
+            if (headers == null) {
+                throw new IllegalArgumentException("CSV file is empty or does not contain a header row.");
+            }
+            report.getBytesRead().addAndGet(headerEnd);
+            return headerEnd;
+        }
+    }
+
+    /**
+     * Split the file in byte ranges starting at the beginning of a line.
+     *
+     * @param start
+     *      offset of the first data row
+     * @param count
+     *      expected number of ranges
+     * @return
+     *      ranges as [start, end[
+     * @throws IOException
+     *      error reading the file
+     */
+    private List<long[]> computeSplits(long start, int count) throws IOException {
+        long size = report.getFileSize();
+        List<long[]> splits = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long splitSize = Math.max(1, (size - start) / count);
+            long current = start;
+            for (int i = 1; i < count && current < size; i++) {
+                long end = nextLineStart(raf, Math.max(current, start + i * splitSize));
+                if (end > current) {
+                    splits.add(new long[] {current, end});
+                    current = end;
+                }
+            }
+            if (current < size || splits.isEmpty()) {
+                splits.add(new long[] {current, size});
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Find the offset following the next line break.
+     *
+     * @param raf
+     *      file
+     * @param from
+     *      offset to start from
+     * @return
+     *      offset of the beginning of the next line, or file size
+     * @throws IOException
+     *      error reading the file
+     */
+    private static long nextLineStart(RandomAccessFile raf, long from) throws IOException {
+        raf.seek(from);
+        byte[] buffer = new byte[8192];
+        long position = from;
+        int read;
+        while ((read = raf.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return raf.length();
+    }
+
+    /**
+     * Parse stage: read a range of the file and enqueue batches of lines.
+     *
+     * @param start
+     *      first byte of the range
+     * @param end
+     *      end of the range (exclusive)
+     * @param parsedQueue
+     *      output queue
+     * @return
+     *      null
+     * @throws Exception
+     *      error reading the file
+     */
+    private Void parse(long start, long end, BlockingQueue<List<String[]>> parsedQueue) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            channel.position(start);
+            InputStream in = new RangeInputStream(Channels.newInputStream(channel), end - start);
+            try (CSVReader reader = newReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                List<String[]> batch = new ArrayList<>(batchSize);
+                String[] line;
+                while (!aborted && (line = reader.readNext()) != null) {
+                    report.getRowsRead().incrementAndGet();
+                    batch.add(line);
+                    if (batch.size() == batchSize) {
+                        offer(parsedQueue, batch);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    offer(parsedQueue, batch);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Map stage: build documents from lines and convert them to records.
+     *
+     * @param parsedQueue
+     *      input queue
+     * @param mappedQueue
+     *      output queue
+     * @return
+     *      null
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private Void map(BlockingQueue<List<String[]>> parsedQueue, BlockingQueue<List<MappedRow<T>>> mappedQueue)
+    throws InterruptedException {
+        List<String[]> lines;
+        while (!aborted && !(lines = parsedQueue.take()).isEmpty()) {
+            List<MappedRow<T>> rows = new ArrayList<>(lines.size());
+            for (String[] line : lines) {
+                try {
+                    Document doc = new Document();
+                    for (int i = 0; i < headers.length; i++) {
+                        doc.put(headers[i], line.length > i ? line[i] : null);
+                    }
+                    rows.add(new MappedRow<>(line, entityMapper.apply(rowMapper.map(doc))));
+                } catch (RuntimeException e) {
+                    deadLetter(List.<String[]>of(line), "Mapping failed: " + e.getMessage());
+                }
+            }
+            if (!rows.isEmpty()) {
+                offer(mappedQueue, rows);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Insert stage: insert batches with retries.
+     *
+     * @param mappedQueue
+     *      input queue
+     * @return
+     *      null
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private Void insert(BlockingQueue<List<MappedRow<T>>> mappedQueue) throws InterruptedException {
+        List<MappedRow<T>> rows;
+        while (!aborted && !(rows = mappedQueue.take()).isEmpty()) {
+            batchInserter.insert(rows);
+        }
+        return null;
+    }
+
+    /**
+     * Write rows to the dead letter file with the error.
+     *
+     * @param lines
+     *      raw values of the rows
+     * @param error
+     *      error message
+     */
+    private synchronized void deadLetter(List<String[]> lines, String error) {
+        report.getRowsFailed().addAndGet(lines.size());
+        if (settings.deadLetterFile == null) {
+            log.warn("{} row(s) not loaded: {}", lines.size(), error);
+            return;
+        }
+        try {
+            if (deadLetterWriter == null) {
+                Writer writer = Files.newBufferedWriter(Paths.get(settings.deadLetterFile), StandardCharsets.UTF_8);
+                deadLetterWriter = new CSVWriter(writer);
+                deadLetterWriter.writeNext(withError(headers, ERROR_COLUMN));
+            }
+            for (String[] line : lines) {
+                deadLetterWriter.writeNext(withError(line, error));
+            }
+        } catch (IOException e) {
+            log.error("Cannot write to dead letter file {}", settings.deadLetterFile, e);
+        }
+    }
+
+    /**
+     * Close the dead letter file.
+     */
+    private synchronized void closeDeadLetterWriter() {
+        if (deadLetterWriter != null) {
+            try {
+                deadLetterWriter.close();
+            } catch (IOException e) {
+                log.error("Cannot close dead letter file {}", settings.deadLetterFile, e);
+            }
+        }
+    }
+
+    /**
+     * Append the error to the values of a row.
+     *
+     * @param line
+     *      raw values
+     * @param error
+     *      error message
+     * @return
+     *      values with the error
+     */
+    private static String[] withError(String[] line, String error) {
+        String[] result = Arrays.copyOf(line, line.length + 1);
+        result[line.length] = error;
+        return result;
+    }
+
+    /**
+     * Create a CSV reader with the configured separator.
+     *
+     * @param reader
+     *      source
+     * @return
+     *      csv reader
+     */
+    private CSVReader newReader(Reader reader) {
+        return new CSVReaderBuilder(reader)
+                .withCSVParser(new CSVParserBuilder().withSeparator(settings.separator).build())
+                .build();
+    }
+
+    /**
+     * Put into a bounded queue, waiting for space unless the pipeline is aborted.
+     *
+     * @param queue
+     *      bounded queue
+     * @param element
+     *      element to add
+     * @param <E>
+     *      type of elements
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private <E> void offer(BlockingQueue<E> queue, E element) throws InterruptedException {
+        while (!queue.offer(element, 1, TimeUnit.SECONDS)) {
+            if (aborted) {
+                throw new InterruptedException("Pipeline aborted");
+            }
+        }
+    }
+
+    /**
+     * Wait for the tasks of a stage.
+     *
+     * @param tasks
+     *      tasks of the stage
+     * @param deadline
+     *      end of the load
+     * @throws ExecutionException
+     *      a task failed
+     * @throws TimeoutException
+     *      deadline reached
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private void await(List<Future<?>> tasks, long deadline)
+    throws ExecutionException, TimeoutException, InterruptedException {
+        for (Future<?> task : tasks) {
+            task.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Input stream limited to a range of the file, counting the bytes read.
+     */
+    private final class RangeInputStream extends FilterInputStream {
+
+        /** Bytes left in the range. */
+        private long remaining;
+
+        private RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+                report.getBytesRead().incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+                report.getBytesRead().addAndGet(read);
+            }
+            return read;
+        }
+    }
+}
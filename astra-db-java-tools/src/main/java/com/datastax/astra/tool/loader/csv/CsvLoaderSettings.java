@@ -2,6 +2,9 @@ package com.datastax.astra.tool.loader.csv;
 
 import lombok.Builder;
 
+/**
+ * Settings for the CSV Loader.
+ */
 @Builder
 public class CsvLoaderSettings {
 
@@ -11,12 +14,57 @@ public class CsvLoaderSettings {
 
     private static final int TIMEOUT = 1800;
 
+    private static final int QUEUE_CAPACITY = 100;
+
+    private static final int MAX_RETRIES = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private static final int REPORT_INTERVAL_SECONDS = 10;
+
+    /** Number of rows per insertMany (max 20). */
     @Builder.Default
-    int batchSize = BATCH_SIZE;;
+    int batchSize = BATCH_SIZE;
 
+    /** Number of threads inserting batches. */
     @Builder.Default
-    int threadPoolSize = THREAD_POOL_SIZE;;
+    int threadPoolSize = THREAD_POOL_SIZE;
 
+    /** Maximum duration of the load. */
     @Builder.Default
     int timeoutSeconds = TIMEOUT;
+
+    /**
+     * Number of threads parsing the file. When greater than 1 the file is split in byte ranges aligned on
+     * line breaks, only use it when quoted values do not contain line breaks.
+     */
+    @Builder.Default
+    int parserThreads = 1;
+
+    /** Number of threads applying the row mapper. */
+    @Builder.Default
+    int mapperThreads = 2;
+
+    /** Number of batches waiting in between two stages, parsing is paused when reached. */
+    @Builder.Default
+    int queueCapacity = QUEUE_CAPACITY;
+
+    /** Number of retries for a batch failing with a transient error. */
+    @Builder.Default
+    int maxRetries = MAX_RETRIES;
+
+    /** Delay before first retry, doubled on each retry. */
+    @Builder.Default
+    long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    /** CSV file receiving the rows that could not be mapped or inserted, with the error (optional). */
+    String deadLetterFile;
+
+    /** Interval in between two progress logs. */
+    @Builder.Default
+    int reportIntervalSeconds = REPORT_INTERVAL_SECONDS;
+
+    /** Separator of the values. */
+    @Builder.Default
+    char separator = ',';
 }
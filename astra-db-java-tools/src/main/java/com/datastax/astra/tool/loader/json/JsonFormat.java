@@ -0,0 +1,16 @@
+package com.datastax.astra.tool.loader.json;
+
+/**
+ * Layout of the records in a JSON file.
+ */
+public enum JsonFormat {
+
+    /** Detect the format with the first character of the file. */
+    AUTO,
+
+    /** A single top-level array of records, parsed sequentially. */
+    ARRAY,
+
+    /** One record per line (newline delimited JSON), the file can be split and parsed in parallel. */
+    NDJSON
+}
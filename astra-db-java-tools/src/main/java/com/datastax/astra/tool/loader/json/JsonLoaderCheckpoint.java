@@ -0,0 +1,162 @@
+package com.datastax.astra.tool.loader.json;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Position of the records inserted for each range of a file.
+ * <p>
+ * Batches of a range are numbered in reading order and can complete in any order: the committed position of
+ * a range only moves forward when all the previous batches of the range are completed. A load resumed from the
+ * checkpoint starts each range from its committed position.
+ * </p>
+ * For a NDJSON file positions are byte offsets, for an array positions are record indexes.
+ */
+@Slf4j
+class JsonLoaderCheckpoint {
+
+    /** Checkpoint file, can be null. */
+    private final Path checkpointFile;
+
+    /** Size of the file loaded, a checkpoint for another size is ignored. */
+    private final long fileSize;
+
+    /** Ranges of the file. */
+    private final List<Range> ranges;
+
+    /**
+     * Range of the file with its progress.
+     */
+    static final class Range {
+
+        /** First position. */
+        final long start;
+
+        /** End position (exclusive). */
+        final long end;
+
+        /** All records before this position are processed. */
+        long committed;
+
+        /** Next batch expected to move the committed position. */
+        long nextBatch;
+
+        /** Batches completed out of order, batch number to end position. */
+        final TreeMap<Long, Long> completed = new TreeMap<>();
+
+        Range(long start, long end, long committed) {
+            this.start     = start;
+            this.end       = end;
+            this.committed = committed;
+        }
+    }
+
+    /**
+     * Create a checkpoint, resuming from the checkpoint file when it matches the file loaded.
+     *
+     * @param checkpointFile
+     *      checkpoint file, can be null
+     * @param fileSize
+     *      size of the file loaded
+     * @param defaultRanges
+     *      ranges to use when there is no checkpoint, as [start, end[
+     */
+    JsonLoaderCheckpoint(String checkpointFile, long fileSize, List<long[]> defaultRanges) {
+        this.checkpointFile = checkpointFile == null ? null : Paths.get(checkpointFile);
+        this.fileSize = fileSize;
+        List<Range> loaded = load();
+        if (loaded != null) {
+            log.info("Resuming load from checkpoint {}", checkpointFile);
+            this.ranges = loaded;
+        } else {
+            this.ranges = new ArrayList<>();
+            defaultRanges.forEach(r -> ranges.add(new Range(r[0], r[1], r[0])));
+        }
+    }
+
+    /**
+     * Gets the ranges.
+     *
+     * @return
+     *      ranges of the file
+     */
+    List<Range> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Mark a batch of a range as processed.
+     *
+     * @param range
+     *      range index
+     * @param batch
+     *      batch number in the range
+     * @param endPosition
+     *      position after the last record of the batch
+     */
+    synchronized void complete(int range, long batch, long endPosition) {
+        Range r = ranges.get(range);
+        r.completed.put(batch, endPosition);
+        while (!r.completed.isEmpty() && r.completed.firstKey() == r.nextBatch) {
+            r.committed = r.completed.pollFirstEntry().getValue();
+            r.nextBatch++;
+        }
+    }
+
+    /**
+     * Write the committed positions to the checkpoint file.
+     */
+    synchronized void save() {
+        if (checkpointFile == null) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder().append(fileSize).append('\n');
+        ranges.forEach(r -> sb.append(r.start).append(' ').append(r.end).append(' ').append(r.committed).append('\n'));
+        try {
+            Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+            Files.writeString(tmp, sb.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cannot write checkpoint {}: {}", checkpointFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the checkpoint file.
+     *
+     * @return
+     *      ranges or null if no checkpoint matches the file
+     */
+    private List<Range> load() {
+        if (checkpointFile == null || !Files.exists(checkpointFile)) {
+            return null;
+        }
+        try {
+            List<String> lines = Files.readAllLines(checkpointFile, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || Long.parseLong(lines.get(0).trim()) != fileSize) {
+                log.warn("Checkpoint {} does not match the file, ignored", checkpointFile);
+                return null;
+            }
+            List<Range> result = new ArrayList<>();
+            for (String line : lines.subList(1, lines.size())) {
+                if (!line.isBlank()) {
+                    String[] parts = line.trim().split(" ");
+                    result.add(new Range(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2])));
+                }
+            }
+            return result.isEmpty() ? null : result;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot read checkpoint {}: {}", checkpointFile, e.getMessage());
+            return null;
+        }
+    }
+}
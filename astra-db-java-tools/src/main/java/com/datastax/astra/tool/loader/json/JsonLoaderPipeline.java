@@ -0,0 +1,514 @@
+package com.datastax.astra.tool.loader.json;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.tool.loader.LoaderReport;
+import com.datastax.astra.tool.loader.OrderedBatchInserter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Staged import of a JSON file.
+ * <p>
+ * A NDJSON file is split in ranges aligned on line breaks, each range is read through memory mapped regions and
+ * parsed by its own thread. An array is parsed sequentially with a streaming parser. Parsers hand batches over to
+ * a shared insert stage through a bounded queue, so the file is never read faster than records are inserted.
+ * The position of the records inserted is saved periodically to the checkpoint file, if any.
+ * </p>
+ */
+@Slf4j
+public class JsonLoaderPipeline {
+
+    /** Reader shared by all parsers, thread safe. */
+    private static final ObjectReader DOCUMENT_READER = new ObjectMapper().readerFor(Document.class);
+
+    /** End of the stream for an inserter. */
+    private static final Batch POISON = new Batch(-1, -1, -1, null);
+
+    /** File to load. */
+    private final Path file;
+
+    /** Settings. */
+    private final JsonLoaderSettings settings;
+
+    /** Process each record. */
+    private final JsonRecordMapper recordMapper;
+
+    /** Counters. */
+    private final LoaderReport report;
+
+    /** Insert stage. */
+    private final OrderedBatchInserter<Document, Document> batchInserter;
+
+    /** Records per batch. */
+    private final int batchSize;
+
+    /** Progress of the load. */
+    private JsonLoaderCheckpoint checkpoint;
+
+    /** Dead letter file, opened on first error. */
+    private BufferedWriter deadLetterWriter;
+
+    /** Stop all stages on fatal error. */
+    private volatile boolean aborted;
+
+    /**
+     * Records of a range with their position.
+     */
+    private static final class Batch {
+        /** Range index. */
+        private final int range;
+        /** Batch number in the range. */
+        private final long number;
+        /** Position after the last record. */
+        private final long endPosition;
+        /** Records. */
+        private final List<Document> documents;
+
+        private Batch(int range, long number, long endPosition, List<Document> documents) {
+            this.range       = range;
+            this.number      = number;
+            this.endPosition = endPosition;
+            this.documents   = documents;
+        }
+    }
+
+    /**
+     * Pipeline for a file.
+     *
+     * @param fileName
+     *      json file
+     * @param settings
+     *      settings
+     * @param recordMapper
+     *      process each record
+     * @param inserter
+     *      insert a batch of records in order, failing on first error
+     */
+    public JsonLoaderPipeline(String fileName, JsonLoaderSettings settings, JsonRecordMapper recordMapper,
+                              Consumer<List<Document>> inserter) {
+        this.file         = Paths.get(fileName);
+        this.settings     = settings;
+        this.recordMapper = recordMapper;
+        this.batchSize    = Math.max(1, Math.min(settings.batchSize, DataAPIClientOptions.MAX_CHUNK_SIZE));
+        if (batchSize != settings.batchSize) {
+            log.info("Batch size set to {} (maximum for insertMany)", batchSize);
+        }
+        try {
+            this.report = new LoaderReport(Files.size(file));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read file " + fileName, e);
+        }
+        this.batchInserter = new OrderedBatchInserter<>(inserter, doc -> doc,
+                (docs, error) -> docs.forEach(doc -> deadLetter(new Document().append("record", doc), error)),
+                settings.maxRetries, settings.retryDelayMillis, report.getRowsInserted(), report.getBatchRetries(),
+                report.getRowsDuplicated());
+    }
+
+    /**
+     * Run the load and wait for completion.
+     *
+     * @return
+     *      counters of the load
+     * @throws Exception
+     *      error reading the file or timeout
+     */
+    public LoaderReport run() throws Exception {
+        JsonFormat format = settings.format == JsonFormat.AUTO ? detectFormat() : settings.format;
+        if (format == JsonFormat.NDJSON) {
+            checkpoint = new JsonLoaderCheckpoint(settings.checkpointFile, report.getFileSize(),
+                    computeSplits(Math.max(1, settings.parserThreads)));
+        } else {
+            checkpoint = new JsonLoaderCheckpoint(settings.checkpointFile, report.getFileSize(),
+                    List.<long[]>of(new long[] {0, Long.MAX_VALUE}));
+        }
+        int rangeCount = checkpoint.getRanges().size();
+        log.info("Loading {} ({} bytes, {}) with {} parser(s), {} inserter(s)",
+                file, report.getFileSize(), format, rangeCount, settings.threadPoolSize);
+
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(settings.queueCapacity);
+        ExecutorService parsers   = Executors.newFixedThreadPool(rangeCount);
+        ExecutorService inserters = Executors.newFixedThreadPool(settings.threadPoolSize);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> {
+                    log.info("Loading {}: {}", file.getFileName(), report);
+                    checkpoint.save();
+                }, settings.reportIntervalSeconds, settings.reportIntervalSeconds, TimeUnit.SECONDS);
+
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(settings.timeoutSeconds);
+        try {
+            List<Future<?>> parserTasks = new ArrayList<>();
+            for (int i = 0; i < rangeCount; i++) {
+                final int range = i;
+                parserTasks.add(parsers.submit(() -> format == JsonFormat.NDJSON ?
+                        parseLines(range, queue) : parseArray(queue)));
+            }
+            List<Future<?>> inserterTasks = new ArrayList<>();
+            for (int i = 0; i < settings.threadPoolSize; i++) {
+                inserterTasks.add(inserters.submit(() -> insert(queue)));
+            }
+            await(parserTasks, deadline);
+            for (int i = 0; i < settings.threadPoolSize; i++) {
+                offer(queue, POISON);
+            }
+            await(inserterTasks, deadline);
+        } catch (ExecutionException | TimeoutException | InterruptedException e) {
+            aborted = true;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw e;
+        } finally {
+            parsers.shutdownNow();
+            inserters.shutdownNow();
+            reporter.shutdownNow();
+            checkpoint.save();
+            closeDeadLetterWriter();
+            report.complete();
+            log.info("Loaded {} in {} ms: {}", file.getFileName(), report.getElapsedMillis(), report);
+        }
+        return report;
+    }
+
+    /**
+     * Detect the format with the first non blank character.
+     *
+     * @return
+     *      format of the file
+     * @throws IOException
+     *      error reading the file
+     */
+    private JsonFormat detectFormat() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            int c;
+            while ((c = in.read()) >= 0) {
+                if (!Character.isWhitespace(c)) {
+                    return c == '[' ? JsonFormat.ARRAY : JsonFormat.NDJSON;
+                }
+            }
+        }
+        return JsonFormat.NDJSON;
+    }
+
+    /**
+     * Split the file in byte ranges starting at the beginning of a line.
+     *
+     * @param count
+     *      expected number of ranges
+     * @return
+     *      ranges as [start, end[
+     * @throws IOException
+     *      error reading the file
+     */
+    private List<long[]> computeSplits(int count) throws IOException {
+        long size = report.getFileSize();
+        List<long[]> splits = new ArrayList<>();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long splitSize = Math.max(1, size / count);
+            long current = 0;
+            for (int i = 1; i < count && current < size; i++) {
+                long end = nextLineStart(raf, Math.max(current, i * splitSize));
+                if (end > current) {
+                    splits.add(new long[] {current, end});
+                    current = end;
+                }
+            }
+            if (current < size || splits.isEmpty()) {
+                splits.add(new long[] {current, size});
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Find the offset following the next line break.
+     *
+     * @param raf
+     *      file
+     * @param from
+     *      offset to start from
+     * @return
+     *      offset of the beginning of the next line, or file size
+     * @throws IOException
+     *      error reading the file
+     */
+    private static long nextLineStart(RandomAccessFile raf, long from) throws IOException {
+        raf.seek(from);
+        byte[] buffer = new byte[8192];
+        long position = from;
+        int read;
+        while ((read = raf.read(buffer)) > 0) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return raf.length();
+    }
+
+    /**
+     * Parse stage for a NDJSON range, read through memory mapped regions.
+     *
+     * @param rangeIndex
+     *      range to parse
+     * @param queue
+     *      output queue
+     * @return
+     *      null
+     * @throws Exception
+     *      error reading the file
+     */
+    private Void parseLines(int rangeIndex, BlockingQueue<Batch> queue) throws Exception {
+        JsonLoaderCheckpoint.Range range = checkpoint.getRanges().get(rangeIndex);
+        long position = range.committed;
+        report.getBytesRead().addAndGet(position - range.start);
+        long batchNumber = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        long window = settings.mappedWindowBytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (!aborted && position < range.end) {
+                int size = (int) Math.min(range.end - position, Math.min(window, Integer.MAX_VALUE));
+                boolean lastWindow = position + size == range.end;
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+                int lineStart = 0;
+                for (int i = 0; i < size; i++) {
+                    if (buffer.get(i) == '\n' || (lastWindow && i == size - 1)) {
+                        int lineEnd = buffer.get(i) == '\n' ? i : i + 1;
+                        parseLine(buffer, lineStart, lineEnd - lineStart, batch);
+                        lineStart = i + 1;
+                        if (batch.size() == batchSize) {
+                            offer(queue, new Batch(rangeIndex, batchNumber++, position + lineStart, batch));
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                }
+                if (lineStart == 0) {
+                    // a single line is larger than the window
+                    window = Math.min(window * 2, Integer.MAX_VALUE);
+                    continue;
+                }
+                position += lineStart;
+            }
+        }
+        // Remaining records, or only the progress when empty
+        offer(queue, new Batch(rangeIndex, batchNumber, position, batch));
+        return null;
+    }
+
+    /**
+     * Parse a line of a NDJSON file.
+     *
+     * @param buffer
+     *      mapped region
+     * @param offset
+     *      start of the line in the region
+     * @param length
+     *      length of the line
+     * @param batch
+     *      current batch
+     */
+    private void parseLine(MappedByteBuffer buffer, int offset, int length, List<Document> batch) {
+        report.getBytesRead().addAndGet(length + 1L);
+        if (isBlank(buffer, offset, length)) {
+            return;
+        }
+        report.getRowsRead().incrementAndGet();
+        try {
+            Document doc = DOCUMENT_READER.readValue(new ByteBufferBackedInputStream(buffer.slice(offset, length)));
+            batch.add(recordMapper.map(doc));
+        } catch (IOException | RuntimeException e) {
+            byte[] line = new byte[length];
+            buffer.get(offset, line);
+            deadLetter(new Document().append("line", new String(line, StandardCharsets.UTF_8)), e.getMessage());
+        }
+    }
+
+    /**
+     * Check if a line only contains whitespaces.
+     *
+     * @param buffer
+     *      mapped region
+     * @param offset
+     *      start of the line in the region
+     * @param length
+     *      length of the line
+     * @return
+     *      true if the line is blank
+     */
+    private static boolean isBlank(MappedByteBuffer buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (!Character.isWhitespace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse stage for a top-level array, positions are record indexes.
+     *
+     * @param queue
+     *      output queue
+     * @return
+     *      null
+     * @throws Exception
+     *      error reading the file
+     */
+    private Void parseArray(BlockingQueue<Batch> queue) throws Exception {
+        JsonLoaderCheckpoint.Range range = checkpoint.getRanges().get(0);
+        long index = 0;
+        long batchNumber = 0;
+        List<Document> batch = new ArrayList<>(batchSize);
+        try (JsonParser parser = DOCUMENT_READER.createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON file must contain an array at the root");
+            }
+            while (!aborted && parser.nextToken() == JsonToken.START_OBJECT) {
+                if (index++ < range.committed) {
+                    // already inserted in a previous run
+                    parser.skipChildren();
+                    continue;
+                }
+                report.getRowsRead().incrementAndGet();
+                Document doc = DOCUMENT_READER.readValue(parser);
+                batch.add(recordMapper.map(doc));
+                if (batch.size() == batchSize) {
+                    report.getBytesRead().set(parser.currentLocation().getByteOffset());
+                    offer(queue, new Batch(0, batchNumber++, index, batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        report.getBytesRead().set(report.getFileSize());
+        offer(queue, new Batch(0, batchNumber, index, batch));
+        return null;
+    }
+
+    /**
+     * Insert stage shared by all parsers.
+     *
+     * @param queue
+     *      input queue
+     * @return
+     *      null
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private Void insert(BlockingQueue<Batch> queue) throws InterruptedException {
+        Batch batch;
+        while (!aborted && (batch = queue.take()) != POISON) {
+            if (!batch.documents.isEmpty()) {
+                batchInserter.insert(batch.documents);
+            }
+            checkpoint.complete(batch.range, batch.number, batch.endPosition);
+        }
+        return null;
+    }
+
+    /**
+     * Write a record to the dead letter file with the error.
+     *
+     * @param record
+     *      record or raw line
+     * @param error
+     *      error message
+     */
+    private synchronized void deadLetter(Document record, String error) {
+        report.getRowsFailed().incrementAndGet();
+        if (settings.deadLetterFile == null) {
+            log.warn("Record not loaded: {}", error);
+            return;
+        }
+        try {
+            if (deadLetterWriter == null) {
+                deadLetterWriter = Files.newBufferedWriter(Paths.get(settings.deadLetterFile), StandardCharsets.UTF_8);
+            }
+            deadLetterWriter.write(record.append("error", error).toJson());
+            deadLetterWriter.newLine();
+        } catch (IOException e) {
+            log.error("Cannot write to dead letter file {}", settings.deadLetterFile, e);
+        }
+    }
+
+    /**
+     * Close the dead letter file.
+     */
+    private synchronized void closeDeadLetterWriter() {
+        if (deadLetterWriter != null) {
+            try {
+                deadLetterWriter.close();
+            } catch (IOException e) {
+                log.error("Cannot close dead letter file {}", settings.deadLetterFile, e);
+            }
+        }
+    }
+
+    /**
+     * Put into the bounded queue, waiting for space unless the pipeline is aborted.
+     *
+     * @param queue
+     *      bounded queue
+     * @param batch
+     *      batch to add
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private void offer(BlockingQueue<Batch> queue, Batch batch) throws InterruptedException {
+        while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+            if (aborted) {
+                throw new InterruptedException("Pipeline aborted");
+            }
+        }
+    }
+
+    /**
+     * Wait for the tasks of a stage.
+     *
+     * @param tasks
+     *      tasks of the stage
+     * @param deadline
+     *      end of the load
+     * @throws ExecutionException
+     *      a task failed
+     * @throws TimeoutException
+     *      deadline reached
+     * @throws InterruptedException
+     *      pipeline stopped
+     */
+    private void await(List<Future<?>> tasks, long deadline)
+    throws ExecutionException, TimeoutException, InterruptedException {
+        for (Future<?> task : tasks) {
+            task.get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.datastax.astra.tool.loader.json;
 
 import lombok.Builder;
 
+/**
+ * Settings for the JSON Loader.
+ */
 @Builder
 public class JsonLoaderSettings {
 
@@ -11,12 +14,59 @@ public class JsonLoaderSettings {
 
     private static final int TIMEOUT = 1800;
 
+    private static final int QUEUE_CAPACITY = 100;
+
+    private static final int MAX_RETRIES = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private static final int REPORT_INTERVAL_SECONDS = 10;
+
+    private static final int MAPPED_WINDOW_BYTES = 64 * 1024 * 1024;
+
+    /** Number of records per insertMany (max 20). */
     @Builder.Default
-    int batchSize = BATCH_SIZE;;
+    int batchSize = BATCH_SIZE;
 
+    /** Number of threads inserting batches. */
     @Builder.Default
-    int threadPoolSize = THREAD_POOL_SIZE;;
+    int threadPoolSize = THREAD_POOL_SIZE;
 
+    /** Maximum duration of the load. */
     @Builder.Default
     int timeoutSeconds = TIMEOUT;
+
+    /** Layout of the file. */
+    @Builder.Default
+    JsonFormat format = JsonFormat.AUTO;
+
+    /** Number of ranges of a NDJSON file parsed in parallel. */
+    @Builder.Default
+    int parserThreads = 1;
+
+    /** Size of the memory mapped regions when reading a NDJSON file. */
+    @Builder.Default
+    int mappedWindowBytes = MAPPED_WINDOW_BYTES;
+
+    /** Number of batches waiting to be inserted, parsing is paused when reached. */
+    @Builder.Default
+    int queueCapacity = QUEUE_CAPACITY;
+
+    /** Number of retries for a batch failing with a transient error. */
+    @Builder.Default
+    int maxRetries = MAX_RETRIES;
+
+    /** Delay before first retry, doubled on each retry. */
+    @Builder.Default
+    long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    /** NDJSON file receiving the records that could not be parsed or inserted, with the error (optional). */
+    String deadLetterFile;
+
+    /** File keeping the position of the records inserted, a new load of the same file resumes from it (optional). */
+    String checkpointFile;
+
+    /** Interval in between two progress logs and checkpoints. */
+    @Builder.Default
+    int reportIntervalSeconds = REPORT_INTERVAL_SECONDS;
 }
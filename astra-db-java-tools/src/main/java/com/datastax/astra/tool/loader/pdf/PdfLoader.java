@@ -1,4 +1,380 @@
 package com.datastax.astra.tool.loader.pdf;
 
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.options.TableInsertManyOptions;
+import com.datastax.astra.tool.loader.OrderedBatchInserter;
+import com.datastax.astra.tool.loader.rag.ingestion.RagChunker;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionConfig;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionJob;
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ingest a PDF file into a {@link RagStore} table.
+ * <p>
+ * The pages are extracted in parallel by page ranges, each extractor thread working on its own instance of the
+ * document. The texts are chunked in page order following the {@link RagIngestionConfig}, and the rows are
+ * inserted by batches on a pool of threads. The counts of the {@link RagIngestionJob} are updated after each
+ * batch and saved periodically when a job table is provided.
+ * </p>
+ * <pre>
+ * {@code
+ * RagIngestionJob job = new RagIngestionJob();
+ * job.setSourceId(source.getUid());
+ * PdfLoader.load(new File("manual.pdf"), storeTable, config, job, jobTable, PdfLoaderSettings.builder().build());
+ * }
+ * </pre>
+ */
+@Slf4j
 public class PdfLoader {
+
+    /** Settings. */
+    private final PdfLoaderSettings settings;
+
+    /** File to load. */
+    private final File file;
+
+    /** Target table. */
+    private final Table<RagStore> storeTable;
+
+    /** Configuration of the ingestion. */
+    private final RagIngestionConfig config;
+
+    /** Job updated with the progress. */
+    private final RagIngestionJob job;
+
+    /** Table saving the job, can be null. */
+    private final Table<RagIngestionJob> jobTable;
+
+    /** Rows per insertMany, capped to the maximum accepted by the Data API. */
+    private final int batchSize;
+
+    /** Rows inserted. */
+    private final AtomicLong insertedCount = new AtomicLong();
+
+    /** Tokens of the rows inserted. */
+    private final AtomicLong tokenCount = new AtomicLong();
+
+    /** Retries of batches. */
+    private final AtomicLong retryCount = new AtomicLong();
+
+    /** Rows rejected by the Data API, their tokens are not counted. */
+    private final Set<RagStore> rejectedRows = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /** First error of an insert, stops the load. */
+    private final AtomicReference<String> failure = new AtomicReference<>();
+
+    /** Start of the load. */
+    private final long start = System.currentTimeMillis();
+
+    /** Documents opened by the extractors and not in use, guarded by itself. */
+    private final List<PDDocument> documents = new ArrayList<>();
+
+    /** Documents are closed, an extractor closes the document it gives back. Guarded by {@link #documents}. */
+    private boolean documentsClosed;
+
+    /** Serialize the saves of the job, the last save wins. */
+    private final Object saveLock = new Object();
+
+    /**
+     * Hide constructor.
+     */
+    private PdfLoader(File file, Table<RagStore> storeTable, RagIngestionConfig config,
+                      RagIngestionJob job, Table<RagIngestionJob> jobTable, PdfLoaderSettings settings) {
+        this.file       = file;
+        this.storeTable = storeTable;
+        this.config     = config;
+        this.job        = job;
+        this.jobTable   = jobTable;
+        this.settings   = settings;
+        this.batchSize  = Math.max(1, Math.min(settings.batchSize, DataAPIClientOptions.MAX_CHUNK_SIZE));
+        if (batchSize != settings.batchSize) {
+            log.info("Batch size set to {} (maximum for insertMany)", batchSize);
+        }
+    }
+
+    /**
+     * Ingest a PDF file.
+     *
+     * @param file
+     *      PDF file
+     * @param storeTable
+     *      table receiving the chunks
+     * @param config
+     *      chunking configuration
+     * @param job
+     *      job updated with the progress
+     * @param settings
+     *      settings
+     * @return
+     *      the job with its counts
+     * @throws Exception
+     *      error during the load
+     */
+    public static RagIngestionJob load(File file, Table<RagStore> storeTable, RagIngestionConfig config,
+                                       RagIngestionJob job, PdfLoaderSettings settings) throws Exception {
+        return load(file, storeTable, config, job, null, settings);
+    }
+
+    /**
+     * Ingest a PDF file, saving the job progress in its table.
+     *
+     * @param file
+     *      PDF file
+     * @param storeTable
+     *      table receiving the chunks
+     * @param config
+     *      chunking configuration
+     * @param job
+     *      job updated with the progress
+     * @param jobTable
+     *      table of the jobs, can be null
+     * @param settings
+     *      settings
+     * @return
+     *      the job with its counts
+     * @throws Exception
+     *      error during the load
+     */
+    public static RagIngestionJob load(File file, Table<RagStore> storeTable, RagIngestionConfig config,
+                                       RagIngestionJob job, Table<RagIngestionJob> jobTable,
+                                       PdfLoaderSettings settings) throws Exception {
+        new PdfLoader(file, storeTable, config, job, jobTable, settings).run();
+        return job;
+    }
+
+    private void run() throws Exception {
+        long deadline = start + TimeUnit.SECONDS.toMillis(settings.timeoutSeconds);
+        ExecutorService extractors = Executors.newFixedThreadPool(settings.extractorThreads);
+        ExecutorService inserters = Executors.newFixedThreadPool(settings.insertThreads);
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        Semaphore pendingBatches = new Semaphore(settings.queueCapacity);
+        List<CompletableFuture<Void>> inserts = new ArrayList<>();
+        reporter.scheduleAtFixedRate(this::saveJob,
+                settings.reportIntervalSeconds, settings.reportIntervalSeconds, TimeUnit.SECONDS);
+        try {
+            int pageCount;
+            try (PDDocument document = Loader.loadPDF(file)) {
+                pageCount = document.getNumberOfPages();
+            }
+            log.info("Loading {} ({} pages)", file.getName(), pageCount);
+
+            OrderedBatchInserter<RagStore, RagStore> inserter = new OrderedBatchInserter<>(
+                    batch -> storeTable.insertMany(batch, new TableInsertManyOptions().ordered(true)),
+                    row -> row,
+                    (rows, error) -> {
+                        rejectedRows.addAll(rows);
+                        failure.compareAndSet(null, rows.size() + " chunks rejected: " + error);
+                    },
+                    settings.maxRetries, settings.retryDelayMillis, insertedCount, retryCount);
+
+            // Extraction in page order, a bounded number of ranges in flight
+            RagChunker chunker = new RagChunker(config, job.getSourceId(), job.getUid());
+            ArrayDeque<CompletableFuture<String>> extractions = new ArrayDeque<>();
+            int nextPage = 1;
+            List<RagStore> batch = new ArrayList<>();
+            while (nextPage <= pageCount || !extractions.isEmpty()) {
+                while (nextPage <= pageCount && extractions.size() < settings.extractorThreads * 2) {
+                    int first = nextPage;
+                    int last  = Math.min(pageCount, first + settings.pagesPerTask - 1);
+                    extractions.add(CompletableFuture.supplyAsync(() -> extract(first, last), extractors));
+                    nextPage = last + 1;
+                }
+                String text = extractions.poll().get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                for (RagStore row : chunker.add(text)) {
+                    batch.add(row);
+                    if (batch.size() == batchSize) {
+                        inserts.add(submit(batch, inserter, inserters, pendingBatches, deadline));
+                        batch = new ArrayList<>();
+                    }
+                }
+            }
+            batch.addAll(chunker.finish());
+            for (int i = 0; i < batch.size(); i += batchSize) {
+                List<RagStore> last = batch.subList(i, Math.min(batch.size(), i + batchSize));
+                inserts.add(submit(last, inserter, inserters, pendingBatches, deadline));
+            }
+            CompletableFuture.allOf(inserts.toArray(new CompletableFuture[0]))
+                    .get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            if (failure.get() != null) {
+                throw new IllegalStateException("Loading " + file.getName() + " failed: " + failure.get());
+            }
+        } finally {
+            extractors.shutdownNow();
+            inserters.shutdownNow();
+            reporter.shutdownNow();
+            closeDocuments();
+            synchronized (job) {
+                job.setStop(Instant.now());
+            }
+            saveJob();
+            log.info("Loaded {} chunks ({} tokens) from {} in {} ms, {} retries", insertedCount.get(),
+                    tokenCount.get(), file.getName(), System.currentTimeMillis() - start, retryCount.get());
+        }
+    }
+
+    /**
+     * Extract the text of a range of pages with a document of the pool.
+     */
+    private String extract(int firstPage, int lastPage) {
+        PDDocument document = null;
+        try {
+            synchronized (documents) {
+                if (!documents.isEmpty()) {
+                    document = documents.remove(documents.size() - 1);
+                }
+            }
+            if (document == null) {
+                document = Loader.loadPDF(file);
+            }
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setStartPage(firstPage);
+            stripper.setEndPage(lastPage);
+            return stripper.getText(document);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot extract pages " + firstPage + "-" + lastPage, e);
+        } finally {
+            if (document != null) {
+                giveBack(document);
+            }
+        }
+    }
+
+    /**
+     * Give a document back to the pool, or close it when the load is over: an extraction still running when the
+     * extractors are stopped ends after the pool has been closed.
+     */
+    private void giveBack(PDDocument document) {
+        synchronized (documents) {
+            if (!documentsClosed) {
+                documents.add(document);
+                return;
+            }
+        }
+        close(document);
+    }
+
+    /**
+     * Close the documents of the pool, the ones still in use are closed when given back.
+     */
+    private void closeDocuments() {
+        List<PDDocument> pooled;
+        synchronized (documents) {
+            documentsClosed = true;
+            pooled = new ArrayList<>(documents);
+            documents.clear();
+        }
+        pooled.forEach(this::close);
+    }
+
+    private void close(PDDocument document) {
+        try {
+            document.close();
+        } catch (IOException e) {
+            log.warn("Cannot close {}: {}", file.getName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Submit a batch for insertion, waiting when too many batches are pending.
+     */
+    private CompletableFuture<Void> submit(List<RagStore> batch, OrderedBatchInserter<RagStore, RagStore> inserter,
+                                           ExecutorService inserters, Semaphore pendingBatches, long deadline)
+    throws InterruptedException, TimeoutException {
+        if (failure.get() != null) {
+            throw new IllegalStateException("Loading " + file.getName() + " failed: " + failure.get());
+        }
+        if (!pendingBatches.tryAcquire(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("Loading " + file.getName() + " timed out");
+        }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                inserter.insert(batch);
+                tokenCount.addAndGet(batch.stream()
+                        .filter(r -> !rejectedRows.remove(r))
+                        .mapToInt(r -> RagChunker.countTokens(r.getEmbedded()))
+                        .sum());
+                updateJob();
+            } catch (InterruptedException e) {
+                // the batch may be partially inserted, the load fails rather than reporting it as done
+                Thread.currentThread().interrupt();
+                failure.compareAndSet(null, "insert of " + batch.size() + " chunks interrupted");
+                throw new IllegalStateException("Loading " + file.getName() + " failed: " + failure.get());
+            } finally {
+                pendingBatches.release();
+            }
+        }, inserters);
+    }
+
+    /**
+     * Report the counts in the job.
+     */
+    private void updateJob() {
+        synchronized (job) {
+            job.setChunkCount((int) insertedCount.get());
+            job.setTokenCount((int) tokenCount.get());
+            job.setElapsed(System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Save the job when a job table is provided. A copy is saved, the inserters updating the counts of the job
+     * are not blocked by the call to the Data API.
+     */
+    private void saveJob() {
+        updateJob();
+        if (jobTable != null) {
+            synchronized (saveLock) {
+                RagIngestionJob snapshot;
+                synchronized (job) {
+                    snapshot = copy(job);
+                }
+                try {
+                    jobTable.insertOne(snapshot);
+                } catch (RuntimeException e) {
+                    log.warn("Cannot save job {}: {}", job.getUid(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static RagIngestionJob copy(RagIngestionJob job) {
+        RagIngestionJob copy = new RagIngestionJob();
+        copy.setSourceId(job.getSourceId());
+        copy.setUid(job.getUid());
+        copy.setConfigId(job.getConfigId());
+        copy.setStart(job.getStart());
+        copy.setStop(job.getStop());
+        copy.setElapsed(job.getElapsed());
+        copy.setChunkCount(job.getChunkCount());
+        copy.setTokenCount(job.getTokenCount());
+        copy.setCommittedChunkIdx(job.getCommittedChunkIdx());
+        copy.setStatus(job.getStatus());
+        copy.setErrorMessage(job.getErrorMessage());
+        return copy;
+    }
 }
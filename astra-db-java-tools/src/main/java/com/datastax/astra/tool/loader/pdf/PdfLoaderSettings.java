@@ -0,0 +1,62 @@
+package com.datastax.astra.tool.loader.pdf;
+
+import lombok.Builder;
+
+/**
+ * Settings for the PDF Loader.
+ */
+@Builder
+public class PdfLoaderSettings {
+
+    private static final int BATCH_SIZE = 20;
+
+    private static final int PAGES_PER_TASK = 8;
+
+    private static final int INSERT_THREADS = 4;
+
+    private static final int QUEUE_CAPACITY = 50;
+
+    private static final int TIMEOUT = 1800;
+
+    private static final int MAX_RETRIES = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private static final int REPORT_INTERVAL_SECONDS = 10;
+
+    /** Number of threads extracting the text of the pages, one document opened per thread. */
+    @Builder.Default
+    int extractorThreads = Runtime.getRuntime().availableProcessors();
+
+    /** Number of pages extracted by a task. */
+    @Builder.Default
+    int pagesPerTask = PAGES_PER_TASK;
+
+    /** Number of rows per insertMany, capped to the maximum chunk size of the Data API. */
+    @Builder.Default
+    int batchSize = BATCH_SIZE;
+
+    /** Number of threads inserting batches. */
+    @Builder.Default
+    int insertThreads = INSERT_THREADS;
+
+    /** Number of batches waiting for insertion, extraction is paused when reached. */
+    @Builder.Default
+    int queueCapacity = QUEUE_CAPACITY;
+
+    /** Maximum duration of the load. */
+    @Builder.Default
+    int timeoutSeconds = TIMEOUT;
+
+    /** Number of retries for a batch failing with a transient error. */
+    @Builder.Default
+    int maxRetries = MAX_RETRIES;
+
+    /** Delay before first retry, doubled on each retry. */
+    @Builder.Default
+    long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    /** Interval in between two saves of the job progress. */
+    @Builder.Default
+    int reportIntervalSeconds = REPORT_INTERVAL_SECONDS;
+}
@@ -10,10 +10,14 @@ import com.datastax.astra.client.databases.DatabaseOptions;
 import com.datastax.astra.client.databases.commands.options.CreateKeyspaceOptions;
 import com.datastax.astra.client.databases.definition.DatabaseInfo;
 import com.datastax.astra.client.databases.definition.keyspaces.KeyspaceDefinition;
+import com.datastax.astra.client.databases.schema.SchemaObjectResult;
+import com.datastax.astra.client.databases.schema.SchemaPlan;
+import com.datastax.astra.client.databases.schema.SchemaPlanResult;
 import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.AlterTableAddColumns;
 import com.datastax.astra.client.tables.commands.options.CreateTableOptions;
-import com.datastax.astra.client.tables.commands.options.CreateVectorIndexOptions;
-import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.client.tables.definition.columns.TableColumnTypes;
+import com.datastax.astra.client.tables.definition.indexes.TableRegularIndexDefinition;
 import com.datastax.astra.tool.loader.rag.ingestion.RagEmbeddingsModels;
 import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionConfig;
 import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionJob;
@@ -22,14 +26,35 @@ import com.datastax.astra.tool.loader.rag.stores.RagStore;
 import com.dtsx.astra.sdk.db.domain.CloudProviderType;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static com.datastax.astra.internal.utils.Assert.notNull;
 
+/**
+ * Access the RAG tables of a tenant, each tenant having its own database.
+ * <p>
+ * Databases and tables are resolved once and cached for {@code cacheTtl}: concurrent requests for a tenant wait
+ * for the same resolution instead of creating the database twice, and all databases share one
+ * {@link DataAPIClient} and its HTTP transport. The existence of a table is only checked the first time it is
+ * requested for a tenant.
+ * </p>
+ */
 @Slf4j
 public class RagRepository {
 
+    /** Default time to live of the resolved databases and tables. */
+    public static final Duration DEFAULT_CACHE_TTL = Duration.ofMinutes(30);
+
     String token;
 
     String keyspace;
@@ -38,13 +63,94 @@ public class RagRepository {
 
     String cloudRegion = "us-east-2";
 
+    /** Time to live of the cache entries. */
+    final Duration cacheTtl;
+
+    /** Client shared by all tenants. */
+    final DataAPIClient dataApiClient;
+
+    /** Databases by tenant, a pending resolution is shared by concurrent callers. */
+    final Map<UUID, CacheEntry<Database>> databases = new ConcurrentHashMap<>();
+
+    /** Tables by tenant and table name, existence verified. */
+    final Map<String, CacheEntry<Table<?>>> tables = new ConcurrentHashMap<>();
+
+    /**
+     * Resolution cached until its expiration.
+     *
+     * @param value
+     *      value, completed once resolved
+     * @param expiresAt
+     *      expiration time
+     * @param <V>
+     *      type of the value
+     */
+    record CacheEntry<V>(CompletableFuture<V> value, long expiresAt) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt
+                    || value.isCompletedExceptionally() || value.isCancelled();
+        }
+    }
+
     public RagRepository(String token, String keyspace) {
+        this(token, keyspace, DEFAULT_CACHE_TTL);
+    }
+
+    public RagRepository(String token, String keyspace, Duration cacheTtl) {
         this.token = token;
         this.keyspace = keyspace;
+        this.cacheTtl = cacheTtl;
+        this.dataApiClient = DataAPIClients.astra(token);
     }
 
     public Database getOrCreateDatabase(UUID tenantId) {
-            DataAPIClient dataApiClient = DataAPIClients.astra(token);
+        return resolve(databases, tenantId, () -> resolveDatabase(tenantId));
+    }
+
+    /**
+     * Remove the databases and tables of a tenant from the cache.
+     *
+     * @param tenantId
+     *      tenant identifier
+     */
+    public void evict(UUID tenantId) {
+        databases.remove(tenantId);
+        tables.keySet().removeIf(key -> key.startsWith(tenantId + "/"));
+    }
+
+    /**
+     * Get a cached value or resolve it, a single caller resolves a key while the others wait for the result.
+     */
+    private <K, V> V resolve(Map<K, CacheEntry<V>> cache, K key, Supplier<V> resolver) {
+        CacheEntry<V> entry = cache.get(key);
+        if (entry == null || entry.isExpired()) {
+            CacheEntry<V> candidate = new CacheEntry<>(new CompletableFuture<>(),
+                    System.currentTimeMillis() + cacheTtl.toMillis());
+            CacheEntry<V> current = cache.compute(key, (k, existing) ->
+                    existing == null || existing.isExpired() ? candidate : existing);
+            if (current == candidate) {
+                try {
+                    candidate.value().complete(resolver.get());
+                } catch (Throwable e) {
+                    // errors too, or the callers waiting on the entry would never return
+                    candidate.value().completeExceptionally(e);
+                    cache.remove(key, candidate);
+                }
+            }
+            entry = current;
+        }
+        try {
+            return entry.value().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private Database resolveDatabase(UUID tenantId) {
             AstraDBAdmin astraDBAdmin = dataApiClient.getAdmin();
             // Database
             Optional<DatabaseInfo> devopsDB = astraDBAdmin
@@ -70,15 +176,29 @@ public class RagRepository {
                             .dataAPIClientOptions(dataApiClient.getOptions()));
     }
 
-    private <T> Table<T> getTable(Database db, Class<T> record) {
+    private <T> Table<T> getTable(UUID tenantId, Class<T> record) {
+        return getTable(tenantId, record, table -> {});
+    }
+
+    /**
+     * Get a table, creating it when missing or applying the migration to an existing table.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Table<T> getTable(UUID tenantId, Class<T> record, Consumer<Table<T>> migration) {
+        Database db = getOrCreateDatabase(tenantId);
         String tableName = db.getTableName(record);
-        db.useKeyspace(keyspace);
-        if (!db.tableExists(tableName)) {
-            log.info("Table {} does not exists, creating...", tableName);
-            db.createTable(record, new CreateTableOptions().keyspace(keyspace));
-            log.info("Table {} has been successfully created", tableName);
-        }
-        return db.getTable(record);
+        return (Table<T>) resolve(tables, tenantId + "/" + tableName, () -> {
+            db.useKeyspace(keyspace);
+            if (!db.tableExists(tableName)) {
+                log.info("Table {} does not exists, creating...", tableName);
+                db.createTable(record, new CreateTableOptions().keyspace(keyspace));
+                log.info("Table {} has been successfully created", tableName);
+                return db.getTable(record);
+            }
+            Table<T> table = db.getTable(record);
+            migration.accept(table);
+            return table;
+        });
     }
 
     // --------------------------------------------------------------------
@@ -86,7 +206,7 @@ public class RagRepository {
     // --------------------------------------------------------------------
 
     public Table<RagSource> getTableRagSource(UUID tenantId) {
-        return getTable(getOrCreateDatabase(tenantId), RagSource.class);
+        return getTable(tenantId, RagSource.class);
     }
 
     public UUID registerSource(UUID tenantId, RagSource source) {
@@ -102,7 +222,7 @@ public class RagRepository {
     // --------------------------------------------------------------------
 
     public Table<RagIngestionConfig> getTableRagConfig(UUID tenantId) {
-        return getTable(getOrCreateDatabase(tenantId), RagIngestionConfig.class);
+        return getTable(tenantId, RagIngestionConfig.class);
     }
 
     public UUID createConfig(UUID tenantId, RagIngestionConfig config) {
@@ -118,18 +238,42 @@ public class RagRepository {
     // --------------------------------------------------------------------
 
     public Table<RagIngestionJob> getTableRagJob(UUID tenantId) {
-        return getTable(getOrCreateDatabase(tenantId), RagIngestionJob.class);
+        return getTable(tenantId, RagIngestionJob.class, RagRepository::migrateTableRagJob);
+    }
+
+    /**
+     * Add the checkpoint and status columns to a jobs table created by a previous version.
+     */
+    private static void migrateTableRagJob(Table<RagIngestionJob> table) {
+        Map<String, TableColumnTypes> added = new LinkedHashMap<>();
+        added.put("committed_chunk_idx", TableColumnTypes.INT);
+        added.put("status", TableColumnTypes.TEXT);
+        added.put("error_message", TableColumnTypes.TEXT);
+        Set<String> columns = table.getDefinition().getColumns().keySet();
+        AlterTableAddColumns missing = new AlterTableAddColumns();
+        added.forEach((name, type) -> {
+            if (!columns.contains(name)) {
+                missing.addColumn(name, type);
+            }
+        });
+        if (!missing.getColumns().isEmpty()) {
+            log.info("Table {} migrated, adding columns {}", table.getTableName(), missing.getColumns().keySet());
+            table.alter(missing);
+        }
     }
 
     // --------------------------------------------------------------------
     // Vector Stores
     // --------------------------------------------------------------------
 
+    @SuppressWarnings("unchecked")
     public Table<RagStore> getTableRagStore(UUID tenantId, RagIngestionConfig config) {
-       return getTableRagStore(getOrCreateDatabase(tenantId),
+        Database db = getOrCreateDatabase(tenantId);
+        String tableName = RagStore.getTableName(config.getEmbeddingProvider(), config.getEmbeddingModel());
+        return (Table<RagStore>) resolve(tables, tenantId + "/" + tableName, () -> getTableRagStore(db,
                 config.getEmbeddingProvider(),
                 config.getEmbeddingModel(),
-                config.getEmbeddingDimension(), null);
+                config.getEmbeddingDimension(), null));
     }
 
     public Table<RagStore> getTableRagStore(Database db, String provider, String model, int dimension, VectorServiceOptions options) {
@@ -137,21 +281,17 @@ public class RagRepository {
         String tableName = RagStore.getTableName(provider, model);
         db.useKeyspace(keyspace);
 
-        if (!db.tableExists(tableName)) {
-            log.info("Table {} does not exists, creating...", tableName);
-            Table<Row> table = db.createTable(tableName,
-                    RagStore.getTableDefinition(dimension, options),
-                    new CreateTableOptions().keyspace(keyspace));
-            log.info("Table {} has been successfully created", tableName);
-
-            table.createIndex(RagStore.getIndexName(provider, model) + "_sourceId","source_id");
-
-            String indexName = RagStore.getIndexName(provider, model);
-            table.createVectorIndex(indexName,
-                    RagStore.getVectorIndexDefinition(options),
-                    CreateVectorIndexOptions.IF_NOT_EXISTS);
-            log.info("Vector Index {} has been successfully created", indexName);
+        // Missing table and indexes are created, the two indexes in parallel once the table exists
+        String indexName = RagStore.getIndexName(provider, model);
+        SchemaPlanResult result = db.createSchema(new SchemaPlan()
+                .table(tableName, RagStore.getTableDefinition(dimension, options))
+                .index(tableName, indexName + "_sourceId", new TableRegularIndexDefinition().column("source_id"))
+                .index(tableName, indexName, RagStore.getVectorIndexDefinition(options)));
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException("Cannot create table " + tableName + ": " + result.getFailures());
         }
+        log.info("Table {} is ready ({} objects created)", tableName,
+                result.getResults(SchemaObjectResult.Status.CREATED).size());
         return db.getTable(tableName, RagStore.class);
     }
 
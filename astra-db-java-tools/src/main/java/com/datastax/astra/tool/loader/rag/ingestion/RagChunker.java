@@ -0,0 +1,217 @@
+package com.datastax.astra.tool.loader.rag.ingestion;
+
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Split a text received in pieces into {@link RagStore} rows following a {@link RagIngestionConfig}.
+ * <p>
+ * Chunks are {@code chunkSize} characters long, cut on a whitespace when possible, and the next chunk starts on
+ * the first word within the last {@code chunkOverlap} characters of the previous one. The context of a chunk is the text of
+ * the {@code contextBefore} previous chunks, the chunk and the {@code contextAfter} next chunks: a row is
+ * returned once its next chunks are known. Not thread safe, one chunker per source.
+ * </p>
+ */
+public class RagChunker {
+
+    /** Chunk size when not set in the configuration. */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** Chunk overlap when not set in the configuration. */
+    public static final int DEFAULT_CHUNK_OVERLAP = 100;
+
+    /** Md5 digest per thread. */
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    });
+
+    /** Source of the chunks. */
+    private final UUID sourceId;
+
+    /** Job producing the chunks. */
+    private final UUID jobId;
+
+    /** Size of a chunk. */
+    private final int chunkSize;
+
+    /** Characters shared by two consecutive chunks. */
+    private final int chunkOverlap;
+
+    /** Number of previous chunks in the context. */
+    private final int contextBefore;
+
+    /** Number of next chunks in the context. */
+    private final int contextAfter;
+
+    /** Text not chunked yet. */
+    private final StringBuilder pending = new StringBuilder();
+
+    /** Previous chunks, already returned. */
+    private final ArrayDeque<String> previous = new ArrayDeque<>();
+
+    /** Chunks waiting for their next chunks. */
+    private final ArrayDeque<String> waiting = new ArrayDeque<>();
+
+    /** Index of the next chunk returned. */
+    private int chunkIdx;
+
+    /**
+     * Chunker for a source.
+     *
+     * @param config
+     *      ingestion configuration
+     * @param sourceId
+     *      source of the chunks
+     * @param jobId
+     *      job producing the chunks
+     */
+    public RagChunker(RagIngestionConfig config, UUID sourceId, UUID jobId) {
+        this.sourceId      = sourceId;
+        this.jobId         = jobId;
+        this.chunkSize     = config.getChunkSize() != null ? config.getChunkSize() : DEFAULT_CHUNK_SIZE;
+        this.chunkOverlap  = config.getChunkOverlap() != null ? config.getChunkOverlap() : DEFAULT_CHUNK_OVERLAP;
+        this.contextBefore = config.getContextBefore() != null ? config.getContextBefore() : 0;
+        this.contextAfter  = config.getContextAfter() != null ? config.getContextAfter() : 0;
+        if (chunkSize <= 0 || chunkOverlap < 0 || chunkOverlap >= chunkSize) {
+            throw new IllegalArgumentException("chunkOverlap must be positive and lower than chunkSize");
+        }
+    }
+
+    /**
+     * Add the next piece of text.
+     *
+     * @param text
+     *      next piece of the text
+     * @return
+     *      rows whose context is complete
+     */
+    public List<RagStore> add(String text) {
+        pending.append(text);
+        List<RagStore> rows = new ArrayList<>();
+        while (pending.length() >= chunkSize) {
+            int cut = chunkSize;
+            int space = lastWhitespace(cut);
+            if (space > chunkSize / 2) {
+                cut = space;
+            }
+            addChunk(pending.substring(0, cut), rows);
+            pending.delete(0, nextStart(cut));
+        }
+        return rows;
+    }
+
+    /**
+     * End of the text.
+     *
+     * @return
+     *      remaining rows
+     */
+    public List<RagStore> finish() {
+        List<RagStore> rows = new ArrayList<>();
+        if (!pending.toString().isBlank()) {
+            addChunk(pending.toString(), rows);
+        }
+        pending.setLength(0);
+        while (!waiting.isEmpty()) {
+            rows.add(nextRow());
+        }
+        return rows;
+    }
+
+    /**
+     * Compute the md5 of a chunk, used to skip chunks already ingested.
+     *
+     * @param chunk
+     *      chunk text
+     * @return
+     *      md5 as hexadecimal
+     */
+    public static String md5(String chunk) {
+        MessageDigest digest = MD5.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Estimate the number of tokens of a text as its number of words.
+     *
+     * @param text
+     *      text
+     * @return
+     *      number of tokens
+     */
+    public static int countTokens(String text) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean space = Character.isWhitespace(text.charAt(i));
+            if (!space && !inWord) {
+                count++;
+            }
+            inWord = !space;
+        }
+        return count;
+    }
+
+    private int lastWhitespace(int end) {
+        for (int i = end - 1; i > 0; i--) {
+            if (Character.isWhitespace(pending.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int nextStart(int cut) {
+        // Start the overlap at the beginning of a word
+        for (int i = Math.max(0, cut - chunkOverlap); i < cut; i++) {
+            if (Character.isWhitespace(pending.charAt(i))) {
+                return i + 1;
+            }
+        }
+        return Math.max(1, cut - chunkOverlap);
+    }
+
+    private void addChunk(String chunk, List<RagStore> rows) {
+        String trimmed = chunk.trim();
+        if (trimmed.isEmpty()) {
+            return;
+        }
+        waiting.add(trimmed);
+        if (waiting.size() > contextAfter) {
+            rows.add(nextRow());
+        }
+    }
+
+    private RagStore nextRow() {
+        String chunk = waiting.peekFirst();
+        StringBuilder context = new StringBuilder();
+        previous.forEach(c -> context.append(c).append('\n'));
+        waiting.forEach(c -> context.append(c).append('\n'));
+        RagStore row = new RagStore();
+        row.setSourceId(sourceId);
+        row.setJobId(jobId);
+        row.setChunkIdx(chunkIdx++);
+        row.setChunkMd5(md5(chunk));
+        row.setEmbedded(chunk);
+        row.setContext(context.toString().trim());
+        waiting.pollFirst();
+        previous.add(chunk);
+        if (previous.size() > contextBefore) {
+            previous.pollFirst();
+        }
+        return row;
+    }
+}
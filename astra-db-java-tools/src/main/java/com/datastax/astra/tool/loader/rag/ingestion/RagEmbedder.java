@@ -0,0 +1,22 @@
+package com.datastax.astra.tool.loader.rag.ingestion;
+
+import com.datastax.astra.client.core.vector.DataAPIVector;
+
+import java.util.List;
+
+/**
+ * Compute the embeddings of chunks on the client side, in batches.
+ */
+@FunctionalInterface
+public interface RagEmbedder {
+
+    /**
+     * Compute the embeddings of a batch of chunks.
+     *
+     * @param chunks
+     *      texts to embed
+     * @return
+     *      one vector per chunk, in the same order
+     */
+    List<DataAPIVector> embed(List<String> chunks);
+}
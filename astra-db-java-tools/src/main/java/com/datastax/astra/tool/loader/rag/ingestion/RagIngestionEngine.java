@@ -0,0 +1,431 @@
+package com.datastax.astra.tool.loader.rag.ingestion;
+
+import com.datastax.astra.client.core.query.Projection;
+import com.datastax.astra.client.core.vector.DataAPIVector;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.options.TableFindOptions;
+import com.datastax.astra.client.tables.commands.options.TableInsertManyOptions;
+import com.datastax.astra.tool.loader.OrderedBatchInserter;
+import com.datastax.astra.tool.loader.rag.sources.RagJobStatus;
+import com.datastax.astra.tool.loader.rag.sources.RagSource;
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.datastax.astra.client.core.query.Filters.and;
+import static com.datastax.astra.client.core.query.Filters.eq;
+import static com.datastax.astra.client.core.query.Filters.gte;
+
+/**
+ * Execute a {@link RagIngestionJob}: read a source, split it, compute the embeddings and store the chunks.
+ * <p>
+ * The source is read and split by the calling thread. Chunks are grouped in segments of
+ * {@code embeddingBatchSize} chunks, embedded on the embedding pool and inserted by batches on the insert pool.
+ * Each stage accepts a bounded number of pending segments or batches, reading is paused when they are full.
+ * </p>
+ * <p>
+ * Segments complete in any order: the {@code committedChunkIdx} of the job only moves forward when all the
+ * previous segments are stored, and it is saved periodically to the job table. A job restarted after a crash
+ * skips the chunks before its committed index. When {@code incremental} is enabled, chunks stored with the same
+ * index and md5 are skipped and the embeddings of chunks which moved are reused, so only edited chunks are
+ * embedded again. Chunks beyond the end of a source which got shorter are deleted.
+ * </p>
+ * <pre>
+ * {@code
+ * RagIngestionEngine engine = new RagIngestionEngine(storeTable, jobTable, RagIngestionSettings.builder()
+ *   .embedder(chunks -> myModel.embedAll(chunks))
+ *   .build());
+ * engine.ingest(source, config, job);
+ * }
+ * </pre>
+ */
+@Slf4j
+public class RagIngestionEngine {
+
+    /** Target table. */
+    private final Table<RagStore> storeTable;
+
+    /** Table saving the jobs, can be null. */
+    private final Table<RagIngestionJob> jobTable;
+
+    /** Settings. */
+    private final RagIngestionSettings settings;
+
+    /**
+     * Engine for a store.
+     *
+     * @param storeTable
+     *      table receiving the chunks
+     * @param jobTable
+     *      table saving the job progress, can be null
+     * @param settings
+     *      settings
+     */
+    public RagIngestionEngine(Table<RagStore> storeTable, Table<RagIngestionJob> jobTable, RagIngestionSettings settings) {
+        this.storeTable = storeTable;
+        this.jobTable   = jobTable;
+        this.settings   = settings;
+    }
+
+    /**
+     * Ingest a source, resuming the job from its committed chunk index.
+     *
+     * @param source
+     *      source to ingest
+     * @param config
+     *      ingestion configuration
+     * @param job
+     *      job, new or resumed
+     * @return
+     *      the job completed
+     * @throws Exception
+     *      error during the ingestion, the job is saved as failed
+     */
+    public RagIngestionJob ingest(RagSource source, RagIngestionConfig config, RagIngestionJob job) throws Exception {
+        return new Run(source, config, job).execute();
+    }
+
+    /**
+     * Chunks embedded and inserted together.
+     */
+    private static final class Segment {
+
+        /** Sequence number in reading order. */
+        final long sequence;
+
+        /** Rows to store, skipped chunks are not in the list. */
+        final List<RagStore> rows = new ArrayList<>();
+
+        /** Index after the last chunk of the segment. */
+        int endChunkIdx;
+
+        /** Tokens of the chunks of the segment. */
+        long tokens;
+
+        Segment(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Execution of a job.
+     */
+    private final class Run {
+
+        private final RagSource source;
+
+        private final RagIngestionConfig config;
+
+        private final RagIngestionJob job;
+
+        private final long start = System.currentTimeMillis();
+
+        /** Stored chunks md5 by index. */
+        private final Map<Integer, String> storedMd5 = new HashMap<>();
+
+        /** Stored embeddings by md5, when an embedder is used. */
+        private final Map<String, DataAPIVector> storedEmbeddings = new HashMap<>();
+
+        /** Segments completed out of order. */
+        private final TreeMap<Long, Segment> completed = new TreeMap<>();
+
+        /** First error, stops the job. */
+        private final AtomicReference<String> failure = new AtomicReference<>();
+
+        private final AtomicLong insertedCount = new AtomicLong();
+
+        private final AtomicLong embeddedCount = new AtomicLong();
+
+        private final AtomicLong retryCount = new AtomicLong();
+
+        private final List<CompletableFuture<Void>> segments = new ArrayList<>();
+
+        private ExecutorService embedders;
+
+        private ExecutorService inserters;
+
+        private Semaphore pendingSegments;
+
+        private Semaphore pendingBatches;
+
+        private OrderedBatchInserter<RagStore, RagStore> inserter;
+
+        private long deadline;
+
+        /** Next segment expected to move the committed index. */
+        private long nextCommit;
+
+        private long nextSequence;
+
+        Run(RagSource source, RagIngestionConfig config, RagIngestionJob job) {
+            this.source = source;
+            this.config = config;
+            this.job    = job;
+        }
+
+        RagIngestionJob execute() throws Exception {
+            deadline = start + TimeUnit.SECONDS.toMillis(settings.timeoutSeconds);
+            embedders = Executors.newFixedThreadPool(settings.embeddingThreads);
+            inserters = Executors.newFixedThreadPool(settings.insertThreads);
+            pendingSegments = new Semaphore(settings.queueCapacity);
+            pendingBatches  = new Semaphore(settings.queueCapacity);
+            inserter = new OrderedBatchInserter<>(
+                    batch -> storeTable.insertMany(batch, new TableInsertManyOptions().ordered(true)),
+                    row -> row,
+                    (rows, error) -> failure.compareAndSet(null, rows.size() + " chunks rejected: " + error),
+                    settings.maxRetries, settings.retryDelayMillis, insertedCount, retryCount);
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(this::saveCheckpoint,
+                    settings.checkpointIntervalSeconds, settings.checkpointIntervalSeconds, TimeUnit.SECONDS);
+            int resumeFrom;
+            synchronized (job) {
+                if (job.getSourceId() == null) {
+                    job.setSourceId(source.getUid());
+                }
+                // Jobs saved before the checkpoint columns existed have no values
+                if (job.getCommittedChunkIdx() == null) {
+                    job.setCommittedChunkIdx(0);
+                }
+                if (job.getChunkCount() == null) {
+                    job.setChunkCount(0);
+                }
+                if (job.getTokenCount() == null) {
+                    job.setTokenCount(0);
+                }
+                job.setConfigId(config.getUid());
+                job.setStatus(RagJobStatus.PROCESSING.name());
+                resumeFrom = job.getCommittedChunkIdx();
+            }
+            if (resumeFrom > 0) {
+                log.info("Resuming job {} from chunk {}", job.getUid(), resumeFrom);
+            }
+            Exception error = null;
+            try {
+                saveJob();
+                if (settings.incremental) {
+                    loadStoredChunks();
+                }
+                RagChunker chunker = new RagChunker(config, job.getSourceId(), job.getUid());
+                Segment[] current = { new Segment(nextSequence++) };
+                settings.reader.read(source, piece ->
+                        chunker.add(piece).forEach(row -> current[0] = accept(current[0], row, resumeFrom)));
+                for (RagStore row : chunker.finish()) {
+                    current[0] = accept(current[0], row, resumeFrom);
+                }
+                int chunkCount = current[0].endChunkIdx;
+                dispatch(current[0]);
+                CompletableFuture.allOf(segments.toArray(new CompletableFuture[0]))
+                        .get(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (failure.get() != null) {
+                    throw new IllegalStateException(failure.get());
+                }
+                if (settings.incremental && storedMd5.keySet().stream().anyMatch(idx -> idx >= chunkCount)) {
+                    storeTable.deleteMany(and(eq("source_id", job.getSourceId()), gte("chunk_idx", chunkCount)));
+                }
+                synchronized (job) {
+                    job.setStatus(RagJobStatus.COMPLETED.name());
+                }
+                return job;
+            } catch (Exception e) {
+                error = e;
+                synchronized (job) {
+                    job.setStatus(RagJobStatus.FAILED.name());
+                    job.setErrorMessage(failure.get() != null ? failure.get() : e.getMessage());
+                }
+                throw e;
+            } finally {
+                embedders.shutdownNow();
+                inserters.shutdownNow();
+                reporter.shutdownNow();
+                synchronized (job) {
+                    job.setStop(Instant.now());
+                }
+                log.info("Job {}: {} chunks stored, {} embedded, {} retries in {} ms", job.getUid(),
+                        insertedCount.get(), embeddedCount.get(), retryCount.get(), System.currentTimeMillis() - start);
+                try {
+                    saveJob();
+                } catch (RuntimeException e) {
+                    if (error == null) {
+                        throw e;
+                    }
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        /**
+         * Md5 (and embeddings) of the chunks already stored for the source.
+         */
+        private void loadStoredChunks() {
+            Projection[] projection = settings.embedder != null ?
+                    Projection.include("chunk_idx", "chunk_md5", "embeddings") :
+                    Projection.include("chunk_idx", "chunk_md5");
+            storeTable.find(eq("source_id", job.getSourceId()), new TableFindOptions().projection(projection))
+                    .forEach(row -> {
+                        storedMd5.put(row.getChunkIdx(), row.getChunkMd5());
+                        if (row.getEmbeddings() != null) {
+                            storedEmbeddings.put(row.getChunkMd5(), row.getEmbeddings());
+                        }
+                    });
+            log.info("Source {} has {} chunks stored", job.getSourceId(), storedMd5.size());
+        }
+
+        /**
+         * Add a chunk to the current segment, dispatching it when full.
+         */
+        private Segment accept(Segment segment, RagStore row, int resumeFrom) {
+            int idx = row.getChunkIdx();
+            segment.endChunkIdx = idx + 1;
+            if (idx < resumeFrom) {
+                return segment;
+            }
+            segment.tokens += RagChunker.countTokens(row.getEmbedded());
+            if (row.getChunkMd5().equals(storedMd5.get(idx))) {
+                return segment;
+            }
+            segment.rows.add(row);
+            if (segment.rows.size() < settings.embeddingBatchSize) {
+                return segment;
+            }
+            dispatch(segment);
+            Segment next = new Segment(nextSequence++);
+            next.endChunkIdx = segment.endChunkIdx;
+            return next;
+        }
+
+        /**
+         * Send a segment to the embedding stage.
+         */
+        private void dispatch(Segment segment) {
+            acquire(pendingSegments);
+            segments.add(CompletableFuture
+                    .supplyAsync(() -> embed(segment), embedders)
+                    .thenCompose(this::insert)
+                    .whenComplete((r, e) -> {
+                        pendingSegments.release();
+                        if (e != null) {
+                            failure.compareAndSet(null, e.getMessage());
+                        }
+                    }));
+        }
+
+        private Segment embed(Segment segment) {
+            if (settings.embedder == null) {
+                return segment;
+            }
+            List<RagStore> toEmbed = new ArrayList<>();
+            for (RagStore row : segment.rows) {
+                DataAPIVector stored = storedEmbeddings.get(row.getChunkMd5());
+                if (stored != null) {
+                    row.setEmbeddings(stored);
+                } else {
+                    toEmbed.add(row);
+                }
+            }
+            if (!toEmbed.isEmpty()) {
+                List<DataAPIVector> vectors = settings.embedder.embed(toEmbed.stream().map(RagStore::getEmbedded).toList());
+                if (vectors.size() != toEmbed.size()) {
+                    throw new IllegalStateException("Embedder returned " + vectors.size() + " vectors for " + toEmbed.size() + " chunks");
+                }
+                for (int i = 0; i < vectors.size(); i++) {
+                    toEmbed.get(i).setEmbeddings(vectors.get(i));
+                }
+                embeddedCount.addAndGet(toEmbed.size());
+            }
+            return segment;
+        }
+
+        /**
+         * Insert the rows of a segment by batches, then commit it.
+         */
+        private CompletableFuture<Void> insert(Segment segment) {
+            List<CompletableFuture<Void>> batches = new ArrayList<>();
+            for (int i = 0; i < segment.rows.size(); i += settings.batchSize) {
+                List<RagStore> batch = segment.rows.subList(i, Math.min(segment.rows.size(), i + settings.batchSize));
+                acquire(pendingBatches);
+                batches.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        inserter.insert(batch);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted");
+                    } finally {
+                        pendingBatches.release();
+                    }
+                }, inserters));
+            }
+            return CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))
+                    .thenRun(() -> commit(segment));
+        }
+
+        /**
+         * Move the committed index when all the previous segments are stored.
+         */
+        private void commit(Segment segment) {
+            if (failure.get() != null) {
+                return;
+            }
+            synchronized (job) {
+                completed.put(segment.sequence, segment);
+                while (!completed.isEmpty() && completed.firstKey() == nextCommit) {
+                    Segment next = completed.pollFirstEntry().getValue();
+                    job.setCommittedChunkIdx(Math.max(job.getCommittedChunkIdx(), next.endChunkIdx));
+                    job.setChunkCount(job.getCommittedChunkIdx());
+                    job.setTokenCount((int) (job.getTokenCount() + next.tokens));
+                    nextCommit++;
+                }
+            }
+        }
+
+        private void acquire(Semaphore semaphore) {
+            try {
+                if (failure.get() != null) {
+                    throw new IllegalStateException(failure.get());
+                }
+                if (!semaphore.tryAcquire(Math.max(1, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Job " + job.getUid() + " timed out");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+        }
+
+        /**
+         * Save the job checkpoint when a job table is provided, a job that cannot be saved cannot be resumed.
+         */
+        private void saveJob() {
+            synchronized (job) {
+                job.setElapsed(System.currentTimeMillis() - start);
+                if (jobTable != null) {
+                    jobTable.insertOne(job);
+                }
+            }
+        }
+
+        /**
+         * Periodic save of the job, an error stops the ingestion.
+         */
+        private void saveCheckpoint() {
+            try {
+                saveJob();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, "Cannot save job " + job.getUid() + ": " + e.getMessage());
+            }
+        }
+    }
+}
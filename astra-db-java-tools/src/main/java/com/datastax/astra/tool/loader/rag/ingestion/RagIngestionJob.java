@@ -6,6 +6,7 @@ import com.datastax.astra.client.tables.mapping.Column;
 import com.datastax.astra.client.tables.mapping.EntityTable;
 import com.datastax.astra.client.tables.mapping.PartitionBy;
 import com.datastax.astra.client.tables.mapping.PartitionSort;
+import com.datastax.astra.tool.loader.rag.sources.RagJobStatus;
 import lombok.Data;
 
 import java.time.Instant;
@@ -43,4 +44,14 @@ public class RagIngestionJob {
     @Column(name ="token_count", type= TableColumnTypes.INT)
     Integer tokenCount = 0;
 
+    // Checkpoint, all chunks before this index are stored
+    @Column(name ="committed_chunk_idx", type= TableColumnTypes.INT)
+    Integer committedChunkIdx = 0;
+
+    @Column(name ="status", type= TableColumnTypes.TEXT)
+    String status = RagJobStatus.NOT_STARTED.name();
+
+    @Column(name ="error_message", type= TableColumnTypes.TEXT)
+    String errorMessage;
+
 }
@@ -0,0 +1,75 @@
+package com.datastax.astra.tool.loader.rag.ingestion;
+
+import lombok.Builder;
+
+/**
+ * Settings for the RAG ingestion engine.
+ */
+@Builder
+public class RagIngestionSettings {
+
+    private static final int BATCH_SIZE = 20;
+
+    private static final int EMBEDDING_BATCH_SIZE = 64;
+
+    private static final int EMBEDDING_THREADS = 4;
+
+    private static final int INSERT_THREADS = 4;
+
+    private static final int QUEUE_CAPACITY = 20;
+
+    private static final int TIMEOUT = 3600;
+
+    private static final int MAX_RETRIES = 3;
+
+    private static final long RETRY_DELAY_MILLIS = 500;
+
+    private static final int CHECKPOINT_INTERVAL_SECONDS = 10;
+
+    /** Reader of the source text. */
+    @Builder.Default
+    RagSourceReader reader = RagSourceReader.TEXT;
+
+    /** Client side embeddings, when null the rows are stored without embeddings. */
+    RagEmbedder embedder;
+
+    /** Number of chunks per call to the embedder. */
+    @Builder.Default
+    int embeddingBatchSize = EMBEDDING_BATCH_SIZE;
+
+    /** Number of threads computing embeddings. */
+    @Builder.Default
+    int embeddingThreads = EMBEDDING_THREADS;
+
+    /** Number of rows per insertMany (max 20). */
+    @Builder.Default
+    int batchSize = BATCH_SIZE;
+
+    /** Number of threads inserting batches. */
+    @Builder.Default
+    int insertThreads = INSERT_THREADS;
+
+    /** Number of batches waiting in between two stages, reading is paused when reached. */
+    @Builder.Default
+    int queueCapacity = QUEUE_CAPACITY;
+
+    /** Skip the chunks already stored with the same md5, and reuse their embeddings when moved. */
+    @Builder.Default
+    boolean incremental = true;
+
+    /** Maximum duration of the job. */
+    @Builder.Default
+    int timeoutSeconds = TIMEOUT;
+
+    /** Number of retries for a batch failing with a transient error. */
+    @Builder.Default
+    int maxRetries = MAX_RETRIES;
+
+    /** Delay before first retry, doubled on each retry. */
+    @Builder.Default
+    long retryDelayMillis = RETRY_DELAY_MILLIS;
+
+    /** Interval in between two saves of the job checkpoint. */
+    @Builder.Default
+    int checkpointIntervalSeconds = CHECKPOINT_INTERVAL_SECONDS;
+}
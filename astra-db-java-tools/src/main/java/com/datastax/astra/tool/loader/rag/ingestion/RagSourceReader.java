@@ -0,0 +1,53 @@
+package com.datastax.astra.tool.loader.rag.ingestion;
+
+import com.datastax.astra.tool.loader.rag.sources.RagSource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Read the text of a source, piece by piece so a large source is never fully in memory.
+ */
+@FunctionalInterface
+public interface RagSourceReader {
+
+    /** Size of the pieces read from a file. */
+    int PIECE_SIZE = 64 * 1024;
+
+    /**
+     * Read the text of a source.
+     *
+     * @param source
+     *      source to read
+     * @param pieces
+     *      receive the pieces of text in order
+     * @throws IOException
+     *      cannot read the source
+     */
+    void read(RagSource source, Consumer<String> pieces) throws IOException;
+
+    /**
+     * Default reader: the text data of the source, or the text file at its location.
+     */
+    RagSourceReader TEXT = (source, pieces) -> {
+        if (source.getTextData() != null) {
+            pieces.accept(source.getTextData());
+        } else if (source.getBinaryData() != null && Boolean.TRUE.equals(source.getIsText())) {
+            pieces.accept(new String(source.getBinaryData(), StandardCharsets.UTF_8));
+        } else if (source.getLocation() != null) {
+            try (BufferedReader reader = Files.newBufferedReader(Paths.get(source.getLocation()), StandardCharsets.UTF_8)) {
+                char[] buffer = new char[PIECE_SIZE];
+                int read;
+                while ((read = reader.read(buffer)) != -1) {
+                    pieces.accept(new String(buffer, 0, read));
+                }
+            }
+        } else {
+            throw new IOException("Source " + source.getUid() + " has no text data nor location");
+        }
+    };
+}
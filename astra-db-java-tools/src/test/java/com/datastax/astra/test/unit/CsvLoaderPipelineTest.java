@@ -0,0 +1,117 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.tool.loader.LoaderReport;
+import com.datastax.astra.tool.loader.csv.CsvLoaderPipeline;
+import com.datastax.astra.tool.loader.csv.CsvLoaderSettings;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the staged import of CSV files.
+ */
+class CsvLoaderPipelineTest {
+
+    /** Error of the insert stage, not retried by the inserter. */
+    static class InsertStageError extends Error {
+        InsertStageError() {
+            super("insert stage failed");
+        }
+    }
+
+    /** File with a header and the given number of rows. */
+    private static Path csv(int rows) throws Exception {
+        StringBuilder content = new StringBuilder("id,name\n");
+        for (int i = 0; i < rows; i++) {
+            content.append(i).append(",name ").append(i).append('\n');
+        }
+        Path file = Files.createTempFile("pipeline", ".csv");
+        file.toFile().deleteOnExit();
+        Files.writeString(file, content.toString());
+        return file;
+    }
+
+    private static CsvLoaderPipeline<Document> pipeline(Path file, CsvLoaderSettings settings,
+                                                        Consumer<List<Document>> inserter) {
+        return new CsvLoaderPipeline<>(file.toString(), settings, doc -> doc, doc -> doc, inserter);
+    }
+
+    @Test
+    void shouldLoadAllRowsAcrossSplits() throws Exception {
+        Path file = csv(250);
+        List<Document> inserted = Collections.synchronizedList(new ArrayList<>());
+        LoaderReport report = pipeline(file, CsvLoaderSettings.builder()
+                .batchSize(20).parserThreads(3).mapperThreads(2).threadPoolSize(2).build(), inserted::addAll)
+                .run();
+        assertThat(inserted).hasSize(250);
+        HashSet<String> ids = new HashSet<>();
+        inserted.forEach(doc -> ids.add(doc.getString("id")));
+        assertThat(ids).hasSize(250);
+        assertThat(report.getRowsRead().get()).isEqualTo(250);
+        assertThat(report.getRowsInserted().get()).isEqualTo(250);
+        assertThat(report.getBytesRead().get()).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    void shouldSendUnmappedRowsToDeadLetterFile() throws Exception {
+        Path file = csv(10);
+        Path deadLetter = Files.createTempFile("pipeline", ".errors.csv");
+        deadLetter.toFile().deleteOnExit();
+        List<Document> inserted = Collections.synchronizedList(new ArrayList<>());
+        LoaderReport report = new CsvLoaderPipeline<Document>(file.toString(), CsvLoaderSettings.builder()
+                .deadLetterFile(deadLetter.toString()).build(), doc -> doc, doc -> {
+                    if ("3".equals(doc.getString("id"))) {
+                        throw new IllegalArgumentException("invalid row");
+                    }
+                    return doc;
+                }, inserted::addAll).run();
+        assertThat(inserted).hasSize(9);
+        assertThat(report.getRowsFailed().get()).isEqualTo(1);
+        List<String> lines = Files.readAllLines(deadLetter, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).contains("_error");
+        assertThat(lines.get(1)).contains("invalid row");
+    }
+
+    @Test
+    void shouldFailFastWhenInsertStageFails() throws Exception {
+        Path file = csv(5000);
+        // small queues, the parser fills them long before the end of the file
+        CsvLoaderPipeline<Document> pipeline = pipeline(file, CsvLoaderSettings.builder()
+                .batchSize(1).queueCapacity(1).threadPoolSize(1).timeoutSeconds(1800).build(), records -> {
+                    throw new InsertStageError();
+                });
+        CompletableFuture<LoaderReport> run = new CompletableFuture<>();
+        Thread loader = new Thread(() -> {
+            try {
+                run.complete(pipeline.run());
+            } catch (Throwable e) {
+                run.completeExceptionally(e);
+            }
+        });
+        loader.start();
+        try {
+            assertThatThrownBy(() -> run.get(30, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(ExecutionException.class);
+            assertThat(run.handle((report, e) -> e.getCause()).get())
+                    .isInstanceOf(InsertStageError.class);
+        } finally {
+            loader.interrupt();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.CollectionOptions;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.tool.exporter.ExportCompression;
+import com.datastax.astra.tool.exporter.ExportFormat;
+import com.datastax.astra.tool.exporter.Exporter;
+import com.datastax.astra.tool.exporter.ExporterSettings;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the export of collections, against a Data API returning pages of documents.
+ */
+class ExporterTest {
+
+    /** Pages returned for each partition. */
+    private static final int PAGES = 4;
+
+    /** Documents per page. */
+    private static final int PAGE_SIZE = 5;
+
+    /** Fail the request of the third page once. */
+    private final AtomicBoolean failThirdPage = new AtomicBoolean();
+
+    /** Documents of the last page have a field the first ones do not have. */
+    private final AtomicBoolean extraField = new AtomicBoolean();
+
+    private HttpServer server;
+
+    private Collection<Document> collection;
+
+    private Path dir;
+
+    @BeforeEach
+    void startDataApi() throws Exception {
+        dir = Files.createTempDirectory("export");
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String partition = request.contains("\"partition\":\"b\"") ? "b" : "a";
+            int page = request.contains("pageState") ?
+                    Integer.parseInt(request.replaceAll(".*\"pageState\":\"p(\\d+)\".*", "$1")) : 0;
+            String response;
+            if (page == 2 && failThirdPage.compareAndSet(true, false)) {
+                response = "{\"errors\":[{\"errorCode\":\"SERVER_UNHANDLED_ERROR\",\"message\":\"server failure\"}]}";
+            } else {
+                if (page == 1) {
+                    // the checkpoint is saved once its interval is over
+                    try {
+                        Thread.sleep(1100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                StringBuilder documents = new StringBuilder();
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    int id = page * PAGE_SIZE + i;
+                    documents.append(i > 0 ? "," : "")
+                            .append("{\"_id\":\"").append(partition).append(id).append("\",")
+                            .append("\"city, country\":\"Paris, France\",")
+                            .append("\"tags\":[\"t").append(id).append("\"]")
+                            .append(extraField.get() && page == PAGES - 1 ? ",\"extra\":1" : "")
+                            .append("}");
+                }
+                response = "{\"data\":{\"documents\":[" + documents + "],\"nextPageState\":"
+                        + (page < PAGES - 1 ? "\"p" + (page + 1) + "\"" : "null") + "}}";
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        Database db = new Database("http://localhost:" + server.getAddress().getPort(),
+                new DatabaseOptions("token", new DataAPIClientOptions()));
+        collection = db.getCollection("products", new CollectionOptions("token", new DataAPIClientOptions()));
+    }
+
+    @AfterEach
+    void stopDataApi() {
+        server.stop(0);
+    }
+
+    private ExporterSettings.ExporterSettingsBuilder settings(String name) {
+        return ExporterSettings.builder().output(dir.resolve(name).toString()).checkpointIntervalSeconds(1);
+    }
+
+    private static String gunzip(Path file) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    void shouldExportEachPartitionInItsFile() throws Exception {
+        List<Filter> partitions = List.of(Filters.eq("partition", "a"), Filters.eq("partition", "b"));
+        long count = Exporter.export(collection, settings("products").build(), partitions);
+        assertThat(count).isEqualTo(2L * PAGES * PAGE_SIZE);
+        for (int partition = 0; partition < 2; partition++) {
+            List<String> lines = Files.readAllLines(dir.resolve("products-00" + partition + ".ndjson"));
+            assertThat(lines).hasSize(PAGES * PAGE_SIZE);
+            String prefix = partition == 0 ? "a" : "b";
+            for (int i = 0; i < lines.size(); i++) {
+                assertThat(lines.get(i)).startsWith("{\"_id\":\"" + prefix + i + "\"");
+            }
+        }
+    }
+
+    @Test
+    void shouldResumeCsvExportWithInferredColumns() throws Exception {
+        Exporter.export(collection, settings("expected").format(ExportFormat.CSV).build());
+        String expected = Files.readString(dir.resolve("expected.csv"));
+        assertThat(expected).startsWith("_id,\"city, country\",tags\n");
+        assertThat(expected.split("\n")).hasSize(1 + PAGES * PAGE_SIZE);
+
+        String checkpoint = dir.resolve("products.checkpoint").toString();
+        ExporterSettings settings = settings("products").format(ExportFormat.CSV).checkpointFile(checkpoint).build();
+        failThirdPage.set(true);
+        assertThatThrownBy(() -> Exporter.export(collection, settings)).hasMessageContaining("server failure");
+        assertThat(Files.readString(Path.of(checkpoint))).contains("pageState=p2");
+
+        // the columns come from the checkpoint, the header is not written again
+        Exporter.export(collection, settings);
+        assertThat(Files.readString(dir.resolve("products.csv"))).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldResumeGzipExport() throws Exception {
+        String checkpoint = dir.resolve("products.checkpoint").toString();
+        ExporterSettings settings = settings("products").compression(ExportCompression.GZIP)
+                .checkpointFile(checkpoint).build();
+        failThirdPage.set(true);
+        assertThatThrownBy(() -> Exporter.export(collection, settings)).hasMessageContaining("server failure");
+        Exporter.export(collection, settings);
+        List<String> lines = Arrays.asList(gunzip(dir.resolve("products.ndjson.gz")).split("\n"));
+        assertThat(lines).hasSize(PAGES * PAGE_SIZE);
+        for (int i = 0; i < lines.size(); i++) {
+            assertThat(lines.get(i)).startsWith("{\"_id\":\"a" + i + "\"");
+        }
+    }
+
+    @Test
+    void shouldFailOnFieldMissingFromInferredColumns() {
+        extraField.set(true);
+        assertThatThrownBy(() -> Exporter.export(collection, settings("products").format(ExportFormat.CSV).build()))
+                .hasMessageContaining("Field 'extra' is not in the CSV header");
+    }
+}
@@ -0,0 +1,163 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.exceptions.DataAPIErrorDescriptor;
+import com.datastax.astra.client.exceptions.DataAPIResponseException;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.api.DataAPIStatus;
+import com.datastax.astra.internal.command.ExecutionInfos;
+import com.datastax.astra.tool.loader.OrderedBatchInserter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the ordered insert stage of the loaders.
+ */
+class OrderedBatchInserterTest {
+
+    /** Fake table with ordered inserts, failing on the first existing id. */
+    static class FakeTable implements Consumer<List<String>> {
+
+        private final Set<String> rows = new HashSet<>();
+
+        private final List<List<String>> commands = new ArrayList<>();
+
+        /** Number of calls to fail with a timeout after inserting the records. */
+        private int timeouts;
+
+        /** Number of calls to fail with an error of the database after inserting two records. */
+        private int databaseErrors;
+
+        @Override
+        public void accept(List<String> records) {
+            commands.add(records);
+            List<Object> insertedIds = new ArrayList<>();
+            for (String record : records) {
+                if (databaseErrors > 0 && insertedIds.size() == 2) {
+                    databaseErrors--;
+                    throw error(insertedIds, "DATABASE", "SERVER_READ_TIMEOUT", "read timeout");
+                }
+                if (record.startsWith("bad")) {
+                    throw error(insertedIds, null, "SHRED_BAD_DOCUMENT", "bad document");
+                }
+                if (!rows.add(record)) {
+                    throw error(insertedIds, "DOCUMENT", OrderedBatchInserter.ERROR_DOCUMENT_ALREADY_EXISTS, "id exists");
+                }
+                insertedIds.add(record);
+            }
+            if (timeouts > 0) {
+                timeouts--;
+                throw new IllegalStateException("timeout");
+            }
+        }
+
+        private static DataAPIResponseException error(List<Object> insertedIds, String scope, String code, String message) {
+            DataAPIStatus status = new DataAPIStatus();
+            status.setInsertedIds(insertedIds);
+            DataAPIErrorDescriptor error = new DataAPIErrorDescriptor();
+            error.setScope(scope);
+            error.setErrorCode(code);
+            error.setMessage(message);
+            DataAPIResponse response = new DataAPIResponse();
+            response.setStatus(status);
+            response.setErrors(List.of(error));
+            ExecutionInfos.DataApiExecutionInfoBuilder execution = ExecutionInfos.builder();
+            execution.withApiResponse(response);
+            return new DataAPIResponseException(List.of(execution.build()));
+        }
+    }
+
+    private final FakeTable table = new FakeTable();
+
+    private final Map<String, String> deadLetters = new LinkedHashMap<>();
+
+    private final AtomicLong inserted = new AtomicLong();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private OrderedBatchInserter<String, String> inserter(int maxRetries) {
+        return new OrderedBatchInserter<>(table, r -> r,
+                (records, error) -> records.forEach(r -> deadLetters.put(r, error)),
+                maxRetries, 1, inserted, retries, duplicates);
+    }
+
+    @Test
+    void shouldSendOnlyTheSuffixAfterRejectedRecord() throws Exception {
+        inserter(3).insert(List.of("a", "b", "bad1", "c", "d"));
+        assertThat(table.commands).containsExactly(List.of("a", "b", "bad1", "c", "d"), List.of("c", "d"));
+        assertThat(inserted.get()).isEqualTo(4);
+        assertThat(deadLetters).containsOnlyKeys("bad1");
+        assertThat(retries.get()).isZero();
+        assertThat(duplicates.get()).isZero();
+    }
+
+    @Test
+    void shouldReportDuplicatesAsFailures() throws Exception {
+        table.rows.add("b");
+        inserter(3).insert(List.of("a", "b", "c"));
+        assertThat(inserted.get()).isEqualTo(2);
+        assertThat(duplicates.get()).isEqualTo(1);
+        assertThat(deadLetters).containsOnlyKeys("b");
+        assertThat(deadLetters.get("b")).startsWith("Duplicate id: ");
+    }
+
+    @Test
+    void shouldFlagDuplicatesFoundAfterUnknownOutcome() throws Exception {
+        // first attempt inserts the records but the response is lost
+        table.timeouts = 1;
+        inserter(3).insert(List.of("a", "b"));
+        assertThat(retries.get()).isEqualTo(1);
+        assertThat(inserted.get()).isZero();
+        assertThat(duplicates.get()).isEqualTo(2);
+        assertThat(deadLetters.get("a")).startsWith("Duplicate id, possibly inserted by a failed attempt");
+        assertThat(deadLetters.get("b")).startsWith("Duplicate id, possibly inserted by a failed attempt");
+    }
+
+    @Test
+    void shouldSendBatchToDeadLetterWhenRetriesAreExhausted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        new OrderedBatchInserter<String, String>(records -> {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException("unavailable");
+                }, r -> r, (records, error) -> records.forEach(r -> deadLetters.put(r, error)),
+                2, 1, inserted, retries).insert(List.of("a", "b"));
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(retries.get()).isEqualTo(2);
+        assertThat(deadLetters).containsEntry("a", "unavailable").containsEntry("b", "unavailable");
+    }
+
+    @Test
+    void shouldRetryBatchOnErrorNotScopedToDocument() throws Exception {
+        table.databaseErrors = 1;
+        inserter(3).insert(List.of("a", "b", "c", "d"));
+        assertThat(table.commands).containsExactly(List.of("a", "b", "c", "d"), List.of("c", "d"));
+        assertThat(deadLetters).isEmpty();
+        assertThat(inserted.get()).isEqualTo(4);
+        assertThat(retries.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSendRestOfBatchToDeadLetterOnPersistentErrorNotScopedToDocument() throws Exception {
+        table.databaseErrors = 3;
+        inserter(2).insert(List.of("a", "b", "c", "d", "e", "f", "g"));
+        // committed records are not sent again, the record where the insert stopped is not blamed alone
+        assertThat(table.commands).containsExactly(List.of("a", "b", "c", "d", "e", "f", "g"),
+                List.of("c", "d", "e", "f", "g"), List.of("e", "f", "g"));
+        assertThat(inserted.get()).isEqualTo(6);
+        assertThat(retries.get()).isEqualTo(2);
+        assertThat(deadLetters).containsOnlyKeys("g");
+        assertThat(deadLetters.get("g")).endsWith("read timeout");
+    }
+}
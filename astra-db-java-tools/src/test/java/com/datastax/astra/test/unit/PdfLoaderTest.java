@@ -0,0 +1,209 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.TableOptions;
+import com.datastax.astra.client.tables.commands.options.TableInsertManyOptions;
+import com.datastax.astra.client.tables.commands.results.TableInsertManyResult;
+import com.datastax.astra.tool.loader.pdf.PdfLoader;
+import com.datastax.astra.tool.loader.pdf.PdfLoaderSettings;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionConfig;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionJob;
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the ingestion of PDF files, against in-memory tables.
+ */
+class PdfLoaderTest {
+
+    private static final int PAGES = 30;
+
+    /** Table keeping the inserted rows in memory. */
+    static class StoreTable extends Table<RagStore> {
+
+        final List<RagStore> rows = Collections.synchronizedList(new ArrayList<>());
+
+        StoreTable(Database db) {
+            super(db, RagStore.TABLE_NAME_PREFIX + "1024", new TableOptions("token", new DataAPIClientOptions()), RagStore.class);
+        }
+
+        @Override
+        public TableInsertManyResult insertMany(List<? extends RagStore> batch, TableInsertManyOptions options) {
+            rows.addAll(batch);
+            return new TableInsertManyResult();
+        }
+    }
+
+    /** A PDF of 30 pages, page n holding the words "pN-0" to "pN-59". */
+    private static File pdf() throws Exception {
+        File file = Files.createTempFile("loader", ".pdf").toFile();
+        file.deleteOnExit();
+        try (PDDocument document = new PDDocument()) {
+            for (int page = 1; page <= PAGES; page++) {
+                PDPage pdPage = new PDPage();
+                document.addPage(pdPage);
+                try (PDPageContentStream content = new PDPageContentStream(document, pdPage)) {
+                    content.beginText();
+                    content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
+                    for (int line = 0; line < 6; line++) {
+                        content.newLineAtOffset(20, -12);
+                        StringBuilder words = new StringBuilder();
+                        for (int word = line * 10; word < (line + 1) * 10; word++) {
+                            words.append("p").append(page).append('-').append(word).append(' ');
+                        }
+                        content.showText(words.toString().trim());
+                    }
+                    content.endText();
+                }
+            }
+            document.save(file);
+        }
+        return file;
+    }
+
+    private static RagIngestionConfig config() {
+        RagIngestionConfig config = new RagIngestionConfig();
+        config.setChunkSize(200);
+        config.setChunkOverlap(20);
+        return config;
+    }
+
+    private static RagIngestionJob job() {
+        RagIngestionJob job = new RagIngestionJob();
+        job.setSourceId(UUID.randomUUID());
+        return job;
+    }
+
+    private static Database database(int port) {
+        return new Database("http://localhost:" + port, new DatabaseOptions("token", new DataAPIClientOptions()));
+    }
+
+    @Test
+    void shouldLoadChunksOfAllPagesInOrder() throws Exception {
+        StoreTable table = new StoreTable(database(8181));
+        RagIngestionJob job = PdfLoader.load(pdf(), table, config(), job(), PdfLoaderSettings.builder()
+                .extractorThreads(3).pagesPerTask(2).batchSize(5).insertThreads(2).build());
+        List<RagStore> rows = new ArrayList<>(table.rows);
+        rows.sort(Comparator.comparing(RagStore::getChunkIdx));
+        assertThat(job.getChunkCount()).isEqualTo(rows.size());
+        assertThat(job.getStop()).isNotNull();
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(rows.get(i).getChunkIdx()).isEqualTo(i);
+        }
+        // every word once at least, in page order
+        String text = rows.stream().map(RagStore::getEmbedded).collect(Collectors.joining(" "));
+        int position = 0;
+        for (int page = 1; page <= PAGES; page++) {
+            int next = text.indexOf("p" + page + "-59", position);
+            assertThat(next).isGreaterThan(position - 1);
+            position = next;
+        }
+        assertThat(job.getTokenCount()).isEqualTo(rows.stream()
+                .mapToInt(row -> row.getEmbedded().split("\\s+").length).sum());
+    }
+
+    @Test
+    void shouldFailWhenInsertIsInterrupted() throws Exception {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        StoreTable table = new StoreTable(database(8181)) {
+            @Override
+            public TableInsertManyResult insertMany(List<? extends RagStore> batch, TableInsertManyOptions options) {
+                if (interrupted.compareAndSet(false, true)) {
+                    // the inserter is stopped while waiting for a response
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("request interrupted");
+                }
+                return super.insertMany(batch, options);
+            }
+        };
+        assertThatThrownBy(() -> PdfLoader.load(pdf(), table, config(), job(), PdfLoaderSettings.builder()
+                .batchSize(5).insertThreads(1).retryDelayMillis(10).build()))
+                .hasMessageContaining("interrupted");
+    }
+
+    @Test
+    void shouldNotBlockInsertsWhileJobIsSaved() throws Exception {
+        CountDownLatch firstSave = new CountDownLatch(1);
+        CountDownLatch secondBatch = new CountDownLatch(1);
+        AtomicBoolean insertsBlocked = new AtomicBoolean();
+        // Data API of the job table, the first save waits for the insert of a second batch
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        ExecutorService handlers = Executors.newCachedThreadPool();
+        server.setExecutor(handlers);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (firstSave.getCount() > 0) {
+                firstSave.countDown();
+                try {
+                    insertsBlocked.set(!secondBatch.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = "{\"status\":{\"primaryKeySchema\":{},\"insertedIds\":[[]]}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            Database db = database(server.getAddress().getPort());
+            Table<RagIngestionJob> jobTable = db.getTable(RagIngestionJob.TABLE_NAME, RagIngestionJob.class,
+                    new TableOptions("token", new DataAPIClientOptions()));
+            StoreTable table = new StoreTable(db) {
+                @Override
+                public TableInsertManyResult insertMany(List<? extends RagStore> batch, TableInsertManyOptions options) {
+                    if (firstSave.getCount() > 0) {
+                        try {
+                            // the job is saved while the first batch is inserted
+                            firstSave.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    } else {
+                        secondBatch.countDown();
+                    }
+                    return super.insertMany(batch, options);
+                }
+            };
+            RagIngestionJob job = PdfLoader.load(pdf(), table, config(), job(), jobTable, PdfLoaderSettings.builder()
+                    .batchSize(5).insertThreads(1).reportIntervalSeconds(1).build());
+            assertThat(firstSave.getCount()).isEqualTo(0);
+            assertThat(insertsBlocked.get()).isFalse();
+            assertThat(job.getChunkCount()).isEqualTo(table.rows.size());
+        } finally {
+            secondBatch.countDown();
+            server.stop(0);
+            handlers.shutdownNow();
+        }
+    }
+}
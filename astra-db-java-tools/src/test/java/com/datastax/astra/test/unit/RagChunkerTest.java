@@ -0,0 +1,123 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.tool.loader.rag.ingestion.RagChunker;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionConfig;
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the chunking of the texts ingested.
+ */
+class RagChunkerTest {
+
+    private static final UUID SOURCE_ID = UUID.randomUUID();
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    private static RagIngestionConfig config(int chunkSize, int chunkOverlap, int contextBefore, int contextAfter) {
+        RagIngestionConfig config = new RagIngestionConfig();
+        config.setChunkSize(chunkSize);
+        config.setChunkOverlap(chunkOverlap);
+        config.setContextBefore(contextBefore);
+        config.setContextAfter(contextAfter);
+        return config;
+    }
+
+    /** Words "w0 w1 w2 ...". */
+    private static String words(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "w" + i).collect(Collectors.joining(" "));
+    }
+
+    /** Chunk a text given in pieces of the given size. */
+    private static List<RagStore> chunk(RagIngestionConfig config, String text, int pieceSize) {
+        RagChunker chunker = new RagChunker(config, SOURCE_ID, JOB_ID);
+        List<RagStore> rows = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += pieceSize) {
+            rows.addAll(chunker.add(text.substring(i, Math.min(text.length(), i + pieceSize))));
+        }
+        rows.addAll(chunker.finish());
+        return rows;
+    }
+
+    @Test
+    void shouldCutChunksAtWordsWithOverlap() {
+        List<RagStore> rows = chunk(config(100, 20, 0, 0), words(200), 1000);
+        assertThat(rows.size()).isGreaterThan(10);
+        for (int i = 0; i < rows.size(); i++) {
+            RagStore row = rows.get(i);
+            assertThat(row.getChunkIdx()).isEqualTo(i);
+            assertThat(row.getSourceId()).isEqualTo(SOURCE_ID);
+            assertThat(row.getJobId()).isEqualTo(JOB_ID);
+            assertThat(row.getEmbedded().length()).isLessThanOrEqualTo(100);
+            assertThat(row.getChunkMd5()).isEqualTo(RagChunker.md5(row.getEmbedded()));
+            // no word is cut
+            assertThat(row.getEmbedded()).matches("w\\d+( w\\d+)*");
+            if (i > 0) {
+                // starts with words of the previous chunk
+                String firstWord = row.getEmbedded().split(" ")[0];
+                assertThat(List.of(rows.get(i - 1).getEmbedded().split(" "))).contains(firstWord);
+            }
+        }
+        assertThat(rows.get(rows.size() - 1).getEmbedded()).endsWith("w199");
+    }
+
+    @Test
+    void shouldNotDependOnHowTextIsSplit() {
+        RagIngestionConfig config = config(120, 30, 1, 2);
+        String text = words(500);
+        List<String> expected = chunk(config, text, text.length()).stream()
+                .map(row -> row.getChunkIdx() + ":" + row.getEmbedded() + ":" + row.getContext())
+                .collect(Collectors.toList());
+        for (int pieceSize : new int[] {1, 7, 119, 120, 121, 1000}) {
+            assertThat(chunk(config, text, pieceSize).stream()
+                    .map(row -> row.getChunkIdx() + ":" + row.getEmbedded() + ":" + row.getContext())
+                    .collect(Collectors.toList())).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void shouldAddPreviousAndNextChunksToContext() {
+        List<RagStore> rows = chunk(config(100, 10, 1, 2), words(300), 50);
+        assertThat(rows.size()).isGreaterThan(4);
+        assertThat(rows.get(0).getContext()).isEqualTo(String.join("\n",
+                rows.get(0).getEmbedded(), rows.get(1).getEmbedded(), rows.get(2).getEmbedded()));
+        assertThat(rows.get(2).getContext()).isEqualTo(String.join("\n", rows.get(1).getEmbedded(),
+                rows.get(2).getEmbedded(), rows.get(3).getEmbedded(), rows.get(4).getEmbedded()));
+        int last = rows.size() - 1;
+        assertThat(rows.get(last).getContext()).isEqualTo(String.join("\n",
+                rows.get(last - 1).getEmbedded(), rows.get(last).getEmbedded()));
+    }
+
+    @Test
+    void shouldCutWordsLongerThanChunk() {
+        List<RagStore> rows = chunk(config(10, 2, 0, 0), "x".repeat(25), 25);
+        assertThat(rows).extracting(RagStore::getEmbedded).allMatch(chunk -> chunk.length() <= 10);
+        assertThat(rows.stream().mapToInt(row -> row.getEmbedded().length()).sum()).isGreaterThanOrEqualTo(25);
+    }
+
+    @Test
+    void shouldSkipBlankText() {
+        assertThat(chunk(config(10, 2, 0, 0), "  \n\t ", 2)).isEmpty();
+    }
+
+    @Test
+    void shouldRejectOverlapNotLowerThanChunkSize() {
+        assertThatThrownBy(() -> new RagChunker(config(100, 100, 0, 0), SOURCE_ID, JOB_ID))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCountWordsAsTokens() {
+        assertThat(RagChunker.countTokens("")).isEqualTo(0);
+        assertThat(RagChunker.countTokens("  one two\n\tthree ")).isEqualTo(3);
+    }
+}
@@ -0,0 +1,254 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.vector.DataAPIVector;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.TableOptions;
+import com.datastax.astra.client.tables.commands.options.TableDeleteManyOptions;
+import com.datastax.astra.client.tables.commands.options.TableFindOptions;
+import com.datastax.astra.client.tables.commands.options.TableInsertManyOptions;
+import com.datastax.astra.client.tables.commands.results.TableInsertManyResult;
+import com.datastax.astra.client.tables.cursor.TableFindCursor;
+import com.datastax.astra.tool.loader.rag.ingestion.RagChunker;
+import com.datastax.astra.tool.loader.rag.ingestion.RagEmbedder;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionConfig;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionEngine;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionJob;
+import com.datastax.astra.tool.loader.rag.ingestion.RagIngestionSettings;
+import com.datastax.astra.tool.loader.rag.sources.RagJobStatus;
+import com.datastax.astra.tool.loader.rag.sources.RagSource;
+import com.datastax.astra.tool.loader.rag.stores.RagStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the execution of the ingestion jobs, against an in-memory store table.
+ */
+class RagIngestionEngineTest {
+
+    /** Table keeping the rows of a source by chunk index, inserts overwrite as with the Data API. */
+    static class StoreTable extends Table<RagStore> {
+
+        final TreeMap<Integer, RagStore> rows = new TreeMap<>();
+
+        final List<Integer> insertedIdx = Collections.synchronizedList(new ArrayList<>());
+
+        final List<String> deletes = new ArrayList<>();
+
+        StoreTable() {
+            super(new Database("http://localhost:8181", new DatabaseOptions("token", new DataAPIClientOptions())),
+                    RagStore.TABLE_NAME_PREFIX + "3", new TableOptions("token", new DataAPIClientOptions()), RagStore.class);
+        }
+
+        int size() {
+            synchronized (rows) {
+                return rows.size();
+            }
+        }
+
+        @Override
+        public TableInsertManyResult insertMany(List<? extends RagStore> batch, TableInsertManyOptions options) {
+            synchronized (rows) {
+                batch.forEach(row -> {
+                    rows.put(row.getChunkIdx(), row);
+                    insertedIdx.add(row.getChunkIdx());
+                });
+            }
+            return new TableInsertManyResult();
+        }
+
+        @Override
+        public TableFindCursor<RagStore, RagStore> find(Filter filter, TableFindOptions options) {
+            List<RagStore> stored;
+            synchronized (rows) {
+                stored = new ArrayList<>(rows.values());
+            }
+            return new TableFindCursor<>(this, filter, options, RagStore.class) {
+                @Override
+                public Iterator<RagStore> iterator() {
+                    return stored.iterator();
+                }
+            };
+        }
+
+        @Override
+        public void deleteMany(Filter filter, TableDeleteManyOptions options) {
+            deletes.add(filter.toJson());
+            int from = Integer.parseInt(filter.toJson().replaceAll(".*\"chunk_idx\":\\{\"\\$gte\":(\\d+)}.*", "$1"));
+            synchronized (rows) {
+                rows.tailMap(from).clear();
+            }
+        }
+    }
+
+    private final StoreTable storeTable = new StoreTable();
+
+    private final RagIngestionConfig config = config();
+
+    private static RagIngestionConfig config() {
+        RagIngestionConfig config = new RagIngestionConfig();
+        config.setChunkSize(100);
+        config.setChunkOverlap(10);
+        return config;
+    }
+
+    private static RagSource source(String text) {
+        RagSource source = new RagSource();
+        source.setTextData(text);
+        return source;
+    }
+
+    /** Words "w0 w1 w2 ...". */
+    private static String words(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "w" + i).collect(Collectors.joining(" "));
+    }
+
+    /** Chunks of a text, as produced by the engine. */
+    private List<RagStore> chunks(String text) {
+        RagChunker chunker = new RagChunker(config, null, null);
+        List<RagStore> rows = new ArrayList<>(chunker.add(text));
+        rows.addAll(chunker.finish());
+        return rows;
+    }
+
+    private static int tokens(List<RagStore> rows) {
+        return rows.stream().mapToInt(row -> RagChunker.countTokens(row.getEmbedded())).sum();
+    }
+
+    /** Embedder returning a vector per chunk, counting the chunks. */
+    private static RagEmbedder embedder(AtomicInteger embedded) {
+        return chunks -> {
+            embedded.addAndGet(chunks.size());
+            return chunks.stream().map(c -> new DataAPIVector(new float[] {c.length(), 1f})).toList();
+        };
+    }
+
+    @Test
+    void shouldCommitSegmentsInReadingOrder() throws Exception {
+        String text = words(300);
+        List<RagStore> expected = chunks(text);
+        assertThat(expected.size()).isGreaterThan(8);
+        String firstChunk = expected.get(0).getEmbedded();
+        RagIngestionJob job = new RagIngestionJob();
+        List<Integer> committedWhileFirstSegmentPending = new ArrayList<>();
+        RagEmbedder embedder = chunks -> {
+            if (chunks.get(0).equals(firstChunk)) {
+                // the other segments are stored before the first one
+                long deadline = System.currentTimeMillis() + 5000;
+                while (storeTable.size() < expected.size() - 2 && System.currentTimeMillis() < deadline) {
+                    Thread.onSpinWait();
+                }
+                assertThat(storeTable.size()).isEqualTo(expected.size() - 2);
+                synchronized (job) {
+                    committedWhileFirstSegmentPending.add(job.getCommittedChunkIdx());
+                }
+            }
+            return chunks.stream().map(c -> new DataAPIVector(new float[] {1f, 1f})).toList();
+        };
+        new RagIngestionEngine(storeTable, null, RagIngestionSettings.builder()
+                .embedder(embedder).embeddingBatchSize(2).embeddingThreads(2).batchSize(1).build())
+                .ingest(source(text), config, job);
+
+        assertThat(committedWhileFirstSegmentPending).containsExactly(0);
+        assertThat(job.getStatus()).isEqualTo(RagJobStatus.COMPLETED.name());
+        assertThat(job.getCommittedChunkIdx()).isEqualTo(expected.size());
+        assertThat(job.getChunkCount()).isEqualTo(expected.size());
+        assertThat(job.getTokenCount()).isEqualTo(tokens(expected));
+        assertThat(storeTable.rows.keySet()).containsExactlyElementsOf(
+                IntStream.range(0, expected.size()).boxed().toList());
+    }
+
+    @Test
+    void shouldNotCommitPastFailedSegment() {
+        String text = words(300);
+        List<RagStore> expected = chunks(text);
+        String failingChunk = expected.get(2).getEmbedded();
+        RagIngestionJob job = new RagIngestionJob();
+        RagEmbedder embedder = chunks -> {
+            if (chunks.get(0).equals(failingChunk)) {
+                throw new IllegalStateException("embedding service unavailable");
+            }
+            return chunks.stream().map(c -> new DataAPIVector(new float[] {1f, 1f})).toList();
+        };
+        assertThatThrownBy(() -> new RagIngestionEngine(storeTable, null, RagIngestionSettings.builder()
+                .embedder(embedder).embeddingBatchSize(2).embeddingThreads(2).build())
+                .ingest(source(text), config, job))
+                .hasMessageContaining("embedding service unavailable");
+        assertThat(job.getStatus()).isEqualTo(RagJobStatus.FAILED.name());
+        assertThat(job.getErrorMessage()).contains("embedding service unavailable");
+        // a resumed job starts again from the failed segment at most
+        assertThat(job.getCommittedChunkIdx()).isLessThanOrEqualTo(2);
+        assertThat(job.getChunkCount()).isEqualTo(job.getCommittedChunkIdx());
+    }
+
+    @Test
+    void shouldResumeFromCommittedChunk() throws Exception {
+        String text = words(300);
+        List<RagStore> expected = chunks(text);
+        RagIngestionJob job = new RagIngestionJob();
+        job.setCommittedChunkIdx(6);
+        job.setChunkCount(6);
+        job.setTokenCount(tokens(expected.subList(0, 6)));
+        AtomicInteger embedded = new AtomicInteger();
+        new RagIngestionEngine(storeTable, null, RagIngestionSettings.builder()
+                .embedder(embedder(embedded)).embeddingBatchSize(4).incremental(false).build())
+                .ingest(source(text), config, job);
+
+        assertThat(storeTable.rows.firstKey()).isEqualTo(6);
+        assertThat(storeTable.rows.lastKey()).isEqualTo(expected.size() - 1);
+        assertThat(embedded.get()).isEqualTo(expected.size() - 6);
+        assertThat(job.getCommittedChunkIdx()).isEqualTo(expected.size());
+        assertThat(job.getTokenCount()).isEqualTo(tokens(expected));
+    }
+
+    @Test
+    void shouldStoreOnlyEditedChunksAndDeleteRemovedOnes() throws Exception {
+        RagSource source = source(words(300));
+        RagIngestionSettings settings = RagIngestionSettings.builder()
+                .embedder(embedder(new AtomicInteger())).embeddingBatchSize(4).build();
+        new RagIngestionEngine(storeTable, null, settings).ingest(source, config, new RagIngestionJob());
+        int firstCount = storeTable.size();
+        storeTable.insertedIdx.clear();
+
+        // one word edited, same length so the chunks keep their boundaries, and the end removed
+        String edited = words(250).replace(" w120 ", " x120 ");
+        List<RagStore> expected = chunks(edited);
+        assertThat(expected.size()).isLessThan(firstCount);
+        AtomicInteger embedded = new AtomicInteger();
+        RagIngestionJob job = new RagIngestionJob();
+        source.setTextData(edited);
+        new RagIngestionEngine(storeTable, null, RagIngestionSettings.builder()
+                .embedder(embedder(embedded)).embeddingBatchSize(4).build())
+                .ingest(source, config, job);
+
+        // the chunks of the edited word, and the new last chunk
+        assertThat(storeTable.insertedIdx).contains(expected.size() - 1);
+        assertThat(storeTable.insertedIdx.size()).isBetween(2, 3);
+        assertThat(embedded.get()).isEqualTo(storeTable.insertedIdx.size());
+        for (int idx : storeTable.insertedIdx) {
+            if (idx != expected.size() - 1) {
+                assertThat(expected.get(idx).getEmbedded()).contains("x120");
+            }
+        }
+        assertThat(storeTable.deletes).hasSize(1);
+        assertThat(storeTable.rows.keySet()).containsExactlyElementsOf(
+                IntStream.range(0, expected.size()).boxed().toList());
+        assertThat(storeTable.rows.values()).extracting(RagStore::getEmbedded)
+                .containsExactlyElementsOf(expected.stream().map(RagStore::getEmbedded).toList());
+        assertThat(job.getCommittedChunkIdx()).isEqualTo(expected.size());
+    }
+}
@@ -30,7 +30,6 @@ import com.datastax.astra.internal.api.AstraApiEndpoint;
 import com.datastax.astra.internal.command.LoggingCommandObserver;
 import com.datastax.astra.internal.utils.Assert;
 import com.dtsx.astra.sdk.db.AstraDBOpsClient;
-import com.dtsx.astra.sdk.db.DbOpsClient;
 import com.dtsx.astra.sdk.db.domain.CloudProviderType;
 import com.dtsx.astra.sdk.db.domain.Database;
 import com.dtsx.astra.sdk.db.domain.DatabaseCreationRequest;
@@ -52,6 +51,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static com.datastax.astra.client.core.options.DataAPIClientOptions.DEFAULT_KEYSPACE;
@@ -242,9 +243,68 @@ public class AstraDBAdmin {
      *      database admin object
      */
     public DatabaseAdmin createDatabase(String name, CloudProviderType cloud, String cloudRegion, boolean waitForDb) {
+        Optional<UUID> activeDbId = findActiveDatabase(name);
+        if (activeDbId.isPresent()) {
+            return getDatabaseAdmin(activeDbId.get());
+        }
+        UUID newDbId = requestDatabaseCreation(name, cloud, cloudRegion);
+        if (waitForDb) {
+            waitForDatabase(newDbId);
+        }
+        return getDatabaseAdmin(newDbId);
+    }
+
+    /**
+     * Create new database with a name on the specified cloud provider and region, the creation request is sent by
+     * the calling thread and the returned future completes when the database is active. Databases created concurrently
+     * share the same status poller.
+     *
+     * @param name
+     *      database name
+     * @param cloud
+     *      cloud provider
+     * @param cloudRegion
+     *      cloud region
+     * @return
+     *      database admin object when the database is active
+     */
+    public CompletableFuture<DatabaseAdmin> createDatabaseAsync(String name, CloudProviderType cloud, String cloudRegion) {
+        Optional<UUID> activeDbId = findActiveDatabase(name);
+        if (activeDbId.isPresent()) {
+            return CompletableFuture.completedFuture(getDatabaseAdmin(activeDbId.get()));
+        }
+        UUID newDbId = requestDatabaseCreation(name, cloud, cloudRegion);
+        return waitForDatabaseAsync(newDbId, DatabaseStatusType.ACTIVE)
+                .thenApply(info -> getDatabaseAdmin(newDbId));
+    }
+
+    /**
+     * Wait for a database to reach a status without blocking a thread, for instance ACTIVE after a creation,
+     * PARKED after a park or TERMINATED after a drop. The future fails after {@link #WAIT_IN_SECONDS}.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param status
+     *      expected status
+     * @return
+     *      database information when the status is reached
+     */
+    public CompletableFuture<DatabaseInfo> waitForDatabaseAsync(@NonNull UUID databaseId, @NonNull DatabaseStatusType status) {
+        return devopsDbClient.getStatusWatcher()
+                .watch(databaseId.toString(), status, Duration.ofSeconds(WAIT_IN_SECONDS), false)
+                .thenApply(DatabaseInfo::new);
+    }
+
+    /**
+     * Lookup a database by name, only an active one can be reused.
+     *
+     * @param name
+     *      database name
+     * @return
+     *      identifier of the active database if it exists
+     */
+    private Optional<UUID> findActiveDatabase(String name) {
         Assert.hasLength(name, "name");
-        Assert.notNull(cloud, "cloud");
-        Assert.hasLength(cloudRegion, "cloudRegion");
         Optional<Database> optDb = listDatabases().stream()
                 .filter(db->name.equals(db.getName()))
                 .findFirst()
@@ -255,7 +315,7 @@ public class AstraDBAdmin {
             switch(db.getStatus()) {
                 case ACTIVE:
                     log.info("Database " + green("{}") + " already exists and is ACTIVE.", name);
-                    return getDatabaseAdmin(UUID.fromString(db.getId()));
+                    return Optional.of(UUID.fromString(db.getId()));
                 case MAINTENANCE:
                 case INITIALIZING:
                 case PENDING:
@@ -265,7 +325,24 @@ public class AstraDBAdmin {
                     throw new IllegalStateException("Database already exists but is not in expected state.");
             }
         }
-        // Database is not present, creating and waiting for it to be active.
+        return Optional.empty();
+    }
+
+    /**
+     * Send the creation request of a vector database.
+     *
+     * @param name
+     *      database name
+     * @param cloud
+     *      cloud provider
+     * @param cloudRegion
+     *      cloud region
+     * @return
+     *      identifier of the new database
+     */
+    private UUID requestDatabaseCreation(String name, CloudProviderType cloud, String cloudRegion) {
+        Assert.notNull(cloud, "cloud");
+        Assert.hasLength(cloudRegion, "cloudRegion");
         UUID newDbId = UUID.fromString(devopsDbClient.create(DatabaseCreationRequest.builder()
                 .name(name)
                 .cloudProvider(cloud)
@@ -273,10 +350,7 @@ public class AstraDBAdmin {
                 .keyspace(DEFAULT_KEYSPACE)
                 .withVector().build()));
         log.info("Database {} is starting (id={}): it will take about a minute please wait...", name, newDbId);
-        if (waitForDb) {
-            waitForDatabase(devopsDbClient.database(newDbId.toString()));
-        }
-        return getDatabaseAdmin(newDbId);
+        return newDbId;
     }
 
     /**
@@ -422,37 +496,20 @@ public class AstraDBAdmin {
     }
 
     /**
-     * Wait for db to have proper status.
+     * Wait for db to be active.
      *
-     * @param dbc
-     *      database client
+     * @param databaseId
+     *      database identifier
      */
-    @SuppressWarnings("java:S2925")
-    private void waitForDatabase(DbOpsClient dbc) {
-        long top = System.currentTimeMillis();
-        while(DatabaseStatusType.ACTIVE != getStatus(dbc) && ((System.currentTimeMillis()-top) < 1000L*WAIT_IN_SECONDS)) {
-            try {
-                Thread.sleep( 5000);
-                log.info("...waiting for database '" + dbc.get().getInfo().getName() + "' to become active...");
-            } catch (InterruptedException e) {
-                log.warn("Interrupted {}",e.getMessage());
-                Thread.currentThread().interrupt();
+    private void waitForDatabase(UUID databaseId) {
+        try {
+            waitForDatabaseAsync(databaseId, DatabaseStatusType.ACTIVE).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            throw e;
         }
-        if (getStatus(dbc) != DatabaseStatusType.ACTIVE) {
-            throw new IllegalStateException("Database is not in expected state after timeouts of " + WAIT_IN_SECONDS + " seconds.");
-        }
-    }
-
-    /**
-     * Retrieve the status of a database.
-     * @param dbc
-     *      database client
-     * @return
-     *      database status
-     */
-    private DatabaseStatusType getStatus(DbOpsClient dbc) {
-        return dbc.find().orElseThrow(() -> new DatabaseNotFoundException(dbc.getDatabaseId())).getStatus();
     }
 
 }
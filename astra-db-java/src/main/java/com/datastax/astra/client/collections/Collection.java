@@ -53,7 +53,12 @@ import com.datastax.astra.client.collections.definition.documents.types.UUIDv6;
 import com.datastax.astra.client.collections.definition.documents.types.UUIDv7;
 import com.datastax.astra.client.collections.exceptions.TooManyDocumentsToCountException;
 import com.datastax.astra.client.core.DataAPIKeywords;
+import com.datastax.astra.client.core.cache.NearCache;
 import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.core.commands.PreparedCommand;
+import com.datastax.astra.client.core.commands.PreparedOperation;
+import com.datastax.astra.client.core.writer.BufferedWriter;
+import com.datastax.astra.client.core.writer.BufferedWriterOptions;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.paging.Page;
 import com.datastax.astra.client.core.query.Filter;
@@ -68,8 +73,10 @@ import com.datastax.astra.client.tables.commands.options.TableDistinctOptions;
 import com.datastax.astra.internal.api.DataAPIResponse;
 import com.datastax.astra.internal.api.DataAPIStatus;
 import com.datastax.astra.internal.command.AbstractCommandRunner;
+import com.datastax.astra.internal.http.RequestCoalescer;
 import com.datastax.astra.internal.serdes.DataAPISerializer;
 import com.datastax.astra.internal.serdes.collections.DocumentSerializer;
+import com.datastax.astra.internal.serdes.collections.LazyDocumentSerializer;
 import com.datastax.astra.internal.utils.Assert;
 import com.datastax.astra.internal.utils.BetaPreview;
 import com.datastax.astra.internal.utils.EscapeUtils;
@@ -149,9 +156,18 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
     /** parameters names. */
     protected static final String DOCUMENT = "document";
 
+    /** Extended json types for an id in a filter. */
+    private static final Set<String> EJSON_ID_TYPES = Set.of(
+            DataAPIKeywords.UUID.getKeyword(),
+            DataAPIKeywords.OBJECT_ID.getKeyword(),
+            DataAPIKeywords.DATE.getKeyword());
+
     /** Default collection serializer. */
     public static final DataAPISerializer DEFAULT_COLLECTION_SERIALIZER = new DocumentSerializer();
 
+    /** Collection serializer reading the documents of the responses lazily. */
+    public static final DataAPISerializer LAZY_COLLECTION_SERIALIZER = new LazyDocumentSerializer();
+
     /** Collection identifier. */
     @Getter
     private final String collectionName;
@@ -168,6 +184,11 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
      */
     private CollectionDefinition collectionDefinition;
 
+    /**
+     * Near cache for lookups by id, null if not enabled in the options.
+     */
+    private final NearCache<String, Document> nearCache;
+
     /**
      * Constructs an instance of a collection within the specified database. This constructor
      * initializes the collection with a given name and associates it with a specific class type
@@ -208,6 +229,8 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
         if (collectionOptions.getKeyspace() != null) {
             this.database.useKeyspace(collectionOptions.getKeyspace());
         }
+        this.nearCache = collectionOptions.getNearCacheOptions() != null ?
+                new NearCache<>(collectionOptions.getNearCacheOptions()) : null;
     }
 
     // ----------------------------
@@ -280,6 +303,16 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
         return collectionDefinition;
     }
 
+    /**
+     * Access the near cache of the collection (hit and miss metrics).
+     *
+     * @return
+     *      the near cache if enabled in {@link CollectionOptions}
+     */
+    public Optional<NearCache<String, Document>> getNearCache() {
+        return Optional.ofNullable(nearCache);
+    }
+
     // --------------------------
     // ---   Insert*         ----
     // --------------------------
@@ -805,6 +838,38 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
         };
     }
 
+    /**
+     * Create a writer grouping single inserts issued from many threads into {@code insertMany} commands.
+     * The writer must be closed to flush the pending documents.
+     *
+     * @param bufferedWriterOptions
+     *      buffer size, linger time and concurrency
+     * @return
+     *      the buffered writer
+     */
+    public BufferedWriter<T, CollectionInsertOneResult> bufferedWriter(BufferedWriterOptions bufferedWriterOptions) {
+        CollectionInsertManyOptions insertManyOptions = new CollectionInsertManyOptions()
+                .ordered(false)
+                .returnDocumentResponses(true);
+        return new BufferedWriter<>(bufferedWriterOptions,
+                documents -> runCommand(new Command("insertMany")
+                        .withDocuments(documents)
+                        .withOptions(new Document()
+                                .append(OPTIONS_ORDERED, false)
+                                .append(OPTIONS_RETURN_DOCUMENT_RESPONSES, true)), insertManyOptions),
+                (status, id) -> new CollectionInsertOneResult(unmarshallDocumentId(id)));
+    }
+
+    /**
+     * Create a writer grouping single inserts into {@code insertMany} commands with default options.
+     *
+     * @return
+     *      the buffered writer
+     */
+    public BufferedWriter<T, CollectionInsertOneResult> bufferedWriter() {
+        return bufferedWriter(new BufferedWriterOptions());
+    }
+
     // --------------------------
     // ---   FindOne         ----
     // --------------------------
@@ -885,7 +950,43 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
      */
     public Optional<T> findOne(Filter filter, CollectionFindOneOptions findOneOptions) {
         notNull(findOneOptions, ARG_OPTIONS);
-        Command findOne = Command
+        Command findOne = findOneCommand(filter, findOneOptions);
+
+        // Lookup by id with full document can be served by the near cache
+        String cacheKey = getNearCacheKey(filter, findOneOptions);
+        long generation = 0;
+        if (cacheKey != null) {
+            NearCache.CachedValue<Document> cached = nearCache.get(cacheKey);
+            if (cached != null) {
+                return Optional.ofNullable(cached.getValue()).map(doc -> doc.map(getDocumentClass()));
+            }
+            generation = nearCache.generation(cacheKey);
+        }
+
+        Document document = runCommand(findOne, findOneOptions).getData().getDocument();
+        if (cacheKey != null) {
+            // not cached if a write invalidated the key in the meantime
+            nearCache.put(cacheKey, document, generation);
+        }
+        return Optional
+                // Get document first
+                .ofNullable(document)
+                // Map only if present
+                .map(doc -> doc.map(getDocumentClass()));
+    }
+
+    /**
+     * Build the findOne command.
+     *
+     * @param filter
+     *      filter of the findOne
+     * @param findOneOptions
+     *      options of the findOne
+     * @return
+     *      the command
+     */
+    private Command findOneCommand(Filter filter, CollectionFindOneOptions findOneOptions) {
+        return Command
                 .create("findOne")
                 .withFilter(filter)
                 .withSort(findOneOptions.getSortArray())
@@ -894,12 +995,105 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
                   .appendIfNotNull(OPTIONS_INCLUDE_SIMILARITY, findOneOptions.includeSimilarity())
                   .appendIfNotNull(OPTIONS_INCLUDE_SORT_VECTOR, findOneOptions.includeSortVector())
                 );
+    }
 
-        return Optional
-                // Get document first
-                .ofNullable(runCommand(findOne, findOneOptions).getData().getDocument())
-                // Map only if present
-                .map(doc -> doc.map(getDocumentClass()));
+    /**
+     * Compute the near cache key for a findOne, only lookups by id returning the full document are cached.
+     * Lazy documents are not shared through the cache.
+     *
+     * @param filter
+     *      filter of the findOne
+     * @param findOneOptions
+     *      options of the findOne
+     * @return
+     *      the cache key or null if the request cannot be cached
+     */
+    private String getNearCacheKey(Filter filter, CollectionFindOneOptions findOneOptions) {
+        if (nearCache == null
+                || (findOneOptions.getSortArray() != null && findOneOptions.getSortArray().length > 0)
+                || (findOneOptions.getProjectionArray() != null && findOneOptions.getProjectionArray().length > 0)
+                || findOneOptions.includeSimilarity() != null
+                || findOneOptions.includeSortVector() != null
+                || findOneOptions.lazyDocuments()) {
+            return null;
+        }
+        return getIdFromFilter(filter).map(getSerializer()::marshall).orElse(null);
+    }
+
+    /**
+     * Extract the document id from a filter when the filter is a simple equality on {@code _id}.
+     *
+     * @param filter
+     *      current filter
+     * @return
+     *      the id if the filter is a lookup by id
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<Object> getIdFromFilter(Object filter) {
+        if (!(filter instanceof Document)) {
+            return Optional.empty();
+        }
+        Map<String, Object> filterMap = ((Document) filter).getDocumentMap();
+        if (filterMap.size() != 1 || !filterMap.containsKey(DataAPIKeywords.ID.getKeyword())) {
+            return Optional.empty();
+        }
+        Object id = filterMap.get(DataAPIKeywords.ID.getKeyword());
+        if (id instanceof Map) {
+            Map<String, Object> condition = (Map<String, Object>) id;
+            if (condition.size() == 1 && condition.containsKey("$eq")) {
+                id = condition.get("$eq");
+            } else if (condition.size() != 1 || !EJSON_ID_TYPES.contains(condition.keySet().iterator().next())) {
+                // $in, $ne, $exists... are not lookups by id
+                return Optional.empty();
+            }
+        }
+        return Optional.ofNullable(id);
+    }
+
+    /**
+     * Any write made through this instance invalidates the related entries of the near cache.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+        if (nearCache == null || RequestCoalescer.READ_COMMANDS.contains(command.getName())) {
+            return super.runCommand(command, overridingOptions);
+        }
+        DataAPIResponse response = null;
+        try {
+            response = super.runCommand(command, overridingOptions);
+            return response;
+        } finally {
+            invalidateNearCache(command, response);
+        }
+    }
+
+    /**
+     * Invalidate entries of the near cache impacted by a write command.
+     *
+     * @param command
+     *      write command
+     * @param response
+     *      response of the command, null if the command failed
+     */
+    private void invalidateNearCache(Command command, DataAPIResponse response) {
+        Map<String, Object> payload = command.getPayload().getDocumentMap();
+        if (payload.containsKey("filter")) {
+            // A prepared command holds the markers in its payload, the id is the bound value
+            Optional<Object> id = getIdFromFilter(payload.get("filter"))
+                    .map(value -> PreparedCommand.resolve(command, value));
+            if (id.isPresent() && !(id.get() instanceof PreparedCommand.BindMarker)) {
+                nearCache.invalidate(getSerializer().marshall(id.get()));
+            } else {
+                nearCache.invalidateAll();
+            }
+        } else if (response != null && response.getStatus() != null && response.getStatus().getInsertedIds() != null) {
+            // Inserted documents could have been cached as not found
+            response.getStatus().getInsertedIds().forEach(id -> nearCache.invalidate(getSerializer().marshall(id)));
+        } else {
+            nearCache.invalidateAll();
+        }
     }
 
     /**
@@ -1076,6 +1270,101 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
         return findPage(filter, options, getDocumentClass());
     }
 
+    // -----------------------------
+    // ---   Prepared commands  ----
+    // -----------------------------
+
+    /**
+     * Prepare a findOne executed many times with different values. The filter, sort and projection are serialized
+     * once, values marked with {@link PreparedCommand#bindMarker(String)} are given at each execution.
+     * Prepared lookups are not served by the near cache.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * {@code
+     * PreparedOperation<Optional<Document>> byId = collection.prepareFindOne(
+     *     Filters.eq("_id", PreparedCommand.bindMarker("id")), new CollectionFindOneOptions());
+     * Optional<Document> doc = byId.execute("doc1");
+     * }
+     * </pre>
+     *
+     * @param filterTemplate
+     *      filter holding the bind markers
+     * @param findOneOptions
+     *      options of every execution
+     * @return
+     *      the prepared findOne
+     */
+    public PreparedOperation<Optional<T>> prepareFindOne(Filter filterTemplate, CollectionFindOneOptions findOneOptions) {
+        notNull(findOneOptions, ARG_OPTIONS);
+        return new PreparedOperation<>(this,
+                PreparedCommand.prepare(findOneCommand(filterTemplate, findOneOptions), getSerializer(findOneOptions)),
+                findOneOptions, res -> Optional
+                        .ofNullable(res.getData().getDocument())
+                        .map(doc -> doc.map(getDocumentClass())));
+    }
+
+    /**
+     * Prepare a find executed many times with different values, each execution returns the first page. The filter,
+     * sort and projection are serialized once, values marked with {@link PreparedCommand#bindMarker(String)} are
+     * given at each execution. Next pages are read with {@link #findPage(Filter, CollectionFindOptions)}.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * {@code
+     * PreparedOperation<Page<Document>> byOwner = collection.prepareFind(
+     *     Filters.eq("owner", PreparedCommand.bindMarker("owner")), new CollectionFindOptions().limit(10));
+     * List<Document> docs = byOwner.execute("alice").getResults();
+     * }
+     * </pre>
+     *
+     * @param filterTemplate
+     *      filter holding the bind markers
+     * @param options
+     *      options of every execution
+     * @return
+     *      the prepared find
+     */
+    public PreparedOperation<Page<T>> prepareFind(Filter filterTemplate, CollectionFindOptions options) {
+        notNull(options, ARG_OPTIONS);
+        return new PreparedOperation<>(this,
+                PreparedCommand.prepare(findCommand(filterTemplate, options), getSerializer(options)),
+                options, res -> toPage(res, options, getDocumentClass()));
+    }
+
+    /**
+     * Prepare an updateOne executed many times with different values. Bind markers can be used in the filter and
+     * in the update.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * {@code
+     * PreparedOperation<CollectionUpdateResult> touch = collection.prepareUpdateOne(
+     *     Filters.eq("_id", PreparedCommand.bindMarker("id")),
+     *     Updates.set("seen", PreparedCommand.bindMarker("seen")),
+     *     new CollectionUpdateOneOptions());
+     * touch.execute("doc1", true);
+     * }
+     * </pre>
+     *
+     * @param filterTemplate
+     *      filter holding the bind markers
+     * @param updateTemplate
+     *      update holding the bind markers
+     * @param updateOptions
+     *      options of every execution
+     * @return
+     *      the prepared updateOne
+     */
+    public PreparedOperation<CollectionUpdateResult> prepareUpdateOne(Filter filterTemplate, Update updateTemplate,
+                                                                      CollectionUpdateOneOptions updateOptions) {
+        notNull(updateTemplate, ARG_UPDATE);
+        notNull(updateOptions, ARG_OPTIONS);
+        return new PreparedOperation<>(this,
+                PreparedCommand.prepare(updateOneCommand(filterTemplate, updateTemplate, updateOptions), getSerializer(updateOptions)),
+                updateOptions, Collection::getUpdateResult);
+    }
+
     // -----------------------------
     // ---   Find and Rerank    ----
     // -----------------------------
@@ -1264,6 +1553,20 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
      * @return A {@link Page} object containing the documents that match the query, along with pagination information.
      */
     public <R> Page<R> findPage(Filter filter, CollectionFindOptions options, Class<R> newRowType) {
+        return toPage(runCommand(findCommand(filter, options), options), options, newRowType);
+    }
+
+    /**
+     * Build the find command.
+     *
+     * @param filter
+     *      filter of the find
+     * @param options
+     *      options of the find, can be null
+     * @return
+     *      the command
+     */
+    private Command findCommand(Filter filter, CollectionFindOptions options) {
         Command findCommand = Command
                 .create("find")
                 .withFilter(filter);
@@ -1277,8 +1580,24 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
                             .appendIfNotNull(OPTIONS_INCLUDE_SORT_VECTOR, options.includeSortVector())
                             .appendIfNotNull(OPTIONS_INCLUDE_SIMILARITY, options.includeSimilarity()));
         }
-        DataAPIResponse apiResponse = runCommand(findCommand, options);
+        return findCommand;
+    }
 
+    /**
+     * Map the response of a find command to a page.
+     *
+     * @param apiResponse
+     *      response of the find command
+     * @param options
+     *      options of the find, can be null
+     * @param newRowType
+     *      class of the documents in the page
+     * @param <R>
+     *      type of the documents in the page
+     * @return
+     *      the page
+     */
+    private <R> Page<R> toPage(DataAPIResponse apiResponse, CollectionFindOptions options, Class<R> newRowType) {
         // load sortVector if available
         DataAPIVector sortVector = null;
         if (options != null && options.includeSortVector() != null && apiResponse.getStatus() != null) {
@@ -1894,7 +2213,23 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
     public CollectionUpdateResult updateOne(Filter filter, Update update, CollectionUpdateOneOptions updateOptions) {
         notNull(update, ARG_UPDATE);
         notNull(updateOptions, ARG_OPTIONS);
-        Command cmd = Command
+        return getUpdateResult(runCommand(updateOneCommand(filter, update, updateOptions), updateOptions));
+    }
+
+    /**
+     * Build the updateOne command.
+     *
+     * @param filter
+     *      filter of the update
+     * @param update
+     *      update operations
+     * @param updateOptions
+     *      options of the update
+     * @return
+     *      the command
+     */
+    private Command updateOneCommand(Filter filter, Update update, CollectionUpdateOneOptions updateOptions) {
+        return Command
                 .create("updateOne")
                 .withFilter(filter)
                 .withUpdate(update)
@@ -1902,7 +2237,6 @@ public class Collection<T> extends AbstractCommandRunner<CollectionOptions> {
                 .withOptions(new Document()
                         .appendIfNotNull(OPTIONS_UPSERT, updateOptions.upsert())
                 );
-        return getUpdateResult(runCommand(cmd, updateOptions));
     }
 
     /**
@@ -20,6 +20,7 @@ package com.datastax.astra.client.collections;
  * #L%
  */
 
+import com.datastax.astra.client.core.cache.NearCacheOptions;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.options.DataAPIClientOptions;
 import lombok.Setter;
@@ -40,6 +41,11 @@ public class CollectionOptions extends BaseOptions<CollectionOptions> {
      */
     String keyspace;
 
+    /**
+     * Enable a near cache for lookups by id when set.
+     */
+    NearCacheOptions nearCacheOptions;
+
     /**
      * Default constructor nor overriding token nor options
      * but stilling setting the default timeouts and serializer
@@ -70,4 +76,13 @@ public class CollectionOptions extends BaseOptions<CollectionOptions> {
         return keyspace;
     }
 
+    /**
+     * Gets nearCacheOptions
+     *
+     * @return value of nearCacheOptions
+     */
+    public NearCacheOptions getNearCacheOptions() {
+        return nearCacheOptions;
+    }
+
 }
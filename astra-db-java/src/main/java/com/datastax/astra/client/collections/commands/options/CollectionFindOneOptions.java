@@ -20,6 +20,7 @@ package com.datastax.astra.client.collections.commands.options;
  * #L%
  */
 
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.query.Projection;
 import com.datastax.astra.client.core.query.Sort;
@@ -28,6 +29,9 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import static com.datastax.astra.client.collections.Collection.DEFAULT_COLLECTION_SERIALIZER;
+import static com.datastax.astra.client.collections.Collection.LAZY_COLLECTION_SERIALIZER;
+
 /**
  * List Options for a FindOne command.
  */
@@ -55,12 +59,37 @@ public class CollectionFindOneOptions extends BaseOptions<CollectionFindOneOptio
      */
     Boolean includeSortVector;
 
+    /**
+     * Read the document of the response as {@link LazyDocument}, decoded on first access of its fields.
+     */
+    boolean lazyDocuments;
+
     /**
      * Default constructor.
      */
     public CollectionFindOneOptions() {
     }
 
+    /**
+     * Read the document lazily: a field is decoded on its first access, a bean mapping reads the json directly.
+     * Best for wide documents of which a few fields are read. The default serializer is replaced
+     * by the lazy one, a custom serializer is kept. Lazy lookups bypass the near cache.
+     *
+     * @param lazyDocuments
+     *      read the document as {@link LazyDocument}
+     * @return
+     *     current command
+     */
+    public CollectionFindOneOptions lazyDocuments(boolean lazyDocuments) {
+        this.lazyDocuments = lazyDocuments;
+        if (lazyDocuments && (serializer == null || serializer == DEFAULT_COLLECTION_SERIALIZER)) {
+            serializer(LAZY_COLLECTION_SERIALIZER);
+        } else if (!lazyDocuments && serializer == LAZY_COLLECTION_SERIALIZER) {
+            serializer(DEFAULT_COLLECTION_SERIALIZER);
+        }
+        return this;
+    }
+
     /**
      * Adding this on top of sort(Sort[] s) to allow for a more fluent API.
      * @param s
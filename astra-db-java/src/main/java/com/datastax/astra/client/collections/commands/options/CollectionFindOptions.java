@@ -21,6 +21,7 @@ package com.datastax.astra.client.collections.commands.options;
  */
 
 import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
 import com.datastax.astra.client.core.commands.CommandType;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.query.Projection;
@@ -31,6 +32,7 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 
 import static com.datastax.astra.client.collections.Collection.DEFAULT_COLLECTION_SERIALIZER;
+import static com.datastax.astra.client.collections.Collection.LAZY_COLLECTION_SERIALIZER;
 import static com.datastax.astra.client.tables.Table.DEFAULT_TABLE_SERIALIZER;
 
 /**
@@ -75,6 +77,11 @@ public class CollectionFindOptions extends BaseOptions<CollectionFindOptions> {
      */
     private String pageState;
 
+    /**
+     * Read the documents of the response as {@link LazyDocument}, decoded on first access of their fields.
+     */
+    boolean lazyDocuments;
+
     /**
      * Default constructor.
      */
@@ -126,6 +133,26 @@ public class CollectionFindOptions extends BaseOptions<CollectionFindOptions> {
         return this;
     }
 
+    /**
+     * Read the documents lazily: a field is decoded on its first access, a bean mapping reads the json directly.
+     * Best for wide documents of which a few fields are read. The default serializer is replaced
+     * by the lazy one, a custom serializer is kept.
+     *
+     * @param lazyDocuments
+     *      read documents as {@link LazyDocument}
+     * @return
+     *     current command
+     */
+    public CollectionFindOptions lazyDocuments(boolean lazyDocuments) {
+        this.lazyDocuments = lazyDocuments;
+        if (lazyDocuments && (serializer == null || serializer == DEFAULT_COLLECTION_SERIALIZER)) {
+            serializer(LAZY_COLLECTION_SERIALIZER);
+        } else if (!lazyDocuments && serializer == LAZY_COLLECTION_SERIALIZER) {
+            serializer(DEFAULT_COLLECTION_SERIALIZER);
+        }
+        return this;
+    }
+
     /**
      * Add a skip clause in the find block
      *
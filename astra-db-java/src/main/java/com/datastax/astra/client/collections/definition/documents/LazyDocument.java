@@ -0,0 +1,321 @@
+package com.datastax.astra.client.collections.definition.documents;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.exceptions.DataAPIException;
+import com.datastax.astra.internal.utils.Assert;
+
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.datastax.astra.client.exceptions.DataAPIException.ERROR_CODE_SERIALIZATION;
+
+/**
+ * Document decoded on demand, backed by its json as UTF-8 bytes and the offsets of its top-level fields.
+ * <p>
+ * A top-level field is decoded the first time it is read (with {@code get}, {@code getVector}, ...) and kept.
+ * Mapping to a bean reads the json directly. The first modification decodes all the fields, the document then
+ * behaves as a regular {@link Document}. Like documents, instances are not thread-safe.
+ * </p>
+ */
+public class LazyDocument extends Document {
+
+    /** Json of the document, UTF-8 encoded. */
+    private final transient byte[] json;
+
+    /** Fields, decoded on demand. */
+    private final transient LazyFieldMap fields;
+
+    /**
+     * Lazy document over its json.
+     *
+     * @param json
+     *      json object, UTF-8 encoded
+     * @param names
+     *      names of the top-level fields
+     * @param offsets
+     *      offset of the value of each field in the json
+     * @param lengths
+     *      length of the value of each field in the json
+     */
+    public LazyDocument(byte[] json, String[] names, int[] offsets, int[] lengths) {
+        Assert.notNull(json, "json");
+        Assert.isTrue(names.length == offsets.length && names.length == lengths.length, "One offset and length per field");
+        this.json        = json;
+        this.fields      = new LazyFieldMap(json, names, offsets, lengths);
+        this.documentMap = fields;
+    }
+
+    /**
+     * Gets json of the document, UTF-8 encoded.
+     *
+     * @return
+     *      json as read in the response
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * Tells if all the fields have been decoded, on modification or conversion.
+     *
+     * @return
+     *      if the document is fully decoded
+     */
+    public boolean isDecoded() {
+        return fields.decoded != null;
+    }
+
+    /**
+     * Decode all the fields into a regular document.
+     *
+     * @return
+     *      eager document holding the same fields
+     */
+    public Document toEagerDocument() {
+        Document document = new Document();
+        if (fields.decoded != null) {
+            fields.decoded.forEach(document::append);
+        } else {
+            for (int i = 0; i < fields.names.length; i++) {
+                document.append(fields.names[i], fields.value(i));
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Map the json to the bean without building the fields, the lazy document is returned as is.
+     *
+     * @param clazz
+     *      target class
+     * @return
+     *      instance of pojo
+     * @param <T>
+     *      current type
+     */
+    @Override
+    public <T> T map(Class<T> clazz) {
+        if (clazz.isInstance(this)) {
+            return clazz.cast(this);
+        }
+        if (fields.decoded != null) {
+            return super.map(clazz);
+        }
+        try {
+            return SERIALIZER.getMapper().readValue(json, clazz);
+        } catch (IOException e) {
+            throw new DataAPIException(ERROR_CODE_SERIALIZATION, "Cannot map document to " + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * Decode a json value.
+     */
+    private static Object decode(byte[] json, int offset, int length) {
+        try {
+            return SERIALIZER.getMapper().readValue(json, offset, length, Object.class);
+        } catch (IOException e) {
+            throw new DataAPIException(ERROR_CODE_SERIALIZATION, "Cannot decode document field", e);
+        }
+    }
+
+    /**
+     * Top-level fields decoded on first access. Modifications switch to a map holding all the fields.
+     */
+    private static final class LazyFieldMap extends AbstractMap<String, Object> {
+
+        /** Marker of a field not decoded yet. */
+        private static final Object NOT_DECODED = new Object();
+
+        /** Json of the document. */
+        private final byte[] json;
+
+        /** Field names. */
+        private final String[] names;
+
+        /** Field name hashes, compared before the names. */
+        private final int[] hashes;
+
+        /** Value offsets. */
+        private final int[] offsets;
+
+        /** Value lengths. */
+        private final int[] lengths;
+
+        /** Decoded values. */
+        private final Object[] values;
+
+        /** All the fields, once the document has been modified. */
+        private Map<String, Object> decoded;
+
+        private LazyFieldMap(byte[] json, String[] names, int[] offsets, int[] lengths) {
+            this.json    = json;
+            this.names   = names;
+            this.offsets = offsets;
+            this.lengths = lengths;
+            this.hashes  = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                hashes[i] = names[i].hashCode();
+            }
+            this.values = new Object[names.length];
+            Arrays.fill(values, NOT_DECODED);
+        }
+
+        private int indexOf(Object key) {
+            if (key instanceof String) {
+                int hash = key.hashCode();
+                for (int i = 0; i < names.length; i++) {
+                    if (hashes[i] == hash && names[i].equals(key)) {
+                        return i;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        private Object value(int index) {
+            Object value = values[index];
+            if (value == NOT_DECODED) {
+                value = decode(json, offsets[index], lengths[index]);
+                values[index] = value;
+            }
+            return value;
+        }
+
+        private Map<String, Object> decodeAll() {
+            if (decoded == null) {
+                Map<String, Object> map = new LinkedHashMap<>(names.length * 2);
+                for (int i = 0; i < names.length; i++) {
+                    map.put(names[i], value(i));
+                }
+                decoded = map;
+            }
+            return decoded;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Object get(Object key) {
+            if (decoded != null) {
+                return decoded.get(key);
+            }
+            int index = indexOf(key);
+            return index < 0 ? null : value(index);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public boolean containsKey(Object key) {
+            return decoded != null ? decoded.containsKey(key) : indexOf(key) >= 0;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public int size() {
+            return decoded != null ? decoded.size() : names.length;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Object put(String key, Object value) {
+            return decodeAll().put(key, value);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Object remove(Object key) {
+            return decodeAll().remove(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void clear() {
+            decodeAll().clear();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Set<String> keySet() {
+            if (decoded != null) {
+                return decoded.keySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<String> iterator() {
+                    return Arrays.asList(names).iterator();
+                }
+
+                @Override
+                public boolean contains(Object o) {
+                    return containsKey(o);
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (decoded != null) {
+                return decoded.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < names.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (next >= names.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(names[index], value(index));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.datastax.astra.client.core.cache;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Count-Min sketch estimating the popularity of keys (TinyLFU admission policy).
+ * <p>
+ * Counters are capped to 15 and all halved when the number of increments reaches
+ * ten times the cache size, so that old popularity fades out.
+ * </p>
+ */
+class FrequencySketch {
+
+    /** Number of hash functions (rows). */
+    private static final int DEPTH = 4;
+
+    /** Maximum value of a counter. */
+    private static final int MAX_COUNT = 15;
+
+    /** Seeds of the hash functions. */
+    private static final int[] SEEDS = { 0x97cb3127, 0xb8be0e0b, 0x3c6ef372, 0xa54ff53a };
+
+    /** Counters, one row per hash function. */
+    private final int[][] table;
+
+    /** Mask to select a counter in a row (width is a power of 2). */
+    private final int mask;
+
+    /** Number of increments before halving counters. */
+    private final int sampleSize;
+
+    /** Number of increments since last reset. */
+    private int additions;
+
+    /**
+     * Constructor with the cache size.
+     *
+     * @param maximumSize
+     *      maximum number of entries in the cache
+     */
+    FrequencySketch(int maximumSize) {
+        int width = Integer.highestOneBit(Math.max(16, maximumSize) * 2 - 1);
+        this.table      = new int[DEPTH][width];
+        this.mask       = width - 1;
+        this.sampleSize = Math.max(10, 10 * maximumSize);
+    }
+
+    /**
+     * Increment popularity of a key.
+     *
+     * @param key
+     *      cache key
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            if (table[i][index] < MAX_COUNT) {
+                table[i][index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Estimate popularity of a key.
+     *
+     * @param key
+     *      cache key
+     * @return
+     *      estimated number of accesses
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < DEPTH; i++) {
+            frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+        }
+        return frequency;
+    }
+
+    /**
+     * Halve all counters.
+     */
+    private void reset() {
+        for (int[] row : table) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] >>>= 1;
+            }
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
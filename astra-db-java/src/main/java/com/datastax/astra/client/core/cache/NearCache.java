@@ -0,0 +1,393 @@
+package com.datastax.astra.client.core.cache;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.internal.utils.Assert;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory cache for point lookups, bounded in size and time.
+ * <p>
+ * Eviction follows a W-TinyLFU policy: new entries land in a small LRU window (1% of the capacity),
+ * entries leaving the window are admitted in the main LRU space only if they are more popular
+ * than the entry they would evict. Popularity is estimated with a {@link FrequencySketch}. This keeps
+ * frequently accessed keys in the cache even when a scan goes through a lot of keys only once.
+ * </p>
+ * <p>
+ * A lookup with no result can be cached as well, the value is then {@code null}.
+ * </p>
+ *
+ * @param <K>
+ *     type of the key
+ * @param <V>
+ *     type of the value
+ */
+@Slf4j
+public class NearCache<K, V> {
+
+    /** Number of stripes of write generations (power of 2). */
+    private static final int GENERATION_STRIPES = 64;
+
+    /** Cache options. */
+    private final NearCacheOptions options;
+
+    /** Time to live in nanos. */
+    private final long ttlNanos;
+
+    /** Admission window, LRU. */
+    private final LinkedHashMap<K, CachedValue<V>> window;
+
+    /** Main space, LRU with admission. */
+    private final LinkedHashMap<K, CachedValue<V>> main;
+
+    /** Maximum size of the window. */
+    private final int windowMaxSize;
+
+    /** Maximum size of the main space. */
+    private final int mainMaxSize;
+
+    /** Key popularity. */
+    private final FrequencySketch sketch;
+
+    /** Write generations, per stripe of keys, bumped by each invalidation. */
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    /** Metrics: hits. */
+    private final LongAdder hitCount = new LongAdder();
+
+    /** Metrics: hits for a lookup without result. */
+    private final LongAdder negativeHitCount = new LongAdder();
+
+    /** Metrics: misses. */
+    private final LongAdder missCount = new LongAdder();
+
+    /** Metrics: evictions (size or time). */
+    private final LongAdder evictionCount = new LongAdder();
+
+    /** Metrics: invalidations. */
+    private final LongAdder invalidationCount = new LongAdder();
+
+    /**
+     * Constructor with options.
+     *
+     * @param options
+     *      cache options
+     */
+    public NearCache(NearCacheOptions options) {
+        Assert.notNull(options, "options");
+        Assert.isTrue(options.getMaxSize() > 0, "maxSize should be positive");
+        Assert.notNull(options.getTtl(), "ttl");
+        this.options       = options;
+        this.ttlNanos      = options.getTtl().toNanos();
+        this.windowMaxSize = Math.max(1, options.getMaxSize() / 100);
+        this.mainMaxSize   = Math.max(1, options.getMaxSize() - windowMaxSize);
+        this.window        = new LinkedHashMap<>(16, 0.75f, true);
+        this.main          = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch        = new FrequencySketch(options.getMaxSize());
+    }
+
+    /**
+     * Lookup a key in the cache.
+     *
+     * @param key
+     *      cache key
+     * @return
+     *      the cached value, or null if the key is not in the cache
+     */
+    public synchronized CachedValue<V> get(K key) {
+        sketch.increment(key);
+        CachedValue<V> cached = window.get(key);
+        if (cached == null) {
+            cached = main.get(key);
+        }
+        if (cached != null && cached.isExpired()) {
+            window.remove(key);
+            main.remove(key);
+            evictionCount.increment();
+            cached = null;
+        }
+        if (cached == null) {
+            missCount.increment();
+        } else if (cached.isPresent()) {
+            hitCount.increment();
+        } else {
+            negativeHitCount.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Put a value in the cache.
+     *
+     * @param key
+     *      cache key
+     * @param value
+     *      value to cache, null for a lookup without result
+     */
+    public synchronized void put(K key, V value) {
+        if (value == null && !options.isCacheNegativeLookups()) {
+            return;
+        }
+        CachedValue<V> cached = new CachedValue<>(value, System.nanoTime() + ttlNanos);
+        if (main.containsKey(key)) {
+            main.put(key, cached);
+            return;
+        }
+        window.put(key, cached);
+        if (window.size() > windowMaxSize) {
+            Iterator<Map.Entry<K, CachedValue<V>>> it = window.entrySet().iterator();
+            Map.Entry<K, CachedValue<V>> candidate = it.next();
+            it.remove();
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    /**
+     * Gets the write generation of a key, to read before loading the value from the API.
+     *
+     * @param key
+     *      cache key
+     * @return
+     *      current generation of the key
+     */
+    public synchronized long generation(K key) {
+        return generations[stripe(key)];
+    }
+
+    /**
+     * Put a value loaded from the API in the cache, unless the key has been invalidated since the load started:
+     * a read in flight during a write could hold the value from before the write.
+     *
+     * @param key
+     *      cache key
+     * @param value
+     *      value to cache, null for a lookup without result
+     * @param generation
+     *      generation of the key read before the load
+     */
+    public synchronized void put(K key, V value, long generation) {
+        if (generations[stripe(key)] == generation) {
+            put(key, value);
+        }
+    }
+
+    private int stripe(K key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    /**
+     * Move an entry leaving the window to the main space if it is worth it.
+     *
+     * @param key
+     *      candidate key
+     * @param candidate
+     *      candidate value
+     */
+    private void admit(K key, CachedValue<V> candidate) {
+        if (candidate.isExpired()) {
+            evictionCount.increment();
+            return;
+        }
+        if (main.size() < mainMaxSize) {
+            main.put(key, candidate);
+            return;
+        }
+        Iterator<Map.Entry<K, CachedValue<V>>> it = main.entrySet().iterator();
+        Map.Entry<K, CachedValue<V>> victim = it.next();
+        if (victim.getValue().isExpired() || sketch.frequency(key) > sketch.frequency(victim.getKey())) {
+            it.remove();
+            main.put(key, candidate);
+        }
+        evictionCount.increment();
+    }
+
+    /**
+     * Remove a key from the cache, loads of the key in flight will not be cached.
+     *
+     * @param key
+     *      cache key
+     */
+    public synchronized void invalidate(K key) {
+        generations[stripe(key)]++;
+        if (window.remove(key) != null | main.remove(key) != null) {
+            invalidationCount.increment();
+        }
+    }
+
+    /**
+     * Remove all entries from the cache.
+     */
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations[i]++;
+        }
+        if (!window.isEmpty() || !main.isEmpty()) {
+            log.debug("Invalidating {} entries of near cache", window.size() + main.size());
+            invalidationCount.add(window.size() + main.size());
+            window.clear();
+            main.clear();
+        }
+    }
+
+    /**
+     * Number of entries in the cache (including expired entries not evicted yet).
+     *
+     * @return
+     *      number of entries
+     */
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /**
+     * Gets the number of lookups found in cache with a value.
+     *
+     * @return
+     *      number of hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups found in cache without a value (negative lookup).
+     *
+     * @return
+     *      number of negative hits
+     */
+    public long getNegativeHitCount() {
+        return negativeHitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups not found in cache.
+     *
+     * @return
+     *      number of misses
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Gets the number of entries evicted for size or time.
+     *
+     * @return
+     *      number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * Gets the number of entries invalidated by writes.
+     *
+     * @return
+     *      number of invalidations
+     */
+    public long getInvalidationCount() {
+        return invalidationCount.sum();
+    }
+
+    /**
+     * Ratio of lookups served by the cache.
+     *
+     * @return
+     *      hit rate in between 0 and 1
+     */
+    public double getHitRate() {
+        long hits  = getHitCount() + getNegativeHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets options
+     *
+     * @return value of options
+     */
+    public NearCacheOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Value in the cache with its expiration.
+     *
+     * @param <V>
+     *     type of the value
+     */
+    public static class CachedValue<V> {
+
+        /** Cached value, null for a lookup without result. */
+        private final V value;
+
+        /** Expiration time (nanos). */
+        private final long expiresAt;
+
+        /**
+         * Constructor with value and expiration.
+         *
+         * @param value
+         *      cached value
+         * @param expiresAt
+         *      expiration time in nanos
+         */
+        CachedValue(V value, long expiresAt) {
+            this.value     = value;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Tell if the lookup returned a value.
+         *
+         * @return
+         *      true if a value is present
+         */
+        public boolean isPresent() {
+            return value != null;
+        }
+
+        /**
+         * Gets value
+         *
+         * @return value of value
+         */
+        public V getValue() {
+            return value;
+        }
+
+        /**
+         * Tell if the entry expired.
+         *
+         * @return
+         *      true if expired
+         */
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
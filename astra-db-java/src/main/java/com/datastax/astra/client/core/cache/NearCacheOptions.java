@@ -0,0 +1,119 @@
+package com.datastax.astra.client.core.cache;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.internal.utils.Assert;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.time.Duration;
+
+/**
+ * Options to set up a near cache on a collection or a table.
+ * <p>
+ * The near cache keeps the result of point lookups (find by id or by full primary key) in memory.
+ * Entries are evicted based on size and time to live and invalidated on writes made through
+ * the same {@code Collection} or {@code Table} instance.
+ * </p>
+ */
+@Setter
+@Accessors(fluent = true, chain = true)
+public class NearCacheOptions implements Cloneable {
+
+    /** Default number of entries. */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+
+    /** Default time to live of an entry. */
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(60);
+
+    /**
+     * Maximum number of entries in the cache.
+     */
+    int maxSize = DEFAULT_MAX_SIZE;
+
+    /**
+     * Time to live of an entry.
+     */
+    Duration ttl = DEFAULT_TTL;
+
+    /**
+     * Keep track of lookups with no result.
+     */
+    boolean cacheNegativeLookups = true;
+
+    /**
+     * Default constructor.
+     */
+    public NearCacheOptions() {
+        // left blank, defaults are set on fields
+    }
+
+    /**
+     * Set the time to live of an entry in millis.
+     *
+     * @param ttlMillis
+     *      time to live in millis
+     * @return
+     *      self reference
+     */
+    public NearCacheOptions ttlMillis(long ttlMillis) {
+        Assert.isTrue(ttlMillis > 0, "ttl should be positive");
+        this.ttl = Duration.ofMillis(ttlMillis);
+        return this;
+    }
+
+    /**
+     * Gets maxSize
+     *
+     * @return value of maxSize
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets ttl
+     *
+     * @return value of ttl
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Gets cacheNegativeLookups
+     *
+     * @return value of cacheNegativeLookups
+     */
+    public boolean isCacheNegativeLookups() {
+        return cacheNegativeLookups;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public NearCacheOptions clone() {
+        try {
+            return (NearCacheOptions) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.datastax.astra.client.core.cache;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.internal.utils.Assert;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache of schema metadata (collections, tables, indexes and user defined types) shared by a {@code Database}.
+ * <p>
+ * Entries are loaded once and refreshed after the time to live. Concurrent callers looking up
+ * the same entry while it is loading wait for the single call in flight. Schema changes issued through
+ * the client (create, drop, alter) invalidate the impacted entries.
+ * </p>
+ * <p>
+ * Keys are built as {@code keyspace/kind} or {@code keyspace/kind/name}, for instance
+ * {@code default_keyspace/indexes/my_table}.
+ * </p>
+ * <p>
+ * Entries are not keyed on command options, so callers only use the cache for listings invoked
+ * without options and go to the API otherwise.
+ * </p>
+ */
+@Slf4j
+public class SchemaCache {
+
+    /** Kind of entry: collections of a keyspace. */
+    public static final String COLLECTIONS = "collections";
+
+    /** Kind of entry: tables of a keyspace. */
+    public static final String TABLES = "tables";
+
+    /** Kind of entry: user defined types of a keyspace. */
+    public static final String TYPES = "types";
+
+    /** Kind of entry: indexes of a table. */
+    public static final String INDEXES = "indexes";
+
+    /** Time to live in nanos. */
+    private final long ttlNanos;
+
+    /** Cached entries. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** Metrics: lookups served from cache. */
+    private final LongAdder hitCount = new LongAdder();
+
+    /** Metrics: lookups that triggered a call to the API. */
+    private final LongAdder loadCount = new LongAdder();
+
+    /**
+     * Constructor with the time to live of entries.
+     *
+     * @param ttl
+     *      time to live of entries
+     */
+    public SchemaCache(Duration ttl) {
+        Assert.notNull(ttl, "ttl");
+        Assert.isTrue(!ttl.isNegative() && !ttl.isZero(), "ttl should be positive");
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Get an entry from the cache or load it.
+     *
+     * @param keyspace
+     *      keyspace name
+     * @param kind
+     *      kind of entry
+     * @param name
+     *      name of the object (table name for indexes), can be null
+     * @param loader
+     *      loader invoked when the entry is missing or expired
+     * @return
+     *      the cached value
+     * @param <V>
+     *      type of value
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(String keyspace, String kind, String name, Supplier<V> loader) {
+        String key = key(keyspace, kind, name);
+        while (true) {
+            Entry current = entries.get(key);
+            if (current != null && !current.isExpired() && !current.value.isCompletedExceptionally()) {
+                if (current.value.isDone()) {
+                    hitCount.increment();
+                }
+                return (V) join(current.value);
+            }
+            Entry loading = new Entry();
+            boolean owner = (current == null) ?
+                    entries.putIfAbsent(key, loading) == null :
+                    entries.replace(key, current, loading);
+            if (owner) {
+                loadCount.increment();
+                log.debug("Loading schema entry '{}'", key);
+                try {
+                    V value = loader.get();
+                    loading.complete(value, ttlNanos);
+                    return value;
+                } catch (Throwable e) {
+                    // errors too, or the threads waiting on the entry would never return
+                    entries.remove(key, loading);
+                    loading.value.completeExceptionally(e);
+                    throw e;
+                }
+            }
+            // another thread is loading or reloading the entry, retry
+        }
+    }
+
+    /**
+     * Remove an entry of a kind and all the named entries of the same kind.
+     *
+     * @param keyspace
+     *      keyspace name
+     * @param kind
+     *      kind of entry
+     */
+    public void invalidate(String keyspace, String kind) {
+        String key = key(keyspace, kind, null);
+        entries.keySet().removeIf(k -> k.equals(key) || k.startsWith(key + "/"));
+    }
+
+    /**
+     * Remove a named entry.
+     *
+     * @param keyspace
+     *      keyspace name
+     * @param kind
+     *      kind of entry
+     * @param name
+     *      name of the object
+     */
+    public void invalidate(String keyspace, String kind, String name) {
+        entries.remove(key(keyspace, kind, name));
+    }
+
+    /**
+     * Invalidate the entries impacted by a schema change on a table (alter, index creation).
+     *
+     * @param keyspace
+     *      keyspace name
+     * @param tableName
+     *      table name
+     */
+    public void invalidateTable(String keyspace, String tableName) {
+        invalidate(keyspace, TABLES);
+        invalidate(keyspace, INDEXES, tableName);
+    }
+
+    /**
+     * Invalidate the entries impacted by a schema command issued at database level.
+     *
+     * @param keyspace
+     *      keyspace name
+     * @param commandName
+     *      name of the command
+     */
+    public void onSchemaCommand(String keyspace, String commandName) {
+        switch (commandName) {
+            case "createCollection", "deleteCollection" -> invalidate(keyspace, COLLECTIONS);
+            case "createTable", "dropTable" -> {
+                invalidate(keyspace, TABLES);
+                invalidate(keyspace, INDEXES);
+            }
+            case "createType", "dropType", "alterType" -> {
+                invalidate(keyspace, TYPES);
+                invalidate(keyspace, TABLES);
+            }
+            case "dropIndex" -> invalidate(keyspace, INDEXES);
+            default -> {
+                // not a schema command
+            }
+        }
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of lookups served from cache.
+     *
+     * @return
+     *      number of hits
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Gets the number of lookups that triggered a call to the API.
+     *
+     * @return
+     *      number of loads
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    private static String key(String keyspace, String kind, String name) {
+        return name == null ? keyspace + "/" + kind : keyspace + "/" + kind + "/" + name;
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Entry in the cache, loaded once.
+     */
+    private static class Entry {
+
+        /** Value, completed when loaded. */
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+
+        /** Expiration time in nanos, set when loaded. */
+        private volatile long expiresAt;
+
+        /** Loaded flag. */
+        private volatile boolean loaded;
+
+        void complete(Object v, long ttlNanos) {
+            this.expiresAt = System.nanoTime() + ttlNanos;
+            this.loaded    = true;
+            value.complete(v);
+        }
+
+        boolean isExpired() {
+            return loaded && System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -27,6 +27,8 @@ import com.datastax.astra.client.core.query.Filter;
 import com.datastax.astra.client.core.query.Projection;
 import com.datastax.astra.client.core.query.Sort;
 import com.datastax.astra.client.tables.commands.TableUpdateOperation;
+import com.datastax.astra.internal.http.RequestBody;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
 import com.datastax.astra.internal.utils.Assert;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
@@ -278,6 +280,18 @@ public class Command implements Serializable {
         this.payload = payload;
     }
 
+    /**
+     * Serialize the command into the body of the http request.
+     *
+     * @param serializer
+     *      serializer of the collection or table
+     * @return
+     *      json body streamed in UTF-8
+     */
+    public RequestBody serialize(DataAPISerializer serializer) {
+        return RequestBody.of(serializer, this);
+    }
+
     /**
      * Custom serializer for Command class.
      */
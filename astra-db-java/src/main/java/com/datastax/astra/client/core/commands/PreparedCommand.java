@@ -0,0 +1,297 @@
+package com.datastax.astra.client.core.commands;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.internal.http.RequestBody;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.datastax.astra.internal.utils.Assert;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Command serialized once, executed many times with different values.
+ * <p>
+ * The template command holds {@link #bindMarker(String) bind markers} in place of the values changing from one
+ * call to the other. When prepared, the template is serialized once and split into json fragments around the
+ * markers. Binding values returns a command whose body is the fragments with the serialized values spliced in
+ * between, the filter, sort and projection are not walked again. The same name can be used by several markers.
+ * Instances are immutable and can be shared across threads.
+ * </p>
+ * <pre>
+ * {@code
+ * PreparedCommand findOne = PreparedCommand.prepare(Command.create("findOne")
+ *     .withFilter(Filters.eq("_id", PreparedCommand.bindMarker("id"))), collection.getOptions().getSerializer());
+ * collection.runCommand(findOne.bind("doc1"));
+ * }
+ * </pre>
+ */
+public class PreparedCommand {
+
+    /** Prefix of the markers in the serialized template, random to never match a real value. */
+    private static final String MARKER_PREFIX = "__bind_" + Long.toHexString(new SecureRandom().nextLong()) + "_";
+
+    /** Marker names, kept simple so that they are never escaped in json. */
+    private static final Pattern MARKER_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    /** Serialized null value. */
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /** Template command, holding the markers. */
+    private final Command template;
+
+    /** Json fragments around the markers, one more than the markers. */
+    private final byte[][] fragments;
+
+    /** Marker index in {@link #parameters} for each position in between two fragments. */
+    private final int[] positions;
+
+    /** Parameter names, in the order of their first marker. */
+    private final List<String> parameters;
+
+    /**
+     * Value to bind at execution time, serialized as a unique string in the template.
+     */
+    public static final class BindMarker {
+
+        /** Parameter name. */
+        private final String name;
+
+        private BindMarker(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets name
+         *
+         * @return value of name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Placeholder written in the json template.
+         *
+         * @return
+         *      placeholder
+         */
+        @JsonValue
+        public String getPlaceholder() {
+            return MARKER_PREFIX + name;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public String toString() {
+            return ":" + name;
+        }
+    }
+
+    /**
+     * Create a marker to use in place of a value in a filter, a sort, a projection or an update.
+     *
+     * @param name
+     *      parameter name, letters, digits and underscores only
+     * @return
+     *      the bind marker
+     */
+    public static BindMarker bindMarker(String name) {
+        Assert.hasLength(name, "name");
+        Assert.isTrue(MARKER_NAME.matcher(name).matches(), "bind marker name can only contain letters, digits and '_'");
+        return new BindMarker(name);
+    }
+
+    /**
+     * Serialize a template and split it around its bind markers.
+     *
+     * @param template
+     *      command holding the bind markers
+     * @param serializer
+     *      serializer of the collection or table executing the command
+     * @return
+     *      the prepared command
+     */
+    public static PreparedCommand prepare(Command template, DataAPISerializer serializer) {
+        Assert.notNull(template, "template");
+        Assert.notNull(serializer, "serializer");
+        return new PreparedCommand(template, serializer.marshall(template));
+    }
+
+    private PreparedCommand(Command template, String json) {
+        this.template = template;
+        String quotedPrefix = "\"" + MARKER_PREFIX;
+        List<byte[]> fragmentList = new ArrayList<>();
+        List<Integer> positionList = new ArrayList<>();
+        Map<String, Integer> names = new LinkedHashMap<>();
+        int from = 0;
+        int start = json.indexOf(quotedPrefix);
+        while (start >= 0) {
+            int end = json.indexOf('"', start + quotedPrefix.length());
+            String name = json.substring(start + quotedPrefix.length(), end);
+            positionList.add(names.computeIfAbsent(name, n -> names.size()));
+            fragmentList.add(json.substring(from, start).getBytes(StandardCharsets.UTF_8));
+            from = end + 1;
+            start = json.indexOf(quotedPrefix, from);
+        }
+        fragmentList.add(json.substring(from).getBytes(StandardCharsets.UTF_8));
+        this.fragments  = fragmentList.toArray(new byte[0][]);
+        this.positions  = positionList.stream().mapToInt(Integer::intValue).toArray();
+        this.parameters = Collections.unmodifiableList(new ArrayList<>(names.keySet()));
+    }
+
+    /**
+     * Gets the template command.
+     *
+     * @return
+     *      template holding the bind markers
+     */
+    public Command getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets parameters names, in the order of their first marker in the command.
+     *
+     * @return
+     *      parameters names
+     */
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Bind values by position, in the order of {@link #getParameters()}.
+     *
+     * @param values
+     *      one value per parameter
+     * @return
+     *      command to execute
+     */
+    public Command bind(Object... values) {
+        Assert.notNull(values, "values");
+        if (values.length != parameters.size()) {
+            throw new IllegalArgumentException("Expecting " + parameters.size() + " values for " + parameters
+                    + " but got " + values.length);
+        }
+        return new BoundCommand(this, values.clone());
+    }
+
+    /**
+     * Bind values by name.
+     *
+     * @param values
+     *      value per parameter name
+     * @return
+     *      command to execute
+     */
+    public Command bind(Map<String, ?> values) {
+        Assert.notNull(values, "values");
+        Object[] bound = new Object[parameters.size()];
+        for (int i = 0; i < bound.length; i++) {
+            String name = parameters.get(i);
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("Missing value for parameter '" + name + "'");
+            }
+            bound[i] = values.get(name);
+        }
+        return new BoundCommand(this, bound);
+    }
+
+    /**
+     * Resolve a value read in the payload of a command, the payload of a bound command still holds the markers.
+     *
+     * @param command
+     *      command holding the value
+     * @param value
+     *      value read in the payload
+     * @return
+     *      the bound value for a marker of a bound command, the value itself otherwise
+     */
+    public static Object resolve(Command command, Object value) {
+        if (value instanceof BindMarker marker && command instanceof BoundCommand bound) {
+            return bound.values[bound.prepared.parameters.indexOf(marker.getName())];
+        }
+        return value;
+    }
+
+    /**
+     * Prepared command with its values. The payload is the template one, with the bind markers.
+     */
+    private static final class BoundCommand extends Command {
+
+        /** Prepared command. */
+        private final transient PreparedCommand prepared;
+
+        /** Values per parameter. */
+        private final transient Object[] values;
+
+        private BoundCommand(PreparedCommand prepared, Object[] values) {
+            super(prepared.template.getName(), prepared.template.getPayload());
+            this.prepared = prepared;
+            this.values   = values;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public RequestBody serialize(DataAPISerializer serializer) {
+            RequestBody body = new RequestBody();
+            byte[][] fragments = prepared.fragments;
+            for (int i = 0; i < fragments.length; i++) {
+                body.write(fragments[i], 0, fragments[i].length);
+                if (i < prepared.positions.length) {
+                    byte[] value = serializeValue(values[prepared.positions[i]], serializer);
+                    body.write(value, 0, value.length);
+                }
+            }
+            return body;
+        }
+    }
+
+    /**
+     * Serialize a bound value, common scalar types are written without going through the object mapper.
+     */
+    private static byte[] serializeValue(Object value, DataAPISerializer serializer) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof String str) {
+            byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(str);
+            byte[] quoted = new byte[escaped.length + 2];
+            quoted[0] = '"';
+            System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+            quoted[quoted.length - 1] = '"';
+            return quoted;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Boolean) {
+            return value.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return serializer.marshall(value).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.datastax.astra.client.core.commands;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.options.BaseOptions;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.utils.Assert;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Operation of a collection or a table prepared once and executed with different values.
+ * <p>
+ * Obtained from methods like {@code Collection.prepareFindOne(...)}. The options given at preparation time are
+ * used for every execution. Instances are thread safe.
+ * </p>
+ *
+ * @param <R>
+ *      result of the operation
+ */
+public class PreparedOperation<R> {
+
+    /** Collection or table executing the command. */
+    private final CommandRunner runner;
+
+    /** Serialized command. */
+    private final PreparedCommand preparedCommand;
+
+    /** Options of each execution. */
+    private final BaseOptions<?> options;
+
+    /** Build the result from the response. */
+    private final Function<DataAPIResponse, R> mapper;
+
+    /**
+     * Constructor.
+     *
+     * @param runner
+     *      collection or table executing the command
+     * @param preparedCommand
+     *      serialized command
+     * @param options
+     *      options of each execution
+     * @param mapper
+     *      build the result from the response
+     */
+    public PreparedOperation(CommandRunner runner, PreparedCommand preparedCommand,
+                             BaseOptions<?> options, Function<DataAPIResponse, R> mapper) {
+        Assert.notNull(runner, "runner");
+        Assert.notNull(preparedCommand, "preparedCommand");
+        Assert.notNull(mapper, "mapper");
+        this.runner          = runner;
+        this.preparedCommand = preparedCommand;
+        this.options         = options;
+        this.mapper          = mapper;
+    }
+
+    /**
+     * Execute with values by position, in the order of {@link PreparedCommand#getParameters()}.
+     *
+     * @param values
+     *      one value per parameter
+     * @return
+     *      result of the operation
+     */
+    public R execute(Object... values) {
+        return mapper.apply(runner.runCommand(preparedCommand.bind(values), options));
+    }
+
+    /**
+     * Execute with values by name.
+     *
+     * @param values
+     *      value per parameter name
+     * @return
+     *      result of the operation
+     */
+    public R execute(Map<String, ?> values) {
+        return mapper.apply(runner.runCommand(preparedCommand.bind(values), options));
+    }
+
+    /**
+     * Gets preparedCommand
+     *
+     * @return value of preparedCommand
+     */
+    public PreparedCommand getPreparedCommand() {
+        return preparedCommand;
+    }
+}
@@ -165,6 +165,11 @@ public class DataAPIClientOptions implements Cloneable {
      */
     private Map<String, CommandObserver> observers = new TreeMap<>();
 
+    /**
+     * When enabled, identical read commands executed concurrently share a single http request.
+     */
+    private boolean requestCoalescing = false;
+
     // --------------------------------------------------
     // --- Accessors                                  ---
     // --------------------------------------------------
@@ -274,6 +279,15 @@ public class DataAPIClientOptions implements Cloneable {
         return observers;
     }
 
+    /**
+     * Gets requestCoalescing
+     *
+     * @return value of requestCoalescing
+     */
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
     /**
      * Gets httpClientOptions
      *
@@ -449,6 +463,7 @@ public class DataAPIClientOptions implements Cloneable {
         this.apiVersion                 = options.apiVersion;
         this.destination                = options.destination;
         this.embeddingHeadersProvider = options.embeddingHeadersProvider;
+        this.requestCoalescing          = options.requestCoalescing;
         // Deep Copy
         this.databaseAdditionalHeaders  = options.databaseAdditionalHeaders != null ?
                 new HashMap<>(options.databaseAdditionalHeaders) : null;
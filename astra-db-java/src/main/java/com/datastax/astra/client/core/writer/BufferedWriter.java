@@ -0,0 +1,440 @@
+package com.datastax.astra.client.core.writer;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.exceptions.DataAPIErrorDescriptor;
+import com.datastax.astra.client.exceptions.DataAPIException;
+import com.datastax.astra.client.exceptions.DataAPIResponseException;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.api.DataAPIStatus;
+import com.datastax.astra.internal.command.ExecutionInfos;
+import com.datastax.astra.internal.utils.Assert;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.datastax.astra.client.exceptions.DataAPIException.DEFAULT_ERROR_CODE;
+import static com.datastax.astra.client.exceptions.DataAPIException.ERROR_CODE_INTERRUPTED;
+import static com.datastax.astra.client.exceptions.DataAPIException.ERROR_CODE_TIMEOUT;
+
+/**
+ * Group single inserts issued from many threads into {@code insertMany} commands.
+ * <p>
+ * Each call to {@link #insert(Object)} returns immediately with a future completed once the record has
+ * been sent, with its own inserted id or its own error (commands are sent unordered with document responses).
+ * When {@code maxPendingRecords} records are buffered or in flight, callers are blocked up to {@code maxBlockMillis}.
+ * </p>
+ * <pre>
+ * {@code
+ * try (BufferedWriter<Document, CollectionInsertOneResult> writer = collection.bufferedWriter()) {
+ *   writer.insert(new Document().append("event", "login"))
+ *         .thenAccept(res -> log.info("inserted {}", res.getInsertedId()));
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T>
+ *      type of records inserted
+ * @param <R>
+ *      type of the result for each record
+ */
+@Slf4j
+public class BufferedWriter<T, R> implements AutoCloseable {
+
+    /** Counter to name the threads. */
+    private static final AtomicInteger WRITER_COUNTER = new AtomicInteger();
+
+    /** Options of the writer. */
+    private final BufferedWriterOptions options;
+
+    /** Send a batch of records as an insertMany command. */
+    private final Function<List<T>, DataAPIResponse> batchInserter;
+
+    /** Build the result of a record from the status and the id returned. */
+    private final BiFunction<DataAPIStatus, Object, R> resultMapper;
+
+    /** Limit the number of records buffered or in flight. */
+    private final Semaphore pendingPermits;
+
+    /** Results not yet completed, used to flush. */
+    private final Set<CompletableFuture<R>> pendingResults = ConcurrentHashMap.newKeySet();
+
+    /** Run the insertMany commands. */
+    private final ExecutorService flushExecutor;
+
+    /** Trigger flushes when the linger time is reached. */
+    private final ScheduledExecutorService lingerScheduler;
+
+    /** Lock on the current batch. */
+    private final Object lock = new Object();
+
+    /** Records waiting to be sent. */
+    private Batch<T, R> currentBatch = new Batch<>();
+
+    /** Writer status. */
+    private volatile boolean closed;
+
+    /** Number of insertMany commands sent. */
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /** Number of records sent. */
+    private final AtomicLong recordCount = new AtomicLong();
+
+    /**
+     * Records waiting to be sent with their results.
+     *
+     * @param <T>
+     *      type of records
+     * @param <R>
+     *      type of results
+     */
+    private static final class Batch<T, R> {
+        /** Records. */
+        private final List<T> records = new ArrayList<>();
+        /** Results, same order as records. */
+        private final List<CompletableFuture<R>> results = new ArrayList<>();
+    }
+
+    /**
+     * Create a buffered writer.
+     *
+     * @param options
+     *      writer options
+     * @param batchInserter
+     *      function sending an insertMany command (unordered, with document responses) for a batch of records
+     * @param resultMapper
+     *      function building the result of one record from the command status and the inserted id
+     */
+    public BufferedWriter(BufferedWriterOptions options,
+                          Function<List<T>, DataAPIResponse> batchInserter,
+                          BiFunction<DataAPIStatus, Object, R> resultMapper) {
+        Assert.notNull(options, "options");
+        Assert.notNull(batchInserter, "batchInserter");
+        Assert.notNull(resultMapper, "resultMapper");
+        options.validate();
+        this.options        = options.clone();
+        this.batchInserter  = batchInserter;
+        this.resultMapper   = resultMapper;
+        this.pendingPermits = new Semaphore(options.getMaxPendingRecords());
+        int writerId = WRITER_COUNTER.incrementAndGet();
+        this.flushExecutor   = Executors.newFixedThreadPool(options.getConcurrency(),
+                daemonThreadFactory("buffered-writer-" + writerId + "-flush"));
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+                daemonThreadFactory("buffered-writer-" + writerId + "-linger"));
+    }
+
+    /**
+     * Add a record to the buffer, blocking when the buffer is full.
+     *
+     * @param record
+     *      record to insert
+     * @return
+     *      future completed with the result of this record when it has been sent
+     */
+    public CompletableFuture<R> insert(T record) {
+        Assert.notNull(record, "record");
+        if (closed) {
+            throw new IllegalStateException("Buffered writer is closed");
+        }
+        acquirePermit();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        Batch<T, R> fullBatch = null;
+        synchronized (lock) {
+            // checked again under the lock, close() takes the last batch under the same lock
+            if (closed) {
+                pendingPermits.release();
+                throw new IllegalStateException("Buffered writer is closed");
+            }
+            pendingResults.add(result);
+            result.whenComplete((r, e) -> {
+                pendingResults.remove(result);
+                pendingPermits.release();
+            });
+            currentBatch.records.add(record);
+            currentBatch.results.add(result);
+            if (currentBatch.records.size() >= options.getBatchSize()) {
+                fullBatch = drain();
+            } else if (currentBatch.records.size() == 1) {
+                final Batch<T, R> lingeringBatch = currentBatch;
+                lingerScheduler.schedule(() -> flushIfCurrent(lingeringBatch),
+                        options.getLingerMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        if (fullBatch != null) {
+            send(fullBatch);
+        }
+        return result;
+    }
+
+    /**
+     * Send the buffered records and wait for all pending records to be sent.
+     */
+    public void flush() {
+        Batch<T, R> batch;
+        synchronized (lock) {
+            batch = drain();
+        }
+        send(batch);
+        awaitPendingResults();
+    }
+
+    /**
+     * Flush the pending records and release the threads. Records inserted after this call are rejected.
+     */
+    @Override
+    public void close() {
+        Batch<T, R> lastBatch;
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lastBatch = drain();
+        }
+        send(lastBatch);
+        awaitPendingResults();
+        lingerScheduler.shutdownNow();
+        flushExecutor.shutdown();
+    }
+
+    /**
+     * Gets the number of records buffered or in flight.
+     *
+     * @return
+     *      number of pending records
+     */
+    public int getPendingCount() {
+        return pendingResults.size();
+    }
+
+    /**
+     * Gets the number of insertMany commands sent.
+     *
+     * @return
+     *      number of commands
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Gets the number of records sent.
+     *
+     * @return
+     *      number of records
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * Wait for a slot in the buffer.
+     */
+    private void acquirePermit() {
+        try {
+            if (!pendingPermits.tryAcquire(options.getMaxBlockMillis(), TimeUnit.MILLISECONDS)) {
+                throw new DataAPIException(ERROR_CODE_TIMEOUT, "Buffered writer is full, "
+                        + options.getMaxPendingRecords() + " records are pending since "
+                        + options.getMaxBlockMillis() + " millis");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAPIException(ERROR_CODE_INTERRUPTED, "Thread was interrupted while waiting for buffer");
+        }
+    }
+
+    /**
+     * Wait for the records buffered or in flight to be sent.
+     */
+    private void awaitPendingResults() {
+        CompletableFuture<?>[] pending = pendingResults.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(pending).exceptionally(e -> null).join();
+        } catch (RuntimeException e) {
+            // each error is reported to its own caller
+            log.debug("Error while flushing buffered writer: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the current batch by an empty one, must hold the lock.
+     *
+     * @return
+     *      the batch to send
+     */
+    private Batch<T, R> drain() {
+        Batch<T, R> batch = currentBatch;
+        currentBatch = new Batch<>();
+        return batch;
+    }
+
+    /**
+     * Linger time reached, send the batch if it has not been sent yet.
+     *
+     * @param batch
+     *      batch waiting when the timer was started
+     */
+    private void flushIfCurrent(Batch<T, R> batch) {
+        Batch<T, R> toSend = null;
+        synchronized (lock) {
+            if (currentBatch == batch) {
+                toSend = drain();
+            }
+        }
+        if (toSend != null) {
+            send(toSend);
+        }
+    }
+
+    /**
+     * Send a batch asynchronously.
+     *
+     * @param batch
+     *      batch to send
+     */
+    private void send(Batch<T, R> batch) {
+        if (batch.records.isEmpty()) {
+            return;
+        }
+        flushExecutor.execute(() -> insertBatch(batch));
+    }
+
+    /**
+     * Send a batch and complete the result of each record.
+     *
+     * @param batch
+     *      batch to send
+     */
+    private void insertBatch(Batch<T, R> batch) {
+        batchCount.incrementAndGet();
+        recordCount.addAndGet(batch.records.size());
+        DataAPIException failure = null;
+        DataAPIResponse response;
+        try {
+            response = batchInserter.apply(batch.records);
+        } catch (DataAPIResponseException e) {
+            // unordered inserts: documents not in error are still inserted
+            failure  = e;
+            response = e.getCommandsList().stream()
+                    .map(ExecutionInfos::getResponse)
+                    .reduce((first, second) -> second)
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            batch.results.forEach(r -> r.completeExceptionally(e));
+            return;
+        }
+        try {
+            completeResults(batch, response);
+        } catch (RuntimeException e) {
+            log.warn("Cannot map the insertMany response: {}", e.getMessage());
+        }
+        // Results not found in response
+        DataAPIException error = failure != null ? failure
+                : new DataAPIException(DEFAULT_ERROR_CODE, "No response returned for the record");
+        batch.results.forEach(r -> r.completeExceptionally(error));
+    }
+
+    /**
+     * Complete the result of each record based on the document responses.
+     *
+     * @param batch
+     *      batch sent
+     * @param response
+     *      response of the insertMany command
+     */
+    private void completeResults(Batch<T, R> batch, DataAPIResponse response) {
+        if (response == null || response.getStatus() == null) {
+            return;
+        }
+        DataAPIStatus status = response.getStatus();
+        List<Document> documentResponses = status.getDocumentResponses();
+        if (documentResponses != null && documentResponses.size() == batch.results.size()) {
+            for (int i = 0; i < documentResponses.size(); i++) {
+                Document documentResponse = documentResponses.get(i);
+                CompletableFuture<R> result = batch.results.get(i);
+                String docStatus = documentResponse.getString("status");
+                if ("OK".equals(docStatus)) {
+                    result.complete(resultMapper.apply(status, documentResponse.get("_id")));
+                } else if ("ERROR".equals(docStatus)) {
+                    result.completeExceptionally(getError(response, documentResponse.getInteger("errorsIdx")));
+                } else {
+                    result.completeExceptionally(new DataAPIException(DEFAULT_ERROR_CODE,
+                            "Record has not been inserted (status=" + docStatus + ")"));
+                }
+            }
+        } else if (status.getInsertedIds() != null && status.getInsertedIds().size() == batch.results.size()) {
+            for (int i = 0; i < status.getInsertedIds().size(); i++) {
+                batch.results.get(i).complete(resultMapper.apply(status, status.getInsertedIds().get(i)));
+            }
+        }
+    }
+
+    /**
+     * Build the error of a record from the errors of the response.
+     *
+     * @param response
+     *      response of the insertMany command
+     * @param errorIdx
+     *      index of the error in the list
+     * @return
+     *      the error
+     */
+    private DataAPIException getError(DataAPIResponse response, Integer errorIdx) {
+        List<DataAPIErrorDescriptor> errors = response.getErrors();
+        if (errors != null && errorIdx != null && errorIdx >= 0 && errorIdx < errors.size()) {
+            DataAPIErrorDescriptor error = errors.get(errorIdx);
+            return new DataAPIException(error.getErrorCode(), error.getErrorMessage());
+        }
+        return new DataAPIException(DEFAULT_ERROR_CODE, "Record has not been inserted");
+    }
+
+    /**
+     * Create daemon threads so a writer not closed does not prevent the JVM from stopping.
+     *
+     * @param prefix
+     *      thread name prefix
+     * @return
+     *      thread factory
+     */
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
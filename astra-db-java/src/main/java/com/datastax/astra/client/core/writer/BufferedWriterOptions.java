@@ -0,0 +1,137 @@
+package com.datastax.astra.client.core.writer;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.internal.utils.Assert;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Options to set up a {@link BufferedWriter}.
+ * <p>
+ * Records are sent as soon as {@code batchSize} records are buffered or when the first record
+ * of a batch has waited {@code lingerMillis}, whatever comes first.
+ * </p>
+ */
+@Setter
+@Accessors(fluent = true, chain = true)
+public class BufferedWriterOptions implements Cloneable {
+
+    /**
+     * Maximum number of records in a single insertMany command.
+     */
+    int batchSize = DataAPIClientOptions.MAX_CHUNK_SIZE;
+
+    /**
+     * Maximum time a record waits in the buffer before being sent.
+     */
+    long lingerMillis = 20;
+
+    /**
+     * Number of insertMany commands running in parallel.
+     */
+    int concurrency = 4;
+
+    /**
+     * Maximum number of records buffered or in flight, when reached callers are blocked.
+     */
+    int maxPendingRecords = 10_000;
+
+    /**
+     * Maximum time a caller is blocked when the buffer is full.
+     */
+    long maxBlockMillis = 60_000;
+
+    /**
+     * Default constructor.
+     */
+    public BufferedWriterOptions() {
+        // left blank, default values are set with fields
+    }
+
+    /**
+     * Gets batchSize
+     *
+     * @return value of batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets lingerMillis
+     *
+     * @return value of lingerMillis
+     */
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    /**
+     * Gets concurrency
+     *
+     * @return value of concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Gets maxPendingRecords
+     *
+     * @return value of maxPendingRecords
+     */
+    public int getMaxPendingRecords() {
+        return maxPendingRecords;
+    }
+
+    /**
+     * Gets maxBlockMillis
+     *
+     * @return value of maxBlockMillis
+     */
+    public long getMaxBlockMillis() {
+        return maxBlockMillis;
+    }
+
+    /**
+     * Validate the options.
+     */
+    public void validate() {
+        Assert.isTrue(batchSize > 0 && batchSize <= DataAPIClientOptions.MAX_CHUNK_SIZE,
+                "batchSize must be between 1 and " + DataAPIClientOptions.MAX_CHUNK_SIZE);
+        Assert.isTrue(lingerMillis >= 0, "lingerMillis must be positive");
+        Assert.isTrue(concurrency > 0, "concurrency must be positive");
+        Assert.isTrue(maxPendingRecords >= batchSize, "maxPendingRecords must be greater than batchSize");
+        Assert.isTrue(maxBlockMillis >= 0, "maxBlockMillis must be positive");
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public BufferedWriterOptions clone() {
+        try {
+            return (BufferedWriterOptions) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
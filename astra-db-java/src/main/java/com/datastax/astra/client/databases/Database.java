@@ -33,9 +33,13 @@ import com.datastax.astra.client.collections.commands.options.ListCollectionOpti
 import com.datastax.astra.client.collections.definition.CollectionDefinition;
 import com.datastax.astra.client.collections.definition.CollectionDescriptor;
 import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.cache.SchemaCache;
 import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.options.DataAPIClientOptions;
 import com.datastax.astra.client.databases.definition.DatabaseInfo;
+import com.datastax.astra.client.databases.schema.SchemaPlan;
+import com.datastax.astra.client.databases.schema.SchemaPlanResult;
 import com.datastax.astra.client.exceptions.InvalidConfigurationException;
 import com.datastax.astra.client.tables.Table;
 import com.datastax.astra.client.tables.TableOptions;
@@ -57,16 +61,19 @@ import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeDef
 import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeDescriptor;
 import com.datastax.astra.client.tables.mapping.EntityTable;
 import com.datastax.astra.internal.api.AstraApiEndpoint;
+import com.datastax.astra.internal.api.DataAPIResponse;
 import com.datastax.astra.internal.command.AbstractCommandRunner;
 import com.datastax.astra.internal.command.CommandObserver;
 import com.datastax.astra.internal.reflection.EntityBeanDefinition;
 import com.datastax.astra.internal.utils.Assert;
 import com.dtsx.astra.sdk.utils.Utils;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.datastax.astra.internal.reflection.EntityBeanDefinition.createTableCommand;
@@ -125,6 +132,12 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
      */
     private DatabaseInfo cachedDbInfo;
 
+    /**
+     * Schema metadata cache, null if not enabled in the options.
+     */
+    @Getter(AccessLevel.NONE)
+    private final SchemaCache schemaCache;
+
     /**
      * Initializes a {@link Database} instance with the specified API endpoint and connection options.
      * This constructor configures the database client to interact with the Data API at the provided
@@ -175,6 +188,34 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
                 .append("/")
                 .append(options.getKeyspace())
                 .toString();
+        this.schemaCache = options.getSchemaCacheTtl() != null ?
+                new SchemaCache(options.getSchemaCacheTtl()) : null;
+    }
+
+    /**
+     * Access the schema metadata cache of the database.
+     *
+     * @return
+     *      the schema cache if enabled in {@link DatabaseOptions}
+     */
+    public Optional<SchemaCache> getSchemaCache() {
+        return Optional.ofNullable(schemaCache);
+    }
+
+    /**
+     * Schema changes made through this instance invalidate the related entries of the schema cache.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+        try {
+            return super.runCommand(command, overridingOptions);
+        } finally {
+            if (schemaCache != null) {
+                schemaCache.onSchemaCommand(getKeyspace(), command.getName());
+            }
+        }
     }
 
     // ------------------------------------------
@@ -477,6 +518,9 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
                     this.options.clone().keyspace(otherKeyspace))
                     .listCollectionNames(listCollectionOptions);
         }
+        if (listCollectionOptions == null && schemaCache != null) {
+            return listCollections().stream().map(CollectionDescriptor::getName).toList();
+        }
         return runCommand(Command.create("findCollections"), listCollectionOptions)
                 .getStatusKeyAsStringStream("collections")
                 .toList();
@@ -549,6 +593,10 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
         }
         Command findCollections = Command.create("findCollections")
                 .withOptions(new Document().append("explain", true));
+        if (listCollectionOptions == null && schemaCache != null) {
+            return schemaCache.get(getKeyspace(), SchemaCache.COLLECTIONS, null, () -> List.copyOf(
+                    runCommand(findCollections).getStatusKeyAsList("collections", CollectionDescriptor.class)));
+        }
         return runCommand(findCollections, listCollectionOptions)
                 .getStatusKeyAsList("collections", CollectionDescriptor.class);
     }
@@ -1007,6 +1055,9 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
                     this.options.clone().keyspace(otherKeyspace))
                     .listTableNames(listTablesOptions);
         }
+        if (listTablesOptions == null && schemaCache != null) {
+            return listTables().stream().map(TableDescriptor::getName).toList();
+        }
         return runCommand(Command.create("listTables"), listTablesOptions)
                 .getStatusKeyAsStringStream("tables")
                 .toList();
@@ -1055,6 +1106,10 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
         Command findTables = Command
                 .create("listTables")
                 .withOptions(new Document().append("explain", true));
+        if (listTableOptions == null && schemaCache != null) {
+            return schemaCache.get(getKeyspace(), SchemaCache.TABLES, null, () -> List.copyOf(
+                    runCommand(findTables).getStatusKeyAsList("tables", TableDescriptor.class)));
+        }
         return runCommand(findTables, listTableOptions)
                 .getStatusKeyAsList("tables", TableDescriptor.class);
     }
@@ -1296,6 +1351,9 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
                     this.options.clone().keyspace(otherKeyspace))
                     .listTypeNames(listTypesOptions);
         }
+        if (listTypesOptions == null && schemaCache != null) {
+            return listTypes().stream().map(TableUserDefinedTypeDescriptor::getName).toList();
+        }
         return runCommand(Command.create("listTypes"), listTypesOptions)
                 .getStatusKeyAsStringStream("types")
                 .toList();
@@ -1336,6 +1394,10 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
         Command listTypes = Command
                 .create("listTypes")
                 .withOptions(new Document().append("explain", true));
+        if (listTypesOptions == null && schemaCache != null) {
+            return schemaCache.get(getKeyspace(), SchemaCache.TYPES, null, () -> List.copyOf(
+                    runCommand(listTypes).getStatusKeyAsList("types", TableUserDefinedTypeDescriptor.class)));
+        }
         return runCommand(listTypes, listTypesOptions)
                 .getStatusKeyAsList("types", TableUserDefinedTypeDescriptor.class);
     }
@@ -1768,6 +1830,33 @@ public class Database extends AbstractCommandRunner<DatabaseOptions> {
         return ann.value();
     }
 
+    // -------------------------------------
+    // ----       Schema Plan           ----
+    // -------------------------------------
+
+    /**
+     * Creates the missing types, tables, indexes and collections of a plan in the current keyspace.
+     * Independent commands run in parallel, types are created before tables and tables before their indexes.
+     *
+     * <p>Example usage:</p>
+     * <pre>
+     * {@code
+     * SchemaPlanResult result = db.createSchema(new SchemaPlan()
+     *   .table(Customer.class)
+     *   .collection("events"));
+     * }
+     * </pre>
+     *
+     * @param schemaPlan
+     *      objects expected in the keyspace
+     * @return
+     *      result per object of the plan
+     */
+    public SchemaPlanResult createSchema(SchemaPlan schemaPlan) {
+        notNull(schemaPlan, "schemaPlan");
+        return schemaPlan.apply(this);
+    }
+
     /**
      * Initialize a TableOption from the current database options.
      *
@@ -28,6 +28,8 @@ import com.datastax.astra.internal.serdes.DatabaseSerializer;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
+import java.time.Duration;
+
 /**
  * Represents the configuration options required to connect to a database. This class encapsulates
  * various settings, such as authentication details, API version, and keyspace configuration,
@@ -73,6 +75,13 @@ public class DatabaseOptions extends BaseOptions<DatabaseOptions> implements Clo
      */
     String keyspace = DataAPIClientOptions.DEFAULT_KEYSPACE;
 
+    /**
+     * Time to live of the schema metadata cache (collections, tables, indexes, types), disabled when null.
+     * The cache only serves the listing operations invoked without options: options may carry a token,
+     * serializer or timeouts of their own, so those calls always go to the API.
+     */
+    Duration schemaCacheTtl;
+
     /**
      * Default constructor.
      */
@@ -101,6 +110,15 @@ public class DatabaseOptions extends BaseOptions<DatabaseOptions> implements Clo
         return keyspace;
     }
 
+    /**
+     * Gets schemaCacheTtl
+     *
+     * @return value of schemaCacheTtl
+     */
+    public Duration getSchemaCacheTtl() {
+        return schemaCacheTtl;
+    }
+
     /** {@inheritDoc} */
     @Override
     public DatabaseOptions clone() {
@@ -0,0 +1,97 @@
+package com.datastax.astra.client.databases.schema;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of an object of a {@link SchemaPlan}.
+ */
+@Getter
+@AllArgsConstructor
+public class SchemaObjectResult {
+
+    /**
+     * Status of an object after the plan has been applied.
+     */
+    public enum Status {
+
+        /** The object has been created. */
+        CREATED,
+
+        /** The object already existed, no command has been sent. */
+        EXISTING,
+
+        /** The creation failed, see {@link #getError()}. */
+        FAILED,
+
+        /** Not created because an object it depends on failed. */
+        SKIPPED
+    }
+
+    /**
+     * Kind of object.
+     */
+    private final SchemaObjectType type;
+
+    /**
+     * Name of the object.
+     */
+    private final String name;
+
+    /**
+     * Table of an index, null for other objects.
+     */
+    private final String tableName;
+
+    /**
+     * Status of the object.
+     */
+    private final Status status;
+
+    /**
+     * Error for failed or skipped objects, null otherwise.
+     */
+    private final RuntimeException error;
+
+    /**
+     * Time spent creating the object in millis.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Tells if the object exists after the plan has been applied.
+     *
+     * @return
+     *      true if the object has been created or already existed
+     */
+    public boolean isSuccessful() {
+        return status == Status.CREATED || status == Status.EXISTING;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return type + " " + (tableName != null ? tableName + "." : "") + name + " " + status
+                + (error != null ? " (" + error.getMessage() + ")" : "");
+    }
+}
@@ -0,0 +1,39 @@
+package com.datastax.astra.client.databases.schema;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * Kind of object in a {@link SchemaPlan}, in the order they are created.
+ */
+public enum SchemaObjectType {
+
+    /** User defined type, created before the tables. */
+    TYPE,
+
+    /** Collection, no dependency. */
+    COLLECTION,
+
+    /** Table, created once all the types of the plan are. */
+    TABLE,
+
+    /** Index of a table, created once its table is. */
+    INDEX
+}
@@ -0,0 +1,412 @@
+package com.datastax.astra.client.databases.schema;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.collections.commands.options.CreateCollectionOptions;
+import com.datastax.astra.client.collections.definition.CollectionDefinition;
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.options.CreateIndexOptions;
+import com.datastax.astra.client.tables.commands.options.CreateTableOptions;
+import com.datastax.astra.client.tables.commands.options.CreateTextIndexOptions;
+import com.datastax.astra.client.tables.commands.options.CreateTypeOptions;
+import com.datastax.astra.client.tables.commands.options.CreateVectorIndexOptions;
+import com.datastax.astra.client.tables.definition.TableDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableIndexDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableRegularIndexDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableTextIndexDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableVectorIndexDefinition;
+import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.client.tables.definition.types.TableUserDefinedType;
+import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeDefinition;
+import com.datastax.astra.client.tables.mapping.EntityTable;
+import com.datastax.astra.internal.reflection.EntityBeanDefinition;
+import com.datastax.astra.internal.utils.Assert;
+import com.dtsx.astra.sdk.utils.Utils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.datastax.astra.internal.utils.AnsiUtils.green;
+
+/**
+ * Declarative description of the schema of a keyspace: user defined types, tables, indexes and collections.
+ * <p>
+ * When applied, the existing types, tables and collections are listed once and only the missing objects are
+ * created (objects are compared by name, definitions are not). Independent commands run in parallel, a table
+ * is created once all the types of the plan are and an index once its table is. Every command is sent with
+ * {@code ifNotExists} so that two plans applied at the same time do not fail. A failed object does not stop
+ * the plan, the indexes of a failed table are skipped.
+ * </p>
+ * <pre>
+ * {@code
+ * SchemaPlanResult result = new SchemaPlan()
+ *   .type(Address.class)
+ *   .table(Customer.class)
+ *   .index("customer", "customer_email_idx", new TableRegularIndexDefinition().column("email"))
+ *   .collection("events")
+ *   .apply(database);
+ * }
+ * </pre>
+ */
+@Slf4j
+public class SchemaPlan {
+
+    /** Default number of commands running in parallel. */
+    public static final int DEFAULT_CONCURRENCY = 4;
+
+    /** Objects of the plan, in the order they have been added. */
+    private final List<SchemaObject> objects = new ArrayList<>();
+
+    /** Number of commands running in parallel. */
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * An object of the plan and the command creating it.
+     *
+     * @param type
+     *      kind of object
+     * @param name
+     *      object name
+     * @param tableName
+     *      table of an index, null otherwise
+     * @param create
+     *      command creating the object
+     */
+    private record SchemaObject(SchemaObjectType type, String name, String tableName, Consumer<Database> create) {}
+
+    /**
+     * Default constructor.
+     */
+    public SchemaPlan() {
+        // left blank, objects are added with the fluent methods
+    }
+
+    /**
+     * Add a user defined type.
+     *
+     * @param typeName
+     *      name of the type
+     * @param typeDefinition
+     *      definition of the type
+     * @return
+     *      current plan
+     */
+    public SchemaPlan type(String typeName, TableUserDefinedTypeDefinition typeDefinition) {
+        Assert.notNull(typeDefinition, "typeDefinition");
+        return add(SchemaObjectType.TYPE, typeName, null,
+                db -> db.createType(typeName, typeDefinition, new CreateTypeOptions().ifNotExists(true)));
+    }
+
+    /**
+     * Add a user defined type from a bean annotated with {@link TableUserDefinedType}.
+     *
+     * @param udtBean
+     *      annotated bean
+     * @return
+     *      current plan
+     */
+    public SchemaPlan type(Class<?> udtBean) {
+        Assert.notNull(udtBean, "udtBean");
+        if (udtBean.getAnnotation(TableUserDefinedType.class) == null) {
+            throw new IllegalArgumentException("Class " + udtBean.getName() + " is not annotated with "
+                    + TableUserDefinedType.class.getName());
+        }
+        String typeName = new EntityBeanDefinition<>(udtBean).getName();
+        return add(SchemaObjectType.TYPE, typeName, null,
+                db -> db.createType(udtBean, new CreateTypeOptions().ifNotExists(true)));
+    }
+
+    /**
+     * Add a collection with the default definition.
+     *
+     * @param collectionName
+     *      name of the collection
+     * @return
+     *      current plan
+     */
+    public SchemaPlan collection(String collectionName) {
+        return collection(collectionName, new CollectionDefinition());
+    }
+
+    /**
+     * Add a collection.
+     *
+     * @param collectionName
+     *      name of the collection
+     * @param collectionDefinition
+     *      definition of the collection
+     * @return
+     *      current plan
+     */
+    public SchemaPlan collection(String collectionName, CollectionDefinition collectionDefinition) {
+        Assert.notNull(collectionDefinition, "collectionDefinition");
+        return add(SchemaObjectType.COLLECTION, collectionName, null,
+                db -> db.createCollection(collectionName, collectionDefinition, new CreateCollectionOptions()));
+    }
+
+    /**
+     * Add a table.
+     *
+     * @param tableName
+     *      name of the table
+     * @param tableDefinition
+     *      definition of the table
+     * @return
+     *      current plan
+     */
+    public SchemaPlan table(String tableName, TableDefinition tableDefinition) {
+        Assert.notNull(tableDefinition, "tableDefinition");
+        return add(SchemaObjectType.TABLE, tableName, null,
+                db -> db.createTable(tableName, tableDefinition, new CreateTableOptions().ifNotExists(true)));
+    }
+
+    /**
+     * Add a table from a bean annotated with {@link EntityTable}, with the vector indexes of its vector columns
+     * (named as in {@link Database#createTable(Class)}).
+     *
+     * @param rowClass
+     *      annotated bean
+     * @return
+     *      current plan
+     */
+    public SchemaPlan table(Class<?> rowClass) {
+        Assert.notNull(rowClass, "rowClass");
+        EntityTable ann = rowClass.getAnnotation(EntityTable.class);
+        if (ann == null || !Utils.hasLength(ann.value())) {
+            throw new IllegalArgumentException("Class " + rowClass.getName() + " is not annotated with "
+                    + EntityTable.class.getName() + " or has no table name");
+        }
+        String tableName = ann.value();
+        // Validate the mapping when building the plan rather than when applying it
+        CreateTableOptions options = new CreateTableOptions().ifNotExists(true);
+        Command createTable = new Command("createTable", EntityBeanDefinition.createTableCommand(tableName, rowClass))
+                .append("options", options);
+        add(SchemaObjectType.TABLE, tableName, null, db -> db.runCommand(createTable, options));
+        EntityBeanDefinition.listVectorIndexDefinitions(tableName, rowClass).forEach(idx ->
+                index(tableName, "vidx_" + tableName + "_" + idx.getColumn().getName(), idx));
+        return this;
+    }
+
+    /**
+     * Add an index on a table, the kind of index (regular, vector, text) is given by the definition.
+     * The table is not required to be part of the plan.
+     *
+     * @param tableName
+     *      name of the table
+     * @param indexName
+     *      name of the index
+     * @param indexDefinition
+     *      definition of the index
+     * @return
+     *      current plan
+     */
+    public SchemaPlan index(String tableName, String indexName, TableIndexDefinition<?> indexDefinition) {
+        Assert.hasLength(tableName, "tableName");
+        Assert.notNull(indexDefinition, "indexDefinition");
+        Consumer<Table<Row>> create;
+        if (indexDefinition instanceof TableVectorIndexDefinition vectorIndex) {
+            create = t -> t.createVectorIndex(indexName, vectorIndex, new CreateVectorIndexOptions().ifNotExists(true));
+        } else if (indexDefinition instanceof TableTextIndexDefinition textIndex) {
+            create = t -> t.createTextIndex(indexName, textIndex, new CreateTextIndexOptions().ifNotExists(true));
+        } else if (indexDefinition instanceof TableRegularIndexDefinition regularIndex) {
+            create = t -> t.createIndex(indexName, regularIndex, new CreateIndexOptions().ifNotExists(true));
+        } else {
+            throw new IllegalArgumentException("Unsupported index definition " + indexDefinition.getClass().getName());
+        }
+        return add(SchemaObjectType.INDEX, indexName, tableName, db -> create.accept(db.getTable(tableName)));
+    }
+
+    /**
+     * Set the number of commands running in parallel.
+     *
+     * @param concurrency
+     *      number of commands running in parallel
+     * @return
+     *      current plan
+     */
+    public SchemaPlan concurrency(int concurrency) {
+        Assert.isTrue(concurrency > 0, "concurrency must be positive");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Gets concurrency
+     *
+     * @return value of concurrency
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Number of objects in the plan.
+     *
+     * @return
+     *      number of objects
+     */
+    public int size() {
+        return objects.size();
+    }
+
+    /**
+     * Create the missing objects of the plan in the keyspace of the database and wait for all the commands.
+     *
+     * @param db
+     *      target database
+     * @return
+     *      result per object, in the order of the plan
+     */
+    public SchemaPlanResult apply(Database db) {
+        Assert.notNull(db, "database");
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "astra-schema-plan");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            // Existing objects, one listing per kind of object in the plan
+            CompletableFuture<Set<String>> existingTypes = listNames(SchemaObjectType.TYPE, db::listTypeNames, executor);
+            CompletableFuture<Set<String>> existingTables = listNames(SchemaObjectType.TABLE, db::listTableNames, executor);
+            CompletableFuture<Set<String>> existingCollections = listNames(SchemaObjectType.COLLECTION, db::listCollectionNames, executor);
+
+            Map<SchemaObject, CompletableFuture<SchemaObjectResult>> futures = new HashMap<>();
+            List<CompletableFuture<SchemaObjectResult>> typeFutures = new ArrayList<>();
+            for (SchemaObject object : objects) {
+                if (object.type() == SchemaObjectType.TYPE) {
+                    CompletableFuture<SchemaObjectResult> type = existingTypes.thenApplyAsync(names -> create(object, names, db), executor);
+                    futures.put(object, type);
+                    typeFutures.add(type);
+                } else if (object.type() == SchemaObjectType.COLLECTION) {
+                    futures.put(object, existingCollections.thenApplyAsync(names -> create(object, names, db), executor));
+                }
+            }
+
+            // Tables wait for all the types, not for the collections
+            CompletableFuture<Void> types = CompletableFuture.allOf(typeFutures.toArray(new CompletableFuture<?>[0]));
+            Map<String, CompletableFuture<SchemaObjectResult>> tables = new HashMap<>();
+            for (SchemaObject object : objects) {
+                if (object.type() == SchemaObjectType.TABLE) {
+                    CompletableFuture<SchemaObjectResult> table = types.thenCombineAsync(existingTables,
+                            (v, names) -> create(object, names, db), executor);
+                    futures.put(object, table);
+                    tables.put(object.name(), table);
+                }
+            }
+
+            // Indexes wait for their table, indexes of existing tables are listed once per table
+            Map<String, CompletableFuture<Set<String>>> existingIndexes = new HashMap<>();
+            for (SchemaObject object : objects) {
+                if (object.type() == SchemaObjectType.INDEX) {
+                    String tableName = object.tableName();
+                    CompletableFuture<SchemaObjectResult> table = tables.getOrDefault(tableName,
+                            CompletableFuture.completedFuture(null));
+                    CompletableFuture<Set<String>> indexes = existingIndexes.computeIfAbsent(tableName, t ->
+                            table.thenComposeAsync(r -> r == null || r.getStatus() == SchemaObjectResult.Status.EXISTING
+                                    ? listNames(SchemaObjectType.INDEX, () -> db.getTable(t).listIndexesNames(), executor)
+                                    : CompletableFuture.completedFuture(Collections.emptySet()), executor));
+                    futures.put(object, table.thenCombineAsync(indexes, (r, names) -> r != null && !r.isSuccessful()
+                            ? skip(object, r) : create(object, names, db), executor));
+                }
+            }
+
+            List<SchemaObjectResult> results = new ArrayList<>(objects.size());
+            for (SchemaObject object : objects) {
+                results.add(futures.get(object).join());
+            }
+            SchemaPlanResult result = new SchemaPlanResult(results, System.currentTimeMillis() - start);
+            log.info("Schema plan applied in {} millis: {} created, {} existing, {} failed", result.getElapsedMillis(),
+                    result.getResults(SchemaObjectResult.Status.CREATED).size(),
+                    result.getResults(SchemaObjectResult.Status.EXISTING).size(),
+                    result.getFailures().size());
+            return result;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private SchemaPlan add(SchemaObjectType type, String name, String tableName, Consumer<Database> create) {
+        Assert.hasLength(name, "name");
+        for (SchemaObject object : objects) {
+            if (object.type() == type && object.name().equals(name)) {
+                throw new IllegalArgumentException(type + " '" + name + "' is already part of the plan");
+            }
+        }
+        objects.add(new SchemaObject(type, name, tableName, create));
+        return this;
+    }
+
+    /**
+     * List the names of the existing objects of a kind, only if the plan contains this kind of object.
+     * When the listing fails the objects are considered missing, they are created with {@code ifNotExists}.
+     */
+    private CompletableFuture<Set<String>> listNames(SchemaObjectType type, Supplier<List<String>> names, ExecutorService executor) {
+        if (type != SchemaObjectType.INDEX && objects.stream().noneMatch(o -> o.type() == type)) {
+            return CompletableFuture.completedFuture(Collections.emptySet());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new HashSet<>(names.get());
+            } catch (RuntimeException e) {
+                log.warn("Cannot list existing objects of type {}: {}", type, e.getMessage());
+                return Collections.emptySet();
+            }
+        }, executor);
+    }
+
+    private SchemaObjectResult create(SchemaObject object, Set<String> existing, Database db) {
+        if (existing.contains(object.name())) {
+            return new SchemaObjectResult(object.type(), object.name(), object.tableName(),
+                    SchemaObjectResult.Status.EXISTING, null, 0);
+        }
+        long start = System.currentTimeMillis();
+        try {
+            object.create().accept(db);
+            log.debug("{} '" + green("{}") + "' has been created", object.type(), object.name());
+            return new SchemaObjectResult(object.type(), object.name(), object.tableName(),
+                    SchemaObjectResult.Status.CREATED, null, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("Cannot create {} '{}': {}", object.type(), object.name(), e.getMessage());
+            return new SchemaObjectResult(object.type(), object.name(), object.tableName(),
+                    SchemaObjectResult.Status.FAILED, e, System.currentTimeMillis() - start);
+        }
+    }
+
+    private SchemaObjectResult skip(SchemaObject object, SchemaObjectResult table) {
+        return new SchemaObjectResult(object.type(), object.name(), object.tableName(),
+                SchemaObjectResult.Status.SKIPPED, new IllegalStateException("Table '" + table.getName()
+                + "' has not been created", table.getError()), 0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.datastax.astra.client.databases.schema;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Outcome of a {@link SchemaPlan}, one result per object in the order of the plan.
+ */
+@Getter
+@AllArgsConstructor
+public class SchemaPlanResult {
+
+    /**
+     * Result per object.
+     */
+    private final List<SchemaObjectResult> results;
+
+    /**
+     * Time spent applying the plan in millis.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * Tells if all the objects of the plan exist.
+     *
+     * @return
+     *      true if no object failed or has been skipped
+     */
+    public boolean isSuccessful() {
+        return results.stream().allMatch(SchemaObjectResult::isSuccessful);
+    }
+
+    /**
+     * Objects failed or skipped.
+     *
+     * @return
+     *      results in error
+     */
+    public List<SchemaObjectResult> getFailures() {
+        return results.stream().filter(r -> !r.isSuccessful()).toList();
+    }
+
+    /**
+     * Objects with the given status.
+     *
+     * @param status
+     *      status of the objects
+     * @return
+     *      results with this status
+     */
+    public List<SchemaObjectResult> getResults(SchemaObjectResult.Status status) {
+        return results.stream().filter(r -> r.getStatus() == status).toList();
+    }
+
+    /**
+     * Result of an object.
+     *
+     * @param type
+     *      kind of object
+     * @param name
+     *      name of the object
+     * @return
+     *      result if the object is part of the plan
+     */
+    public Optional<SchemaObjectResult> getResult(SchemaObjectType type, String name) {
+        return results.stream()
+                .filter(r -> r.getType() == type && r.getName().equals(name))
+                .findFirst();
+    }
+}
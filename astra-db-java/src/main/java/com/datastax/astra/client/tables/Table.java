@@ -23,6 +23,10 @@ package com.datastax.astra.client.tables;
 import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
 import com.datastax.astra.client.collections.definition.CollectionDefinition;
 import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.cache.NearCache;
+import com.datastax.astra.client.core.cache.SchemaCache;
+import com.datastax.astra.client.core.writer.BufferedWriter;
+import com.datastax.astra.client.core.writer.BufferedWriterOptions;
 import com.datastax.astra.client.core.commands.Command;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.paging.Page;
@@ -53,6 +57,9 @@ import com.datastax.astra.client.tables.commands.results.TableInsertOneResult;
 import com.datastax.astra.client.tables.cursor.TableFindCursor;
 import com.datastax.astra.client.tables.definition.TableDefinition;
 import com.datastax.astra.client.tables.definition.TableDescriptor;
+import com.datastax.astra.client.tables.definition.TablePrimaryKey;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinition;
+import com.datastax.astra.client.tables.definition.columns.TableColumnTypes;
 import com.datastax.astra.client.tables.definition.indexes.TableIndexDescriptor;
 import com.datastax.astra.client.tables.definition.indexes.TableIndexMapTypes;
 import com.datastax.astra.client.tables.definition.indexes.TableRegularIndexDefinition;
@@ -64,13 +71,21 @@ import com.datastax.astra.internal.api.DataAPIData;
 import com.datastax.astra.internal.api.DataAPIResponse;
 import com.datastax.astra.internal.command.AbstractCommandRunner;
 import com.datastax.astra.internal.command.CommandObserver;
+import com.datastax.astra.internal.http.RequestCoalescer;
+import com.datastax.astra.internal.reflection.EntityCodecs;
 import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.datastax.astra.internal.serdes.tables.LazyRowSerializer;
 import com.datastax.astra.internal.serdes.tables.RowMapper;
 import com.datastax.astra.internal.serdes.tables.RowSerializer;
 import com.datastax.astra.internal.utils.Assert;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -103,9 +118,35 @@ import static com.datastax.astra.internal.utils.Assert.notNull;
 @Slf4j
 public class Table<T>  extends AbstractCommandRunner<TableOptions> {
 
+    /** Commands changing the schema of the table. */
+    private static final Set<String> SCHEMA_COMMANDS = Set.of(
+            "alterTable", "createIndex", "createVectorIndex", "createTextIndex");
+
     /** Avoid duplicating for each operation if not override. */
     public static final DataAPISerializer DEFAULT_TABLE_SERIALIZER = new RowSerializer();
 
+    /** Serializer keeping the rows of the responses as json, for the entities decoded by a generated codec. */
+    private static final DataAPISerializer LAZY_TABLE_SERIALIZER = new LazyRowSerializer();
+
+    /**
+     * Java types of the primary key columns with several json forms (uuid, dates, numbers), values of the
+     * near cache keys are converted to them so that filters and inserted ids give the same key.
+     */
+    private static final Map<TableColumnTypes, Class<?>> PRIMARY_KEY_JAVA_TYPES = Map.ofEntries(
+            Map.entry(TableColumnTypes.UUID, UUID.class),
+            Map.entry(TableColumnTypes.TIMEUUID, UUID.class),
+            Map.entry(TableColumnTypes.TIMESTAMP, Instant.class),
+            Map.entry(TableColumnTypes.DATE, LocalDate.class),
+            Map.entry(TableColumnTypes.TIME, LocalTime.class),
+            Map.entry(TableColumnTypes.TINYINT, Byte.class),
+            Map.entry(TableColumnTypes.SMALLINT, Short.class),
+            Map.entry(TableColumnTypes.INT, Integer.class),
+            Map.entry(TableColumnTypes.BIGINT, Long.class),
+            Map.entry(TableColumnTypes.VARINT, BigInteger.class),
+            Map.entry(TableColumnTypes.DECIMAL, BigDecimal.class),
+            Map.entry(TableColumnTypes.FLOAT, Float.class),
+            Map.entry(TableColumnTypes.DOUBLE, Double.class));
+
     /** table identifier. */
     @Getter
     private final String tableName;
@@ -123,6 +164,17 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
      */
     private CollectionDefinition collectionDefinition;
 
+    /**
+     * Near cache for lookups by primary key, null if not enabled in the options.
+     */
+    private final NearCache<String, Document> nearCache;
+
+    /**
+     * Primary key columns (partition then clustering) with their types, loaded once with the definition when
+     * the near cache is enabled.
+     */
+    private volatile Map<String, TableColumnTypes> primaryKeyColumns;
+
     /**
      * Constructs an instance of a table within the specified database. This constructor
      * initializes the table with a given name and associates it with a specific class type
@@ -172,6 +224,8 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
         if (tableOptions.getKeyspace() != null) {
             this.database.useKeyspace(tableOptions.getKeyspace());
         }
+        this.nearCache = tableOptions.getNearCacheOptions() != null ?
+                new NearCache<>(tableOptions.getNearCacheOptions()) : null;
     }
 
     // ----------------------------
@@ -252,6 +306,16 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
         return tableName;
     }
 
+    /**
+     * Access the near cache of the table (hit and miss metrics).
+     *
+     * @return
+     *      the near cache if enabled in {@link TableOptions}
+     */
+    public Optional<NearCache<String, Document>> getNearCache() {
+        return Optional.ofNullable(nearCache);
+    }
+
     // --------------------------
     // ---    alterTable     ----
     // --------------------------
@@ -510,6 +574,10 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
      * @return a {@link TableInsertOneResult} object representing the result of the insertion operation.
      */
     public final TableInsertOneResult insertOne(T row) {
+        if (row != null && EntityCodecs.find(row.getClass()).isPresent()) {
+            // Encoded by its generated codec when the command is serialized
+            return insertOne(row, null);
+        }
         return insertOneDelegate(RowMapper.mapAsRow(row), null);
     }
 
@@ -661,6 +729,39 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
         };
     }
 
+    /**
+     * Create a writer grouping single inserts issued from many threads into {@code insertMany} commands.
+     * The writer must be closed to flush the pending rows.
+     *
+     * @param bufferedWriterOptions
+     *      buffer size, linger time and concurrency
+     * @return
+     *      the buffered writer
+     */
+    @SuppressWarnings("unchecked")
+    public BufferedWriter<T, TableInsertOneResult> bufferedWriter(BufferedWriterOptions bufferedWriterOptions) {
+        TableInsertManyOptions insertManyOptions = new TableInsertManyOptions()
+                .ordered(false)
+                .returnDocumentResponses(true);
+        return new BufferedWriter<>(bufferedWriterOptions,
+                rows -> runCommand(new Command("insertMany")
+                        .withDocuments(rows)
+                        .withOptions(new Document()
+                                .append(OPTIONS_ORDERED, false)
+                                .append(OPTIONS_RETURN_DOCUMENT_RESPONSES, true)), insertManyOptions),
+                (status, id) -> new TableInsertOneResult(new ArrayList<>((List<Object>) id), status.getPrimaryKeySchema()));
+    }
+
+    /**
+     * Create a writer grouping single inserts into {@code insertMany} commands with default options.
+     *
+     * @return
+     *      the buffered writer
+     */
+    public BufferedWriter<T, TableInsertOneResult> bufferedWriter() {
+        return bufferedWriter(new BufferedWriterOptions());
+    }
+
     // --------------------------
     // ---   findOne         ----
     // --------------------------
@@ -686,19 +787,222 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
                     );
         }
 
-        DataAPIData data = runCommand(findOne, findOneOptions).getData();
+        // Lookup by primary key with full row can be served by the near cache
+        String cacheKey = getNearCacheKey(filter, findOneOptions);
+        Document document;
+        NearCache.CachedValue<Document> cached = cacheKey != null ? nearCache.get(cacheKey) : null;
+        if (cached != null) {
+            // copy to keep the cached value safe from changes made by the caller
+            document = cached.isPresent() ? getSerializer().convertValue(cached.getValue(), Document.class) : null;
+        } else {
+            long generation = cacheKey != null ? nearCache.generation(cacheKey) : 0;
+            // cached rows are regular documents, only uncached lookups are decoded by the codec
+            DataAPISerializer serializer = cacheKey != null ?
+                    getSerializer(findOneOptions) : getReadSerializer(findOneOptions, newRowClass);
+            DataAPIData data = runCommand(findOne, findOneOptions, serializer).getData();
+            document = data != null ? data.getDocument() : null;
+            if (cacheKey != null) {
+                // not cached if a write invalidated the key in the meantime
+                nearCache.put(cacheKey, document, generation);
+            }
+        }
 
         // No data found
-        if (data == null || data.getDocument() == null) {
+        if (document == null) {
+            return Optional.empty();
+        }
+
+        // Document -> Optional<T>
+        return Optional.ofNullable(RowMapper.mapFromDocument(document, getSerializer(), newRowClass));
+    }
+
+    /**
+     * Serializer reading the rows of a find. Rows of entities with a generated codec are kept as json by the
+     * default serializer, to be decoded once by the codec.
+     *
+     * @param options
+     *      options of the command
+     * @param rowClass
+     *      class of the rows
+     * @return
+     *      serializer of the command
+     */
+    private DataAPISerializer getReadSerializer(BaseOptions<?> options, Class<?> rowClass) {
+        DataAPISerializer serializer = getSerializer(options);
+        if (serializer == DEFAULT_TABLE_SERIALIZER && EntityCodecs.find(rowClass).isPresent()) {
+            return LAZY_TABLE_SERIALIZER;
+        }
+        return serializer;
+    }
+
+    /**
+     * Compute the near cache key for a findOne, only lookups by full primary key returning the full row are cached.
+     *
+     * @param filter
+     *      filter of the findOne
+     * @param findOneOptions
+     *      options of the findOne
+     * @return
+     *      the cache key or null if the request cannot be cached
+     */
+    private String getNearCacheKey(Filter filter, TableFindOneOptions findOneOptions) {
+        if (nearCache == null) {
+            return null;
+        }
+        if (findOneOptions != null && (
+                (findOneOptions.getSortArray() != null && findOneOptions.getSortArray().length > 0) ||
+                (findOneOptions.getProjectionArray() != null && findOneOptions.getProjectionArray().length > 0) ||
+                findOneOptions.includeSimilarity() != null)) {
+            return null;
+        }
+        return getPrimaryKeyFromFilter(filter).map(this::getNearCacheKey).orElse(null);
+    }
+
+    /**
+     * Compute the near cache key of a primary key, values are converted to the java type of their column as
+     * the same key can be a java object in a filter and its json form in the inserted ids.
+     *
+     * @param pkValues
+     *      the primary key values in the order of the primary key
+     * @return
+     *      the cache key
+     */
+    private String getNearCacheKey(List<Object> pkValues) {
+        List<TableColumnTypes> types = new ArrayList<>(getPrimaryKeyColumns().values());
+        List<Object> key = new ArrayList<>(pkValues.size());
+        for (int i = 0; i < pkValues.size(); i++) {
+            Object value = pkValues.get(i);
+            Class<?> javaType = i < types.size() ? PRIMARY_KEY_JAVA_TYPES.get(types.get(i)) : null;
+            if (value != null && javaType != null && !javaType.isInstance(value)) {
+                try {
+                    value = getSerializer().convertValue(value, javaType);
+                } catch (RuntimeException e) {
+                    log.debug("Cannot convert primary key value '{}' to {}", value, javaType.getSimpleName());
+                }
+            }
+            key.add(value);
+        }
+        return getSerializer().marshall(key);
+    }
+
+    /**
+     * Extract the primary key values from a filter when the filter is an equality on each primary key column.
+     *
+     * @param filter
+     *      current filter
+     * @return
+     *      the primary key values in the order of the primary key
+     */
+    @SuppressWarnings("unchecked")
+    private Optional<List<Object>> getPrimaryKeyFromFilter(Object filter) {
+        if (!(filter instanceof Document)) {
             return Optional.empty();
         }
+        Map<String, Object> filterMap = ((Document) filter).getDocumentMap();
+        Set<String> pkColumns = getPrimaryKeyColumns().keySet();
+        if (filterMap.size() != pkColumns.size()) {
+            return Optional.empty();
+        }
+        List<Object> pkValues = new ArrayList<>(pkColumns.size());
+        for (String column : pkColumns) {
+            Object value = filterMap.get(column);
+            if (value instanceof Map) {
+                Map<String, Object> condition = (Map<String, Object>) value;
+                if (condition.size() != 1 || !condition.containsKey("$eq")) {
+                    return Optional.empty();
+                }
+                value = condition.get("$eq");
+            }
+            if (value == null) {
+                return Optional.empty();
+            }
+            pkValues.add(value);
+        }
+        return Optional.of(pkValues);
+    }
 
-        // Document -> Row
-        Row row = new Row();
-        row.getColumnMap().putAll(data.getDocument().getDocumentMap());
+    /**
+     * Load the primary key columns from the table definition, once per table as a primary key cannot be altered.
+     * The definition comes from the schema cache of the database when enabled.
+     *
+     * @return
+     *      partition columns followed by clustering columns, with their types
+     */
+    private Map<String, TableColumnTypes> getPrimaryKeyColumns() {
+        Map<String, TableColumnTypes> columns = primaryKeyColumns;
+        if (columns == null) {
+            columns = getPrimaryKeyColumns(getDefinition());
+            primaryKeyColumns = columns;
+        }
+        return columns;
+    }
+
+    private static Map<String, TableColumnTypes> getPrimaryKeyColumns(TableDefinition definition) {
+        TablePrimaryKey primaryKey = definition.getPrimaryKey();
+        List<String> names = new ArrayList<>(primaryKey.getPartitionBy());
+        if (primaryKey.getPartitionSort() != null) {
+            names.addAll(primaryKey.getPartitionSort().keySet());
+        }
+        Map<String, TableColumnTypes> columns = new LinkedHashMap<>();
+        for (String name : names) {
+            TableColumnDefinition column = definition.getColumns() != null ? definition.getColumns().get(name) : null;
+            columns.put(name, column != null ? column.getType() : TableColumnTypes.UNDEFINED);
+        }
+        return Collections.unmodifiableMap(columns);
+    }
+
+    /**
+     * Any write made through this instance invalidates the related entries of the near cache, schema changes
+     * (alter, create index) invalidate the related entries of the database schema cache.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+        if (RequestCoalescer.READ_COMMANDS.contains(command.getName())) {
+            return super.runCommand(command, overridingOptions);
+        }
+        DataAPIResponse response = null;
+        try {
+            response = super.runCommand(command, overridingOptions);
+            return response;
+        } finally {
+            if (SCHEMA_COMMANDS.contains(command.getName())) {
+                database.getSchemaCache().ifPresent(cache -> cache.invalidateTable(getKeyspaceName(), tableName));
+            }
+            if (nearCache != null) {
+                invalidateNearCache(command, response);
+            }
+        }
+    }
 
-        // Row -> Optional<T>
-        return Optional.ofNullable(RowMapper.mapFromRow(row, getSerializer(), newRowClass));
+    /**
+     * Invalidate entries of the near cache impacted by a write command.
+     *
+     * @param command
+     *      write command
+     * @param response
+     *      response of the command, null if the command failed
+     */
+    private void invalidateNearCache(Command command, DataAPIResponse response) {
+        Map<String, Object> payload = command.getPayload().getDocumentMap();
+        if ("alterTable".equals(command.getName())) {
+            primaryKeyColumns = null;
+            nearCache.invalidateAll();
+        } else if (payload.containsKey("filter")) {
+            Optional<List<Object>> pk = getPrimaryKeyFromFilter(payload.get("filter"));
+            if (pk.isPresent()) {
+                nearCache.invalidate(getNearCacheKey(pk.get()));
+            } else {
+                nearCache.invalidateAll();
+            }
+        } else if (response != null && response.getStatus() != null && response.getStatus().getInsertedIds() != null) {
+            // Inserts are upserts for tables, inserted ids are the primary keys values
+            response.getStatus().getInsertedIds().forEach(id -> nearCache.invalidate(getNearCacheKey(
+                    id instanceof List ? (List<Object>) id : List.of(id))));
+        } else {
+            nearCache.invalidateAll();
+        }
     }
 
     /**
@@ -883,7 +1187,7 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
                             .appendIfNotNull(OPTIONS_INCLUDE_SCORES, options.includeSortVector())
                             .appendIfNotNull(OPTIONS_INCLUDE_SIMILARITY, options.includeSimilarity()));
         }
-        DataAPIResponse apiResponse = runCommand(findCommand, options);
+        DataAPIResponse apiResponse = runCommand(findCommand, options, getReadSerializer(options, newRowType));
 
         // load sortVector if available
         DataAPIVector sortVector = null;
@@ -894,12 +1198,7 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
         return new Page<>(
                 apiResponse.getData().getNextPageState(),
                 apiResponse.getData().getDocuments().stream()
-                .map(doc -> {
-                    Row targetRow =  new Row();
-                    targetRow.getColumnMap().putAll(doc.getDocumentMap());
-                    return targetRow;
-                })
-                .map(d -> RowMapper.mapFromRow(d, getSerializer(), newRowType))
+                .map(doc -> RowMapper.mapFromDocument(doc, getSerializer(), newRowType))
                 .collect(Collectors.toList()), sortVector);
     }
 
@@ -1218,7 +1517,8 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
     /**
      * Retrieves the names of all indices in the keyspace with default options.
      *
-     * @param listIndexesOptions Options for filtering or configuring the indices listing operation.
+     * @param listIndexesOptions Options for filtering or configuring the indices listing operation,
+     *                           when provided the schema cache is bypassed.
      * @return A list of all indices names in the database.
      *
      * <p>Example usage:</p>
@@ -1230,6 +1530,9 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
      * </pre>
      */
     public List<String> listIndexesNames(ListIndexesOptions listIndexesOptions) {
+        if (listIndexesOptions == null && database.getSchemaCache().isPresent()) {
+            return listIndexes().stream().map(index -> index.getName()).toList();
+        }
         return runCommand(Command.create("listIndexes"), listIndexesOptions)
                 .getStatusKeyAsList("indexes", String.class);
     }
@@ -1249,7 +1552,7 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
      * Finds all the indices in the selected keyspace.
      *
      * @param listIndexesOptions
-     *     options for the list indexes operation
+     *     options for the list indexes operation, when provided the schema cache is bypassed
      * @return
      *      list of table definitions
      */
@@ -1257,6 +1560,10 @@ public class Table<T>  extends AbstractCommandRunner<TableOptions> {
             Command findTables = Command
                     .create("listIndexes")
                     .withOptions(new Document().append("explain", true));
+            if (listIndexesOptions == null && database.getSchemaCache().isPresent()) {
+                return database.getSchemaCache().get().get(getKeyspaceName(), SchemaCache.INDEXES, tableName,
+                        () -> List.copyOf(runCommand(findTables).getStatusKeyAsList("indexes", TableIndexDescriptor.class)));
+            }
             return runCommand(findTables, listIndexesOptions)
                     .getStatusKeyAsList("indexes", TableIndexDescriptor.class);
         }
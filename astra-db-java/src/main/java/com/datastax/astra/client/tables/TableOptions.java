@@ -20,6 +20,7 @@ package com.datastax.astra.client.tables;
  * #L%
  */
 
+import com.datastax.astra.client.core.cache.NearCacheOptions;
 import com.datastax.astra.client.core.options.BaseOptions;
 import com.datastax.astra.client.core.options.DataAPIClientOptions;
 import lombok.Setter;
@@ -40,6 +41,11 @@ public class TableOptions extends BaseOptions<TableOptions> {
      */
     String keyspace = DataAPIClientOptions.DEFAULT_KEYSPACE;
 
+    /**
+     * Enable a near cache for lookups by full primary key when set.
+     */
+    NearCacheOptions nearCacheOptions;
+
     /**
      * Default constructor nor overriding token nor options
      */
@@ -68,4 +74,13 @@ public class TableOptions extends BaseOptions<TableOptions> {
         return keyspace;
     }
 
+    /**
+     * Gets nearCacheOptions
+     *
+     * @return value of nearCacheOptions
+     */
+    public NearCacheOptions getNearCacheOptions() {
+        return nearCacheOptions;
+    }
+
 }
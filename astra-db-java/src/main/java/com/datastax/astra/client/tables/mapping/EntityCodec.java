@@ -0,0 +1,99 @@
+package com.datastax.astra.client.tables.mapping;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.tables.definition.TableDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableVectorIndexDefinition;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Mapping of an entity annotated with {@link EntityTable} to and from the json of a row, without reflection.
+ * <p>
+ * Codecs are generated at compile time by {@code com.datastax.astra.internal.codegen.EntityCodecProcessor}
+ * and discovered with the {@link java.util.ServiceLoader}. When a codec exists for a class, rows are encoded and
+ * decoded with it and the table definition comes from it, else the entity is introspected at runtime.
+ * </p>
+ *
+ * @param <T>
+ *      type of the entity
+ */
+public interface EntityCodec<T> {
+
+    /**
+     * Gets the entity class.
+     *
+     * @return
+     *      class annotated with {@link EntityTable}
+     */
+    Class<T> getEntityClass();
+
+    /**
+     * Gets the table name, from the {@link EntityTable} annotation.
+     *
+     * @return
+     *      table name, can be empty
+     */
+    String getTableName();
+
+    /**
+     * Write the entity as a json object, null values are skipped.
+     *
+     * @param entity
+     *      entity to encode
+     * @param generator
+     *      json generator, with the table mapper as codec
+     * @throws IOException
+     *      error writing the json
+     */
+    void encode(T entity, JsonGenerator generator) throws IOException;
+
+    /**
+     * Read an entity from a json object, unknown columns are skipped.
+     *
+     * @param parser
+     *      json parser positioned on the start of the object, with the table mapper as codec
+     * @return
+     *      the entity
+     * @throws IOException
+     *      error reading the json
+     */
+    T decode(JsonParser parser) throws IOException;
+
+    /**
+     * Gets the definition of the table, as used by {@code Database.createTable(Class)}.
+     *
+     * @return
+     *      table definition
+     */
+    TableDefinition getTableDefinition();
+
+    /**
+     * Gets the vector indexes of the vector columns.
+     *
+     * @return
+     *      vector index definitions
+     */
+    List<TableVectorIndexDefinition> getVectorIndexDefinitions();
+}
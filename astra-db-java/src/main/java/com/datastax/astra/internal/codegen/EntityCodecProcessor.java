@@ -0,0 +1,868 @@
+package com.datastax.astra.internal.codegen;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.query.SortOrder;
+import com.datastax.astra.client.tables.definition.columns.TableColumnTypes;
+import com.datastax.astra.client.tables.definition.types.TableUserDefinedType;
+import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeField;
+import com.datastax.astra.client.tables.mapping.Column;
+import com.datastax.astra.client.tables.mapping.ColumnVector;
+import com.datastax.astra.client.tables.mapping.EntityCodec;
+import com.datastax.astra.client.tables.mapping.EntityTable;
+import com.datastax.astra.client.tables.mapping.KeyValue;
+import com.datastax.astra.client.tables.mapping.PartitionBy;
+import com.datastax.astra.client.tables.mapping.PartitionSort;
+
+import com.sun.source.util.TreePath;
+import com.sun.source.util.Trees;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor generating an {@link EntityCodec} for each class annotated with {@link EntityTable}.
+ * <p>
+ * The codec of {@code com.acme.Person} is {@code com.acme.PersonEntityCodec} ({@code Outer_InnerEntityCodec}
+ * for nested classes). It reads and writes the fields through their getters and setters, or directly when
+ * public, and the codecs are listed in {@code META-INF/services} to be found with the
+ * {@link java.util.ServiceLoader}. Classes the processor cannot map without reflection (abstract or generic
+ * classes, Jackson annotations, missing accessors...) are reported with a warning and introspected at runtime.
+ * </p>
+ * <p>
+ * The processor is not registered as a service, it has to be enabled. With Maven, list it next to the other
+ * processors of the build (Lombok first, for its getters and setters):
+ * </p>
+ * <pre>{@code
+ * <annotationProcessorPaths>
+ *   <path>
+ *     <groupId>com.datastax.astra</groupId>
+ *     <artifactId>astra-db-java</artifactId>
+ *     <version>${astra-db-java.version}</version>
+ *   </path>
+ * </annotationProcessorPaths>
+ * <annotationProcessors>
+ *   <annotationProcessor>com.datastax.astra.internal.codegen.EntityCodecProcessor</annotationProcessor>
+ * </annotationProcessors>
+ * }</pre>
+ */
+@SupportedAnnotationTypes("com.datastax.astra.client.tables.mapping.EntityTable")
+public class EntityCodecProcessor extends AbstractProcessor {
+
+    /** Service file listing the generated codecs. */
+    public static final String SERVICE_FILE = "META-INF/services/" + EntityCodec.class.getName();
+
+    /** Suffix of the generated classes. */
+    public static final String CODEC_SUFFIX = "EntityCodec";
+
+    /** Keys of lombok.config changing the names of the accessors, lower case. */
+    private static final Set<String> LOMBOK_ACCESSOR_KEYS = Set.of(
+            "lombok.accessors.fluent", "lombok.accessors.prefix", "lombok.accessors.capitalization",
+            "lombok.getter.noisprefix");
+
+    /** Codecs generated by the compilation. */
+    private final Set<String> codecs = new TreeSet<>();
+
+    /** Entities whose sources are under a lombok.config changing the accessors. */
+    private final Map<String, Boolean> lombokConfigured = new HashMap<>();
+
+    /**
+     * Default constructor.
+     */
+    public EntityCodecProcessor() {
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(EntityTable.class)) {
+            if (element.getKind() == ElementKind.CLASS) {
+                generate((TypeElement) element);
+            }
+        }
+        if (roundEnv.processingOver() && !codecs.isEmpty()) {
+            writeServiceFile();
+        }
+        return false;
+    }
+
+    /**
+     * Generate the codec of an entity, or warn if it cannot be generated.
+     */
+    private void generate(TypeElement entity) {
+        try {
+            List<Property> properties = properties(entity);
+            String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+            String codecName = codecName(entity);
+            String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+            String source = new CodecSource(entity, packageName, codecName, properties).toString();
+            try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, entity).openWriter()) {
+                writer.write(source);
+            }
+            codecs.add(qualifiedName);
+        } catch (UnsupportedEntityException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "No codec generated for " + entity.getQualifiedName() + ", " + e.getMessage()
+                            + ": the entity will be introspected at runtime", e.element);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write the codec of " + entity.getQualifiedName() + ": " + e.getMessage(), entity);
+        }
+    }
+
+    /**
+     * List the codecs in the service file, with the ones of previous incremental compilations.
+     */
+    private void writeServiceFile() {
+        Filer filer = processingEnv.getFiler();
+        Set<String> entries = new TreeSet<>(codecs);
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(entries::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No previous service file
+        }
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (String entry : entries) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write " + SERVICE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Name of the codec class, nested class names joined with an underscore.
+     */
+    private static String codecName(TypeElement entity) {
+        Deque<String> names = new ArrayDeque<>();
+        Element element = entity;
+        while (element.getKind().isClass() || element.getKind().isInterface()) {
+            names.addFirst(element.getSimpleName().toString());
+            element = element.getEnclosingElement();
+        }
+        return String.join("_", names) + CODEC_SUFFIX;
+    }
+
+    /**
+     * Mapped fields of the entity, from the top superclass down.
+     */
+    private List<Property> properties(TypeElement entity) throws UnsupportedEntityException {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedEntityException("abstract class", entity);
+        }
+        if (!entity.getTypeParameters().isEmpty()) {
+            throw new UnsupportedEntityException("generic class", entity);
+        }
+        if (entity.getAnnotation(TableUserDefinedType.class) != null) {
+            throw new UnsupportedEntityException("class also annotated as user defined type", entity);
+        }
+        if (hasJacksonAnnotation(entity)) {
+            throw new UnsupportedEntityException("Jackson annotations on the class", entity);
+        }
+        for (Element element = entity; element.getKind().isClass(); element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new UnsupportedEntityException("private class", element);
+            }
+            if (element.getEnclosingElement().getKind().isClass() && !element.getModifiers().contains(Modifier.STATIC)) {
+                throw new UnsupportedEntityException("inner class", element);
+            }
+        }
+        boolean defaultConstructor = ElementFilter.constructorsIn(entity.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+        if (!defaultConstructor) {
+            throw new UnsupportedEntityException("no accessible constructor without arguments", entity);
+        }
+
+        // Fields of the superclasses first
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for (TypeElement type = entity; type != null; type = superclass(type)) {
+            hierarchy.addFirst(type);
+        }
+        List<ExecutableElement> methods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(entity));
+        List<Property> properties = new ArrayList<>();
+        for (TypeElement type : hierarchy) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+                Property property = property(field, methods);
+                if (property != null) {
+                    properties.add(property);
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Mapping of a field, null if the field is not a property (not public, no getter nor setter).
+     */
+    private Property property(VariableElement field, List<ExecutableElement> methods) throws UnsupportedEntityException {
+        String name = field.getSimpleName().toString();
+        TypeMirror type = field.asType();
+        boolean isPublic = field.getModifiers().contains(Modifier.PUBLIC);
+        boolean isFinal = field.getModifiers().contains(Modifier.FINAL);
+        boolean isBoolean = type.getKind() == TypeKind.BOOLEAN;
+        // A primitive boolean named 'isActive' has the accessors isActive() and setActive()
+        boolean isPrefixed = isBoolean && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2));
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        String getterName = isPrefixed ? name : (isBoolean ? "is" : "get") + capitalized;
+        String setterName = "set" + (isPrefixed ? name.substring(2) : capitalized);
+
+        String getter = findMethod(methods, getterName, type, 0);
+        boolean lombokGetter = getter == null && lombok(field, "lombok.Getter", "lombok.Data", "lombok.Value");
+        String setter = findMethod(methods, setterName, type, 1);
+        boolean lombokSetter = setter == null && !isFinal && lombok(field, "lombok.Setter", "lombok.Data");
+        if (lombokGetter || lombokSetter) {
+            // Lombok accessors are assumed with their default names only
+            checkLombokDefaults(field);
+            getter = lombokGetter ? getterName : getter;
+            setter = lombokSetter ? setterName : setter;
+        }
+        if (!isPublic && getter == null && setter == null) {
+            return null;
+        }
+
+        // Property names derived from the accessors would differ from the field name
+        if (Character.isUpperCase(name.charAt(0)) || (name.length() > 1 && Character.isUpperCase(name.charAt(1)))
+                || (isPrefixed && (getter != null || setter != null))) {
+            throw new UnsupportedEntityException("field '" + name + "' named differently than its property", field);
+        }
+        if (hasJacksonAnnotation(field)) {
+            throw new UnsupportedEntityException("Jackson annotations on field '" + name + "'", field);
+        }
+        if (field.getAnnotation(TableUserDefinedTypeField.class) != null) {
+            throw new UnsupportedEntityException("user defined type field '" + name + "'", field);
+        }
+        if (!isConcrete(type)) {
+            throw new UnsupportedEntityException("field '" + name + "' of a type variable", field);
+        }
+        if (getter == null && !isPublic) {
+            throw new UnsupportedEntityException("no getter for field '" + name + "'", field);
+        }
+        if (setter == null && (!isPublic || isFinal)) {
+            throw new UnsupportedEntityException("no setter for field '" + name + "'", field);
+        }
+
+        Column column = field.getAnnotation(Column.class);
+        ColumnVector columnVector = field.getAnnotation(ColumnVector.class);
+        if (column != null && columnVector != null) {
+            throw new UnsupportedEntityException("field '" + name + "' annotated with both @Column and @ColumnVector", field);
+        }
+        Property property = new Property();
+        property.name   = name;
+        property.type   = type;
+        property.getter = getter;
+        property.setter = setter;
+        property.kind   = Kind.of(type);
+        property.column = name;
+        property.vector = columnVector;
+        if (column != null) {
+            if (!column.name().isEmpty()) {
+                property.column = column.name();
+            }
+            property.columnType = defined(column.type());
+            property.keyType    = defined(column.keyType());
+            property.valueType  = defined(column.valueType());
+        } else if (columnVector != null && !columnVector.name().isEmpty()) {
+            property.column = columnVector.name();
+        }
+        PartitionBy partitionBy = field.getAnnotation(PartitionBy.class);
+        if (partitionBy != null) {
+            property.partitionBy = partitionBy.value();
+        }
+        PartitionSort partitionSort = field.getAnnotation(PartitionSort.class);
+        if (partitionSort != null) {
+            property.partitionSort = partitionSort.position();
+            property.partitionSortOrder = partitionSort.order();
+        }
+        property.rawType = erasure(type);
+        if (isAssignable(type, "java.util.Map")) {
+            property.keyJavaType   = typeArgument(type, 0, 2);
+            property.valueJavaType = typeArgument(type, 1, 2);
+        } else if (isAssignable(type, "java.util.List") || isAssignable(type, "java.util.Set")) {
+            property.valueJavaType = typeArgument(type, 0, 1);
+        }
+        return property;
+    }
+
+    /**
+     * Public instance method with the expected name, parameters and type.
+     */
+    private String findMethod(List<ExecutableElement> methods, String name, TypeMirror type, int parameters) {
+        for (ExecutableElement method : methods) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getParameters().size() == parameters
+                    && method.getModifiers().contains(Modifier.PUBLIC)
+                    && !method.getModifiers().contains(Modifier.STATIC)) {
+                TypeMirror methodType = parameters == 0 ? method.getReturnType() : method.getParameters().get(0).asType();
+                if (processingEnv.getTypeUtils().isSameType(methodType, type)) {
+                    return name;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Lombok generates a public accessor: annotation on the field, else on its class (not visible to the
+     * other processors when they run in the same round).
+     *
+     * @param field
+     *      field of the accessor
+     * @param accessorAnnotation
+     *      annotation of the accessor, on the field or on the class
+     * @param classAnnotations
+     *      other class annotations generating the accessor
+     */
+    private static boolean lombok(VariableElement field, String accessorAnnotation, String... classAnnotations) {
+        AnnotationMirror onField = annotation(field, accessorAnnotation);
+        if (onField != null) {
+            return isPublicAccess(onField);
+        }
+        AnnotationMirror accessorOnClass = annotation(field.getEnclosingElement(), accessorAnnotation);
+        if (accessorOnClass != null) {
+            return isPublicAccess(accessorOnClass);
+        }
+        for (String classAnnotation : classAnnotations) {
+            AnnotationMirror onClass = annotation(field.getEnclosingElement(), classAnnotation);
+            if (onClass != null) {
+                return isPublicAccess(onClass);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lombok accessors are named by the processor as Lombok does by default. Accessors customized with
+     * {@code @Accessors} or in a {@code lombok.config} file would not match, the entity is introspected instead.
+     */
+    private void checkLombokDefaults(VariableElement field) throws UnsupportedEntityException {
+        for (Element element = field; element != null; element = element.getEnclosingElement()) {
+            if (annotation(element, "lombok.experimental.Accessors") != null || annotation(element, "lombok.Accessors") != null) {
+                throw new UnsupportedEntityException("Lombok @Accessors on " + element.getSimpleName(), field);
+            }
+        }
+        TypeElement entity = (TypeElement) field.getEnclosingElement();
+        if (lombokConfigured.computeIfAbsent(entity.getQualifiedName().toString(), k -> hasLombokConfiguration(entity))) {
+            throw new UnsupportedEntityException("Lombok accessors configured in lombok.config", field);
+        }
+    }
+
+    /**
+     * Look for the lombok.config files of the source, as Lombok does from its folder up. Without a source file
+     * (compiler other than javac), the configuration is unknown.
+     */
+    private boolean hasLombokConfiguration(TypeElement entity) {
+        Path folder;
+        try {
+            TreePath path = Trees.instance(processingEnv).getPath(entity);
+            if (path == null) {
+                return true;
+            }
+            folder = Path.of(path.getCompilationUnit().getSourceFile().toUri()).getParent();
+        } catch (IllegalArgumentException | FileSystemNotFoundException e) {
+            return true;
+        }
+        for (; folder != null; folder = folder.getParent()) {
+            Path config = folder.resolve("lombok.config");
+            if (!Files.isRegularFile(config)) {
+                continue;
+            }
+            boolean stopBubbling = false;
+            try {
+                for (String line : Files.readAllLines(config)) {
+                    String entry = line.trim().toLowerCase(Locale.ROOT);
+                    if (entry.isEmpty() || entry.startsWith("#")) {
+                        continue;
+                    }
+                    if (entry.startsWith("import ")) {
+                        // imported configuration is not read
+                        return true;
+                    }
+                    String key = entry.split("[+\\-]?=", 2)[0].replace("clear ", "").trim();
+                    if (LOMBOK_ACCESSOR_KEYS.contains(key)) {
+                        return true;
+                    }
+                    stopBubbling |= key.equals("config.stopbubbling") && entry.endsWith("true");
+                }
+            } catch (IOException e) {
+                return true;
+            }
+            if (stopBubbling) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static AnnotationMirror annotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPublicAccess(AnnotationMirror mirror) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : mirror.getElementValues().entrySet()) {
+            if (value.getKey().getSimpleName().contentEquals("value")) {
+                return value.getValue().getValue().toString().equals("PUBLIC");
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasJacksonAnnotation(Element element) {
+        return element.getAnnotationMirrors().stream()
+                .map(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString())
+                .anyMatch(name -> name.startsWith("com.fasterxml.jackson."));
+    }
+
+    private static TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+
+    /**
+     * Type without type variables nor wildcards, usable in the generated code.
+     */
+    private static boolean isConcrete(TypeMirror type) {
+        return switch (type.getKind()) {
+            case DECLARED -> ((DeclaredType) type).getTypeArguments().stream().allMatch(EntityCodecProcessor::isConcrete);
+            case ARRAY -> isConcrete(((ArrayType) type).getComponentType());
+            case TYPEVAR, WILDCARD, INTERSECTION, UNION, ERROR -> false;
+            default -> true;
+        };
+    }
+
+    private boolean isAssignable(TypeMirror type, String className) {
+        TypeElement target = processingEnv.getElementUtils().getTypeElement(className);
+        return target != null && processingEnv.getTypeUtils().isAssignable(
+                processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(target.asType()));
+    }
+
+    private String typeArgument(TypeMirror type, int index, int count) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+            if (arguments.size() == count) {
+                return erasure(arguments.get(index));
+            }
+        }
+        return null;
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private static TableColumnTypes defined(TableColumnTypes type) {
+        return type == TableColumnTypes.UNDEFINED ? null : type;
+    }
+
+    /**
+     * Source of a codec.
+     */
+    private static final class CodecSource {
+
+        private final StringBuilder out = new StringBuilder();
+
+        private CodecSource(TypeElement entity, String packageName, String codecName, List<Property> properties) {
+            String entityName = entity.getQualifiedName().toString();
+            EntityTable table = entity.getAnnotation(EntityTable.class);
+            if (!packageName.isEmpty()) {
+                line("package " + packageName + ";");
+                line("");
+            }
+            line("import com.datastax.astra.client.core.query.Sort;");
+            line("import com.datastax.astra.client.core.vector.SimilarityMetric;");
+            line("import com.datastax.astra.client.core.vectorize.VectorServiceOptions;");
+            line("import com.datastax.astra.client.tables.definition.TableDefinition;");
+            line("import com.datastax.astra.client.tables.definition.columns.TableColumnTypes;");
+            line("import com.datastax.astra.client.tables.definition.indexes.TableVectorIndexDefinition;");
+            line("import com.datastax.astra.client.tables.mapping.EntityCodec;");
+            line("import com.datastax.astra.internal.reflection.EntityCodecs;");
+            line("import com.fasterxml.jackson.core.JsonGenerator;");
+            line("import com.fasterxml.jackson.core.JsonParser;");
+            line("import com.fasterxml.jackson.core.JsonToken;");
+            line("import com.fasterxml.jackson.core.type.TypeReference;");
+            line("");
+            line("import java.io.IOException;");
+            line("import java.util.List;");
+            line("import java.util.Map;");
+            line("");
+            line("/**");
+            line(" * Codec of {@link " + entityName + "}, generated at compile time.");
+            line(" */");
+            line("@javax.annotation.processing.Generated(\"" + EntityCodecProcessor.class.getName() + "\")");
+            line("public final class " + codecName + " implements EntityCodec<" + entityName + "> {");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                if (property.kind == Kind.OBJECT && property.type.getKind() == TypeKind.DECLARED
+                        && !((DeclaredType) property.type).getTypeArguments().isEmpty()) {
+                    property.typeReference = "TYPE_" + i;
+                    line("");
+                    line("    private static final TypeReference<" + property.type + "> " + property.typeReference
+                            + " = new TypeReference<" + property.type + ">() { };");
+                }
+            }
+            line("");
+            line("    /**");
+            line("     * Default constructor, for the service loader.");
+            line("     */");
+            line("    public " + codecName + "() {");
+            line("    }");
+            line("");
+            line("    @Override");
+            line("    public Class<" + entityName + "> getEntityClass() {");
+            line("        return " + entityName + ".class;");
+            line("    }");
+            line("");
+            line("    @Override");
+            line("    public String getTableName() {");
+            line("        return " + literal(table.value()) + ";");
+            line("    }");
+            encode(entityName, properties);
+            decode(entityName, properties);
+            tableDefinition(properties);
+            vectorIndexDefinitions(properties);
+            line("}");
+        }
+
+        private void encode(String entityName, List<Property> properties) {
+            line("");
+            line("    @Override");
+            line("    public void encode(" + entityName + " entity, JsonGenerator generator) throws IOException {");
+            line("        generator.writeStartObject();");
+            for (int i = 0; i < properties.size(); i++) {
+                Property property = properties.get(i);
+                String value = "value" + i;
+                String read = property.getter != null ? "entity." + property.getter + "()" : "entity." + property.name;
+                line("        " + property.type + " " + value + " = " + read + ";");
+                String indent = "        ";
+                boolean primitive = property.type.getKind().isPrimitive();
+                if (!primitive) {
+                    line("        if (" + value + " != null) {");
+                    indent = "            ";
+                }
+                line(indent + "generator.writeFieldName(" + literal(property.column) + ");");
+                line(indent + property.kind.write(value) + ";");
+                if (!primitive) {
+                    line("        }");
+                }
+            }
+            line("        generator.writeEndObject();");
+            line("    }");
+        }
+
+        private void decode(String entityName, List<Property> properties) {
+            line("");
+            line("    @Override");
+            line("    public " + entityName + " decode(JsonParser parser) throws IOException {");
+            line("        " + entityName + " entity = new " + entityName + "();");
+            line("        String name;");
+            line("        while ((name = parser.nextFieldName()) != null) {");
+            line("            JsonToken token = parser.nextToken();");
+            line("            switch (name) {");
+            for (Property property : properties) {
+                String read = property.kind.read(property);
+                line("                case " + literal(property.column) + ":");
+                if (property.type.getKind().isPrimitive()) {
+                    line("                    if (token != JsonToken.VALUE_NULL) {");
+                    line("                        " + property.write(read) + ";");
+                    line("                    }");
+                } else {
+                    line("                    " + property.write("token == JsonToken.VALUE_NULL ? null : " + read) + ";");
+                }
+                line("                    break;");
+            }
+            line("                default:");
+            line("                    parser.skipChildren();");
+            line("            }");
+            line("        }");
+            line("        return entity;");
+            line("    }");
+        }
+
+        private void tableDefinition(List<Property> properties) {
+            line("");
+            line("    @Override");
+            line("    public TableDefinition getTableDefinition() {");
+            line("        return new TableDefinition()");
+            for (Property property : properties) {
+                String name = literal(property.column);
+                if (property.vector != null) {
+                    line("                .addColumnVector(" + name + ", EntityCodecs.vectorColumn(" + literal(property.name)
+                            + ", " + property.vector.dimension() + ", SimilarityMetric." + property.vector.metric().name()
+                            + ", " + service(property.vector) + "))");
+                } else {
+                    line("                .addColumn(" + name + ", EntityCodecs.column(" + literal(property.name)
+                            + ", " + columnType(property.columnType) + ", " + property.rawType + ".class"
+                            + ", " + columnType(property.keyType) + ", " + classLiteral(property.keyJavaType)
+                            + ", " + columnType(property.valueType) + ", " + classLiteral(property.valueJavaType) + "))");
+                }
+            }
+            properties.stream()
+                    .filter(p -> p.partitionBy != null)
+                    .sorted(Comparator.comparing((Property p) -> p.partitionBy))
+                    .forEach(p -> line("                .addPartitionBy(" + literal(p.column) + ")"));
+            properties.stream()
+                    .filter(p -> p.partitionSort != null)
+                    .sorted(Comparator.comparing((Property p) -> p.partitionSort))
+                    .forEach(p -> line("                .addPartitionSort(Sort."
+                            + (p.partitionSortOrder == SortOrder.DESCENDING ? "descending" : "ascending")
+                            + "(" + literal(p.column) + "))"));
+            out.setLength(out.length() - 1);
+            line(";");
+            line("    }");
+        }
+
+        private void vectorIndexDefinitions(List<Property> properties) {
+            List<String> indexes = new ArrayList<>();
+            for (Property property : properties) {
+                if (property.vector != null) {
+                    String sourceModel = property.vector.sourceModel();
+                    indexes.add("new TableVectorIndexDefinition()"
+                            + ".column(" + literal(property.column) + ")"
+                            + ".metric(SimilarityMetric." + property.vector.metric().name() + ")"
+                            + ".sourceModel(" + (sourceModel.isEmpty() ? "null" : literal(sourceModel)) + ")");
+                }
+            }
+            line("");
+            line("    @Override");
+            line("    public List<TableVectorIndexDefinition> getVectorIndexDefinitions() {");
+            line("        return List.of(" + String.join(",\n                ", indexes) + ");");
+            line("    }");
+        }
+
+        private static String service(ColumnVector vector) {
+            if (vector.provider().isEmpty()) {
+                return "null";
+            }
+            StringBuilder service = new StringBuilder("new VectorServiceOptions().provider(")
+                    .append(literal(vector.provider())).append(")");
+            if (!vector.modelName().isEmpty()) {
+                service.append(".modelName(").append(literal(vector.modelName())).append(")");
+            }
+            if (vector.authentication().length > 0) {
+                service.append(".authentication(").append(map(vector.authentication())).append(")");
+            }
+            if (vector.parameters().length > 0) {
+                service.append(".parameters(").append(map(vector.parameters())).append(")");
+            }
+            return service.toString();
+        }
+
+        private static String map(KeyValue[] entries) {
+            List<String> values = new ArrayList<>();
+            for (KeyValue entry : entries) {
+                values.add("Map.entry(" + literal(entry.key()) + ", " + literal(entry.value()) + ")");
+            }
+            return "Map.<String, Object>ofEntries(" + String.join(", ", values) + ")";
+        }
+
+        private static String columnType(TableColumnTypes type) {
+            return type == null ? "null" : "TableColumnTypes." + type.name();
+        }
+
+        private static String classLiteral(String type) {
+            return type == null ? "null" : type + ".class";
+        }
+
+        private void line(String line) {
+            out.append(line).append('\n');
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+
+    /**
+     * Java string literal.
+     */
+    static String literal(String value) {
+        StringBuilder literal = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /**
+     * Encoding of a field, scalars written and read directly, other values with the table mapper.
+     */
+    private enum Kind {
+        STRING, INT, LONG, SHORT, BYTE, BOOLEAN, OBJECT;
+
+        static Kind of(TypeMirror type) {
+            return switch (type.getKind()) {
+                case INT -> INT;
+                case LONG -> LONG;
+                case SHORT -> SHORT;
+                case BYTE -> BYTE;
+                case BOOLEAN -> BOOLEAN;
+                case DECLARED -> switch (type.toString()) {
+                    case "java.lang.String" -> STRING;
+                    case "java.lang.Integer" -> INT;
+                    case "java.lang.Long" -> LONG;
+                    case "java.lang.Short" -> SHORT;
+                    case "java.lang.Byte" -> BYTE;
+                    case "java.lang.Boolean" -> BOOLEAN;
+                    default -> OBJECT;
+                };
+                // floats and doubles have custom serializers
+                default -> OBJECT;
+            };
+        }
+
+        String write(String value) {
+            return switch (this) {
+                case STRING -> "generator.writeString(" + value + ")";
+                case INT, LONG, SHORT, BYTE -> "generator.writeNumber(" + value + ")";
+                case BOOLEAN -> "generator.writeBoolean(" + value + ")";
+                case OBJECT -> "generator.writeObject(" + value + ")";
+            };
+        }
+
+        String read(Property property) {
+            return switch (this) {
+                case STRING -> "parser.getValueAsString()";
+                case INT -> "parser.getValueAsInt()";
+                case LONG -> "parser.getValueAsLong()";
+                case SHORT -> "(short) parser.getValueAsInt()";
+                case BYTE -> "(byte) parser.getValueAsInt()";
+                case BOOLEAN -> "parser.getValueAsBoolean()";
+                case OBJECT -> "parser.readValueAs(" + (property.typeReference != null
+                        ? property.typeReference : property.rawType + ".class") + ")";
+            };
+        }
+    }
+
+    /**
+     * Field of the entity mapped to a column.
+     */
+    private static final class Property {
+        String name;
+        TypeMirror type;
+        String rawType;
+        Kind kind;
+        String getter;
+        String setter;
+        String typeReference;
+        String column;
+        TableColumnTypes columnType;
+        TableColumnTypes keyType;
+        TableColumnTypes valueType;
+        String keyJavaType;
+        String valueJavaType;
+        ColumnVector vector;
+        Integer partitionBy;
+        Integer partitionSort;
+        SortOrder partitionSortOrder;
+
+        String write(String value) {
+            return setter != null ? "entity." + setter + "(" + value + ")" : "entity." + name + " = " + value;
+        }
+    }
+
+    /**
+     * Entity the processor cannot map without reflection.
+     */
+    private static final class UnsupportedEntityException extends Exception {
+
+        private final transient Element element;
+
+        private UnsupportedEntityException(String message, Element element) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
@@ -30,6 +30,8 @@ import com.datastax.astra.client.exceptions.DataAPIResponseException;
 import com.datastax.astra.client.exceptions.DataAPITimeoutException;
 import com.datastax.astra.internal.api.ApiResponseHttp;
 import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.http.RequestBody;
+import com.datastax.astra.internal.http.RequestCoalescer;
 import com.datastax.astra.internal.http.RetryHttpClient;
 import com.datastax.astra.internal.serdes.DataAPISerializer;
 import com.datastax.astra.internal.utils.Assert;
@@ -185,6 +187,22 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
     /** {@inheritDoc} */
     @Override
     public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+        return runCommand(command, overridingOptions, getSerializer(overridingOptions));
+    }
+
+    /**
+     * Execute a command with a given serializer, used for the body of the request and to read the response.
+     *
+     * @param command
+     *      command to execute
+     * @param overridingOptions
+     *      options of the command, can be null
+     * @param serializer
+     *      serializer of the request and of the response
+     * @return
+     *      response of the api
+     */
+    protected DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions, DataAPISerializer serializer) {
         DataAPIClientOptions options = this.options.getDataAPIClientOptions();
 
         // ==================
@@ -252,15 +270,6 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
             throw new IllegalArgumentException("No token provided for the command");
         }
 
-        // =======================
-        // ===   SERIALIZER    ===
-        // =======================
-
-        DataAPISerializer serializer = this.options.getSerializer();
-        if (overridingOptions != null && overridingOptions.getSerializer() != null) {
-            serializer = overridingOptions.getSerializer();
-        }
-
         // Initializing the Execution infos (could be pushed to 3rd parties)
         ExecutionInfos.DataApiExecutionInfoBuilder executionInfo =
                 ExecutionInfos.builder()
@@ -270,8 +279,8 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
 
         try {
 
-            // (Custom) Serialization different for Tables and Documents
-            String jsonCommand = serializer.marshall(command);
+            // (Custom) Serialization different for Tables and Documents, prepared commands splice their values
+            RequestBody jsonCommand = command.serialize(serializer);
 
             URI targetUri;
             try {
@@ -288,7 +297,7 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
                         .header(HEADER_REQUESTED_WITH, httpClient.getUserAgentHeader())
                         .header(HEADER_TOKEN, token)
                         .header(HEADER_AUTHORIZATION, "Bearer " + token)
-                        .method("POST", HttpRequest.BodyPublishers.ofString(jsonCommand));
+                        .method("POST", jsonCommand.publisher());
             if (requestTimeout > 0) {
                 builder.timeout(Duration.ofMillis(requestTimeout));
             }
@@ -327,8 +336,21 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
             executionInfo.withSerializer(serializer);
             executionInfo.withRequestHeaders(request.headers().map());
             executionInfo.withRequestUrl(getApiEndpoint());
-            Status<HttpResponse<String>> status = requestHttpClient.executeHttpRequest(request);
-            ApiResponseHttp httpRes = requestHttpClient.parseHttpResponse(status.getResult());
+            ApiResponseHttp httpRes;
+            try {
+                if (options.isRequestCoalescing() && RequestCoalescer.isCoalescable(command)) {
+                    // Identical read commands in flight share the same http response
+                    final RetryHttpClient coalescedHttpClient = requestHttpClient;
+                    httpRes = RequestCoalescer.getInstance().execute(
+                            RequestCoalescer.key(request, jsonCommand.toString()),
+                            () -> executeHttpRequest(coalescedHttpClient, request));
+                } else {
+                    httpRes = executeHttpRequest(requestHttpClient, request);
+                }
+            } finally {
+                // Chunks go back to the pool once the http client is done publishing them
+                jsonCommand.release();
+            }
             executionInfo.withHttpResponse(httpRes);
 
             if (httpRes == null) {
@@ -364,6 +386,21 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
         }
     }
 
+    /**
+     * Execute the http request with retries and parse the response.
+     *
+     * @param httpClient
+     *      http client to use
+     * @param request
+     *      http request
+     * @return
+     *      the http response
+     */
+    private ApiResponseHttp executeHttpRequest(RetryHttpClient httpClient, HttpRequest request) {
+        Status<HttpResponse<String>> status = httpClient.executeHttpRequest(request);
+        return httpClient.parseHttpResponse(status.getResult());
+    }
+
     /** {@inheritDoc} */
     @Override
     public <DOC> DOC runCommand(Command command, BaseOptions<?> options, Class<DOC> documentClass) {
@@ -412,6 +449,21 @@ public abstract class AbstractCommandRunner<OPTIONS extends BaseOptions<?>> impl
         return this.options.getSerializer();
     }
 
+    /**
+     * Gets the serializer used to execute a command with the given options.
+     *
+     * @param overridingOptions
+     *      options of the command, can be null
+     * @return
+     *      the serializer of the options if any, else the current one
+     */
+    protected DataAPISerializer getSerializer(BaseOptions<?> overridingOptions) {
+        if (overridingOptions != null && overridingOptions.getSerializer() != null) {
+            return overridingOptions.getSerializer();
+        }
+        return getSerializer();
+    }
+
     /**
      * Document Mapping.
      *
@@ -32,6 +32,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -74,6 +77,11 @@ public abstract class AbstractCursor<T, R> implements Iterable<R>, Cloneable {
     @Getter
     protected Class<R> recordType;
 
+    /**
+     * A cursor is consumed once, only one subscriber of its publishers is accepted.
+     */
+    protected final AtomicBoolean subscribed = new AtomicBoolean(false);
+
     /**
      * Cursor to iterate on the result of a query.
      *
@@ -200,6 +208,30 @@ public abstract class AbstractCursor<T, R> implements Iterable<R>, Cloneable {
         return StreamSupport.stream(this.spliterator(), false);
     }
 
+    /**
+     * Reactive Streams view of the cursor, pages are fetched on the client publisher threads when the demand requires them.
+     *
+     * @return
+     *      publisher of the results
+     */
+    public Flow.Publisher<R> publisher() {
+        return publisher(CursorPublisher.defaultExecutor());
+    }
+
+    /**
+     * Reactive Streams view of the cursor, pages are fetched only when the subscriber demand requires them.
+     * The cursor is consumed by the subscriber and closed on completion or cancellation, only one subscriber
+     * is accepted across all the publishers of the cursor.
+     *
+     * @param executor
+     *      executor fetching pages and emitting records
+     * @return
+     *      publisher of the results
+     */
+    public Flow.Publisher<R> publisher(Executor executor) {
+        return new CursorPublisher<>(this, executor);
+    }
+
     /**
      * Access the size of the buffer.
      *
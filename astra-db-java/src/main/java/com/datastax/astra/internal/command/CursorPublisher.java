@@ -0,0 +1,242 @@
+package com.datastax.astra.internal.command;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.paging.CursorState;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive Streams view of a cursor.
+ * <p>
+ * Pages are fetched only when the subscriber demand cannot be served with the records already buffered,
+ * following the {@code nextPageState} of the last page. Fetching a page and emitting records happen on the
+ * provided executor, the subscriber thread is never blocked. Cancelling the subscription closes the cursor from
+ * the drain loop, after the page being fetched if any, no more pages are fetched.
+ * </p>
+ * As a cursor can be consumed only once, a single subscriber is accepted across all the publishers of a cursor.
+ *
+ * @param <R>
+ *       working bean returned for the find
+ */
+@Slf4j
+public class CursorPublisher<R> implements Flow.Publisher<R> {
+
+    /** Cursor to consume. */
+    private final AbstractCursor<?, R> cursor;
+
+    /** Executor fetching pages and emitting records. */
+    private final Executor executor;
+
+    /**
+     * Default executor, pages are fetched with blocking calls so they do not run on the common pool.
+     */
+    private static final class DefaultExecutorHolder {
+
+        /** Counter to name the threads. */
+        private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+        /** Idle threads are released after a minute. */
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "cursor-publisher-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Publisher for a cursor.
+     *
+     * @param cursor
+     *      cursor to consume
+     * @param executor
+     *      executor fetching pages and emitting records
+     */
+    public CursorPublisher(AbstractCursor<?, R> cursor, Executor executor) {
+        this.cursor   = Objects.requireNonNull(cursor, "cursor");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Gets the executor used when none is provided, threads are dedicated to the cursor publishers.
+     *
+     * @return
+     *      default executor
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.INSTANCE;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!cursor.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override public void request(long n) { /* no more signals */ }
+                @Override public void cancel()        { /* no more signals */ }
+            });
+            subscriber.onError(new IllegalStateException("Cursor publisher supports a single subscriber, clone the cursor"));
+            return;
+        }
+        CursorSubscription subscription = new CursorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Subscription emitting the records of the cursor based on demand.
+     */
+    private final class CursorSubscription implements Flow.Subscription {
+
+        /** Subscriber. */
+        private final Flow.Subscriber<? super R> subscriber;
+
+        /** Records requested and not yet emitted. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Work in progress, only one thread emits at a time. */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** Subscription is cancelled. */
+        private volatile boolean cancelled;
+
+        /** Terminal signal (complete or error) has been sent. */
+        private boolean done;
+
+        /**
+         * Subscription for a subscriber.
+         *
+         * @param subscriber
+         *      subscriber
+         */
+        private CursorSubscription(Flow.Subscriber<? super R> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                subscriber.onError(new IllegalArgumentException("Requested items must be positive (rule 3.9)"));
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> {
+                long sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            schedule();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // the cursor is closed by the drain loop, never while it fetches a page
+            schedule();
+        }
+
+        /**
+         * Start the drain loop unless it is already running.
+         */
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Emit records while there is demand, fetching pages when the buffer is empty.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                while (!cancelled && !done && demand.get() > 0) {
+                    R next;
+                    try {
+                        next = nextRecord();
+                    } catch (RuntimeException e) {
+                        done = true;
+                        cursor.close();
+                        subscriber.onError(e);
+                        return;
+                    }
+                    if (next == null) {
+                        done = true;
+                        cursor.close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (cancelled) {
+                        break;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(next);
+                }
+                if (cancelled && !done) {
+                    done = true;
+                    cursor.close();
+                    return;
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Retrieve next record from the buffer, fetching the next page when needed.
+         *
+         * @return
+         *      next record or null if the cursor is exhausted
+         */
+        private R nextRecord() {
+            if (cursor.state == CursorState.CLOSED) {
+                return null;
+            }
+            if (cursor.state == CursorState.IDLE) {
+                cursor.state = CursorState.STARTED;
+            }
+            if (cursor.buffer.isEmpty()) {
+                if (cursor.currentPage != null && cursor.currentPage.getPageState().isEmpty()) {
+                    return null;
+                }
+                log.debug("Fetching next page for subscriber demand ({})", demand.get());
+                cursor.fetchNextPage();
+                if (cursor.buffer.isEmpty()) {
+                    return null;
+                }
+            }
+            cursor.consumed++;
+            return cursor.buffer.remove(0);
+        }
+    }
+}
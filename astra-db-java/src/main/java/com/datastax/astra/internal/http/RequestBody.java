@@ -0,0 +1,358 @@
+package com.datastax.astra.internal.http;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.exceptions.DataAPIException;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.datastax.astra.client.exceptions.DataAPIException.ERROR_CODE_SERIALIZATION;
+
+/**
+ * Body of an http request, written as UTF-8 bytes into a chain of pooled chunks.
+ * <p>
+ * Commands are streamed by the Jackson generator straight into the chunks: no intermediate {@code String} nor
+ * full size byte array is allocated, which matters for large {@code insertMany} payloads. The length is known
+ * once written and sent as content length. The chunks are published as read-only copies, every subscription
+ * (retries) reads them from the start: the http client may keep the buffers it received after the response, or
+ * after a timeout, so the pooled arrays themselves never leave the body. Once the response has been received,
+ * {@link #release()} gives the chunks back to a bounded pool shared by all the requests, as soon as no
+ * subscription is copying them anymore.
+ * </p>
+ */
+public class RequestBody extends OutputStream {
+
+    /** Size of a chunk. */
+    public static final int CHUNK_SIZE = 16 * 1024;
+
+    /** Maximum number of chunks kept in the pool (4 MB). */
+    public static final int MAX_POOLED_CHUNKS = 256;
+
+    /** Chunks available. */
+    private static final Queue<byte[]> POOL = new ConcurrentLinkedQueue<>();
+
+    /** Number of chunks available, the queue size being linear. */
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    /** Chunks written. */
+    private final List<byte[]> chunks = new ArrayList<>();
+
+    /** Chunks come from the pool and go back to it on release. */
+    private final boolean pooled;
+
+    /** Number of bytes written. */
+    private long length;
+
+    /** Position in the last chunk. */
+    private int position = CHUNK_SIZE;
+
+    /** Release has been requested, chunks are given back once no subscription is publishing them. */
+    private volatile boolean releaseRequested;
+
+    /** Chunks have been given back to the pool. */
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /** Subscriptions started and neither completed nor cancelled. */
+    private final AtomicInteger activeSubscriptions = new AtomicInteger();
+
+    /**
+     * Empty body, written with the {@link OutputStream} methods.
+     */
+    public RequestBody() {
+        this.pooled = true;
+    }
+
+    private RequestBody(byte[] bytes) {
+        this.pooled   = false;
+        this.chunks.add(bytes);
+        this.length   = bytes.length;
+        this.position = bytes.length;
+    }
+
+    /**
+     * Body holding existing bytes, not pooled.
+     *
+     * @param bytes
+     *      json body
+     * @return
+     *      the body
+     */
+    public static RequestBody of(byte[] bytes) {
+        return new RequestBody(bytes);
+    }
+
+    /**
+     * Stream an object as json into a new body.
+     *
+     * @param serializer
+     *      serializer of the collection or table
+     * @param value
+     *      object to serialize
+     * @return
+     *      the body
+     */
+    public static RequestBody of(DataAPISerializer serializer, Object value) {
+        RequestBody body = new RequestBody();
+        try {
+            serializer.getMapper().writeValue(body, value);
+            return body;
+        } catch (IOException e) {
+            body.release();
+            throw new DataAPIException(ERROR_CODE_SERIALIZATION, "Cannot marshall object " + value, e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(int b) {
+        if (position == CHUNK_SIZE) {
+            nextChunk();
+        }
+        chunks.get(chunks.size() - 1)[position++] = (byte) b;
+        length++;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void write(byte[] bytes, int offset, int len) {
+        while (len > 0) {
+            if (position == CHUNK_SIZE) {
+                nextChunk();
+            }
+            int count = Math.min(len, CHUNK_SIZE - position);
+            System.arraycopy(bytes, offset, chunks.get(chunks.size() - 1), position, count);
+            position += count;
+            offset   += count;
+            len      -= count;
+            length   += count;
+        }
+    }
+
+    /**
+     * Number of bytes in the body.
+     *
+     * @return
+     *      content length
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Publisher of the chunks for the http client, with the content length.
+     *
+     * @return
+     *      body publisher
+     */
+    public HttpRequest.BodyPublisher publisher() {
+        if (length == 0) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        Flow.Publisher<ByteBuffer> chunkPublisher = subscriber -> new ChunkSubscription(this, subscriber).start();
+        return HttpRequest.BodyPublishers.fromPublisher(chunkPublisher, length);
+    }
+
+    /**
+     * Give the chunks back to the pool once the response has been received, the body cannot be used anymore.
+     * A subscription still publishing the chunks, the server may answer before reading the whole body, keeps them
+     * until it completes or is cancelled. Buffers already published are copies and remain valid.
+     */
+    public void release() {
+        if (!pooled) {
+            return;
+        }
+        releaseRequested = true;
+        if (activeSubscriptions.get() == 0) {
+            recycle();
+        }
+    }
+
+    /**
+     * A subscription completed or has been cancelled, the last one gives back the chunks of a released body.
+     */
+    private void unsubscribe() {
+        if (activeSubscriptions.decrementAndGet() == 0 && releaseRequested) {
+            recycle();
+        }
+    }
+
+    private void recycle() {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        for (byte[] chunk : chunks) {
+            if (POOLED.incrementAndGet() <= MAX_POOLED_CHUNKS) {
+                POOL.offer(chunk);
+            } else {
+                POOLED.decrementAndGet();
+            }
+        }
+        chunks.clear();
+    }
+
+    /**
+     * Body as a string, for logs and request keys.
+     *
+     * @return
+     *      json body
+     */
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            int size = chunkLength(i);
+            System.arraycopy(chunks.get(i), 0, bytes, offset, size);
+            offset += size;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Number of bytes in a chunk.
+     */
+    private int chunkLength(int index) {
+        return index == chunks.size() - 1 ? position : chunks.get(index).length;
+    }
+
+    private void nextChunk() {
+        if (releaseRequested) {
+            throw new IllegalStateException("Body has been released");
+        }
+        byte[] chunk = POOL.poll();
+        if (chunk != null) {
+            POOLED.decrementAndGet();
+        } else {
+            chunk = new byte[CHUNK_SIZE];
+        }
+        chunks.add(chunk);
+        position = 0;
+    }
+
+    /**
+     * Emit the chunks of a body to a subscriber of the http client, as requested.
+     */
+    private static final class ChunkSubscription implements Flow.Subscription {
+
+        /** Body to emit. */
+        private final RequestBody body;
+
+        /** Http client subscriber. */
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+
+        /** Chunks requested and not emitted. */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** Serialize emission across threads calling request(). */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** Next chunk to emit. */
+        private int next;
+
+        /** Cancelled or completed. */
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private ChunkSubscription(RequestBody body, Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.body       = body;
+            this.subscriber = subscriber;
+        }
+
+        private void start() {
+            if (body.released.get()) {
+                done.set(true);
+                subscriber.onSubscribe(this);
+                subscriber.onError(new IllegalStateException("Body has been released"));
+                return;
+            }
+            body.activeSubscriptions.incrementAndGet();
+            subscriber.onSubscribe(this);
+            drain();
+        }
+
+        /**
+         * Mark the subscription as completed or cancelled, only once.
+         *
+         * @return
+         *      true if the subscription was still active
+         */
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            body.unsubscribe();
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (finish()) {
+                    subscriber.onError(new IllegalArgumentException("non-positive subscription request"));
+                }
+                return;
+            }
+            demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            drain();
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void cancel() {
+            finish();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                int count = body.chunks.size();
+                while (!done.get() && next < count && demand.get() > 0) {
+                    // a copy, the http client may hold the buffer after the chunk went back to the pool
+                    ByteBuffer buffer = ByteBuffer
+                            .wrap(Arrays.copyOf(body.chunks.get(next), body.chunkLength(next)))
+                            .asReadOnlyBuffer();
+                    next++;
+                    demand.decrementAndGet();
+                    subscriber.onNext(buffer);
+                }
+                if (!done.get() && next == count && finish()) {
+                    subscriber.onComplete();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.datastax.astra.internal.http;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.internal.api.ApiResponseHttp;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpRequest;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical read commands.
+ * <p>
+ * When several threads issue the same read command (same name, payload, endpoint and headers, so same token)
+ * while a first one is still in flight, only the first one reaches the Data API. The others wait for its
+ * completion and share the raw HTTP response. As each caller unmarshalls the body on its own, every caller
+ * gets its own copy of the {@link com.datastax.astra.internal.api.DataAPIResponse}.
+ * </p>
+ * Requests are only shared while in flight: nothing is kept once the response is received.
+ */
+@Slf4j
+public class RequestCoalescer {
+
+    /** Commands not altering the data, safe to share. */
+    public static final Set<String> READ_COMMANDS = Set.of(
+            "find", "findOne", "findAndRerank",
+            "countDocuments", "estimatedDocumentCount",
+            "findCollections", "listTables", "listIndexes", "listTypes",
+            "findKeyspaces", "findEmbeddingProviders", "findRerankingProviders");
+
+    /** Shared instance for the whole JVM, keys include endpoint and token. */
+    private static final RequestCoalescer INSTANCE = new RequestCoalescer();
+
+    /** Requests in flight. */
+    private final Map<String, CompletableFuture<ApiResponseHttp>> inFlight = new ConcurrentHashMap<>();
+
+    /** Number of requests effectively sent. */
+    private final AtomicLong executedRequests = new AtomicLong();
+
+    /** Number of requests served with an in-flight response. */
+    private final AtomicLong coalescedRequests = new AtomicLong();
+
+    /**
+     * Default constructor.
+     */
+    public RequestCoalescer() {
+        // left blank, state is initialized with fields
+    }
+
+    /**
+     * Access the shared instance.
+     *
+     * @return
+     *      shared instance
+     */
+    public static RequestCoalescer getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Tell if the command can be shared in between callers.
+     *
+     * @param command
+     *      command to evaluate
+     * @return
+     *      true if the command is read only
+     */
+    public static boolean isCoalescable(Command command) {
+        return command != null && READ_COMMANDS.contains(command.getName());
+    }
+
+    /**
+     * Build the key identifying a request, two requests with same key will return the same response.
+     *
+     * @param request
+     *      http request (uri and headers)
+     * @param jsonCommand
+     *      serialized command (name, filter, sort, projection, options)
+     * @return
+     *      the key
+     */
+    public static String key(HttpRequest request, String jsonCommand) {
+        return request.method() + " " + request.uri() + " " + request.headers().map() + " " + jsonCommand;
+    }
+
+    /**
+     * Execute the request or join the identical request already in flight.
+     *
+     * @param key
+     *      request key, see {@link #key(HttpRequest, String)}
+     * @param call
+     *      the call to execute when no identical request is in flight
+     * @return
+     *      the http response
+     */
+    public ApiResponseHttp execute(String key, Supplier<ApiResponseHttp> call) {
+        CompletableFuture<ApiResponseHttp> myCall = new CompletableFuture<>();
+        CompletableFuture<ApiResponseHttp> existingCall = inFlight.putIfAbsent(key, myCall);
+        if (existingCall != null) {
+            coalescedRequests.incrementAndGet();
+            log.debug("Joining request in flight");
+            try {
+                return existingCall.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        executedRequests.incrementAndGet();
+        try {
+            ApiResponseHttp res = call.get();
+            myCall.complete(res);
+            return res;
+        } catch (RuntimeException | Error e) {
+            myCall.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, myCall);
+        }
+    }
+
+    /**
+     * Gets the number of requests currently in flight.
+     *
+     * @return
+     *      number of requests in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Gets the number of requests sent to the server.
+     *
+     * @return
+     *      number of requests sent
+     */
+    public long getExecutedRequests() {
+        return executedRequests.get();
+    }
+
+    /**
+     * Gets the number of requests served by a request already in flight.
+     *
+     * @return
+     *      number of requests saved
+     */
+    public long getCoalescedRequests() {
+        return coalescedRequests.get();
+    }
+}
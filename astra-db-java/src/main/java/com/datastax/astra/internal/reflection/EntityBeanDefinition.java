@@ -32,6 +32,7 @@ import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeFie
 import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeFieldTypes;
 import com.datastax.astra.client.tables.mapping.Column;
 import com.datastax.astra.client.tables.mapping.ColumnVector;
+import com.datastax.astra.client.tables.mapping.EntityCodec;
 import com.datastax.astra.client.tables.mapping.EntityTable;
 import com.datastax.astra.client.tables.mapping.PartitionBy;
 import com.datastax.astra.client.tables.mapping.PartitionSort;
@@ -52,6 +53,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -294,6 +296,11 @@ public class EntityBeanDefinition<T> {
      *      a list of vector index definitions
      */
     public static List<TableVectorIndexDefinition> listVectorIndexDefinitions(String tableName, Class<?> clazz) {
+        Optional<? extends EntityCodec<?>> codec = EntityCodecs.find(clazz);
+        if (codec.isPresent()) {
+            checkTableName(tableName, codec.get().getTableName());
+            return codec.get().getVectorIndexDefinitions();
+        }
         EntityBeanDefinition<?> bean = new EntityBeanDefinition<>(clazz);
         if (Utils.hasLength(bean.getName()) && !bean.getName().equals(tableName)) {
             throw new IllegalArgumentException("Table name mismatch, expected '" + tableName + "' but got '" + bean.getName() + "'");
@@ -359,6 +366,13 @@ public class EntityBeanDefinition<T> {
      *      a document representing the table command
      */
     public static Document createTableCommand(String tableName, Class<?> clazz) {
+        Optional<? extends EntityCodec<?>> codec = EntityCodecs.find(clazz);
+        if (codec.isPresent()) {
+            checkTableName(tableName, codec.get().getTableName());
+            return new Document()
+                    .append("name", tableName)
+                    .append("definition", codec.get().getTableDefinition());
+        }
         EntityBeanDefinition<?> bean = new EntityBeanDefinition<>(clazz);
         if (Utils.hasLength(bean.getName()) && !bean.getName().equals(tableName)) {
             throw new IllegalArgumentException("Table name mismatch, expected '" + tableName + "' but got '" + bean.getName() + "'");
@@ -448,4 +462,10 @@ public class EntityBeanDefinition<T> {
         return doc;
     }
 
+    private static void checkTableName(String tableName, String entityTableName) {
+        if (Utils.hasLength(entityTableName) && !entityTableName.equals(tableName)) {
+            throw new IllegalArgumentException("Table name mismatch, expected '" + tableName + "' but got '" + entityTableName + "'");
+        }
+    }
+
 }
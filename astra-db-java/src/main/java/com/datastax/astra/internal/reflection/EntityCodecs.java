@@ -0,0 +1,177 @@
+package com.datastax.astra.internal.reflection;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.core.vector.SimilarityMetric;
+import com.datastax.astra.client.core.vectorize.VectorServiceOptions;
+import com.datastax.astra.client.exceptions.DataAPIClientException;
+import com.datastax.astra.client.exceptions.ErrorCodesClient;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinition;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinitionList;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinitionMap;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinitionSet;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinitionVector;
+import com.datastax.astra.client.tables.definition.columns.TableColumnTypeMapper;
+import com.datastax.astra.client.tables.definition.columns.TableColumnTypes;
+import com.datastax.astra.client.tables.mapping.EntityCodec;
+import com.datastax.astra.internal.utils.Assert;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link EntityCodec} generated at compile time, loaded once with the {@link ServiceLoader}.
+ * <p>
+ * Also holds the column helpers of the generated codecs, resolving the column types at runtime as
+ * {@link EntityBeanDefinition#createTableCommand(String, Class)} does.
+ * </p>
+ */
+@Slf4j
+public final class EntityCodecs {
+
+    /** Codecs per entity class. */
+    private static final Map<Class<?>, EntityCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    static {
+        @SuppressWarnings("unchecked")
+        Class<EntityCodec<?>> service = (Class<EntityCodec<?>>) (Class<?>) EntityCodec.class;
+        Iterator<EntityCodec<?>> codecs = ServiceLoader.load(service).iterator();
+        while (true) {
+            try {
+                if (!codecs.hasNext()) {
+                    break;
+                }
+                EntityCodec<?> codec = codecs.next();
+                CODECS.put(codec.getEntityClass(), codec);
+            } catch (ServiceConfigurationError e) {
+                // stale entry of the service file, next ones are still loaded
+                log.warn("Cannot load entity codec, the entity will be introspected: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Hide constructor.
+     */
+    private EntityCodecs() {
+    }
+
+    /**
+     * Register a codec, for classpaths without the service file. To call before the first use of the entity.
+     *
+     * @param codec
+     *      codec to register
+     */
+    public static void register(EntityCodec<?> codec) {
+        Assert.notNull(codec, "codec");
+        CODECS.put(codec.getEntityClass(), codec);
+    }
+
+    /**
+     * Find the codec of an entity class.
+     *
+     * @param clazz
+     *      entity class
+     * @param <T>
+     *      type of the entity
+     * @return
+     *      the codec if one has been generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<EntityCodec<T>> find(Class<T> clazz) {
+        return Optional.ofNullable((EntityCodec<T>) CODECS.get(clazz));
+    }
+
+    /**
+     * Definition of a column, types not provided in the annotation are mapped from the java types.
+     *
+     * @param fieldName
+     *      field name, for errors
+     * @param type
+     *      column type from the annotation, or null
+     * @param javaType
+     *      field type
+     * @param keyType
+     *      key type from the annotation, or null
+     * @param javaKeyType
+     *      map key type, or null
+     * @param valueType
+     *      value type from the annotation, or null
+     * @param javaValueType
+     *      list, set or map value type, or null
+     * @return
+     *      the column definition
+     */
+    public static TableColumnDefinition column(String fieldName,
+            TableColumnTypes type, Class<?> javaType,
+            TableColumnTypes keyType, Class<?> javaKeyType,
+            TableColumnTypes valueType, Class<?> javaValueType) {
+        TableColumnTypes colType = type != null ? type : columnType(fieldName, javaType, "");
+        return switch (colType) {
+            case MAP -> new TableColumnDefinitionMap(
+                    keyType != null ? keyType : columnType(fieldName, javaKeyType, "key in "),
+                    valueType != null ? valueType : columnType(fieldName, javaValueType, "value in "));
+            case LIST -> new TableColumnDefinitionList(
+                    valueType != null ? valueType : columnType(fieldName, javaValueType, "value in "));
+            case SET -> new TableColumnDefinitionSet(
+                    valueType != null ? valueType : columnType(fieldName, javaValueType, "value in "));
+            default -> new TableColumnDefinition(colType);
+        };
+    }
+
+    /**
+     * Definition of a vector column.
+     *
+     * @param fieldName
+     *      field name, for errors
+     * @param dimension
+     *      dimension, between 1 and 8192
+     * @param metric
+     *      similarity metric
+     * @param service
+     *      vectorize service, or null
+     * @return
+     *      the column definition
+     */
+    public static TableColumnDefinitionVector vectorColumn(String fieldName, int dimension,
+            SimilarityMetric metric, VectorServiceOptions service) {
+        if (dimension <= 0 || dimension > 8192) {
+            throw new DataAPIClientException(ErrorCodesClient.INVALID_ANNOTATION, "ColumnVector", fieldName,
+                    "dimension is required and must be in between 1 amd 8192");
+        }
+        TableColumnDefinitionVector column = new TableColumnDefinitionVector().dimension(dimension).metric(metric);
+        return service != null ? column.service(service) : column;
+    }
+
+    private static TableColumnTypes columnType(String fieldName, Class<?> javaType, String role) {
+        TableColumnTypes colType = javaType == null ? TableColumnTypes.UNSUPPORTED : TableColumnTypeMapper.getColumnType(javaType);
+        if (colType == TableColumnTypes.UNSUPPORTED) {
+            throw new IllegalArgumentException("Unsupported type '" + (javaType == null ? "?" : javaType.getName())
+                    + "' for " + role + "field '" + fieldName + "'");
+        }
+        return colType;
+    }
+}
@@ -0,0 +1,140 @@
+package com.datastax.astra.internal.serdes.collections;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Deserializer of documents as {@link LazyDocument}.
+ * <p>
+ * The tokens of the document are copied as UTF-8 json, numbers and strings as text, and the offsets of the
+ * top-level values are recorded: nothing is decoded into maps, lists or boxed numbers.
+ * Documents with a top-level field name holding a dot or an ampersand are decoded eagerly, to be split into
+ * nested fields as regular documents do.
+ * </p>
+ */
+public class LazyDocumentDeserializer extends StdDeserializer<Document> {
+
+    /** Generators of the copies. */
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * Default constructor.
+     */
+    public LazyDocumentDeserializer() {
+        super(Document.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Document deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (Document) ctxt.handleUnexpectedToken(Document.class, parser);
+        }
+        List<String> names = new ArrayList<>();
+        int[] offsets = new int[16];
+        int[] lengths = new int[16];
+        boolean escaped = false;
+        ByteArrayBuilder bytes = new ByteArrayBuilder();
+        try (JsonGenerator generator = JSON.createGenerator(bytes, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                escaped |= name.indexOf('.') >= 0 || name.indexOf('&') >= 0;
+                generator.writeFieldName(name);
+                parser.nextToken();
+                // the separator is written with the value
+                int offset = position(bytes, generator) + 1;
+                copyValue(parser, generator);
+                int field = names.size();
+                if (field == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, field * 2);
+                    lengths = Arrays.copyOf(lengths, field * 2);
+                }
+                names.add(name);
+                offsets[field] = offset;
+                lengths[field] = position(bytes, generator) - offset;
+            }
+            generator.writeEndObject();
+        }
+        LazyDocument document = new LazyDocument(bytes.toByteArray(), names.toArray(new String[0]),
+                Arrays.copyOf(offsets, names.size()), Arrays.copyOf(lengths, names.size()));
+        return escaped ? document.toEagerDocument() : document;
+    }
+
+    /**
+     * Number of bytes written, flushed or not.
+     */
+    private static int position(ByteArrayBuilder bytes, JsonGenerator generator) {
+        return bytes.size() + generator.getOutputBuffered();
+    }
+
+    /**
+     * Copy the current value, scalars and numbers as their text.
+     */
+    private static void copyValue(JsonParser parser, JsonGenerator generator) throws IOException {
+        int depth = 0;
+        do {
+            JsonToken token = parser.currentToken();
+            switch (token) {
+                case START_OBJECT -> {
+                    generator.writeStartObject();
+                    depth++;
+                }
+                case START_ARRAY -> {
+                    generator.writeStartArray();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    generator.writeEndObject();
+                    depth--;
+                }
+                case END_ARRAY -> {
+                    generator.writeEndArray();
+                    depth--;
+                }
+                case FIELD_NAME -> generator.writeFieldName(parser.currentName());
+                case VALUE_STRING -> generator.writeString(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> generator.writeNumber(
+                        parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                case VALUE_TRUE -> generator.writeBoolean(true);
+                case VALUE_FALSE -> generator.writeBoolean(false);
+                case VALUE_NULL -> generator.writeNull();
+                default -> generator.copyCurrentEvent(parser);
+            }
+        } while (depth > 0 && parser.nextToken() != null);
+    }
+}
@@ -0,0 +1,52 @@
+package com.datastax.astra.internal.serdes.collections;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Document serializer reading the documents of the responses as {@link LazyDocument}.
+ */
+public class LazyDocumentSerializer extends DocumentSerializer {
+
+    /** Object mapper with the lazy documents. */
+    private ObjectMapper lazyMapper;
+
+    /**
+     * Default constructor
+     */
+    public LazyDocumentSerializer() {
+        // left blank, mapper is built on first use
+    }
+
+    @Override
+    public ObjectMapper getMapper() {
+        if (lazyMapper == null) {
+            SimpleModule module = new SimpleModule();
+            module.addDeserializer(Document.class, new LazyDocumentDeserializer());
+            lazyMapper = super.getMapper().copy().registerModule(module);
+        }
+        return lazyMapper;
+    }
+}
@@ -51,8 +51,7 @@ public class DataAPIVectorDeserializer extends StdScalarDeserializer<DataAPIVect
                 if ("$binary".equals(fieldName)) {
                     p.nextToken(); // Move to the value of $binary
                     byte[] base64Value = p.getBinaryValue();
-                    p.nextToken(); // Move past the value
-                    p.nextToken(); // Move past END_OBJECT
+                    p.nextToken(); // Move to END_OBJECT, the last token of the value
                     return new DataAPIVector(unpack(ctxt, base64Value));
                 }
             // Understands [0.4, -0.6, 0.2]
@@ -0,0 +1,128 @@
+package com.datastax.astra.internal.serdes.tables;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.tables.mapping.EntityCodec;
+import com.datastax.astra.internal.reflection.EntityCodecs;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Jackson module mapping the entities having a generated {@link EntityCodec} with their codec.
+ */
+public class EntityCodecModule extends Module {
+
+    /**
+     * Default constructor.
+     */
+    public EntityCodecModule() {
+        // left blank, codecs are looked up per type
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String getModuleName() {
+        return "EntityCodecModule";
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Version version() {
+        return Version.unknownVersion();
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void setupModule(SetupContext context) {
+        context.addSerializers(new Serializers.Base() {
+            @Override
+            public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+                return EntityCodecs.find(type.getRawClass()).map(CodecSerializer::new).orElse(null);
+            }
+        });
+        context.addDeserializers(new Deserializers.Base() {
+            @Override
+            public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+                return EntityCodecs.find(type.getRawClass()).map(CodecDeserializer::new).orElse(null);
+            }
+        });
+    }
+
+    /**
+     * Serializer delegating to a codec.
+     */
+    private static final class CodecSerializer<T> extends StdSerializer<T> {
+
+        /** Codec of the entity. */
+        private final transient EntityCodec<T> codec;
+
+        private CodecSerializer(EntityCodec<T> codec) {
+            super(codec.getEntityClass());
+            this.codec = codec;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            codec.encode(value, gen);
+        }
+    }
+
+    /**
+     * Deserializer delegating to a codec.
+     */
+    private static final class CodecDeserializer<T> extends StdDeserializer<T> {
+
+        /** Codec of the entity. */
+        private final transient EntityCodec<T> codec;
+
+        private CodecDeserializer(EntityCodec<T> codec) {
+            super(codec.getEntityClass());
+            this.codec = codec;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            if (!parser.isExpectedStartObjectToken()) {
+                return (T) ctxt.handleUnexpectedToken(handledType(), parser);
+            }
+            return codec.decode(parser);
+        }
+    }
+}
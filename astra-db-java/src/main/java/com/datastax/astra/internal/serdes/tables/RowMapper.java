@@ -20,14 +20,26 @@ package com.datastax.astra.internal.serdes.tables;
  * #L%
  */
 
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
+import com.datastax.astra.client.exceptions.DataAPIException;
 import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.client.tables.mapping.EntityCodec;
 import com.datastax.astra.internal.reflection.EntityBeanDefinition;
+import com.datastax.astra.internal.reflection.EntityCodecs;
 import com.datastax.astra.internal.reflection.EntityFieldDefinition;
 import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+import static com.datastax.astra.client.exceptions.DataAPIException.ERROR_CODE_SERIALIZATION;
 
 /**
  * Pivot class to interact with Table is a Row. User can wirj POJO that will be converted to Row.
@@ -69,6 +81,7 @@ public class RowMapper {
 
     /**
      * Mapping a row to a bean. If the bean is annotated with @Entity, the column names will be used.
+     * The generated codec of the bean is used when available.
      * @param row
      *      row to map
      * @param serializer
@@ -89,6 +102,10 @@ public class RowMapper {
             if (row == null) {
                 return null;
             }
+            Optional<EntityCodec<T>> codec = EntityCodecs.find(inputRowClass);
+            if (codec.isPresent()) {
+                return mapFromRow(row, serializer, codec.get());
+            }
             EntityBeanDefinition<T> beanDef = new EntityBeanDefinition<>(inputRowClass);
             T input = inputRowClass.getDeclaredConstructor().newInstance();
 
@@ -125,4 +142,50 @@ public class RowMapper {
         }
     }
 
+    /**
+     * Mapping a document of a response to a bean. A lazy document is decoded by the generated codec of the bean
+     * straight from its json, other documents are mapped as rows.
+     *
+     * @param document
+     *      document of the response
+     * @param serializer
+     *      serializer of the table
+     * @param inputRowClass
+     *     input class
+     * @return
+     *     the bean
+     * @param <T>
+     *     type of the bean
+     */
+    public static <T> T mapFromDocument(Document document, DataAPISerializer serializer, Class<T> inputRowClass) {
+        if (document == null) {
+            return null;
+        }
+        Optional<EntityCodec<T>> codec = EntityCodecs.find(inputRowClass);
+        if (codec.isPresent() && document instanceof LazyDocument lazy && !lazy.isDecoded()) {
+            try (JsonParser parser = serializer.getMapper().createParser(lazy.getJson())) {
+                parser.nextToken();
+                return codec.get().decode(parser);
+            } catch (IOException e) {
+                throw new DataAPIException(ERROR_CODE_SERIALIZATION, "Cannot map row to " + inputRowClass.getName(), e);
+            }
+        }
+        Row row = new Row();
+        row.getColumnMap().putAll(document.getDocumentMap());
+        return mapFromRow(row, serializer, inputRowClass);
+    }
+
+    /**
+     * Mapping a row to a bean with its generated codec, the row is replayed as json tokens.
+     */
+    private static <T> T mapFromRow(Row row, DataAPISerializer serializer, EntityCodec<T> codec) throws IOException {
+        ObjectMapper mapper = serializer.getMapper();
+        TokenBuffer buffer = new TokenBuffer(mapper, false);
+        mapper.writeValue(buffer, row.getColumnMap());
+        try (JsonParser parser = buffer.asParser()) {
+            parser.nextToken();
+            return codec.decode(parser);
+        }
+    }
+
 }
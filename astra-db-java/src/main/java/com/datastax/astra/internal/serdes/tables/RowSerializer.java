@@ -149,6 +149,9 @@ public class RowSerializer implements DataAPISerializer {
             module.addDeserializer(SimilarityMetric.class, new SimilarityMetricDeserializer());
             objectMapper.registerModule(module);
 
+            // Entities with a generated codec
+            objectMapper.registerModule(new EntityCodecModule());
+
             // Java 8 Time
             // Create a JavaTimeModule
             JavaTimeModule javaTimeModule = new JavaTimeModule();
@@ -0,0 +1,125 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.writer.BufferedWriter;
+import com.datastax.astra.client.core.writer.BufferedWriterOptions;
+import com.datastax.astra.client.exceptions.DataAPIErrorDescriptor;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.api.DataAPIStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the buffered writer grouping inserts.
+ */
+class BufferedWriterTest {
+
+    /** Fake insertMany returning a document response per record, "bad" records are in error. */
+    private static DataAPIResponse insertMany(List<String> records) {
+        DataAPIStatus status = new DataAPIStatus();
+        List<Document> documentResponses = new ArrayList<>();
+        for (String record : records) {
+            Document documentResponse = new Document().append("_id", record);
+            if (record.startsWith("bad")) {
+                documentResponse.append("status", "ERROR").append("errorsIdx", 0);
+            } else {
+                documentResponse.append("status", "OK");
+            }
+            documentResponses.add(documentResponse);
+        }
+        status.setDocumentResponses(documentResponses);
+        DataAPIResponse response = new DataAPIResponse();
+        response.setStatus(status);
+        DataAPIErrorDescriptor error = new DataAPIErrorDescriptor();
+        error.setErrorCode("DOCUMENT_ALREADY_EXISTS");
+        error.setMessage("already exists");
+        response.setErrors(List.of(error));
+        return response;
+    }
+
+    @Test
+    void shouldGroupInsertsInBatches() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        try (BufferedWriter<String, Object> writer = new BufferedWriter<>(
+                new BufferedWriterOptions().batchSize(10).lingerMillis(1000),
+                records -> {
+                    calls.incrementAndGet();
+                    return insertMany(records);
+                }, (status, id) -> id)) {
+            for (int i = 0; i < 25; i++) {
+                results.add(writer.insert("doc" + i));
+            }
+        }
+        assertThat(calls.get()).isEqualTo(3);
+        for (int i = 0; i < 25; i++) {
+            assertThat(results.get(i).get()).isEqualTo("doc" + i);
+        }
+    }
+
+    @Test
+    void shouldFlushAfterLinger() throws Exception {
+        try (BufferedWriter<String, Object> writer = new BufferedWriter<>(
+                new BufferedWriterOptions().lingerMillis(10),
+                BufferedWriterTest::insertMany, (status, id) -> id)) {
+            assertThat(writer.insert("doc").get()).isEqualTo("doc");
+            assertThat(writer.getBatchCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldReportErrorPerRecord() {
+        CompletableFuture<Object> ok;
+        CompletableFuture<Object> ko;
+        try (BufferedWriter<String, Object> writer = new BufferedWriter<>(
+                new BufferedWriterOptions(), BufferedWriterTest::insertMany, (status, id) -> id)) {
+            ok = writer.insert("doc");
+            ko = writer.insert("bad");
+        }
+        assertThat(ok.join()).isEqualTo("doc");
+        assertThatThrownBy(ko::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("DOCUMENT_ALREADY_EXISTS");
+    }
+
+    @Test
+    void shouldSendEveryRecordAcceptedBeforeClose() throws Exception {
+        List<CompletableFuture<Object>> accepted = java.util.Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        BufferedWriter<String, Object> writer = new BufferedWriter<>(
+                new BufferedWriterOptions().batchSize(7).lingerMillis(1000),
+                BufferedWriterTest::insertMany, (status, id) -> id);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int p = 0; p < 4; p++) {
+            producers.execute(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    try {
+                        accepted.add(writer.insert("doc" + i));
+                    } catch (IllegalStateException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        Thread.sleep(5);
+        writer.close();
+        producers.shutdown();
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(accepted.size() + rejected.get()).isEqualTo(4000);
+        for (CompletableFuture<Object> result : accepted) {
+            assertThat(result.isDone()).isTrue();
+        }
+        assertThatThrownBy(() -> writer.insert("late")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,184 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.paging.Page;
+import com.datastax.astra.internal.command.AbstractCursor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the Reactive Streams view of cursors.
+ */
+class CursorPublisherTest {
+
+    /** Cursor returning pages of 10 integers. */
+    static class PagedCursor extends AbstractCursor<Integer, Integer> {
+
+        private final int pageCount;
+
+        private int fetchedPages;
+
+        PagedCursor(int pageCount) {
+            super(Integer.class);
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        protected void fetchNextPage() {
+            if (currentPage == null || currentPage.getPageState().isPresent()) {
+                List<Integer> results = IntStream.range(fetchedPages * 10, (fetchedPages + 1) * 10)
+                        .boxed().collect(Collectors.toList());
+                fetchedPages++;
+                currentPage = new Page<>(fetchedPages < pageCount ? "page" + fetchedPages : null, results, null);
+                buffer.addAll(results);
+            }
+        }
+    }
+
+    /** Subscriber requesting a fixed amount of records then cancelling. */
+    static class TakeSubscriber implements Flow.Subscriber<Integer> {
+
+        private final long take;
+
+        private final List<Integer> received = new ArrayList<>();
+
+        private final CompletableFuture<List<Integer>> result = new CompletableFuture<>();
+
+        private Flow.Subscription subscription;
+
+        TakeSubscriber(long take) {
+            this.take = take;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            received.add(item);
+            if (received.size() == take) {
+                subscription.cancel();
+                result.complete(received);
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(received);
+        }
+    }
+
+    @Test
+    void shouldPublishAllPages() throws Exception {
+        PagedCursor cursor = new PagedCursor(3);
+        TakeSubscriber subscriber = new TakeSubscriber(Long.MAX_VALUE);
+        cursor.publisher().subscribe(subscriber);
+        assertThat(subscriber.result.get(5, TimeUnit.SECONDS)).hasSize(30);
+        assertThat(cursor.fetchedPages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldFetchPagesOnDemandOnly() throws Exception {
+        PagedCursor cursor = new PagedCursor(100);
+        TakeSubscriber subscriber = new TakeSubscriber(15);
+        cursor.publisher().subscribe(subscriber);
+        assertThat(subscriber.result.get(5, TimeUnit.SECONDS)).hasSize(15);
+        assertThat(cursor.fetchedPages).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectSecondSubscriber() throws Exception {
+        Flow.Publisher<Integer> publisher = new PagedCursor(1).publisher();
+        publisher.subscribe(new TakeSubscriber(1));
+        TakeSubscriber second = new TakeSubscriber(1);
+        publisher.subscribe(second);
+        assertThat(second.result).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldRejectSecondPublisherOfSameCursor() throws Exception {
+        PagedCursor cursor = new PagedCursor(1);
+        TakeSubscriber first = new TakeSubscriber(Long.MAX_VALUE);
+        cursor.publisher().subscribe(first);
+        TakeSubscriber second = new TakeSubscriber(Long.MAX_VALUE);
+        cursor.publisher().subscribe(second);
+        assertThat(first.result.get(5, TimeUnit.SECONDS)).hasSize(10);
+        assertThat(second.result).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldNotUseCommonPoolByDefault() throws Exception {
+        CompletableFuture<String> threadName = new CompletableFuture<>();
+        new PagedCursor(1).publisher().subscribe(new TakeSubscriber(1) {
+            @Override
+            public void onNext(Integer item) {
+                threadName.complete(Thread.currentThread().getName());
+                super.onNext(item);
+            }
+        });
+        assertThat(threadName.get(5, TimeUnit.SECONDS)).startsWith("cursor-publisher-");
+    }
+
+    @Test
+    void shouldCloseCursorAfterPageFetchedWhenCancelled() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> closingThread = new CompletableFuture<>();
+        PagedCursor cursor = new PagedCursor(3) {
+            @Override
+            protected void fetchNextPage() {
+                fetching.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                assertThat(closingThread.isDone()).isFalse();
+                super.fetchNextPage();
+            }
+
+            @Override
+            public void close() {
+                closingThread.complete(Thread.currentThread().getName());
+                super.close();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "drain"));
+        try {
+            TakeSubscriber subscriber = new TakeSubscriber(Long.MAX_VALUE);
+            cursor.publisher(executor).subscribe(subscriber);
+            assertThat(fetching.await(5, TimeUnit.SECONDS)).isTrue();
+            // cancelled from the subscriber thread while the page is fetched
+            subscriber.subscription.cancel();
+            assertThat(closingThread.isDone()).isFalse();
+            release.countDown();
+            assertThat(closingThread.get(5, TimeUnit.SECONDS)).isEqualTo("drain");
+            assertThat(subscriber.received).isEmpty();
+            assertThat(cursor.fetchedPages).isEqualTo(1);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
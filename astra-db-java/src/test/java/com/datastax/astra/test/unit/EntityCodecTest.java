@@ -0,0 +1,362 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.commands.options.TableFindOneOptions;
+import com.datastax.astra.client.tables.commands.options.TableFindOptions;
+import com.datastax.astra.client.tables.definition.TableDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableVectorIndexDefinition;
+import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.client.tables.mapping.EntityCodec;
+import com.datastax.astra.internal.codegen.EntityCodecProcessor;
+import com.datastax.astra.internal.reflection.EntityBeanDefinition;
+import com.datastax.astra.internal.reflection.EntityCodecs;
+import com.datastax.astra.internal.serdes.tables.RowMapper;
+import com.datastax.astra.internal.serdes.tables.RowSerializer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Test for the entity codecs generated at compile time.
+ */
+class EntityCodecTest {
+
+    private static final String PLAYER = """
+            package sample;
+
+            import com.datastax.astra.client.core.query.SortOrder;
+            import com.datastax.astra.client.core.vector.DataAPIVector;
+            import com.datastax.astra.client.tables.mapping.Column;
+            import com.datastax.astra.client.tables.mapping.ColumnVector;
+            import com.datastax.astra.client.tables.mapping.EntityTable;
+            import com.datastax.astra.client.tables.mapping.PartitionBy;
+            import com.datastax.astra.client.tables.mapping.PartitionSort;
+            import java.util.List;
+            import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+            @EntityTable("players")
+            public class Player {
+                @PartitionBy(0)
+                @Column(name = "player_id")
+                private String id;
+                @PartitionSort(position = 0, order = SortOrder.DESCENDING)
+                private int score;
+                private boolean active;
+                private List<String> tags;
+                private Map<String, Double> stats;
+                @ColumnVector(name = "embedding", dimension = 3)
+                private DataAPIVector vector;
+
+                public String getId() { return id; }
+                public void setId(String id) { this.id = id; }
+                public int getScore() { return score; }
+                public void setScore(int score) { this.score = score; }
+                public boolean isActive() { return active; }
+                public void setActive(boolean active) { this.active = active; }
+                public List<String> getTags() { return tags; }
+                public void setTags(List<String> tags) { this.tags = tags; }
+                public Map<String, Double> getStats() { return stats; }
+                public void setStats(Map<String, Double> stats) { this.stats = stats; }
+                public DataAPIVector getVector() { return vector; }
+                public void setVector(DataAPIVector vector) { this.vector = vector; }
+
+                public static Player of(String id, int score) {
+                    Player player = new Player();
+                    player.id = id;
+                    player.score = score;
+                    player.active = true;
+                    player.tags = List.of("a", "b");
+                    player.stats = Map.of("ratio", 0.5);
+                    player.vector = new DataAPIVector(new float[] {0.1f, 0.2f, 0.3f});
+                    return player;
+                }
+            }
+            """;
+
+    private static final String ABSTRACT_PLAYER = """
+            package sample;
+
+            @com.datastax.astra.client.tables.mapping.EntityTable("abstract_players")
+            public abstract class AbstractPlayer {
+                public String id;
+            }
+            """;
+
+    private static final String LOMBOK_FLAG = """
+            package sample;
+
+            @lombok.Data
+            @com.datastax.astra.client.tables.mapping.EntityTable("flags")
+            public class LombokFlag {
+                private String id;
+                private boolean isActive;
+            }
+            """;
+
+    private static final String LOMBOK_FLUENT = """
+            package sample;
+
+            @lombok.Data
+            @lombok.experimental.Accessors(fluent = true)
+            @com.datastax.astra.client.tables.mapping.EntityTable("fluent")
+            public class LombokFluent {
+                private String id;
+            }
+            """;
+
+    private static final String LOMBOK_CONFIGURED = """
+            package sample.configured;
+
+            @lombok.Data
+            @com.datastax.astra.client.tables.mapping.EntityTable("configured")
+            public class LombokConfigured {
+                private String id;
+            }
+            """;
+
+    private static final RowSerializer SERIALIZER = new RowSerializer();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static Path output;
+
+    private static List<Diagnostic<? extends JavaFileObject>> diagnostics;
+
+    private static Class<?> playerClass;
+
+    /** Row, table and indexes of the player as introspected, before registering its codec. */
+    private static String reflectionRow;
+    private static String reflectionTable;
+    private static String reflectionIndexes;
+
+    @BeforeAll
+    static void compileEntities() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeTrue(compiler != null, "Tests require a JDK");
+        Path sources = Files.createTempDirectory("entity-codec-src");
+        output = Files.createTempDirectory("entity-codec-out");
+        Files.createDirectories(sources.resolve("sample"));
+        Path player = Files.writeString(sources.resolve("sample/Player.java"), PLAYER);
+        Path abstractPlayer = Files.writeString(sources.resolve("sample/AbstractPlayer.java"), ABSTRACT_PLAYER);
+        Path lombokFlag = Files.writeString(sources.resolve("sample/LombokFlag.java"), LOMBOK_FLAG);
+        Path lombokFluent = Files.writeString(sources.resolve("sample/LombokFluent.java"), LOMBOK_FLUENT);
+        Files.createDirectories(sources.resolve("sample/configured"));
+        Files.writeString(sources.resolve("sample/configured/lombok.config"), "lombok.accessors.fluent = true\n");
+        Path lombokConfigured = Files.writeString(sources.resolve("sample/configured/LombokConfigured.java"),
+                LOMBOK_CONFIGURED);
+
+        // Client classes and Jackson, wherever the test runner put them
+        String classpath = Stream.concat(
+                        Stream.of(System.getProperty("java.class.path").split(File.pathSeparator)),
+                        Stream.of(EntityCodec.class, JsonGenerator.class, ObjectMapper.class)
+                                .map(EntityCodecTest::location))
+                .distinct()
+                .collect(Collectors.joining(File.pathSeparator));
+        DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(collector, null, null)) {
+            boolean compiled = compiler.getTask(null, files, collector,
+                    List.of("-classpath", classpath, "-d", output.toString(),
+                            "-processor", EntityCodecProcessor.class.getName()),
+                    null, files.getJavaFileObjects(player.toFile(), abstractPlayer.toFile(), lombokFlag.toFile(),
+                            lombokFluent.toFile(), lombokConfigured.toFile())).call();
+            diagnostics = collector.getDiagnostics();
+            assertThat(compiled).as(diagnostics.toString()).isTrue();
+        }
+
+        URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()},
+                EntityCodecTest.class.getClassLoader());
+        playerClass = loader.loadClass("sample.Player");
+        Object entity = player();
+        reflectionRow = SERIALIZER.marshall(RowMapper.mapAsRow(entity));
+        reflectionTable = SERIALIZER.marshall(EntityBeanDefinition.createTableCommand("players", playerClass));
+        reflectionIndexes = SERIALIZER.marshall(EntityBeanDefinition.listVectorIndexDefinitions("players", playerClass));
+        EntityCodecs.register((EntityCodec<?>) loader.loadClass("sample.PlayerEntityCodec")
+                .getConstructor().newInstance());
+    }
+
+    private static String location(Class<?> clazz) {
+        try {
+            return Path.of(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object player() throws Exception {
+        return playerClass.getMethod("of", String.class, int.class).invoke(null, "p1", 42);
+    }
+
+    private static Map<?, ?> json(String json) throws Exception {
+        return MAPPER.readValue(json, Map.class);
+    }
+
+    @Test
+    void shouldGenerateCodecsAndServiceFile() throws Exception {
+        Path serviceFile = output.resolve(EntityCodecProcessor.SERVICE_FILE);
+        assertThat(Files.readAllLines(serviceFile)).containsExactly("sample.PlayerEntityCodec");
+        assertThat(output.resolve("sample/AbstractPlayerEntityCodec.class")).doesNotExist();
+        assertThat(diagnostics)
+                .filteredOn(d -> d.getKind() == Diagnostic.Kind.WARNING)
+                .extracting(d -> d.getMessage(null))
+                .anyMatch(m -> m.contains("sample.AbstractPlayer") && m.contains("abstract class"));
+    }
+
+    @Test
+    void shouldIntrospectLombokEntitiesWithOtherAccessorNames() {
+        // Lombok names the accessors of a boolean 'isActive' isActive() and setActive()
+        assertThat(output.resolve("sample/LombokFlagEntityCodec.class")).doesNotExist();
+        assertThat(output.resolve("sample/LombokFluentEntityCodec.class")).doesNotExist();
+        assertThat(output.resolve("sample/configured/LombokConfiguredEntityCodec.class")).doesNotExist();
+        List<String> warnings = diagnostics.stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.WARNING)
+                .map(d -> d.getMessage(null))
+                .collect(Collectors.toList());
+        assertThat(warnings).anyMatch(m -> m.contains("sample.LombokFlag") && m.contains("'isActive'"));
+        assertThat(warnings).anyMatch(m -> m.contains("sample.LombokFluent") && m.contains("@Accessors"));
+        assertThat(warnings).anyMatch(m -> m.contains("sample.configured.LombokConfigured") && m.contains("lombok.config"));
+    }
+
+    @Test
+    void shouldEncodeAsIntrospectedRows() throws Exception {
+        assertThat(EntityCodecs.find(playerClass)).isPresent();
+        String encoded = SERIALIZER.marshall(player());
+        assertThat(json(encoded)).isEqualTo(json(reflectionRow));
+        assertThat(json(encoded)).containsEntry("player_id", "p1").containsKey("embedding");
+    }
+
+    @Test
+    void shouldDecodeRows() throws Exception {
+        String encoded = SERIALIZER.marshall(player());
+        Row row = SERIALIZER.unMarshallBean(encoded, Row.class);
+        row.put("unknown", Map.of("nested", List.of(1, 2)));
+        Object decoded = RowMapper.mapFromRow(row, SERIALIZER, playerClass);
+        assertThat(decoded).isInstanceOf(playerClass);
+        assertThat(SERIALIZER.marshall(decoded)).isEqualTo(encoded);
+        assertThat(SERIALIZER.marshall(SERIALIZER.unMarshallBean(encoded, playerClass))).isEqualTo(encoded);
+    }
+
+    @Test
+    void shouldDefineTableAsIntrospection() throws Exception {
+        assertThat(json(SERIALIZER.marshall(EntityBeanDefinition.createTableCommand("players", playerClass))))
+                .isEqualTo(json(reflectionTable));
+        assertThat(SERIALIZER.marshall(EntityBeanDefinition.listVectorIndexDefinitions("players", playerClass)))
+                .isEqualTo(reflectionIndexes);
+    }
+
+    /**
+     * Codec delegating to the generated one, recording the parsers it decodes from.
+     */
+    private static final class RecordingCodec<T> implements EntityCodec<T> {
+
+        private final EntityCodec<T> delegate;
+
+        private final List<JsonParser> parsers = new CopyOnWriteArrayList<>();
+
+        private RecordingCodec(EntityCodec<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Class<T> getEntityClass() {
+            return delegate.getEntityClass();
+        }
+
+        @Override
+        public void encode(T entity, JsonGenerator generator) throws IOException {
+            delegate.encode(entity, generator);
+        }
+
+        @Override
+        public T decode(JsonParser parser) throws IOException {
+            parsers.add(parser);
+            return delegate.decode(parser);
+        }
+
+        @Override
+        public TableDefinition getTableDefinition() {
+            return delegate.getTableDefinition();
+        }
+
+        @Override
+        public String getTableName() {
+            return delegate.getTableName();
+        }
+
+        @Override
+        public List<TableVectorIndexDefinition> getVectorIndexDefinitions() {
+            return delegate.getVectorIndexDefinitions();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDecodeFindResultsWithCodec() throws Exception {
+        String encoded = SERIALIZER.marshall(player());
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String response = request.contains("findOne")
+                    ? "{\"data\":{\"document\":" + encoded + "}}"
+                    : "{\"data\":{\"documents\":[" + encoded + "," + encoded + "],\"nextPageState\":null}}";
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        EntityCodec<Object> generated = EntityCodecs.find((Class<Object>) playerClass).orElseThrow();
+        RecordingCodec<Object> codec = new RecordingCodec<>(generated);
+        EntityCodecs.register(codec);
+        try {
+            Table<Row> table = new Database("http://localhost:" + server.getAddress().getPort(),
+                    new DatabaseOptions("token", new DataAPIClientOptions())).getTable("players");
+            List<?> players = table.findPage(null, new TableFindOptions(), playerClass).getResults();
+            Optional<?> player = table.findOne(null, new TableFindOneOptions(), playerClass);
+
+            assertThat(players).hasSize(2);
+            assertThat(SERIALIZER.marshall(players.get(0))).isEqualTo(encoded);
+            assertThat(player).isPresent();
+            assertThat(SERIALIZER.marshall(player.get())).isEqualTo(encoded);
+            // decoded from the json of the response, not from rows written back as tokens
+            assertThat(codec.parsers).hasSize(3);
+            assertThat(codec.parsers).noneMatch(parser -> parser.getClass().getEnclosingClass() == TokenBuffer.class);
+        } finally {
+            EntityCodecs.register(generated);
+            server.stop(0);
+        }
+    }
+}
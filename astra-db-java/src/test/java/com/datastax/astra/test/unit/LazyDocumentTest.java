@@ -0,0 +1,114 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.collections.definition.documents.LazyDocument;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.datastax.astra.internal.serdes.collections.DocumentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.datastax.astra.client.collections.Collection.DEFAULT_COLLECTION_SERIALIZER;
+import static com.datastax.astra.client.collections.Collection.LAZY_COLLECTION_SERIALIZER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the documents decoded on demand.
+ */
+class LazyDocumentTest {
+
+    private static final String RESPONSE = "{\"data\":{\"documents\":["
+            + "{\"_id\":\"doc1\",\"name\":\"café \\\"1\\\"\",\"age\":42,\"score\":1.5E-3,\"active\":true,\"none\":null,"
+            + "\"address\":{\"city\":\"Paris\",\"zip\":[75,1]},\"$vector\":[0.1,0.2,0.3]},"
+            + "{\"_id\":\"doc2\",\"name\":\"other\",\"age\":7}"
+            + "],\"nextPageState\":null}}";
+
+    public static class Person {
+        public String name;
+        public int age;
+    }
+
+    private static List<Document> documents(String json) {
+        return LAZY_COLLECTION_SERIALIZER.unMarshallBean(json, DataAPIResponse.class).getData().getDocuments();
+    }
+
+    @Test
+    void shouldDecodeFieldsOnDemand() {
+        Document doc = documents(RESPONSE).get(0);
+        assertThat(doc).isInstanceOf(LazyDocument.class);
+        assertThat(doc.getString("name")).isEqualTo("café \"1\"");
+        assertThat(doc.getInteger("age")).isEqualTo(42);
+        assertThat(doc.getDouble("score")).isEqualTo(1.5E-3);
+        assertThat(doc.get("address.city")).isEqualTo("Paris");
+        assertThat(doc.getVector().get().getEmbeddings()).containsExactly(0.1f, 0.2f, 0.3f);
+        assertThat(doc.containsKey("none")).isTrue();
+        assertThat(doc.containsKey("missing")).isFalse();
+        assertThat(doc.getDocumentMap().keySet())
+                .containsExactly("_id", "name", "age", "score", "active", "none", "address", "$vector");
+        assertThat(((LazyDocument) doc).isDecoded()).isFalse();
+    }
+
+    @Test
+    void shouldMatchEagerDocuments() {
+        List<Document> eager = DEFAULT_COLLECTION_SERIALIZER
+                .unMarshallBean(RESPONSE, DataAPIResponse.class).getData().getDocuments();
+        List<Document> lazy = documents(RESPONSE);
+        for (int i = 0; i < eager.size(); i++) {
+            assertThat(((LazyDocument) lazy.get(i)).toEagerDocument()).isEqualTo(eager.get(i));
+            assertThat(lazy.get(i).toJson()).isEqualTo(eager.get(i).toJson());
+        }
+    }
+
+    @Test
+    void shouldMapWithoutDecoding() {
+        LazyDocument doc = (LazyDocument) documents(RESPONSE).get(1);
+        Person person = doc.map(Person.class);
+        assertThat(person.name).isEqualTo("other");
+        assertThat(person.age).isEqualTo(7);
+        assertThat(doc.map(Document.class)).isEqualTo(doc);
+        assertThat(doc.isDecoded()).isFalse();
+    }
+
+    @Test
+    void shouldDecodeAllOnModification() {
+        LazyDocument doc = (LazyDocument) documents(RESPONSE).get(1);
+        doc.append("age", 8).remove("name");
+        assertThat(doc.isDecoded()).isTrue();
+        assertThat(doc.getInteger("age")).isEqualTo(8);
+        assertThat(doc.getDocumentMap().keySet()).containsExactly("_id", "age");
+        assertThat(doc.map(Person.class).age).isEqualTo(8);
+    }
+
+    @Test
+    void shouldDecodeEscapedFieldNamesEagerly() {
+        Document doc = documents("{\"data\":{\"documents\":[{\"_id\":1,\"a&.b\":2}]}}").get(0);
+        assertThat(doc).isNotInstanceOf(LazyDocument.class);
+        assertThat(doc.getDocumentMap().keySet()).containsExactly("_id", "a.b");
+    }
+
+    @Test
+    void shouldSelectSerializerFromOptions() {
+        CollectionFindOptions options = new CollectionFindOptions().lazyDocuments(true);
+        assertThat(options.getSerializer()).isEqualTo(LAZY_COLLECTION_SERIALIZER);
+        assertThat(options.lazyDocuments(false).getSerializer()).isEqualTo(DEFAULT_COLLECTION_SERIALIZER);
+
+        CollectionFindOneOptions findOneOptions = new CollectionFindOneOptions().lazyDocuments(true);
+        assertThat(findOneOptions.getSerializer()).isEqualTo(LAZY_COLLECTION_SERIALIZER);
+        assertThat(findOneOptions.lazyDocuments(false).getSerializer()).isEqualTo(DEFAULT_COLLECTION_SERIALIZER);
+    }
+
+    @Test
+    void shouldKeepCustomSerializer() {
+        DataAPISerializer custom = new DocumentSerializer();
+        CollectionFindOptions options = new CollectionFindOptions().serializer(custom).lazyDocuments(true);
+        assertThat(options.getSerializer()).isSameAs(custom);
+        assertThat(options.lazyDocuments(false).getSerializer()).isSameAs(custom);
+
+        CollectionFindOneOptions findOneOptions = new CollectionFindOneOptions().serializer(custom).lazyDocuments(true);
+        assertThat(findOneOptions.getSerializer()).isSameAs(custom);
+        assertThat(findOneOptions.lazyDocuments(false).getSerializer()).isSameAs(custom);
+    }
+}
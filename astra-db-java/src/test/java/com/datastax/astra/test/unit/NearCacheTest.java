@@ -0,0 +1,212 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.CollectionOptions;
+import com.datastax.astra.client.collections.commands.Updates;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOneOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionUpdateOneOptions;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.cache.NearCache;
+import com.datastax.astra.client.core.cache.NearCacheOptions;
+import com.datastax.astra.client.core.commands.PreparedOperation;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.TableOptions;
+import com.datastax.astra.client.tables.definition.rows.Row;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.datastax.astra.client.core.commands.PreparedCommand.bindMarker;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the near cache used on point lookups.
+ */
+class NearCacheTest {
+
+    @Test
+    void shouldCacheValuesAndNegativeLookups() {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions());
+        assertThat(cache.get("k1")).isNull();
+        cache.put("k1", "v1");
+        cache.put("k2", null);
+        assertThat(cache.get("k1").getValue()).isEqualTo("v1");
+        assertThat(cache.get("k2").isPresent()).isFalse();
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getNegativeHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheNegativeLookupsWhenDisabled() {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions().cacheNegativeLookups(false));
+        cache.put("k1", null);
+        assertThat(cache.get("k1")).isNull();
+    }
+
+    @Test
+    void shouldExpireEntries() throws InterruptedException {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions().ttlMillis(20));
+        cache.put("k1", "v1");
+        Thread.sleep(50);
+        assertThat(cache.get("k1")).isNull();
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInvalidateEntries() {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions());
+        cache.put("k1", "v1");
+        cache.put("k2", "v2");
+        cache.invalidate("k1");
+        assertThat(cache.get("k1")).isNull();
+        assertThat(cache.get("k2")).isNotNull();
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheLoadsInvalidatedInFlight() {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions());
+        long generation = cache.generation("k1");
+        // a write invalidates the key while the findOne is in flight, even if it was not cached
+        cache.invalidate("k1");
+        cache.put("k1", "stale", generation);
+        assertThat(cache.get("k1")).isNull();
+
+        generation = cache.generation("k1");
+        cache.invalidateAll();
+        cache.put("k1", "stale", generation);
+        assertThat(cache.get("k1")).isNull();
+
+        generation = cache.generation("k1");
+        cache.put("k1", "fresh", generation);
+        assertThat(cache.get("k1").getValue()).isEqualTo("fresh");
+    }
+
+    @Test
+    void shouldKeepPopularEntriesWhenFull() {
+        NearCache<String, String> cache = new NearCache<>(new NearCacheOptions().maxSize(100));
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, "v");
+            for (int j = 0; j < 5; j++) {
+                cache.get("hot" + i);
+            }
+        }
+        // scan of keys accessed once
+        for (int i = 0; i < 1000; i++) {
+            cache.put("cold" + i, "v");
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+        long hotKeys = java.util.stream.IntStream.range(0, 50)
+                .filter(i -> cache.get("hot" + i) != null)
+                .count();
+        assertThat(hotKeys).isEqualTo(50);
+    }
+
+    @Test
+    void shouldInvalidateBoundIdOfPreparedUpdates() throws Exception {
+        // Data API answering findOne with the current version of the document
+        AtomicInteger version = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (request.contains("updateOne")) {
+                version.incrementAndGet();
+            }
+            String response = request.contains("updateOne")
+                    ? "{\"status\":{\"matchedCount\":1,\"modifiedCount\":1}}"
+                    : "{\"data\":{\"document\":{\"_id\":\"doc1\",\"version\":" + version.get() + "}}}";
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            Database db = new Database("http://localhost:" + server.getAddress().getPort(),
+                    new DatabaseOptions("token", new DataAPIClientOptions()));
+            Collection<Document> collection = db.getCollection("c",
+                    new CollectionOptions("token", new DataAPIClientOptions()).nearCacheOptions(new NearCacheOptions()));
+            CollectionFindOneOptions findOneOptions = new CollectionFindOneOptions();
+            assertThat(collection.findOne(Filters.eq("_id", "doc1"), findOneOptions).get().getInteger("version"))
+                    .isEqualTo(0);
+
+            PreparedOperation<?> update = collection.prepareUpdateOne(
+                    Filters.eq("_id", bindMarker("id")),
+                    Updates.set("version", bindMarker("version")),
+                    new CollectionUpdateOneOptions());
+            update.execute("doc1", 1);
+            assertThat(collection.findOne(Filters.eq("_id", "doc1"), findOneOptions).get().getInteger("version"))
+                    .isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldInvalidateInsertedPrimaryKeysOfTables() throws Exception {
+        // Data API of a table keyed by (uuid, timestamp), answering findOne with the current version of the row
+        UUID id = UUID.fromString("0192d1f4-8d3a-7c0e-a8b0-1c2d3e4f5a6b");
+        Instant ts = Instant.parse("2024-01-01T10:00:00Z");
+        AtomicInteger version = new AtomicInteger();
+        AtomicInteger listTables = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String response;
+            if (request.contains("listTables")) {
+                listTables.incrementAndGet();
+                response = "{\"status\":{\"tables\":[{\"name\":\"t\",\"definition\":{"
+                        + "\"columns\":{\"id\":{\"type\":\"uuid\"},\"ts\":{\"type\":\"timestamp\"},"
+                        + "\"version\":{\"type\":\"int\"}},"
+                        + "\"primaryKey\":{\"partitionBy\":[\"id\"],\"partitionSort\":{\"ts\":1}}}}]}}";
+            } else if (request.contains("insertOne")) {
+                version.incrementAndGet();
+                response = "{\"status\":{\"primaryKeySchema\":{\"id\":{\"type\":\"uuid\"},"
+                        + "\"ts\":{\"type\":\"timestamp\"}},"
+                        + "\"insertedIds\":[[\"" + id + "\",\"2024-01-01T10:00:00.000Z\"]]}}";
+            } else {
+                response = "{\"data\":{\"document\":{\"id\":\"" + id + "\",\"ts\":\"2024-01-01T10:00:00.000Z\","
+                        + "\"version\":" + version.get() + "}}}";
+            }
+            byte[] body = response.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            // entries of the schema cache expire at once, the primary key is still loaded a single time
+            Database db = new Database("http://localhost:" + server.getAddress().getPort(),
+                    new DatabaseOptions("token", new DataAPIClientOptions()).schemaCacheTtl(Duration.ofMillis(1)));
+            Table<Row> table = db.getTable("t",
+                    new TableOptions("token", new DataAPIClientOptions()).nearCacheOptions(new NearCacheOptions()));
+            Filter pk = new Filter(Map.of("id", id, "ts", ts));
+            assertThat(table.findOne(pk).get().getInteger("version")).isEqualTo(0);
+            Thread.sleep(5);
+            assertThat(table.findOne(pk).get().getInteger("version")).isEqualTo(0);
+
+            table.insertOne(new Row().addUUID("id", id).addTimeStamp("ts", ts).addInt("version", 1));
+            Thread.sleep(5);
+            assertThat(table.findOne(pk).get().getInteger("version")).isEqualTo(1);
+            assertThat(listTables.get()).isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.commands.Updates;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.core.commands.PreparedCommand;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.FilterOperator;
+import com.datastax.astra.client.core.query.Filters;
+import com.datastax.astra.client.core.query.Sort;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.datastax.astra.internal.serdes.collections.DocumentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static com.datastax.astra.client.core.commands.PreparedCommand.bindMarker;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the prepared commands, bound commands must serialize as the equivalent plain commands.
+ */
+class PreparedCommandTest {
+
+    private static final DataAPISerializer SERIALIZER = new DocumentSerializer();
+
+    private static Command findOne(Filter filter) {
+        return Command.create("findOne")
+                .withFilter(filter)
+                .withSort(new Sort[] { Sort.ascending("name") })
+                .withOptions(new Document().append("includeSimilarity", true));
+    }
+
+    private static String json(Command command) {
+        return command.serialize(SERIALIZER).toString();
+    }
+
+    @Test
+    void shouldSerializeAsPlainCommand() {
+        PreparedCommand prepared = PreparedCommand.prepare(findOne(Filters.and(
+                Filters.eq("_id", bindMarker("id")),
+                new Filter("age", FilterOperator.GREATER_THAN, bindMarker("age")))), SERIALIZER);
+        assertThat(prepared.getParameters()).containsExactly("id", "age");
+
+        assertThat(json(prepared.bind("doc1", 42)))
+                .isEqualTo(json(findOne(Filters.and(Filters.eq("_id", "doc1"), Filters.gt("age", 42)))));
+        assertThat(json(prepared.bind(Map.of("id", "doc2", "age", 7L))))
+                .isEqualTo(json(findOne(Filters.and(Filters.eq("_id", "doc2"), Filters.gt("age", 7L)))));
+    }
+
+    @Test
+    void shouldEscapeAndSerializeValues() {
+        PreparedCommand prepared = PreparedCommand.prepare(findOne(Filters.eq("_id", bindMarker("id"))), SERIALIZER);
+        String quoted = "a \"quoted\" \\ value é";
+        assertThat(json(prepared.bind(quoted))).isEqualTo(json(findOne(Filters.eq("_id", quoted))));
+        UUID uuid = UUID.randomUUID();
+        assertThat(json(prepared.bind(uuid))).isEqualTo(json(findOne(Filters.eq("_id", uuid))));
+        // null values are written, not dropped as in plain commands
+        assertThat(json(prepared.bind((Object) null))).contains("\"filter\":{\"_id\":null}");
+    }
+
+    @Test
+    void shouldReuseMarkersInUpdates() {
+        PreparedCommand prepared = PreparedCommand.prepare(Command.create("updateOne")
+                .withFilter(Filters.eq("_id", bindMarker("id")))
+                .withUpdate(Updates.set("owner", bindMarker("id")).set("count", bindMarker("count"))), SERIALIZER);
+        assertThat(prepared.getParameters()).containsExactly("id", "count");
+        assertThat(json(prepared.bind("doc1", 3))).isEqualTo(json(Command.create("updateOne")
+                .withFilter(Filters.eq("_id", "doc1"))
+                .withUpdate(Updates.set("owner", "doc1").set("count", 3))));
+    }
+
+    @Test
+    void shouldRejectInvalidBindings() {
+        PreparedCommand prepared = PreparedCommand.prepare(findOne(Filters.eq("_id", bindMarker("id"))), SERIALIZER);
+        assertThatThrownBy(() -> prepared.bind("a", "b")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> prepared.bind(Map.of("other", "a"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bindMarker("not valid")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
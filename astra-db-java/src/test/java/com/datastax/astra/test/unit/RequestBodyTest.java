@@ -0,0 +1,194 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.internal.http.RequestBody;
+import com.datastax.astra.internal.serdes.DataAPISerializer;
+import com.datastax.astra.internal.serdes.collections.DocumentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test for the request bodies streamed into pooled chunks.
+ */
+class RequestBodyTest {
+
+    private static final DataAPISerializer SERIALIZER = new DocumentSerializer();
+
+    private static Command insertMany(int count) {
+        List<Document> documents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            documents.add(new Document().id("doc" + i)
+                    .append("name", "café n°" + i)
+                    .append("vector", new float[] { 0.1f * i, 0.2f, 0.3f }));
+        }
+        return Command.create("insertMany").withDocuments(documents);
+    }
+
+    /**
+     * Read all the bytes of a body publisher, requesting one buffer at a time.
+     */
+    private static String publish(HttpRequest.BodyPublisher publisher) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean[] completed = new boolean[1];
+        publisher.subscribe(new Flow.Subscriber<>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.write(bytes, 0, bytes.length);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        assertThat(completed[0]).isTrue();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void shouldStreamAsMarshalledString() {
+        Command command = insertMany(2000);
+        String expected = SERIALIZER.marshall(command);
+        RequestBody body = command.serialize(SERIALIZER);
+        assertThat(expected.length()).isGreaterThan(RequestBody.CHUNK_SIZE * 3);
+        assertThat(body.toString()).isEqualTo(expected);
+        assertThat(body.getLength()).isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+        body.release();
+    }
+
+    @Test
+    void shouldPublishOnEachSubscription() {
+        Command command = insertMany(500);
+        String expected = SERIALIZER.marshall(command);
+        RequestBody body = command.serialize(SERIALIZER);
+        HttpRequest.BodyPublisher publisher = body.publisher();
+        assertThat(publisher.contentLength()).isEqualTo(body.getLength());
+        // retries subscribe again and read from the start
+        assertThat(publish(publisher)).isEqualTo(expected);
+        assertThat(publish(publisher)).isEqualTo(expected);
+        body.release();
+    }
+
+    @Test
+    void shouldReuseReleasedChunks() {
+        Command large = insertMany(1000);
+        RequestBody first = large.serialize(SERIALIZER);
+        first.release();
+        Command small = insertMany(1);
+        RequestBody second = small.serialize(SERIALIZER);
+        assertThat(second.toString()).isEqualTo(SERIALIZER.marshall(small));
+        assertThat(publish(second.publisher())).isEqualTo(SERIALIZER.marshall(small));
+        second.release();
+    }
+
+    @Test
+    void shouldKeepChunksUntilPublisherCompletes() {
+        Command command = insertMany(1000);
+        String expected = SERIALIZER.marshall(command);
+        RequestBody body = command.serialize(SERIALIZER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        boolean[] completed = new boolean[1];
+        List<Flow.Subscription> subscriptions = new ArrayList<>();
+        body.publisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptions.add(subscription);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                out.write(bytes, 0, bytes.length);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        subscriptions.get(0).request(1);
+        // response received while the body is still published, chunks must not be reused yet
+        body.release();
+        Command other = insertMany(1000);
+        RequestBody otherBody = other.serialize(SERIALIZER);
+        subscriptions.get(0).request(Long.MAX_VALUE);
+        assertThat(completed[0]).isTrue();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        otherBody.release();
+    }
+
+    @Test
+    void shouldKeepPublishedBuffersValidAfterRelease() {
+        Command command = insertMany(1000);
+        String expected = SERIALIZER.marshall(command);
+        RequestBody body = command.serialize(SERIALIZER);
+        // buffers kept by the http client after the response
+        List<ByteBuffer> published = new ArrayList<>();
+        body.publisher().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer item) {
+                published.add(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new IllegalStateException(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        body.release();
+        // reuses the released chunks with other content
+        RequestBody otherBody = Command.create("insertMany")
+                .withDocuments(List.of(new Document().append("padding", "z".repeat(expected.length()))))
+                .serialize(SERIALIZER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : published) {
+            assertThat(buffer.isReadOnly()).isTrue();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            out.write(bytes, 0, bytes.length);
+        }
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        otherBody.release();
+    }
+}
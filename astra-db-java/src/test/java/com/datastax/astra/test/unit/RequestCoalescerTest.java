@@ -0,0 +1,79 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.internal.api.ApiResponseHttp;
+import com.datastax.astra.internal.http.RequestCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for single-flight read commands.
+ */
+class RequestCoalescerTest {
+
+    @Test
+    void shouldOnlyCoalesceReadCommands() {
+        assertThat(RequestCoalescer.isCoalescable(Command.create("findOne"))).isTrue();
+        assertThat(RequestCoalescer.isCoalescable(Command.create("find"))).isTrue();
+        assertThat(RequestCoalescer.isCoalescable(Command.create("insertOne"))).isFalse();
+        assertThat(RequestCoalescer.isCoalescable(Command.create("deleteMany"))).isFalse();
+    }
+
+    @Test
+    void shouldShareInFlightRequest() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        // one thread per caller, a smaller pool would never register all of them
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<CompletableFuture<ApiResponseHttp>> futures = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> coalescer.execute("key", () -> {
+                        calls.incrementAndGet();
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new ApiResponseHttp("{}", 200);
+                    }), executor))
+                    .collect(Collectors.toList());
+            // wait for all callers to be registered
+            while (coalescer.getExecutedRequests() + coalescer.getCoalescedRequests() < 10) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            for (CompletableFuture<ApiResponseHttp> f : futures) {
+                assertThat(f.get().getBody()).isEqualTo("{}");
+            }
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedRequests()).isEqualTo(9);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    void shouldNotKeepFailedRequests() {
+        RequestCoalescer coalescer = new RequestCoalescer();
+        assertThatThrownBy(() -> coalescer.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(coalescer.execute("key", () -> new ApiResponseHttp("ok", 200)).getBody()).isEqualTo("ok");
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.cache.SchemaCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the database schema cache.
+ */
+class SchemaCacheTest {
+
+    @Test
+    void shouldLoadOnceAndServeFromCache() {
+        SchemaCache cache = new SchemaCache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            List<String> names = cache.get("ks", SchemaCache.COLLECTIONS, null, () -> {
+                loads.incrementAndGet();
+                return List.of("c1", "c2");
+            });
+            assertThat(names).containsExactly("c1", "c2");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getLoadCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldInvalidateOnSchemaCommands() {
+        SchemaCache cache = new SchemaCache(Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("ks", SchemaCache.TABLES, null, loads::incrementAndGet);
+        cache.get("ks", SchemaCache.INDEXES, "t1", loads::incrementAndGet);
+        cache.onSchemaCommand("ks", "createTable");
+        cache.get("ks", SchemaCache.TABLES, null, loads::incrementAndGet);
+        cache.get("ks", SchemaCache.INDEXES, "t1", loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(4);
+        // other keyspaces are not impacted
+        cache.get("ks2", SchemaCache.TABLES, null, loads::incrementAndGet);
+        cache.onSchemaCommand("ks", "dropTable");
+        cache.get("ks2", SchemaCache.TABLES, null, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldExpireEntries() throws InterruptedException {
+        SchemaCache cache = new SchemaCache(Duration.ofMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("ks", SchemaCache.TYPES, null, loads::incrementAndGet);
+        Thread.sleep(50);
+        cache.get("ks", SchemaCache.TYPES, null, loads::incrementAndGet);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseWaitingThreadsWhenLoaderFailsWithError() throws Exception {
+        SchemaCache cache = new SchemaCache(Duration.ofMinutes(1));
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<Object> owner = CompletableFuture.supplyAsync(() ->
+                    cache.get("ks", SchemaCache.TABLES, null, () -> {
+                        loading.countDown();
+                        try {
+                            fail.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        throw new AssertionError("boom");
+                    }), executor);
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<Object> waiter = CompletableFuture.supplyAsync(() ->
+                    cache.get("ks", SchemaCache.TABLES, null, () -> "reloaded"), executor);
+            Thread.sleep(50);
+            fail.countDown();
+            assertThatThrownBy(() -> owner.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class);
+        } finally {
+            fail.countDown();
+            executor.shutdownNow();
+        }
+        // failed entries are not kept
+        assertThat(cache.<String>get("ks", SchemaCache.TABLES, null, () -> "reloaded")).isEqualTo("reloaded");
+    }
+}
@@ -0,0 +1,204 @@
+package com.datastax.astra.test.unit;
+
+import com.datastax.astra.client.core.commands.Command;
+import com.datastax.astra.client.core.options.BaseOptions;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.databases.Database;
+import com.datastax.astra.client.databases.DatabaseOptions;
+import com.datastax.astra.client.databases.schema.SchemaObjectResult;
+import com.datastax.astra.client.databases.schema.SchemaObjectType;
+import com.datastax.astra.client.databases.schema.SchemaPlan;
+import com.datastax.astra.client.databases.schema.SchemaPlanResult;
+import com.datastax.astra.client.exceptions.DataAPIException;
+import com.datastax.astra.client.tables.Table;
+import com.datastax.astra.client.tables.TableOptions;
+import com.datastax.astra.client.tables.definition.TableDefinition;
+import com.datastax.astra.client.tables.definition.columns.TableColumnDefinitionVector;
+import com.datastax.astra.client.tables.definition.indexes.TableRegularIndexDefinition;
+import com.datastax.astra.client.tables.definition.indexes.TableVectorIndexDefinition;
+import com.datastax.astra.client.tables.definition.rows.Row;
+import com.datastax.astra.client.tables.definition.types.TableUserDefinedTypeDefinition;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.api.DataAPIStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test for the schema plan ordering and diff, against a fake database.
+ */
+class SchemaPlanTest {
+
+    /**
+     * Database answering listings with fixed names and recording the create commands.
+     */
+    static class FakeDatabase extends Database {
+
+        /** Create commands sent, as "command:object". */
+        final List<String> creates = new CopyOnWriteArrayList<>();
+
+        /** Existing tables. */
+        final List<String> tables = new ArrayList<>();
+
+        /** Existing indexes. */
+        final List<String> indexes = new ArrayList<>();
+
+        /** Table failing on creation. */
+        String failingTable;
+
+        /** Object slow to create. */
+        String slowObject;
+
+        FakeDatabase() {
+            super("http://localhost:8181", new DatabaseOptions("token", new DataAPIClientOptions()));
+        }
+
+        @Override
+        public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+            return handle(command);
+        }
+
+        @Override
+        public Table<Row> getTable(String tableName) {
+            return new Table<>(this, tableName, new TableOptions(), Row.class) {
+                @Override
+                public DataAPIResponse runCommand(Command command, BaseOptions<?> overridingOptions) {
+                    return handle(command);
+                }
+            };
+        }
+
+        private DataAPIResponse handle(Command command) {
+            DataAPIStatus status = new DataAPIStatus();
+            String name = (String) command.getPayload().get("name");
+            switch (command.getName()) {
+                case "listTypes" -> status.setProperty("types", new ArrayList<String>());
+                case "listTables" -> status.setProperty("tables", new ArrayList<>(tables));
+                case "findCollections" -> status.setProperty("collections", new ArrayList<>(List.of("existing_collection")));
+                case "listIndexes" -> status.setProperty("indexes", new ArrayList<>(indexes));
+                default -> {
+                    if (name != null && name.equals(failingTable)) {
+                        throw new DataAPIException("TABLE_ERROR", "cannot create " + name);
+                    }
+                    sleep(name != null && name.equals(slowObject) ? 500 : 20);
+                    creates.add(command.getName() + ":" + name);
+                }
+            }
+            DataAPIResponse response = new DataAPIResponse();
+            response.setStatus(status);
+            response.setSerializer(Table.DEFAULT_TABLE_SERIALIZER);
+            return response;
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static TableDefinition tableDefinition() {
+        return new TableDefinition()
+                .addColumnText("id")
+                .addColumnVector("vector", new TableColumnDefinitionVector().dimension(3))
+                .partitionKey("id");
+    }
+
+    @Test
+    void shouldCreateTypesThenTablesThenIndexes() {
+        FakeDatabase db = new FakeDatabase();
+        SchemaPlanResult result = new SchemaPlan()
+                .index("t1", "t1_idx", new TableRegularIndexDefinition().column("id"))
+                .table("t1", tableDefinition())
+                .table("t2", tableDefinition())
+                .type("udt", new TableUserDefinedTypeDefinition().addFieldText("city"))
+                .index("t1", "t1_vidx", new TableVectorIndexDefinition().column("vector"))
+                .collection("c1")
+                .apply(db);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getResults(SchemaObjectResult.Status.CREATED)).hasSize(6);
+        // results are in the order of the plan
+        assertThat(result.getResults().get(0).getName()).isEqualTo("t1_idx");
+        assertThat(result.getResults().get(0).getTableName()).isEqualTo("t1");
+
+        List<String> creates = db.creates;
+        assertThat(creates.indexOf("createType:udt")).isLessThan(creates.indexOf("createTable:t1"));
+        assertThat(creates.indexOf("createType:udt")).isLessThan(creates.indexOf("createTable:t2"));
+        assertThat(creates.indexOf("createTable:t1")).isLessThan(creates.indexOf("createIndex:t1_idx"));
+        assertThat(creates.indexOf("createTable:t1")).isLessThan(creates.indexOf("createVectorIndex:t1_vidx"));
+    }
+
+    @Test
+    void shouldNotWaitForCollectionsToCreateTables() {
+        FakeDatabase db = new FakeDatabase();
+        db.slowObject = "c1";
+        SchemaPlanResult result = new SchemaPlan()
+                .collection("c1")
+                .type("udt", new TableUserDefinedTypeDefinition().addFieldText("city"))
+                .table("t1", tableDefinition())
+                .apply(db);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(db.creates.indexOf("createType:udt")).isLessThan(db.creates.indexOf("createTable:t1"));
+        assertThat(db.creates.indexOf("createTable:t1")).isLessThan(db.creates.indexOf("createCollection:c1"));
+    }
+
+    @Test
+    void shouldSkipExistingObjects() {
+        FakeDatabase db = new FakeDatabase();
+        db.tables.add("t1");
+        db.indexes.add("t1_idx");
+        SchemaPlanResult result = new SchemaPlan()
+                .table("t1", tableDefinition())
+                .index("t1", "t1_idx", new TableRegularIndexDefinition().column("id"))
+                .index("t1", "t1_vidx", new TableVectorIndexDefinition().column("vector"))
+                .collection("existing_collection")
+                .apply(db);
+
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getResult(SchemaObjectType.TABLE, "t1").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.EXISTING);
+        assertThat(result.getResult(SchemaObjectType.INDEX, "t1_idx").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.EXISTING);
+        assertThat(result.getResult(SchemaObjectType.COLLECTION, "existing_collection").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.EXISTING);
+        assertThat(db.creates).containsExactly("createVectorIndex:t1_vidx");
+    }
+
+    @Test
+    void shouldSkipIndexesOfFailedTables() {
+        FakeDatabase db = new FakeDatabase();
+        db.failingTable = "t1";
+        SchemaPlanResult result = new SchemaPlan()
+                .table("t1", tableDefinition())
+                .index("t1", "t1_idx", new TableRegularIndexDefinition().column("id"))
+                .table("t2", tableDefinition())
+                .apply(db);
+
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.getResult(SchemaObjectType.TABLE, "t1").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.FAILED);
+        assertThat(result.getResult(SchemaObjectType.INDEX, "t1_idx").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.SKIPPED);
+        assertThat(result.getResult(SchemaObjectType.TABLE, "t2").get().getStatus())
+                .isEqualTo(SchemaObjectResult.Status.CREATED);
+        assertThat(result.getFailures()).hasSize(2);
+        assertThat(db.creates).containsExactly("createTable:t2");
+    }
+
+    @Test
+    void shouldRejectDuplicates() {
+        SchemaPlan plan = new SchemaPlan().table("t1", tableDefinition());
+        assertThatThrownBy(() -> plan.table("t1", tableDefinition()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(plan.size()).isEqualTo(1);
+    }
+}
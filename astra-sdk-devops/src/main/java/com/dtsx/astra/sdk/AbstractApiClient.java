@@ -3,12 +3,14 @@ package com.dtsx.astra.sdk;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
+import com.dtsx.astra.sdk.utils.HttpClientOptions;
 import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.observability.ApiRequestObserver;
 import lombok.Getter;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.net.HttpURLConnection.HTTP_ACCEPTED;
 
@@ -16,7 +18,7 @@ import static java.net.HttpURLConnection.HTTP_ACCEPTED;
  * Super Class for the different Http Clients of the api
  */
 @Getter
-public abstract class AbstractApiClient {
+public abstract class AbstractApiClient implements AutoCloseable {
 
     /**
      * Token Value
@@ -31,7 +33,17 @@ public abstract class AbstractApiClient {
     /**
      * Observers to notify.
      */
-    protected final Map<String, ApiRequestObserver> observers = new LinkedHashMap<>();
+    protected final Map<String, ApiRequestObserver> observers = new ConcurrentHashMap<>();
+
+    /**
+     * Http transport, shared with the clients created from this one.
+     */
+    protected HttpClientWrapper httpClient = HttpClientWrapper.getDefault();
+
+    /**
+     * Http transport created by this client, closed with it.
+     */
+    private boolean ownsHttpClient;
 
     /**
      * Default constructor.
@@ -64,6 +76,48 @@ public abstract class AbstractApiClient {
         this.observers.putAll(observers);
     }
 
+    /**
+     * Constructor with a dedicated http transport.
+     *
+     * @param env
+     *      astra environment
+     * @param token
+     *     token value
+     * @param httpClient
+     *      http transport
+     */
+    public AbstractApiClient(String token, AstraEnvironment env, HttpClientWrapper httpClient) {
+        this(token, env);
+        Assert.notNull(httpClient, "httpClient");
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Constructor with an http transport owned by the client, released by {@link #close()}.
+     *
+     * @param env
+     *      astra environment
+     * @param token
+     *     token value
+     * @param options
+     *      pool sizes and timeouts of the http transport
+     */
+    protected AbstractApiClient(String token, AstraEnvironment env, HttpClientOptions options) {
+        this(token, env, new HttpClientWrapper(options));
+        this.ownsHttpClient = true;
+    }
+
+    /**
+     * Release the http transport when it was created by this client, a transport shared with other clients
+     * or provided by the caller is left open.
+     */
+    @Override
+    public void close() {
+        if (ownsHttpClient) {
+            httpClient.close();
+        }
+    }
+
     /**
      * Access Http Client.
      *
@@ -73,7 +127,23 @@ public abstract class AbstractApiClient {
      *      Http client
      */
     public HttpClientWrapper getHttpClient(String operation) {
-        return HttpClientWrapper.getInstance(operation);
+        return httpClient.withOperation(operation, observers);
+    }
+
+    /**
+     * Share the http transport and the observers with a client created from this one.
+     *
+     * @param client
+     *      client created from this one
+     * @param <C>
+     *      type of client
+     * @return
+     *      the client
+     */
+    protected <C extends AbstractApiClient> C share(C client) {
+        client.httpClient = this.httpClient;
+        client.observers.putAll(this.observers);
+        return client;
     }
 
     /**
@@ -194,6 +264,50 @@ public abstract class AbstractApiClient {
         getHttpClient(operation).DELETE(url, getToken());
     }
 
+    /**
+     * Syntax sugar asynchronous http requests.
+     *
+     * @param url
+     *      url
+     * @param operation
+     *      operation name (tracking)
+     * @return
+     *      response
+     */
+    public CompletableFuture<ApiResponseHttp> GET_ASYNC(String url, String operation) {
+        return getHttpClient(operation).GET_ASYNC(url, getToken());
+    }
+
+    /**
+     * Syntax sugar asynchronous http requests.
+     *
+     * @param url
+     *      url
+     * @param body
+     *      body
+     * @param operation
+     *      operation name (tracking)
+     * @return
+     *      response
+     */
+    public CompletableFuture<ApiResponseHttp> POST_ASYNC(String url, String body, String operation) {
+        return getHttpClient(operation).POST_ASYNC(url, getToken(), body);
+    }
+
+    /**
+     * Syntax sugar asynchronous http requests.
+     *
+     * @param url
+     *      url
+     * @param operation
+     *      operation name (tracking)
+     * @return
+     *      response
+     */
+    public CompletableFuture<ApiResponseHttp> DELETE_ASYNC(String url, String operation) {
+        return getHttpClient(operation).DELETE_ASYNC(url, getToken());
+    }
+
     /**
      * Response validation
      *
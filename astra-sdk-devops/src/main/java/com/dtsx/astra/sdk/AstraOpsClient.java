@@ -10,6 +10,7 @@ import com.dtsx.astra.sdk.streaming.AstraStreamingClient;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
+import com.dtsx.astra.sdk.utils.HttpClientOptions;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 
 import java.util.Map;
@@ -43,6 +44,20 @@ public class AstraOpsClient extends AbstractApiClient {
         super(token, env);
     }
 
+    /**
+     * Initialize the Devops API with a token and a dedicated http transport.
+     *
+     * @param env
+     *      define target environment to be used
+     * @param token
+     *      authenticated token
+     * @param options
+     *      pool sizes and timeouts of a dedicated http transport, released by {@link #close()}
+     */
+    public AstraOpsClient(String token, AstraEnvironment env, HttpClientOptions options) {
+        super(token, env, options);
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getServiceName() {
@@ -92,7 +107,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      databases client
      */
     public AstraDBOpsClient db() {
-        return new AstraDBOpsClient(token, environment);
+        return share(new AstraDBOpsClient(token, environment));
     }
 
     // ------------------------------------------------------
@@ -106,7 +121,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      streaming client
      */
     public AstraStreamingClient streaming() {
-        return new AstraStreamingClient(token, environment);
+        return share(new AstraStreamingClient(token, environment));
     }
 
 
@@ -121,7 +136,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      user client
      */
     public UsersClient users() {
-        return new UsersClient(token, environment);
+        return share(new UsersClient(token, environment));
     }
 
     // ------------------------------------------------------
@@ -135,7 +150,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      role client
      */
     public RolesClient roles() {
-        return new RolesClient(token, environment);
+        return share(new RolesClient(token, environment));
     }
 
     // ------------------------------------------------------
@@ -149,7 +164,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      keys client
      */
     public KeysClient keys() {
-        return new KeysClient(token, environment);
+        return share(new KeysClient(token, environment));
     }
 
     // ------------------------------------------------------
@@ -163,7 +178,7 @@ public class AstraOpsClient extends AbstractApiClient {
      *      token client
      */
     public TokensClient tokens() {
-        return new TokensClient(token, environment);
+        return share(new TokensClient(token, environment));
     }
 
 }
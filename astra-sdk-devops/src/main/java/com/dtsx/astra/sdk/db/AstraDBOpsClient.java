@@ -9,8 +9,11 @@ import com.dtsx.astra.sdk.utils.ApiResponseError;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
-import com.dtsx.astra.sdk.utils.HttpClientWrapper;
+import com.dtsx.astra.sdk.utils.HttpClientOptions;
 import com.dtsx.astra.sdk.utils.JsonUtils;
+import com.dtsx.astra.sdk.utils.NameIndex;
+import com.dtsx.astra.sdk.utils.PagedSpliterator;
+import com.dtsx.astra.sdk.utils.Utils;
 import com.dtsx.astra.sdk.utils.observability.ApiRequestObserver;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.dtsx.astra.sdk.db.domain.DatabaseFilter.Include;
@@ -33,6 +36,19 @@ public class AstraDBOpsClient extends AbstractApiClient {
     private static final TypeReference<List<Database>> RESPONSE_DATABASES =  
             new TypeReference<List<Database>>(){};
 
+    /** Database identifiers by name, per environment and token. */
+    private static final NameIndex.Registry<String> NAME_INDEXES =
+            new NameIndex.Registry<>(NameIndex.DEFAULT_REGISTRY_SIZE, false);
+
+    /** Status watchers by environment and hash of the token, the least recently used are dropped. */
+    private static final Map<String, DatabaseStatusWatcher> STATUS_WATCHERS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DatabaseStatusWatcher> eldest) {
+            // a dropped watcher completes its pending watches, then its thread ends
+            return size() > NameIndex.DEFAULT_REGISTRY_SIZE;
+        }
+    };
+
     /** Load Database responses. */
     private static final TypeReference<List<AccessList>> RESPONSE_ACCESS_LIST =
             new TypeReference<List<AccessList>>(){};
@@ -71,7 +87,20 @@ public class AstraDBOpsClient extends AbstractApiClient {
      */
     public AstraDBOpsClient(String token, AstraEnvironment env, Map<String, ApiRequestObserver> observers) {
         super(token, env, observers);
-        HttpClientWrapper.registerObservers(observers);
+    }
+
+    /**
+     * Initialize the client with a dedicated http transport.
+     *
+     * @param env
+     *      define target environment to be used
+     * @param token
+     *      authenticated token
+     * @param options
+     *      pool sizes and timeouts of a dedicated http transport, released by {@link #close()}
+     */
+    public AstraDBOpsClient(String token, AstraEnvironment env, HttpClientOptions options) {
+        super(token, env, options);
     }
 
     /** {@inheritDoc} */
@@ -91,7 +120,7 @@ public class AstraDBOpsClient extends AbstractApiClient {
      *      work with regions
      */
     public DbRegionsClient regions() {
-        return new DbRegionsClient(token, getEnvironment());
+        return share(new DbRegionsClient(token, getEnvironment()));
     }
 
 
@@ -114,17 +143,18 @@ public class AstraDBOpsClient extends AbstractApiClient {
     // ---------------------------------
 
     /**
-     * Default Filter to find databases.
+     * Default Filter to find databases, pages are requested lazily while the stream is consumed.
      *
      * @return
      *      list of non terminated db
      */
     public Stream<Database> findAllNonTerminated() {
-        return search(DatabaseFilter.builder().build());
+        return search(DatabaseFilter.builder().build(), false);
     }
     
     /**
-     * Retrieve list of all Databases of the account and filter on name
+     * Retrieve list of all Databases of the account and filter on name. The identifiers are kept in an index by name,
+     * the next lookups only read the matching databases until the index expires.
      * 
      * @param name
      *          a database name
@@ -133,7 +163,22 @@ public class AstraDBOpsClient extends AbstractApiClient {
      */
     public Stream<Database> findByName(String name) {
         Assert.hasLength(name, "Database name");
-        return findAllNonTerminated().filter(db->name.equals(db.getInfo().getName()));
+        NameIndex<String> index = getNameIndex();
+        List<String> ids = index.get(name);
+        if (!ids.isEmpty()) {
+            List<Database> dbs = ids.stream()
+                    .map(this::findById)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .filter(db -> name.equals(db.getInfo().getName()) && isNonTerminated(db))
+                    .collect(Collectors.toList());
+            if (dbs.size() == ids.size()) {
+                return dbs.stream();
+            }
+        }
+        List<Database> all = search(DatabaseFilter.builder().build(), true).collect(Collectors.toList());
+        index.refresh(all, db -> db.getInfo().getName(), Database::getId);
+        return all.stream().filter(db -> name.equals(db.getInfo().getName()));
     }
 
     /**
@@ -161,7 +206,7 @@ public class AstraDBOpsClient extends AbstractApiClient {
     }
     
     /**
-     * Find Databases matching the provided filter.
+     * Find Databases matching the provided filter, at most {@code filter.limit} databases are returned.
      * <a href="https://docs.datastax.com/en/astra/docs/_attachments/devopsv1.html#operation/listDatabases">Reference Documentation</a>
      *
      * @param filter
@@ -171,9 +216,42 @@ public class AstraDBOpsClient extends AbstractApiClient {
      */
     public Stream<Database> search(DatabaseFilter filter) {
         Assert.notNull(filter, "filter");
-        ApiResponseHttp res = GET(getEndpointDatabases() + filter.urlParams(), getOperationName("search"));
+        return search(filter, false).limit(filter.getLimit());
+    }
+
+    /**
+     * Find Databases matching the provided filter. The pages of {@code filter.limit} databases are chained with
+     * {@code starting_after} and requested lazily while the stream is consumed.
+     *
+     * @param filter
+     *      filter to search for db, the first page starts after {@code startingAfterDbId} when provided
+     * @param prefetch
+     *      request the next page while the current one is consumed
+     * @return
+     *      list of db
+     */
+    public Stream<Database> search(DatabaseFilter filter, boolean prefetch) {
+        Assert.notNull(filter, "filter");
+        String firstCursor = filter.getStartingAfterDbId().orElse(null);
+        return PagedSpliterator.stream(cursor -> {
+            DatabaseFilter page = new DatabaseFilter(filter.getLimit(), filter.getInclude(), filter.getProvider(),
+                    cursor != null ? cursor : firstCursor);
+            return GET_ASYNC(getEndpointDatabases() + page.urlParams(), getOperationName("search"))
+                    .thenApply(this::mapDatabases);
+        }, Database::getId, filter.getLimit(), prefetch);
+    }
+
+    /**
+     * Unmarshall a page of databases.
+     *
+     * @param res
+     *      http response
+     * @return
+     *      databases
+     */
+    private List<Database> mapDatabases(ApiResponseHttp res) {
         try {
-            return JsonUtils.unmarshallType(res.getBody(), RESPONSE_DATABASES).stream();
+            return JsonUtils.unmarshallType(res.getBody(), RESPONSE_DATABASES);
         } catch(Exception e) {
             // Specialization of the exception
             ApiResponseError responseError = null;
@@ -188,7 +266,36 @@ public class AstraDBOpsClient extends AbstractApiClient {
             throw e;
         }
     }
+
+    private static boolean isNonTerminated(Database db) {
+        return db.getStatus() != DatabaseStatusType.TERMINATED && db.getStatus() != DatabaseStatusType.TERMINATING;
+    }
+
+    /**
+     * Index of the database identifiers by name, shared by the clients of the same token.
+     *
+     * @return
+     *      name index
+     */
+    public NameIndex<String> getNameIndex() {
+        return NAME_INDEXES.get(environment, token);
+    }
     
+    /**
+     * Watcher of the databases status, one poller shared by the clients of the same token. It uses the default
+     * transport so that closing a client does not stop it, and closing the watcher itself does nothing.
+     *
+     * @return
+     *      status watcher
+     */
+    public DatabaseStatusWatcher getStatusWatcher() {
+        synchronized (STATUS_WATCHERS) {
+            return STATUS_WATCHERS.computeIfAbsent(environment.name() + "/" + Utils.sha256(token),
+                    k -> new DatabaseStatusWatcher(new AstraDBOpsClient(token, environment, observers),
+                            DatabaseStatusWatcher.DEFAULT_MIN_INTERVAL, DatabaseStatusWatcher.DEFAULT_MAX_INTERVAL, true));
+        }
+    }
+
     /**
      * Create a database base on some parameters.
      *
@@ -206,6 +313,7 @@ public class AstraDBOpsClient extends AbstractApiClient {
             throw new IllegalStateException("Expected code 201 to create db but got " 
                         + res.getCode() + "body=" + res.getBody());
         }
+        getNameIndex().invalidate();
         return res.getHeaders().get("location");
     }
 
@@ -223,7 +331,7 @@ public class AstraDBOpsClient extends AbstractApiClient {
      */
     public DbOpsClient database(String dbId) {
         Assert.hasLength(dbId, "Database Id should not be null nor empty");
-        return new DbOpsClient(token, environment, dbId);
+        return share(new DbOpsClient(token, environment, dbId));
     }
 
     /**
@@ -237,7 +345,7 @@ public class AstraDBOpsClient extends AbstractApiClient {
         Assert.hasLength(dbName, "Database Id should not be null nor empty");
         List<Database> dbs = findByName(dbName).collect(Collectors.toList());
         if (1 == dbs.size()) {
-            return new DbOpsClient(token, environment, dbs.get(0).getId());
+            return share(new DbOpsClient(token, environment, dbs.get(0).getId()));
         }
         throw new IllegalArgumentException("Cannot retrieve database from its name (matching count=" + dbs.size() + ")");
     }
@@ -0,0 +1,308 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import com.dtsx.astra.sdk.utils.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wait for databases to reach a status without blocking a thread per database.
+ * <p>
+ * All the watched databases share one scheduled poller. Each tick lists the non terminated databases once and stops
+ * reading pages as soon as every watched database has been seen. The delay in between two ticks starts at
+ * {@code minInterval}, grows by half when nothing changed and goes back to {@code minInterval} when a status changes
+ * or a database is added. The poller thread stops when no database is watched.
+ * </p>
+ */
+public class DatabaseStatusWatcher implements Closeable {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseStatusWatcher.class);
+
+    /** Default delay in between two ticks. */
+    public static final Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(2);
+
+    /** Default maximum delay in between two ticks. */
+    public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(30);
+
+    /** Default time to wait for a status. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(600);
+
+    /** Time to leave the current status when an operation keeps the target status (resize, keyspace creation). */
+    public static final Duration TRANSITION_GRACE = Duration.ofSeconds(30);
+
+    /** Time the poller thread is kept when no database is watched. */
+    private static final Duration IDLE_TIMEOUT = Duration.ofSeconds(30);
+
+    /** Client listing the databases. */
+    private final AstraDBOpsClient devopsDbClient;
+
+    /** Delay in between two ticks. */
+    private final long minIntervalMillis;
+
+    /** Maximum delay in between two ticks. */
+    private final long maxIntervalMillis;
+
+    /** Poller. */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /** Watcher shared by the clients of a token, closing it does nothing. */
+    private final boolean shared;
+
+    /** Watches by database identifier. */
+    private final Map<String, List<Watch>> watches = new ConcurrentHashMap<>();
+
+    /** A tick is scheduled. */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** Current delay in between two ticks. */
+    private volatile long intervalMillis;
+
+    /**
+     * Database waited for a status.
+     */
+    private static final class Watch {
+
+        /** Expected status. */
+        private final DatabaseStatusType target;
+
+        /** Result. */
+        private final CompletableFuture<Database> future = new CompletableFuture<>();
+
+        /** Time limit. */
+        private final long deadline;
+
+        /** Ignore the target status until another status has been seen, or until this time. */
+        private final long transitionDeadline;
+
+        /** Another status has been seen. */
+        private boolean transitioned;
+
+        /** Last status seen. */
+        private DatabaseStatusType lastStatus;
+
+        /** The future has been completed. */
+        private boolean done;
+
+        private Watch(DatabaseStatusType target, Duration timeout, boolean requireTransition) {
+            long now = System.currentTimeMillis();
+            this.target             = target;
+            this.deadline           = now + timeout.toMillis();
+            this.transitionDeadline = requireTransition ? now + TRANSITION_GRACE.toMillis() : now;
+        }
+    }
+
+    /**
+     * Watcher with default intervals.
+     *
+     * @param devopsDbClient
+     *      client listing the databases
+     */
+    public DatabaseStatusWatcher(AstraDBOpsClient devopsDbClient) {
+        this(devopsDbClient, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * Watcher with custom intervals.
+     *
+     * @param devopsDbClient
+     *      client listing the databases
+     * @param minInterval
+     *      delay in between two ticks
+     * @param maxInterval
+     *      maximum delay in between two ticks when nothing changes
+     */
+    public DatabaseStatusWatcher(AstraDBOpsClient devopsDbClient, Duration minInterval, Duration maxInterval) {
+        this(devopsDbClient, minInterval, maxInterval, false);
+    }
+
+    /**
+     * Watcher with custom intervals.
+     *
+     * @param devopsDbClient
+     *      client listing the databases
+     * @param minInterval
+     *      delay in between two ticks
+     * @param maxInterval
+     *      maximum delay in between two ticks when nothing changes
+     * @param shared
+     *      watcher shared by the clients of a token, never closed
+     */
+    DatabaseStatusWatcher(AstraDBOpsClient devopsDbClient, Duration minInterval, Duration maxInterval, boolean shared) {
+        Assert.notNull(devopsDbClient, "devopsDbClient");
+        Assert.isTrue(!minInterval.isNegative() && minInterval.compareTo(maxInterval) <= 0, "minInterval should be lower than maxInterval");
+        this.devopsDbClient    = devopsDbClient;
+        this.minIntervalMillis = Math.max(1, minInterval.toMillis());
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.intervalMillis    = minIntervalMillis;
+        this.shared            = shared;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "astra-db-status-watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.scheduler.setKeepAliveTime(IDLE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        this.scheduler.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Wait for a database to reach a status.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param target
+     *      expected status
+     * @return
+     *      database when the status is reached
+     */
+    public CompletableFuture<Database> watch(String databaseId, DatabaseStatusType target) {
+        return watch(databaseId, target, DEFAULT_TIMEOUT, false);
+    }
+
+    /**
+     * Wait for a database to reach a status. The future fails if the timeout is reached, if the database is in error
+     * or if it is terminated while another status is expected.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param target
+     *      expected status
+     * @param timeout
+     *      time to wait
+     * @param requireTransition
+     *      the operation keeps the target status (resize, keyspace creation), wait for the database to leave it first
+     * @return
+     *      database when the status is reached
+     */
+    public CompletableFuture<Database> watch(String databaseId, DatabaseStatusType target, Duration timeout, boolean requireTransition) {
+        Assert.hasLength(databaseId, "databaseId");
+        Assert.notNull(target, "target");
+        Assert.notNull(timeout, "timeout");
+        if (scheduler.isShutdown()) {
+            throw new IllegalStateException("Status watcher has been closed");
+        }
+        Watch watch = new Watch(target, timeout, requireTransition);
+        watches.compute(databaseId, (k, l) -> {
+            List<Watch> list = l != null ? l : new CopyOnWriteArrayList<>();
+            list.add(watch);
+            return list;
+        });
+        intervalMillis = minIntervalMillis;
+        if (scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::tick, minIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        return watch.future;
+    }
+
+    /**
+     * Number of databases currently watched.
+     *
+     * @return
+     *      number of databases
+     */
+    public int size() {
+        return watches.size();
+    }
+
+    /**
+     * Stop the poller, pending futures are cancelled. The watcher shared by the clients of a token is not stopped,
+     * its thread ends when no database is watched.
+     */
+    @Override
+    public void close() {
+        if (shared) {
+            return;
+        }
+        scheduler.shutdownNow();
+        watches.values().forEach(l -> l.forEach(w -> w.future.cancel(false)));
+        watches.clear();
+    }
+
+    private void tick() {
+        boolean changed = false;
+        try {
+            changed = poll();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Cannot list databases status: {}", e.getMessage());
+        }
+        intervalMillis = changed ? minIntervalMillis : Math.min(maxIntervalMillis, intervalMillis + intervalMillis / 2);
+        scheduled.set(false);
+        if (!watches.isEmpty() && !scheduler.isShutdown() && scheduled.compareAndSet(false, true)) {
+            scheduler.schedule(this::tick, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * One listing for all watched databases.
+     *
+     * @return
+     *      if a status changed
+     */
+    private boolean poll() {
+        Map<String, Database> seen = new HashMap<>();
+        Iterator<Database> databases = devopsDbClient.findAllNonTerminated().iterator();
+        while (seen.size() < watches.size() && databases.hasNext()) {
+            Database db = databases.next();
+            if (watches.containsKey(db.getId())) {
+                seen.put(db.getId(), db);
+            }
+        }
+        boolean changed = false;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, List<Watch>> entry : watches.entrySet()) {
+            String databaseId = entry.getKey();
+            Database db = seen.get(databaseId);
+            if (db == null) {
+                // Not listed anymore, read it once to know if it has been terminated
+                db = devopsDbClient.findById(databaseId).orElse(null);
+            }
+            for (Watch watch : entry.getValue()) {
+                changed |= update(watch, db, now);
+                if (watch.done || watch.future.isDone()) {
+                    entry.getValue().remove(watch);
+                }
+            }
+            watches.computeIfPresent(databaseId, (k, l) -> l.isEmpty() ? null : l);
+        }
+        return changed;
+    }
+
+    private boolean update(Watch watch, Database db, long now) {
+        DatabaseStatusType status = db != null ? db.getStatus() : DatabaseStatusType.TERMINATED;
+        boolean changed = status != watch.lastStatus;
+        watch.lastStatus = status;
+        if (status != watch.target) {
+            watch.transitioned = true;
+        }
+        if (status == watch.target && (watch.transitioned || now >= watch.transitionDeadline)) {
+            // Dependent stages do not run on the poller thread
+            Database result = db;
+            watch.future.completeAsync(() -> result);
+            watch.done = true;
+        } else if (status == DatabaseStatusType.ERROR
+                || (status == DatabaseStatusType.TERMINATED || status == DatabaseStatusType.TERMINATING)
+                    && watch.target != DatabaseStatusType.TERMINATED && watch.target != DatabaseStatusType.TERMINATING) {
+            watch.future.completeExceptionally(new IllegalStateException(
+                    "Database is " + status + " while waiting for status " + watch.target));
+        } else if (now > watch.deadline) {
+            watch.future.completeExceptionally(new IllegalStateException(
+                    "Database is not in expected state " + watch.target + " after timeout (status=" + status + ")"));
+        }
+        return changed;
+    }
+
+}
@@ -2,6 +2,7 @@ package com.dtsx.astra.sdk.db;
 
 import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
 import com.dtsx.astra.sdk.db.exception.KeyspaceAlreadyExistException;
 import com.dtsx.astra.sdk.db.exception.KeyspaceNotFoundException;
 import com.dtsx.astra.sdk.utils.ApiLocator;
@@ -9,6 +10,7 @@ import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Delegate Operation to work on Keyspaces
@@ -90,6 +92,24 @@ public class DbKeyspacesClient extends AbstractApiClient  {
         POST(getEndpointKeyspace(keyspace), getOperationName("create"));
     }
 
+    /**
+     * Create a new keyspace in a DB and wait for the DB to be active again.
+     *
+     * @param keyspace
+     *         keyspace name to create
+     * @return
+     *      database when active
+     */
+    public CompletableFuture<Database> createAsync(String keyspace) {
+        Assert.hasLength(keyspace, "keyspace");
+        if (db.getInfo().getKeyspaces().contains(keyspace)) {
+            throw new KeyspaceAlreadyExistException(keyspace, db.getInfo().getName());
+        }
+        return POST_ASYNC(getEndpointKeyspace(keyspace), null, getOperationName("create"))
+                .thenCompose(res -> share(new DbOpsClient(token, environment, db.getId()))
+                        .waitForStatus(DatabaseStatusType.ACTIVE, DatabaseStatusWatcher.DEFAULT_TIMEOUT, true));
+    }
+
     /**
      * Delete a keyspace from db.
      *
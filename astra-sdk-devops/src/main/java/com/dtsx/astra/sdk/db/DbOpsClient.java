@@ -17,8 +17,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.net.HttpURLConnection;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Devops API Client working with a Database.
@@ -223,7 +226,7 @@ public class DbOpsClient extends AbstractApiClient {
     }
 
     /**
-     * Download all SecureBundle.
+     * Download all SecureBundle, concurrently. Bundles already in the folder are only downloaded again when they changed.
      *
      * @param destination
      *         file to save the secured bundle
@@ -231,10 +234,9 @@ public class DbOpsClient extends AbstractApiClient {
     public void downloadAllSecureConnectBundles(String destination) {
         Assert.hasLength(destination, "destination");
         Assert.isTrue(new File(destination).exists(), "Destination folder");
-        Database db = get();
-        db.getInfo()
-                .getDatacenters()
-                .forEach(dc -> downloadSecureConnectBundle(dc, destination + File.separator + buildScbFileName(db.getId(), dc.getRegion())));
+        try (SecureBundleManager bundles = new SecureBundleManager(share(new AstraDBOpsClient(token, environment)), Paths.get(destination))) {
+            bundles.getBundles(databaseId);
+        }
     }
 
     /**
@@ -307,6 +309,105 @@ public class DbOpsClient extends AbstractApiClient {
         assertHttpCodeAccepted(res, "resize", databaseId);
     }
 
+    /**
+     * Parks a database and wait for it to be parked.
+     *
+     * @return
+     *      database when parked
+     */
+    public CompletableFuture<Database> parkAsync() {
+        return postAndWait("/park", null, "park", DatabaseStatusType.PARKED, false);
+    }
+
+    /**
+     * Unparks a database and wait for it to be active.
+     *
+     * @return
+     *      database when active
+     */
+    public CompletableFuture<Database> unparkAsync() {
+        return postAndWait("/unpark", null, "unpark", DatabaseStatusType.ACTIVE, false);
+    }
+
+    /**
+     * Terminates a database and wait for it to be terminated.
+     *
+     * @return
+     *      database when terminated
+     */
+    public CompletableFuture<Database> deleteAsync() {
+        return postAndWait("/terminate", null, "delete", DatabaseStatusType.TERMINATED, false);
+    }
+
+    /**
+     * Resizes a database and wait for it to be active again.
+     *
+     * @param capacityUnits
+     *         sizing of a 'classic' db in Astra
+     * @return
+     *      database when active
+     */
+    public CompletableFuture<Database> resizeAsync(int capacityUnits) {
+        Assert.isTrue(capacityUnits > 0, "Capacity Unit");
+        return postAndWait("/resize", "{ \"capacityUnits\":" + capacityUnits + "}", "resize",
+                DatabaseStatusType.ACTIVE, true);
+    }
+
+    /**
+     * Send an operation without blocking the calling thread, then wait for the database to reach a status.
+     *
+     * @param path
+     *      path of the operation endpoint
+     * @param body
+     *      request body, may be null
+     * @param operation
+     *      operation name
+     * @param status
+     *      expected status
+     * @param requireTransition
+     *      the operation keeps the target status, wait for the database to leave it first
+     * @return
+     *      database when the status is reached
+     */
+    private CompletableFuture<Database> postAndWait(String path, String body, String operation,
+                                                    DatabaseStatusType status, boolean requireTransition) {
+        return POST_ASYNC(getEndpointDatabase() + path, body, getOperationName(operation))
+                .thenCompose(res -> {
+                    assertHttpCodeAccepted(res, operation, databaseId);
+                    return waitForStatus(status, DatabaseStatusWatcher.DEFAULT_TIMEOUT, requireTransition);
+                });
+    }
+
+    /**
+     * Wait for the database to reach a status, without blocking a thread.
+     *
+     * @param status
+     *      expected status
+     * @return
+     *      database when the status is reached
+     */
+    public CompletableFuture<Database> waitForStatus(DatabaseStatusType status) {
+        return waitForStatus(status, DatabaseStatusWatcher.DEFAULT_TIMEOUT, false);
+    }
+
+    /**
+     * Wait for the database to reach a status, without blocking a thread.
+     *
+     * @param status
+     *      expected status
+     * @param timeout
+     *      time to wait
+     * @param requireTransition
+     *      the operation keeps the target status, wait for the database to leave it first
+     * @return
+     *      database when the status is reached
+     */
+    public CompletableFuture<Database> waitForStatus(DatabaseStatusType status, Duration timeout, boolean requireTransition) {
+        return share(new AstraDBOpsClient(token, environment))
+                .getStatusWatcher()
+                .watch(databaseId, status, timeout, requireTransition);
+    }
+
     /**
      * Resets Password.
      *
@@ -340,7 +441,7 @@ public class DbOpsClient extends AbstractApiClient {
      *      keyspaces client
      */
     public DbKeyspacesClient keyspaces() {
-        return new DbKeyspacesClient(token, environment, databaseId);
+        return share(new DbKeyspacesClient(token, environment, databaseId));
     }
 
     // ---------------------------------
@@ -353,7 +454,7 @@ public class DbOpsClient extends AbstractApiClient {
      * @return cdc client
      */
     public DbDatacentersClient datacenters() {
-        return new DbDatacentersClient(token, environment, databaseId);
+        return share(new DbDatacentersClient(token, environment, databaseId));
     }
 
     // ---------------------------------
@@ -366,7 +467,7 @@ public class DbOpsClient extends AbstractApiClient {
      * @return access list client
      */
     public DbAccessListsClient accessLists() {
-        return new DbAccessListsClient(token, environment, databaseId);
+        return share(new DbAccessListsClient(token, environment, databaseId));
     }
 
     // ---------------------------------
@@ -379,7 +480,7 @@ public class DbOpsClient extends AbstractApiClient {
      * @return cdc client
      */
     public DbCdcsClient cdc() {
-        return new DbCdcsClient(token, environment, databaseId);
+        return share(new DbCdcsClient(token, environment, databaseId));
     }
 
     // ---------------------------------
@@ -392,7 +493,7 @@ public class DbOpsClient extends AbstractApiClient {
      * @return telemetry client
      */
     public DbTelemetryClient telemetry() {
-        return new DbTelemetryClient(token, environment, databaseId);
+        return share(new DbTelemetryClient(token, environment, databaseId));
     }
 
 
@@ -406,7 +507,7 @@ public class DbOpsClient extends AbstractApiClient {
      * @return privateLink client
      */
     public DbPrivateLinksClient privateLink() {
-        return new DbPrivateLinksClient(token, environment, databaseId);
+        return share(new DbPrivateLinksClient(token, environment, databaseId));
     }
 
     // ---------------------------------
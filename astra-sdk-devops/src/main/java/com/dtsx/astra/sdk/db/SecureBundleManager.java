@@ -0,0 +1,424 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.Datacenter;
+import com.dtsx.astra.sdk.db.exception.RegionNotFoundException;
+import com.dtsx.astra.sdk.utils.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Download and cache the secure connect bundles of databases.
+ * <p>
+ * The bundle urls of all regions are read with one call per database and kept while the urls are valid. Bundles are
+ * downloaded concurrently in a cache folder, the body is copied to disk with {@link FileChannel#transferFrom}. A bundle
+ * already on disk is only downloaded again when its {@code ETag} (or {@code Last-Modified} when there is no ETag)
+ * changed, a bundle served without any of them is always downloaded again.
+ * </p>
+ */
+public class SecureBundleManager implements AutoCloseable {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecureBundleManager.class);
+
+    /** Default number of concurrent downloads. */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /** Validity of a bundle url when it cannot be read from the url. */
+    public static final Duration DEFAULT_URL_VALIDITY = Duration.ofMinutes(5);
+
+    /** Urls are renewed a bit before they expire. */
+    private static final Duration URL_EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    /** Extension of the file keeping the validator of a bundle, as {@code header: value}. */
+    private static final String VALIDATOR_EXTENSION = ".validator";
+
+    /** Validators of a bundle with the request header used to check them. */
+    private static final Map<String, String> VALIDATORS = Map.of(
+            "ETag", "If-None-Match",
+            "Last-Modified", "If-Modified-Since");
+
+    /** Date format of the signed urls. */
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    /** Client reading the databases. */
+    private final AstraDBOpsClient devopsDbClient;
+
+    /** Folder of the bundles. */
+    private final Path cacheDirectory;
+
+    /** Downloads. */
+    private final ExecutorService executor;
+
+    /** Http client downloading the bundles. */
+    private final HttpClient httpClient;
+
+    /** Bundle urls by database, a pending read is shared by concurrent callers. */
+    private final Map<String, CompletableFuture<BundleUrls>> urls = new ConcurrentHashMap<>();
+
+    /** Bundles on disk checked while their url is valid, by database and region. */
+    private final Map<String, CompletableFuture<CachedBundle>> bundles = new ConcurrentHashMap<>();
+
+    /**
+     * Bundle urls of a database.
+     *
+     * @param byRegion
+     *      url by region (lower case)
+     * @param expiresAt
+     *      first expiration of the urls, in millis
+     */
+    private record BundleUrls(Map<String, String> byRegion, long expiresAt) {}
+
+    /**
+     * Bundle on disk.
+     *
+     * @param path
+     *      bundle file
+     * @param expiresAt
+     *      expiration of the url used to check it, in millis
+     */
+    private record CachedBundle(Path path, long expiresAt) {}
+
+    /**
+     * Manager with default parallelism.
+     *
+     * @param devopsDbClient
+     *      client reading the databases
+     * @param cacheDirectory
+     *      folder of the bundles
+     */
+    public SecureBundleManager(AstraDBOpsClient devopsDbClient, Path cacheDirectory) {
+        this(devopsDbClient, cacheDirectory, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Manager with custom parallelism.
+     *
+     * @param devopsDbClient
+     *      client reading the databases
+     * @param cacheDirectory
+     *      folder of the bundles
+     * @param parallelism
+     *      number of concurrent downloads
+     */
+    public SecureBundleManager(AstraDBOpsClient devopsDbClient, Path cacheDirectory, int parallelism) {
+        Assert.notNull(devopsDbClient, "devopsDbClient");
+        Assert.notNull(cacheDirectory, "cacheDirectory");
+        Assert.isTrue(parallelism > 0, "parallelism should be positive");
+        this.devopsDbClient = devopsDbClient;
+        this.cacheDirectory = cacheDirectory;
+        this.executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "astra-scb-download");
+            t.setDaemon(true);
+            return t;
+        });
+        // Default executor, the downloads block the threads of the executor on the responses
+        this.httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        try {
+            Files.createDirectories(cacheDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create folder " + cacheDirectory, e);
+        }
+    }
+
+    /**
+     * Bundle of a database for a region, downloaded when needed.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param region
+     *      region of the datacenter
+     * @return
+     *      bundle file
+     */
+    public Path getBundle(String databaseId, String region) {
+        return join(getBundleAsync(databaseId, region));
+    }
+
+    /**
+     * Bundle of a database for a region, downloaded when needed.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param region
+     *      region of the datacenter
+     * @return
+     *      bundle file
+     */
+    public CompletableFuture<Path> getBundleAsync(String databaseId, String region) {
+        Assert.hasLength(databaseId, "databaseId");
+        Assert.hasLength(region, "region");
+        String key = databaseId + "/" + region.toLowerCase();
+        CompletableFuture<CachedBundle> cached = bundles.compute(key, (k, current) -> {
+            if (current != null && (!current.isDone() || isValid(current))) {
+                return current;
+            }
+            return CompletableFuture.supplyAsync(() -> download(databaseId, region), executor);
+        });
+        return cached.thenApply(CachedBundle::path);
+    }
+
+    /**
+     * Bundles of all the regions of a database, downloaded concurrently.
+     *
+     * @param databaseId
+     *      database identifier
+     * @return
+     *      bundle file by region
+     */
+    public Map<String, Path> getBundles(String databaseId) {
+        Assert.hasLength(databaseId, "databaseId");
+        List<String> regions = List.copyOf(getUrls(databaseId).byRegion().keySet());
+        List<CompletableFuture<Path>> downloads = regions.stream()
+                .map(region -> getBundleAsync(databaseId, region))
+                .collect(Collectors.toList());
+        Map<String, Path> result = new LinkedHashMap<>();
+        for (int i = 0; i < regions.size(); i++) {
+            result.put(regions.get(i), join(downloads.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Forget the urls and the bundles checked for a database, the next access checks the bundles again.
+     *
+     * @param databaseId
+     *      database identifier
+     */
+    public void invalidate(String databaseId) {
+        urls.remove(databaseId);
+        bundles.keySet().removeIf(k -> k.startsWith(databaseId + "/"));
+    }
+
+    /**
+     * Name of the bundle file, regions are not case-sensitive.
+     *
+     * @param databaseId
+     *      database identifier
+     * @param region
+     *      region of the datacenter
+     * @return
+     *      bundle file
+     */
+    public Path getBundlePath(String databaseId, String region) {
+        return cacheDirectory.resolve("scb_" + databaseId + "_" + region.toLowerCase() + ".zip");
+    }
+
+    /**
+     * Stop the downloads.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private boolean isValid(CompletableFuture<CachedBundle> bundle) {
+        if (bundle.isCompletedExceptionally()) {
+            return false;
+        }
+        CachedBundle b = bundle.join();
+        return System.currentTimeMillis() < b.expiresAt() && Files.exists(b.path());
+    }
+
+    /**
+     * Urls of a database, read once by a single caller while the others wait for the result.
+     */
+    private BundleUrls getUrls(String databaseId) {
+        CompletableFuture<BundleUrls> candidate = new CompletableFuture<>();
+        CompletableFuture<BundleUrls> current = urls.compute(databaseId, (k, existing) ->
+                existing != null && (!existing.isDone() || isValidUrls(existing)) ? existing : candidate);
+        if (current == candidate) {
+            try {
+                candidate.complete(readUrls(databaseId));
+            } catch (RuntimeException e) {
+                candidate.completeExceptionally(e);
+                urls.remove(databaseId, candidate);
+            }
+        }
+        return join(current);
+    }
+
+    private static boolean isValidUrls(CompletableFuture<BundleUrls> dbUrls) {
+        return !dbUrls.isCompletedExceptionally() && System.currentTimeMillis() < dbUrls.join().expiresAt();
+    }
+
+    private BundleUrls readUrls(String databaseId) {
+        Database db = devopsDbClient.database(databaseId).get();
+        Map<String, String> byRegion = new LinkedHashMap<>();
+        long expiresAt = Long.MAX_VALUE;
+        for (Datacenter dc : db.getInfo().getDatacenters()) {
+            if (dc.getSecureBundleUrl() != null) {
+                byRegion.put(dc.getRegion().toLowerCase(), dc.getSecureBundleUrl());
+                expiresAt = Math.min(expiresAt, getUrlExpiration(dc.getSecureBundleUrl()));
+            }
+        }
+        return new BundleUrls(byRegion, expiresAt);
+    }
+
+    private CachedBundle download(String databaseId, String region) {
+        BundleUrls dbUrls = getUrls(databaseId);
+        String url = dbUrls.byRegion().get(region.toLowerCase());
+        if (url == null) {
+            throw new RegionNotFoundException(databaseId, region);
+        }
+        Path target = getBundlePath(databaseId, region);
+        Path validatorFile = target.resolveSibling(target.getFileName() + VALIDATOR_EXTENSION);
+        try {
+            Optional<Map.Entry<String, String>> validator = Files.exists(target) && Files.exists(validatorFile)
+                    ? parseValidator(Files.readString(validatorFile, StandardCharsets.UTF_8))
+                    : Optional.empty();
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+            validator.ifPresent(v -> request.header(VALIDATORS.get(v.getKey()), v.getValue()));
+            HttpResponse<InputStream> res = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = res.body()) {
+                Optional<Map.Entry<String, String>> newValidator = getValidator(res);
+                if (res.statusCode() == 304 || isUnchanged(target, validator, newValidator)) {
+                    // Closing the stream aborts the body
+                    LOGGER.debug("+ SCB is up to date ({})", target);
+                } else if (res.statusCode() >= 300) {
+                    throw new IllegalStateException("Cannot download bundle for " + databaseId
+                            + " in " + region + " (code=" + res.statusCode() + ")");
+                } else {
+                    transfer(in, target);
+                    if (newValidator.isPresent()) {
+                        Files.writeString(validatorFile, newValidator.get().getKey() + ": "
+                                + newValidator.get().getValue(), StandardCharsets.UTF_8);
+                    } else {
+                        Files.deleteIfExists(validatorFile);
+                    }
+                    LOGGER.info("+ Downloading SCB to : {}", target);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot download bundle for " + databaseId + " in " + region, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while downloading bundle", e);
+        }
+        return new CachedBundle(target, dbUrls.expiresAt());
+    }
+
+    /**
+     * Bundle on disk with the same validator as the response, a missing validator means changed.
+     */
+    private static boolean isUnchanged(Path target, Optional<Map.Entry<String, String>> validator,
+                                       Optional<Map.Entry<String, String>> newValidator) {
+        return Files.exists(target) && validator.isPresent() && validator.equals(newValidator);
+    }
+
+    /**
+     * ETag of the response, or Last-Modified when there is no ETag.
+     */
+    private static Optional<Map.Entry<String, String>> getValidator(HttpResponse<?> res) {
+        return res.headers().firstValue("ETag").map(v -> Map.entry("ETag", v))
+                .or(() -> res.headers().firstValue("Last-Modified").map(v -> Map.entry("Last-Modified", v)));
+    }
+
+    private static Optional<Map.Entry<String, String>> parseValidator(String line) {
+        int separator = line.indexOf(':');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        String header = line.substring(0, separator).trim();
+        String value  = line.substring(separator + 1).trim();
+        return VALIDATORS.containsKey(header) && !value.isEmpty()
+                ? Optional.of(Map.entry(header, value))
+                : Optional.empty();
+    }
+
+    /**
+     * Copy the body in a temporary file then move it, a reader never sees a partial bundle.
+     */
+    private static void transfer(InputStream in, Path target) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            long transferred;
+            while ((transferred = out.transferFrom(source, position, Long.MAX_VALUE)) > 0) {
+                position += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Expiration of a signed url (X-Amz-Date + X-Amz-Expires or Expires), minus a margin.
+     *
+     * @param url
+     *      signed url
+     * @return
+     *      expiration in millis
+     */
+    static long getUrlExpiration(String url) {
+        Map<String, String> params = new LinkedHashMap<>();
+        int query = url.indexOf('?');
+        if (query >= 0) {
+            for (String param : url.substring(query + 1).split("&")) {
+                int eq = param.indexOf('=');
+                if (eq > 0) {
+                    params.put(param.substring(0, eq), param.substring(eq + 1));
+                }
+            }
+        }
+        long expiresAt = System.currentTimeMillis() + DEFAULT_URL_VALIDITY.toMillis();
+        try {
+            if (params.containsKey("X-Amz-Date") && params.containsKey("X-Amz-Expires")) {
+                expiresAt = LocalDateTime.parse(params.get("X-Amz-Date"), AMZ_DATE).toInstant(ZoneOffset.UTC).toEpochMilli()
+                        + 1000L * Long.parseLong(params.get("X-Amz-Expires"));
+            } else if (params.containsKey("Expires")) {
+                expiresAt = 1000L * Long.parseLong(params.get("Expires"));
+            }
+        } catch (RuntimeException e) {
+            LOGGER.debug("Cannot read expiration of the bundle url: {}", e.getMessage());
+        }
+        return expiresAt - URL_EXPIRY_MARGIN.toMillis();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -12,6 +12,7 @@ import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
 import com.dtsx.astra.sdk.utils.JsonUtils;
+import com.dtsx.astra.sdk.utils.PagedSpliterator;
 
 import java.time.Instant;
 import java.util.ArrayList;
@@ -68,10 +69,11 @@ public class TokensClient extends AbstractApiClient {
      *      list of tokens for this organization
      */
     public Stream<IamToken> findAll() {
-        // Invoke endpoint
-        ApiResponseHttp res = GET(getEndpointTokens(), getOperationName("find"));
-        // Marshall
-        return JsonUtils.unmarshallBean(res.getBody(), ResponseAllIamTokens.class).getClients().stream();
+        // The endpoint has no cursor, the listing is requested by the terminal operation
+        return PagedSpliterator.single(() -> {
+            ApiResponseHttp res = GET(getEndpointTokens(), getOperationName("find"));
+            return JsonUtils.unmarshallBean(res.getBody(), ResponseAllIamTokens.class).getClients();
+        });
     }
 
     /**
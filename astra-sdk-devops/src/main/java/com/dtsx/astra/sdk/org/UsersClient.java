@@ -11,6 +11,7 @@ import com.dtsx.astra.sdk.utils.*;
 
 import java.net.HttpURLConnection;
 import java.util.*;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -18,6 +19,10 @@ import java.util.stream.Stream;
  */
 public class UsersClient extends AbstractApiClient {
 
+    /** User identifiers by email, per environment and token. */
+    private static final NameIndex.Registry<String> EMAIL_INDEXES =
+            new NameIndex.Registry<>(NameIndex.DEFAULT_REGISTRY_SIZE, true);
+
     /**
      * As immutable object use builder to initiate the object.
      *
@@ -53,10 +58,11 @@ public class UsersClient extends AbstractApiClient {
      *      list of roles in target organization.
      */
     public Stream<User> findAll() {
-        // Invoke endpoint
-        ApiResponseHttp res = GET(getEndpointUsers(), getOperationName("findAll"));
-        // Marshall response
-        return JsonUtils.unmarshallBean(res.getBody(), ResponseAllUsers.class).getUsers().stream();
+        // The endpoint has no cursor, the listing is requested by the terminal operation
+        return PagedSpliterator.single(() -> {
+            ApiResponseHttp res = GET(getEndpointUsers(), getOperationName("findAll"));
+            return JsonUtils.unmarshallBean(res.getBody(), ResponseAllUsers.class).getUsers();
+        });
     }
 
     /**
@@ -86,7 +92,26 @@ public class UsersClient extends AbstractApiClient {
      */
     public Optional<User> findByEmail(String email) {
         Assert.hasLength(email, "User email should not be null nor empty");
-        return findAll().filter(u-> u.getEmail().equalsIgnoreCase(email)).findFirst();
+        NameIndex<String> index = getEmailIndex();
+        for (String userId : index.get(email)) {
+            Optional<User> user = find(userId).filter(u -> u.getEmail().equalsIgnoreCase(email));
+            if (user.isPresent()) {
+                return user;
+            }
+        }
+        List<User> users = findAll().collect(Collectors.toList());
+        index.refresh(users, User::getEmail, User::getUserId);
+        return users.stream().filter(u-> u.getEmail().equalsIgnoreCase(email)).findFirst();
+    }
+
+    /**
+     * Index of the user identifiers by email, shared by the clients of the same token.
+     *
+     * @return
+     *      email index
+     */
+    public NameIndex<String> getEmailIndex() {
+        return EMAIL_INDEXES.get(environment, token);
     }
 
     /**
@@ -124,6 +149,7 @@ public class UsersClient extends AbstractApiClient {
             throw new UserNotFoundException(userId);
         }
         DELETE(getEndpointUser(userId), getOperationName("delete"));
+        getEmailIndex().invalidate();
     }
 
     /**
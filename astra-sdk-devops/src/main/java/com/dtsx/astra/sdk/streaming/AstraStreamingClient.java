@@ -5,7 +5,10 @@ import com.dtsx.astra.sdk.streaming.exception.TenantNotFoundException;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
+import com.dtsx.astra.sdk.utils.HttpClientOptions;
 import com.dtsx.astra.sdk.utils.JsonUtils;
+import com.dtsx.astra.sdk.utils.NameIndex;
+import com.dtsx.astra.sdk.utils.PagedSpliterator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.dtsx.astra.sdk.streaming.domain.CreateTenant;
 import com.dtsx.astra.sdk.streaming.domain.Tenant;
@@ -13,6 +16,7 @@ import com.dtsx.astra.sdk.streaming.domain.Tenant;
 import java.net.HttpURLConnection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -22,6 +26,26 @@ import java.util.stream.Stream;
  */
 public class AstraStreamingClient extends AbstractApiClient {
 
+    /** Tenant identifiers by name ignoring case, per environment and token. */
+    private static final NameIndex.Registry<TenantRef> NAME_INDEXES =
+            new NameIndex.Registry<>(NameIndex.DEFAULT_REGISTRY_SIZE, true);
+
+    /**
+     * Identifiers of a tenant, enough to read it again.
+     *
+     * @param tenantName
+     *      name of the tenant
+     * @param organizationId
+     *      organization of the tenant
+     */
+    private record TenantRef(String tenantName, String organizationId) {
+
+        static TenantRef of(Tenant tenant) {
+            return new TenantRef(tenant.getTenantName(),
+                    tenant.getOrganizationId() == null ? null : tenant.getOrganizationId().toString());
+        }
+    }
+
     /**
      * As immutable object use builder to initiate the object.
      *
@@ -44,6 +68,20 @@ public class AstraStreamingClient extends AbstractApiClient {
         super(token, env);
     }
 
+    /**
+     * Initialize the client with a dedicated http transport.
+     *
+     * @param env
+     *      define target environment to be used
+     * @param token
+     *      authenticated token
+     * @param options
+     *      pool sizes and timeouts of a dedicated http transport, released by {@link #close()}
+     */
+    public AstraStreamingClient(String token, AstraEnvironment env, HttpClientOptions options) {
+        super(token, env, options);
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getServiceName() {
@@ -57,15 +95,14 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      list of tenants.
      */
     public Stream<Tenant> findAll() {
-        return JsonUtils
-                .unmarshallType(
-                        GET(getApiDevopsEndpointTenants(), getOperationName("findAll")).getBody(),
-                        new TypeReference<List<Tenant>>(){})
-                .stream();
+        // The endpoint has no cursor, the listing is requested by the terminal operation
+        return PagedSpliterator.single(() -> JsonUtils.unmarshallType(
+                GET(getApiDevopsEndpointTenants(), getOperationName("findAll")).getBody(),
+                new TypeReference<List<Tenant>>(){}));
     }
 
     /**
-     * Find a tenant from ids name.
+     * Find a tenant from ids name. The name is resolved with the index, the tenant itself is always read again.
      *
      * @param tenantName
      *      name of the tenant
@@ -73,11 +110,33 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      tenant
      */
     public Optional<Tenant> find(String tenantName) {
-        return findAll()
+        NameIndex<TenantRef> index = getNameIndex();
+        for (TenantRef ref : index.get(tenantName)) {
+            if (ref.organizationId() != null) {
+                Optional<Tenant> tenant = share(new TenantClient(token, environment,
+                        ref.tenantName(), ref.organizationId())).find();
+                if (tenant.isPresent()) {
+                    return tenant;
+                }
+            }
+        }
+        List<Tenant> all = findAll().collect(Collectors.toList());
+        index.refresh(all, Tenant::getTenantName, TenantRef::of);
+        return all.stream()
                 .filter(t -> t.getTenantName().equalsIgnoreCase(tenantName))
                 .findFirst();
     }
 
+    /**
+     * Index of the tenant identifiers, shared by the clients of the same token.
+     *
+     * @return
+     *      name index
+     */
+    private NameIndex<TenantRef> getNameIndex() {
+        return NAME_INDEXES.get(environment, token);
+    }
+
     /**
      * Assess a tenant exist and retrieve information.
      *
@@ -99,6 +158,7 @@ public class AstraStreamingClient extends AbstractApiClient {
     public void create(CreateTenant ct) {
         Assert.notNull(ct, "Create Tenant request");
         POST(getApiDevopsEndpointTenants(), JsonUtils.marshall(ct), getOperationName("create"));
+        getNameIndex().invalidate();
     }
 
     /**
@@ -110,6 +170,7 @@ public class AstraStreamingClient extends AbstractApiClient {
     public void delete(String tenantName) {
         Tenant tenant = get(tenantName);
         DELETE(getEndpointCluster(tenant.getTenantName(), tenant.getClusterName()), getOperationName("delete"));
+        getNameIndex().invalidate();
     }
 
     /**
@@ -137,7 +198,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      client for a tenant
      */
     public TenantClient tenant(String tenantName) {
-        return new TenantClient(token, environment, tenantName);
+        return share(new TenantClient(token, environment, tenantName));
     }
 
     // ---------------------------------
@@ -151,7 +212,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public ClustersClient clusters() {
-        return new ClustersClient(token, environment);
+        return share(new ClustersClient(token, environment));
     }
 
     // ---------------------------------
@@ -165,7 +226,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public ProvidersClient providers() {
-        return new ProvidersClient(token, environment);
+        return share(new ProvidersClient(token, environment));
     }
 
     // ---------------------------------
@@ -179,7 +240,7 @@ public class AstraStreamingClient extends AbstractApiClient {
      *      streaming cluster client
      */
     public RegionsClient regions() {
-        return new RegionsClient(token, environment);
+        return share(new RegionsClient(token, environment));
     }
     
     // ---------------------------------
@@ -12,7 +12,6 @@ import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
-import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.utils.JsonUtils;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -93,7 +92,7 @@ public class TenantCdcClient extends AbstractApiClient {
         createCdc.setKeyspace(keyspace);
         createCdc.setTableName(table);
         createCdc.setTopicPartitions(topicPartition);
-        HttpClientWrapper.getInstance(getOperationName("create"))
+        getHttpClient(getOperationName("create"))
                 .POST_PULSAR(getEndpointTenantCdc(),
                 tenant.getPulsarToken(),
                 JsonUtils.marshall(createCdc),
@@ -120,7 +119,7 @@ public class TenantCdcClient extends AbstractApiClient {
         deleteCdc.setDatabaseId(db.getId());
         deleteCdc.setKeyspace(keyspace);
         deleteCdc.setTableName(table);
-        HttpClientWrapper.getInstance(getOperationName("delete")).DELETE_PULSAR(getEndpointTenantCdc(),
+        getHttpClient(getOperationName("delete")).DELETE_PULSAR(getEndpointTenantCdc(),
                 tenant.getPulsarToken(),
                 JsonUtils.marshall(deleteCdc),
                 tenant.getClusterName(),
@@ -134,7 +133,7 @@ public class TenantCdcClient extends AbstractApiClient {
      *      list of cdc.
      */
     public Stream<CdcDefinition> list() {
-        ApiResponseHttp res =  HttpClientWrapper.getInstance(getOperationName("list")).GET_PULSAR(getEndpointTenantCdc(),
+        ApiResponseHttp res =  getHttpClient(getOperationName("list")).GET_PULSAR(getEndpointTenantCdc(),
                 tenant.getPulsarToken(),
                 tenant.getClusterName(),
                 tenant.getOrganizationId().toString());
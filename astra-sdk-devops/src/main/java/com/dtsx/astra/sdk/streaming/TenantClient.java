@@ -57,6 +57,26 @@ public class TenantClient extends AbstractApiClient {
         this.organizationId = new AstraOpsClient(token,env).getOrganizationId();
     }
 
+    /**
+     * Client for a tenant of a known organization, no request is needed to resolve it.
+     *
+     * @param env
+     *      define target environment to be used
+     * @param token
+     *      authenticated token
+     * @param tenantId
+     *      unique tenant identifier
+     * @param organizationId
+     *      organization of the tenant
+     */
+    TenantClient(String token, AstraEnvironment env, String tenantId, String organizationId) {
+        super(token, env);
+        Assert.hasLength(tenantId, "tenantId");
+        Assert.hasLength(organizationId, "organizationId");
+        this.tenantId       = tenantId;
+        this.organizationId = organizationId;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getServiceName() {
@@ -112,7 +132,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantLimitsClient limits() {
-        return new TenantLimitsClient(token, tenantId);
+        return share(new TenantLimitsClient(token, tenantId));
     }
 
     // ---------------------------------
@@ -126,7 +146,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantCdcClient cdc() {
-        return new TenantCdcClient(token, tenantId);
+        return share(new TenantCdcClient(token, tenantId));
     }
 
     // ---------------------------------
@@ -140,7 +160,7 @@ public class TenantClient extends AbstractApiClient {
      *      cdc component
      */
     public TenantStatsClient stats() {
-        return new TenantStatsClient(token, tenantId);
+        return share(new TenantStatsClient(token, tenantId));
     }
 
     // ---------------------------------
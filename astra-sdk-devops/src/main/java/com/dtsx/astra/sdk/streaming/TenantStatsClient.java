@@ -4,7 +4,6 @@ import com.dtsx.astra.sdk.AbstractApiClient;
 import com.dtsx.astra.sdk.utils.ApiLocator;
 import com.dtsx.astra.sdk.utils.Assert;
 import com.dtsx.astra.sdk.utils.AstraEnvironment;
-import com.dtsx.astra.sdk.utils.HttpClientWrapper;
 import com.dtsx.astra.sdk.streaming.domain.Statistics;
 import com.dtsx.astra.sdk.streaming.domain.Tenant;
 import com.dtsx.astra.sdk.utils.JsonUtils;
@@ -56,6 +55,22 @@ public class TenantStatsClient extends AbstractApiClient {
         this.tenant = new AstraStreamingClient(token, env).get(tenantId);
     }
 
+    /**
+     * Client of a tenant already read, no call is made to the devops api.
+     *
+     * @param env
+     *      define target environment to be used
+     * @param token
+     *      authenticated token
+     * @param tenant
+     *      tenant
+     */
+    public TenantStatsClient(String token, AstraEnvironment env, Tenant tenant) {
+        super(token, env);
+        Assert.notNull(tenant, "tenant");
+        this.tenant = tenant;
+    }
+
     /** {@inheritDoc} */
     @Override
     public String getServiceName() {
@@ -71,7 +86,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> keyspaces() {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance(getOperationName("keyspaces")).GET_PULSAR(getEndpointStatisticsNamespaces(),
+                        getHttpClient(getOperationName("keyspaces")).GET_PULSAR(getEndpointStatisticsNamespaces(),
                         tenant.getPulsarToken(), tenant.getClusterName(),
                         tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
@@ -89,8 +104,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Optional<Statistics> keyspace(String namespace) {
         Map<String, Statistics> map = JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper
-                                .getInstance(getOperationName("keyspace"))
+                        getHttpClient(getOperationName("keyspace"))
                                 .GET_PULSAR(
                                     getEndpointStatisticsNamespaces() + "/" + namespace,
                                     tenant.getPulsarToken(), tenant.getClusterName(),
@@ -108,13 +122,25 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> topics() {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance(getOperationName("topics")).GET_PULSAR(getEndpointStatisticsTopics(),
+                        getHttpClient(getOperationName("topics")).GET_PULSAR(getEndpointStatisticsTopics(),
                                 tenant.getPulsarToken(), tenant.getClusterName(),
                                 tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
                 .stream();
     }
 
+    /**
+     * Retrieve Statistics for all topics as json, for a caller reading the values without building the statistics.
+     *
+     * @return
+     *      statistics by topic as json
+     */
+    public String topicsAsJson() {
+        return getHttpClient(getOperationName("topics")).GET_PULSAR(getEndpointStatisticsTopics(),
+                tenant.getPulsarToken(), tenant.getClusterName(),
+                tenant.getOrganizationId().toString()).getBody();
+    }
+
     /**
      * Retrieve Statistics for topics of a keyspace
      *
@@ -126,7 +152,7 @@ public class TenantStatsClient extends AbstractApiClient {
     public Stream<Statistics> topics(String keyspace) {
         return JsonUtils
                 .unmarshallType(
-                        HttpClientWrapper.getInstance(getOperationName("topics")).GET_PULSAR(getEndpointStatisticsTopics() + "/" + keyspace,
+                        getHttpClient(getOperationName("topics")).GET_PULSAR(getEndpointStatisticsTopics() + "/" + keyspace,
                                 tenant.getPulsarToken(), tenant.getClusterName(),
                                 tenant.getOrganizationId().toString()).getBody(), TYPE_LIST_STATISTICS)
                 .values()
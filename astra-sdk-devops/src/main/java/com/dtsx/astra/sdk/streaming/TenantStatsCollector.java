@@ -0,0 +1,278 @@
+package com.dtsx.astra.sdk.streaming;
+
+import com.dtsx.astra.sdk.utils.Assert;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Poll the topics statistics of many tenants on one scheduler and keep their last samples.
+ * <p>
+ * The statistics are read from the json response with a streaming parser straight into the ring buffers of
+ * {@link TopicStatsSeries}, no statistics object is built on each poll. Topics not returned anymore are dropped.
+ * </p>
+ */
+public class TenantStatsCollector implements Closeable {
+
+    /** Logger for our Client. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(TenantStatsCollector.class);
+
+    /** Default delay in between two polls of a tenant. */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+
+    /** Default number of samples kept per topic. */
+    public static final int DEFAULT_CAPACITY = 60;
+
+    /** Json parsers. */
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /** Delay in between two polls of a tenant. */
+    private final Duration interval;
+
+    /** Number of samples kept per topic. */
+    private final int capacity;
+
+    /** Pollers. */
+    private final ScheduledExecutorService scheduler;
+
+    /** Series per tenant and topic. */
+    private final Map<String, Map<String, TopicStatsSeries>> series = new ConcurrentHashMap<>();
+
+    /** Scheduled polls per tenant. */
+    private final Map<String, ScheduledFuture<?>> polls = new ConcurrentHashMap<>();
+
+    /** Listeners. */
+    private final List<TenantStatsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Collector with default settings and one thread.
+     */
+    public TenantStatsCollector() {
+        this(DEFAULT_INTERVAL, DEFAULT_CAPACITY, 1);
+    }
+
+    /**
+     * Collector with custom settings.
+     *
+     * @param interval
+     *      delay in between two polls of a tenant
+     * @param capacity
+     *      number of samples kept per topic
+     * @param threads
+     *      number of tenants polled at the same time
+     */
+    public TenantStatsCollector(Duration interval, int capacity, int threads) {
+        Assert.notNull(interval, "interval");
+        Assert.isTrue(capacity >= 2, "capacity should be at least 2");
+        Assert.isTrue(threads > 0, "threads should be positive");
+        this.interval  = interval;
+        this.capacity  = capacity;
+        this.scheduler = Executors.newScheduledThreadPool(threads, r -> {
+            Thread t = new Thread(r, "astra-streaming-stats");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Start polling a tenant. The first polls of the tenants are spread over the interval.
+     *
+     * @param tenant
+     *      tenant name
+     * @param client
+     *      statistics client of the tenant
+     */
+    public void addTenant(String tenant, TenantStatsClient client) {
+        Assert.hasLength(tenant, "tenant");
+        Assert.notNull(client, "client");
+        long periodMillis = interval.toMillis();
+        long initialDelay = Math.floorMod(tenant.hashCode(), Math.max(1L, periodMillis));
+        series.putIfAbsent(tenant, new ConcurrentHashMap<>());
+        polls.compute(tenant, (k, previous) -> {
+            if (previous != null) {
+                previous.cancel(false);
+            }
+            return scheduler.scheduleAtFixedRate(() -> poll(tenant, client), initialDelay, periodMillis, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    /**
+     * Stop polling a tenant and drop its series.
+     *
+     * @param tenant
+     *      tenant name
+     */
+    public void removeTenant(String tenant) {
+        ScheduledFuture<?> poll = polls.remove(tenant);
+        if (poll != null) {
+            poll.cancel(false);
+        }
+        series.remove(tenant);
+    }
+
+    /**
+     * Register a listener.
+     *
+     * @param listener
+     *      listener
+     */
+    public void addListener(TenantStatsListener listener) {
+        Assert.notNull(listener, "listener");
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener
+     *      listener
+     */
+    public void removeListener(TenantStatsListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Series of a topic. Reads must synchronize on the series while polls are running.
+     *
+     * @param tenant
+     *      tenant name
+     * @param topic
+     *      topic name
+     * @return
+     *      series if the topic has been sampled
+     */
+    public Optional<TopicStatsSeries> getSeries(String tenant, String topic) {
+        return Optional.ofNullable(series.getOrDefault(tenant, Collections.emptyMap()).get(topic));
+    }
+
+    /**
+     * Topics sampled for a tenant.
+     *
+     * @param tenant
+     *      tenant name
+     * @return
+     *      topic names
+     */
+    public Set<String> getTopics(String tenant) {
+        return Collections.unmodifiableSet(series.getOrDefault(tenant, Collections.emptyMap()).keySet());
+    }
+
+    /**
+     * Poll a tenant now. The statistics of a tenant not added, or removed while the poll was running, are dropped.
+     *
+     * @param tenant
+     *      tenant name
+     * @param client
+     *      statistics client of the tenant
+     */
+    public void poll(String tenant, TenantStatsClient client) {
+        Map<String, TopicStatsSeries> topics = series.get(tenant);
+        if (topics == null) {
+            return;
+        }
+        try {
+            int count = parse(tenant, topics, client.topicsAsJson(), System.currentTimeMillis());
+            if (isRegistered(tenant, topics)) {
+                listeners.forEach(l -> l.onPollCompleted(tenant, count));
+            }
+        } catch (Exception e) {
+            if (isRegistered(tenant, topics)) {
+                LOGGER.warn("Cannot read statistics of tenant {}: {}", tenant, e.getMessage());
+                listeners.forEach(l -> l.onError(tenant, e));
+            }
+        }
+    }
+
+    /**
+     * The series of the tenant have not been dropped, a tenant removed then added again has new series.
+     */
+    private boolean isRegistered(String tenant, Map<String, TopicStatsSeries> topics) {
+        return series.get(tenant) == topics;
+    }
+
+    /**
+     * Read the statistics by topic and add a sample to each series.
+     *
+     * @param tenant
+     *      tenant name
+     * @param topics
+     *      series of the tenant
+     * @param json
+     *      statistics by topic
+     * @param timestamp
+     *      sample time
+     * @return
+     *      number of topics
+     * @throws IOException
+     *      invalid json
+     */
+    int parse(String tenant, Map<String, TopicStatsSeries> topics, String json, long timestamp) throws IOException {
+        Set<String> seen = new HashSet<>(topics.size() * 2);
+        long[] sample = new long[TopicStatsSeries.VALUES.length];
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expecting statistics by topic");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String topic = parser.currentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+                Arrays.fill(sample, 0);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    TopicStatsSeries.Metric metric = TopicStatsSeries.Metric.fromField(parser.currentName());
+                    JsonToken value = parser.nextToken();
+                    if (metric != null && value.isNumeric()) {
+                        sample[metric.ordinal()] = parser.getValueAsLong();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (!isRegistered(tenant, topics)) {
+                    // removed while parsing
+                    return seen.size();
+                }
+                seen.add(topic);
+                TopicStatsSeries topicSeries = topics.computeIfAbsent(topic, t -> new TopicStatsSeries(t, capacity));
+                synchronized (topicSeries) {
+                    topicSeries.add(timestamp, sample);
+                    for (TenantStatsListener listener : listeners) {
+                        listener.onSample(tenant, topicSeries);
+                    }
+                }
+            }
+        }
+        topics.keySet().retainAll(seen);
+        return seen.size();
+    }
+
+    /**
+     * Stop the polls.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        polls.clear();
+    }
+
+}
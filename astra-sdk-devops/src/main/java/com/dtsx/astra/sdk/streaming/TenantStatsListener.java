@@ -0,0 +1,38 @@
+package com.dtsx.astra.sdk.streaming;
+
+/**
+ * Receive the statistics sampled by a {@link TenantStatsCollector}, to export them as metrics.
+ */
+public interface TenantStatsListener {
+
+    /**
+     * A sample has been added for a topic. The series must not be kept nor read outside of the call, it is updated
+     * by the next polls.
+     *
+     * @param tenant
+     *      tenant name
+     * @param series
+     *      samples of the topic
+     */
+    void onSample(String tenant, TopicStatsSeries series);
+
+    /**
+     * All the topics of a tenant have been sampled.
+     *
+     * @param tenant
+     *      tenant name
+     * @param topicCount
+     *      number of topics
+     */
+    default void onPollCompleted(String tenant, int topicCount) {}
+
+    /**
+     * The statistics of a tenant cannot be read.
+     *
+     * @param tenant
+     *      tenant name
+     * @param error
+     *      error
+     */
+    default void onError(String tenant, Exception error) {}
+}
@@ -0,0 +1,277 @@
+package com.dtsx.astra.sdk.streaming;
+
+import java.util.Arrays;
+
+/**
+ * Last samples of the statistics of a topic, kept in a ring buffer of primitive arrays.
+ * <p>
+ * The rate of each interval is computed when a sample is added, so rates and deltas are read without going through the
+ * samples. Percentiles sort a copy of the window in a buffer reused across calls. A counter lower than its previous
+ * value is considered reset and its delta is the new value, gauges have signed deltas. Methods synchronize on the
+ * series, the lock held by the collector while it adds a sample and notifies the listeners.
+ * </p>
+ */
+public class TopicStatsSeries {
+
+    /**
+     * Metrics sampled for a topic.
+     */
+    public enum Metric {
+
+        /** Total number of messages in (counter). */
+        MESSAGES_IN("totalMessagesIn", true),
+
+        /** Total number of messages out (counter). */
+        MESSAGES_OUT("totalMessagesOut", true),
+
+        /** Total number of bytes in (counter). */
+        BYTES_IN("totalBytesIn", true),
+
+        /** Total number of bytes out (counter). */
+        BYTES_OUT("totalBytesOut", true),
+
+        /** Storage size (gauge). */
+        STORAGE_SIZE("storageSize", false),
+
+        /** Number of messages in backlog (gauge). */
+        BACKLOG("msgBacklogNumber", false);
+
+        /** Field in the statistics. */
+        private final String field;
+
+        /** Cumulative value, a lower value means the counter has been reset. */
+        private final boolean counter;
+
+        Metric(String field, boolean counter) {
+            this.field   = field;
+            this.counter = counter;
+        }
+
+        /**
+         * Gets field in the statistics.
+         *
+         * @return
+         *      json field
+         */
+        public String getField() {
+            return field;
+        }
+
+        /**
+         * Lookup metric from its field.
+         *
+         * @param field
+         *      json field
+         * @return
+         *      metric or null
+         */
+        public static Metric fromField(String field) {
+            for (Metric m : VALUES) {
+                if (m.field.equals(field)) {
+                    return m;
+                }
+            }
+            return null;
+        }
+    }
+
+    /** Metrics, without allocating on each call to values(). */
+    static final Metric[] VALUES = Metric.values();
+
+    /** Topic name. */
+    private final String topic;
+
+    /** Number of samples kept. */
+    private final int capacity;
+
+    /** Sample times in millis. */
+    private final long[] timestamps;
+
+    /** Sample values, per metric. */
+    private final long[][] values;
+
+    /** Rate per second of the interval ending at the sample, per metric. */
+    private final double[][] rates;
+
+    /** Buffer to compute percentiles. */
+    private final double[] scratch;
+
+    /** Next slot. */
+    private int head;
+
+    /** Number of samples. */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param topic
+     *      topic name
+     * @param capacity
+     *      number of samples kept
+     */
+    public TopicStatsSeries(String topic, int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException("capacity should be at least 2");
+        }
+        this.topic      = topic;
+        this.capacity   = capacity;
+        this.timestamps = new long[capacity];
+        this.values     = new long[VALUES.length][capacity];
+        this.rates      = new double[VALUES.length][capacity];
+        this.scratch    = new double[capacity];
+    }
+
+    /**
+     * Add a sample.
+     *
+     * @param timestamp
+     *      sample time in millis
+     * @param sample
+     *      value per metric, in the order of {@link Metric}
+     */
+    public synchronized void add(long timestamp, long[] sample) {
+        int previous = index(1);
+        boolean hasPrevious = size > 0;
+        double seconds = hasPrevious ? (timestamp - timestamps[previous]) / 1000d : 0;
+        timestamps[head] = timestamp;
+        for (int m = 0; m < VALUES.length; m++) {
+            values[m][head] = sample[m];
+            rates[m][head] = hasPrevious && seconds > 0 ? delta(VALUES[m], sample[m], values[m][previous]) / seconds : 0;
+        }
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+    }
+
+    /**
+     * Gets topic name.
+     *
+     * @return
+     *      topic name
+     */
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Number of samples.
+     *
+     * @return
+     *      number of samples
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Time of the last sample.
+     *
+     * @return
+     *      time in millis, 0 when empty
+     */
+    public synchronized long getLastTimestamp() {
+        return size == 0 ? 0 : timestamps[index(1)];
+    }
+
+    /**
+     * Last value of a metric.
+     *
+     * @param metric
+     *      metric
+     * @return
+     *      value, 0 when empty
+     */
+    public synchronized long last(Metric metric) {
+        return size == 0 ? 0 : values[metric.ordinal()][index(1)];
+    }
+
+    /**
+     * Difference between the two last values of a metric.
+     *
+     * @param metric
+     *      metric
+     * @return
+     *      delta, 0 with less than two samples
+     */
+    public synchronized long delta(Metric metric) {
+        if (size < 2) {
+            return 0;
+        }
+        long[] v = values[metric.ordinal()];
+        return delta(metric, v[index(1)], v[index(2)]);
+    }
+
+    /**
+     * Rate per second of a metric over the last interval.
+     *
+     * @param metric
+     *      metric
+     * @return
+     *      rate per second
+     */
+    public synchronized double rate(Metric metric) {
+        return size < 2 ? 0 : rates[metric.ordinal()][index(1)];
+    }
+
+    /**
+     * Average rate per second of a metric over the window.
+     *
+     * @param metric
+     *      metric
+     * @return
+     *      rate per second
+     */
+    public synchronized double averageRate(Metric metric) {
+        if (size < 2) {
+            return 0;
+        }
+        double sum = 0;
+        double seconds = 0;
+        double[] r = rates[metric.ordinal()];
+        for (int i = 1; i < size; i++) {
+            double interval = (timestamps[index(i)] - timestamps[index(i + 1)]) / 1000d;
+            sum += r[index(i)] * interval;
+            seconds += interval;
+        }
+        return seconds > 0 ? sum / seconds : 0;
+    }
+
+    /**
+     * Percentile of the rates per second of a metric over the window.
+     *
+     * @param metric
+     *      metric
+     * @param percentile
+     *      percentile in [0, 100]
+     * @return
+     *      rate per second
+     */
+    public synchronized double ratePercentile(Metric metric, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile should be in [0, 100]");
+        }
+        int count = size - 1;
+        if (count <= 0) {
+            return 0;
+        }
+        double[] r = rates[metric.ordinal()];
+        for (int i = 0; i < count; i++) {
+            scratch[i] = r[index(i + 1)];
+        }
+        Arrays.sort(scratch, 0, count);
+        int rank = (int) Math.ceil(percentile / 100d * count) - 1;
+        return scratch[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    /**
+     * Slot of the n-th last sample, 1 being the last one.
+     */
+    private int index(int n) {
+        return Math.floorMod(head - n, capacity);
+    }
+
+    private static long delta(Metric metric, long current, long previous) {
+        return !metric.counter || current >= previous ? current - previous : current;
+    }
+
+}
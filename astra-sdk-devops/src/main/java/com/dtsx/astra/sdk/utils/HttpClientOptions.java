@@ -0,0 +1,131 @@
+package com.dtsx.astra.sdk.utils;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the http transport used to invoke the Devops API.
+ */
+@Getter
+public class HttpClientOptions {
+
+    /** Default maximum number of connections. */
+    public static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 100;
+
+    /** Default maximum number of connections per route. */
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 10;
+
+    /** Default timeout. */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(20);
+
+    /** Default delay before checking an idle connection. */
+    public static final Duration DEFAULT_VALIDATE_AFTER_INACTIVITY = Duration.ofSeconds(10);
+
+    /** Maximum number of connections in the pool. */
+    private int maxTotalConnections = DEFAULT_MAX_TOTAL_CONNECTIONS;
+
+    /** Maximum number of connections for one host. */
+    private int maxConnectionsPerRoute = DEFAULT_MAX_CONNECTIONS_PER_ROUTE;
+
+    /** Timeout to open a connection. */
+    private Duration connectTimeout = DEFAULT_TIMEOUT;
+
+    /** Timeout to lease a connection from the pool. */
+    private Duration connectionRequestTimeout = DEFAULT_TIMEOUT;
+
+    /** Timeout waiting for the response, none when null. */
+    private Duration responseTimeout;
+
+    /** Delay before checking an idle connection when leased. */
+    private Duration validateAfterInactivity = DEFAULT_VALIDATE_AFTER_INACTIVITY;
+
+    /**
+     * Default constructor.
+     */
+    public HttpClientOptions() {}
+
+    /**
+     * Set the maximum number of connections in the pool.
+     *
+     * @param maxTotalConnections
+     *      maximum number of connections
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions maxTotalConnections(int maxTotalConnections) {
+        Assert.isTrue(maxTotalConnections > 0, "maxTotalConnections should be positive");
+        this.maxTotalConnections = maxTotalConnections;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of connections for one host.
+     *
+     * @param maxConnectionsPerRoute
+     *      maximum number of connections per route
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        Assert.isTrue(maxConnectionsPerRoute > 0, "maxConnectionsPerRoute should be positive");
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+        return this;
+    }
+
+    /**
+     * Set the timeout to open a connection.
+     *
+     * @param connectTimeout
+     *      connect timeout
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions connectTimeout(Duration connectTimeout) {
+        Assert.notNull(connectTimeout, "connectTimeout");
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * Set the timeout to lease a connection from the pool.
+     *
+     * @param connectionRequestTimeout
+     *      connection request timeout
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions connectionRequestTimeout(Duration connectionRequestTimeout) {
+        Assert.notNull(connectionRequestTimeout, "connectionRequestTimeout");
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+
+    /**
+     * Set the timeout waiting for the response.
+     *
+     * @param responseTimeout
+     *      response timeout, none when null
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions responseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+        return this;
+    }
+
+    /**
+     * Set the delay before checking an idle connection when leased.
+     *
+     * @param validateAfterInactivity
+     *      delay of inactivity
+     * @return
+     *      current reference
+     */
+    public HttpClientOptions validateAfterInactivity(Duration validateAfterInactivity) {
+        Assert.notNull(validateAfterInactivity, "validateAfterInactivity");
+        this.validateAfterInactivity = validateAfterInactivity;
+        return this;
+    }
+
+}
@@ -3,7 +3,9 @@ package com.dtsx.astra.sdk.utils;
 import com.dtsx.astra.sdk.exception.AuthenticationException;
 import com.dtsx.astra.sdk.utils.observability.ApiExecutionInfos;
 import com.dtsx.astra.sdk.utils.observability.ApiRequestObserver;
-import com.dtsx.astra.sdk.utils.observability.CompletableFutures;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
 import org.apache.hc.client5.http.auth.StandardAuthScheme;
 import org.apache.hc.client5.http.classic.methods.HttpDelete;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
@@ -13,35 +15,41 @@ import org.apache.hc.client5.http.classic.methods.HttpPost;
 import org.apache.hc.client5.http.classic.methods.HttpPut;
 import org.apache.hc.client5.http.classic.methods.HttpTrace;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.cookie.StandardCookieSpec;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpResponse;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.net.HttpURLConnection;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Helper to forge Http Requests to interact with Devops API.
  */
-public class HttpClientWrapper {
+public class HttpClientWrapper implements Closeable {
     
     /** Logger for our Client. */
     private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientWrapper.class);
@@ -49,12 +57,6 @@ public class HttpClientWrapper {
     /** Value for the requested with. */
     private static final String REQUEST_WITH = "AstraJavaSDK " + HttpClientWrapper.class.getPackage().getImplementationVersion();
 
-    /** Default settings in Request and Retry */
-    private static final int DEFAULT_TIMEOUT_REQUEST   = 20;
-    
-    /** Default settings in Request and Retry */
-    private static final int DEFAULT_TIMEOUT_CONNECT   = 20;
-
     /** Headers, Api is using JSON */
     private static final String CONTENT_TYPE_JSON        = "application/json";
 
@@ -79,75 +81,214 @@ public class HttpClientWrapper {
     /** Current pulsar cluster. */
     private static final String HEADER_CURRENT_PULSAR_CLUSTER = "X-DataStax-Pulsar-Cluster";
 
-    /** Singleton pattern. */
-    private static HttpClientWrapper _instance = null;
-    
     /** HttpComponent5. */
-    protected CloseableHttpClient httpClient = null;
+    protected final CloseableHttpClient httpClient;
+
+    /** Async HttpComponent5, started on first asynchronous call. */
+    private final AtomicReference<CloseableHttpAsyncClient> asyncClient;
+
+    /** Pools have been closed, shared by all views of the transport. */
+    private final AtomicBoolean closed;
 
-    /** Observers. */
-    protected static Map<String, ApiRequestObserver> observers = new LinkedHashMap<>();
+    /** Settings of the transport. */
+    private final HttpClientOptions options;
 
-    /** Observers. */
-    protected String operationName= "n/a";
+    /** Observers notified for every transport. */
+    protected static final Map<String, ApiRequestObserver> observers = new ConcurrentHashMap<>();
 
-    /** Default request configuration. */
-    protected static RequestConfig requestConfig = RequestConfig.custom()
-            .setCookieSpec(StandardCookieSpec.STRICT)
-            .setExpectContinueEnabled(true)
-            .setConnectionRequestTimeout(Timeout.ofSeconds(DEFAULT_TIMEOUT_REQUEST))
-            .setConnectTimeout(Timeout.ofSeconds(DEFAULT_TIMEOUT_CONNECT))
-            .setTargetPreferredAuthSchemes(Arrays.asList(StandardAuthScheme.NTLM, StandardAuthScheme.DIGEST))
-            .build();
+    /** Observers of the client issuing the requests, may be null. */
+    private final Map<String, ApiRequestObserver> clientObservers;
+
+    /** Operation name, carried by each request of this view. */
+    protected final String operationName;
+
+    /** Request configuration. */
+    protected final RequestConfig requestConfig;
+
+    /** Only the transport which created the pools closes them, views and the default transport do not. */
+    private final boolean closeable;
 
     // -------------------------------------------
-    // ----------------- Singleton ---------------
+    // --------------- Constructors --------------
     // -------------------------------------------
-    
+
     /**
-     * Hide default constructor
+     * Holder of the transport shared by the clients created without options.
      */
-    private HttpClientWrapper() {}
-    
+    private static final class DefaultHolder {
+        private static final HttpClientWrapper INSTANCE = new HttpClientWrapper(new HttpClientOptions(), false);
+    }
+
     /**
-     * Singleton Pattern.
-     * 
+     * Create a transport with its own connection pools.
+     *
+     * @param options
+     *      pool sizes and timeouts
+     */
+    public HttpClientWrapper(HttpClientOptions options) {
+        this(options, true);
+    }
+
+    private HttpClientWrapper(HttpClientOptions options, boolean closeable) {
+        Assert.notNull(options, "options");
+        this.closeable       = closeable;
+        this.options         = options;
+        this.operationName   = "n/a";
+        this.clientObservers = null;
+        this.asyncClient     = new AtomicReference<>();
+        this.closed          = new AtomicBoolean();
+        this.requestConfig   = buildRequestConfig(options);
+        this.httpClient      = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(options.getMaxTotalConnections())
+                        .setMaxConnPerRoute(options.getMaxConnectionsPerRoute())
+                        .setDefaultConnectionConfig(buildConnectionConfig(options))
+                        .build())
+                .build();
+    }
+
+    /**
+     * View on a transport for one operation.
+     *
+     * @param parent
+     *      transport holding the pools
+     * @param operationName
+     *      name of the operation
+     * @param clientObservers
+     *      observers of the client issuing the requests
+     */
+    private HttpClientWrapper(HttpClientWrapper parent, String operationName, Map<String, ApiRequestObserver> clientObservers) {
+        this.options         = parent.options;
+        this.httpClient      = parent.httpClient;
+        this.asyncClient     = parent.asyncClient;
+        this.closed          = parent.closed;
+        this.requestConfig   = parent.requestConfig;
+        this.operationName   = operationName;
+        this.clientObservers = clientObservers;
+        this.closeable       = false;
+    }
+
+    /**
+     * Access the transport shared by the clients created without options.
+     *
      * @return
-     *      singleton for the class
-     */
-    private static synchronized HttpClientWrapper getInstance() {
-        if (_instance == null) {
-            _instance = new HttpClientWrapper();
-            final PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
-            connManager.setValidateAfterInactivity(TimeValue.ofSeconds(10));
-            connManager.setMaxTotal(100);
-            connManager.setDefaultMaxPerRoute(10);
-            _instance.httpClient = HttpClients.custom().setConnectionManager(connManager).build();
-        }
-        return _instance;
+     *      default transport
+     */
+    public static HttpClientWrapper getDefault() {
+        return DefaultHolder.INSTANCE;
     }
 
     /**
-     * Singleton Pattern.
+     * View on the default transport for one operation.
      *
      * @param operation
      *      name of the operation
      * @return
-     *      singleton for the class
-     */
-    public static synchronized HttpClientWrapper getInstance(String operation) {
-        if (_instance == null) {
-            _instance = new HttpClientWrapper();
-            final PoolingHttpClientConnectionManager connManager = new PoolingHttpClientConnectionManager();
-            connManager.setValidateAfterInactivity(TimeValue.ofSeconds(10));
-            connManager.setMaxTotal(100);
-            connManager.setDefaultMaxPerRoute(10);
-            _instance.httpClient = HttpClients.custom().setConnectionManager(connManager).build();
+     *      view on the default transport
+     */
+    public static HttpClientWrapper getInstance(String operation) {
+        return getDefault().withOperation(operation);
+    }
+
+    /**
+     * View on this transport for one operation, sharing its connection pools.
+     *
+     * @param operation
+     *      name of the operation
+     * @return
+     *      view on the transport
+     */
+    public HttpClientWrapper withOperation(String operation) {
+        return withOperation(operation, clientObservers);
+    }
+
+    /**
+     * View on this transport for one operation, sharing its connection pools.
+     *
+     * @param operation
+     *      name of the operation
+     * @param clientObservers
+     *      observers of the client issuing the requests
+     * @return
+     *      view on the transport
+     */
+    public HttpClientWrapper withOperation(String operation, Map<String, ApiRequestObserver> clientObservers) {
+        return new HttpClientWrapper(this, operation, clientObservers);
+    }
+
+    /**
+     * Close the connection pools, shared by all views of the transport. Closing a view or the default transport
+     * does nothing, the pools are only released by the transport which created them. The views of a closed
+     * transport reject new requests.
+     */
+    @Override
+    public void close() {
+        if (!closeable || !closed.compareAndSet(false, true)) {
+            return;
+        }
+        httpClient.close(CloseMode.GRACEFUL);
+        CloseableHttpAsyncClient client = asyncClient.getAndSet(null);
+        if (client != null) {
+            client.close(CloseMode.GRACEFUL);
         }
-        _instance.operationName = operation;
-        return _instance;
     }
-    
+
+    private static RequestConfig buildRequestConfig(HttpClientOptions options) {
+        RequestConfig.Builder builder = RequestConfig.custom()
+                .setCookieSpec(StandardCookieSpec.STRICT)
+                .setExpectContinueEnabled(true)
+                .setConnectionRequestTimeout(Timeout.of(options.getConnectionRequestTimeout()))
+                .setTargetPreferredAuthSchemes(Arrays.asList(StandardAuthScheme.NTLM, StandardAuthScheme.DIGEST));
+        if (options.getResponseTimeout() != null) {
+            builder.setResponseTimeout(Timeout.of(options.getResponseTimeout()));
+        }
+        return builder.build();
+    }
+
+    private static ConnectionConfig buildConnectionConfig(HttpClientOptions options) {
+        return ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(options.getConnectTimeout()))
+                .setValidateAfterInactivity(TimeValue.of(options.getValidateAfterInactivity()))
+                .build();
+    }
+
+    private void assertOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("Http transport has been closed, operation '" + operationName + "' cannot run");
+        }
+    }
+
+    private CloseableHttpAsyncClient getAsyncClient() {
+        assertOpen();
+        CloseableHttpAsyncClient client = asyncClient.get();
+        while (client == null) {
+            CloseableHttpAsyncClient created = HttpAsyncClients.custom()
+                    .setConnectionManager(PoolingAsyncClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(options.getMaxTotalConnections())
+                            .setMaxConnPerRoute(options.getMaxConnectionsPerRoute())
+                            .setDefaultConnectionConfig(buildConnectionConfig(options))
+                            .build())
+                    .setDefaultRequestConfig(requestConfig)
+                    .build();
+            if (asyncClient.compareAndSet(null, created)) {
+                if (closed.get()) {
+                    // closed while creating, the client is closed here unless close() already took it
+                    if (asyncClient.compareAndSet(created, null)) {
+                        created.close(CloseMode.IMMEDIATE);
+                    }
+                    assertOpen();
+                }
+                created.start();
+                client = created;
+            } else {
+                // Another thread won the race, the unstarted client holds no resources
+                created.close(CloseMode.IMMEDIATE);
+                client = asyncClient.get();
+            }
+        }
+        return client;
+    }
+
     // -------------------------------------------
     // ---------- Working with HTTP --------------
     // -------------------------------------------
@@ -332,6 +473,50 @@ public class HttpClientWrapper {
         executeHttp(Method.PATCH, url, token, body, CONTENT_TYPE_JSON, false);
     }
 
+    /**
+     * Helper to build the asynchronous HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http response
+     */
+    public CompletableFuture<ApiResponseHttp> GET_ASYNC(String url, String token) {
+        return executeHttpAsync(Method.GET, url, token, null, CONTENT_TYPE_JSON, false);
+    }
+
+    /**
+     * Helper to build the asynchronous HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @param body
+     *      request body
+     * @return
+     *      http response
+     */
+    public CompletableFuture<ApiResponseHttp> POST_ASYNC(String url, String token, String body) {
+        return executeHttpAsync(Method.POST, url, token, body, CONTENT_TYPE_JSON, true);
+    }
+
+    /**
+     * Helper to build the asynchronous HTTP request.
+     *
+     * @param url
+     *      target url
+     * @param token
+     *      authentication token
+     * @return
+     *      http response
+     */
+    public CompletableFuture<ApiResponseHttp> DELETE_ASYNC(String url, String token) {
+        return executeHttpAsync(Method.DELETE, url, token, null, CONTENT_TYPE_JSON, true);
+    }
+
     /**
      * Main Method executing HTTP Request.
      * 
@@ -365,6 +550,7 @@ public class HttpClientWrapper {
      *      api response
      */
     public ApiResponseHttp executeHttp(HttpUriRequestBase req, boolean mandatory) {
+        assertOpen();
 
         // Execution Infos
         ApiExecutionInfos.ApiExecutionInfoBuilder executionInfo = ApiExecutionInfos.builder()
@@ -411,11 +597,80 @@ public class HttpClientWrapper {
         } catch(Exception e) {
             throw new RuntimeException("Error in HTTP Request: " + e.getMessage(), e);
         } finally {
-            // Notify the observers
-            CompletableFuture.runAsync(()-> notifyASync(l -> l.onRequest(executionInfo.build()), observers.values()));
+            notifyObservers(executionInfo);
         }
     }
 
+    /**
+     * Execute an HTTP Request without blocking the calling thread, the errors complete the future exceptionally.
+     *
+     * @param method
+     *      http method
+     * @param url
+     *      url
+     * @param token
+     *      authentication token
+     * @param reqBody
+     *      request body
+     * @param contentType
+     *      request content type
+     * @param mandatory
+     *      allow 404 errors
+     * @return
+     *      http response
+     */
+    public CompletableFuture<ApiResponseHttp> executeHttpAsync(final Method method, final String url, final String token, String reqBody, String contentType, boolean mandatory) {
+        SimpleRequestBuilder builder = SimpleRequestBuilder.create(method)
+                .setUri(url)
+                .addHeader(HEADER_ACCEPT, CONTENT_TYPE_JSON)
+                .addHeader(HEADER_USER_AGENT, REQUEST_WITH)
+                .addHeader(HEADER_REQUESTED_WITH, REQUEST_WITH)
+                .addHeader(HEADER_AUTHORIZATION, "Bearer " + token)
+                .setRequestConfig(requestConfig);
+        if (null != reqBody) {
+            builder.setBody(reqBody, ContentType.parse(contentType));
+        }
+        SimpleHttpRequest req = builder.build();
+        ApiExecutionInfos.ApiExecutionInfoBuilder executionInfo = ApiExecutionInfos.builder()
+                .withOperationName(operationName)
+                .withHttpRequest(req);
+
+        CompletableFuture<ApiResponseHttp> result = new CompletableFuture<>();
+        getAsyncClient().execute(req, new FutureCallback<SimpleHttpResponse>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                try {
+                    Map<String, String > headers = new HashMap<>();
+                    Arrays.stream(response.getHeaders()).forEach(h -> headers.put(h.getName(), h.getValue()));
+                    ApiResponseHttp res = new ApiResponseHttp(response.getBodyText(), response.getCode(), headers);
+                    if (res.getCode() >= 300 && (HttpURLConnection.HTTP_NOT_FOUND != res.getCode() || mandatory)) {
+                        LOGGER.error("Error for request, url={}, method={}, body={}", url, method, reqBody == null ? "n/a" : reqBody);
+                        LOGGER.error("Response  code={}, body={}", res.getCode(), res.getBody());
+                        processErrors(res, mandatory);
+                    }
+                    executionInfo.withHttpResponse(res);
+                    result.complete(res);
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    notifyObservers(executionInfo);
+                }
+            }
+
+            @Override
+            public void failed(Exception e) {
+                result.completeExceptionally(new RuntimeException("Error in HTTP Request: " + e.getMessage(), e));
+                notifyObservers(executionInfo);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        });
+        return result;
+    }
+
     /**
      * Initialize an HTTP request against Stargate.
      * 
@@ -552,19 +807,31 @@ public class HttpClientWrapper {
     }
 
     /**
-     * Asynchronously send calls to listener for tracing.
-     *
-     * @param lambda
-     *      operations to execute
-     * @param observers
-     *      list of observers to check
+     * Asynchronously send the execution to the global observers and the observers of the client. The maps are
+     * concurrent, iterating them does not lock the registration.
      *
+     * @param executionInfo
+     *      execution of the request
      */
-    private void notifyASync(Consumer<ApiRequestObserver> lambda, Collection<ApiRequestObserver> observers) {
-        if (observers != null) {
-            CompletableFutures.allDone(observers.stream()
-                    .map(l -> CompletableFuture.runAsync(() -> lambda.accept(l)))
-                    .collect(Collectors.toList()));
+    private void notifyObservers(ApiExecutionInfos.ApiExecutionInfoBuilder executionInfo) {
+        boolean noClientObservers = clientObservers == null || clientObservers.isEmpty();
+        if (observers.isEmpty() && noClientObservers) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            ApiExecutionInfos infos = executionInfo.build();
+            observers.values().forEach(o -> notifyObserver(o, infos));
+            if (!noClientObservers) {
+                clientObservers.values().forEach(o -> notifyObserver(o, infos));
+            }
+        });
+    }
+
+    private void notifyObserver(ApiRequestObserver observer, ApiExecutionInfos infos) {
+        try {
+            observer.onRequest(infos);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Observer {} failed: {}", observer.getClass().getSimpleName(), e.getMessage());
         }
     }
 
@@ -0,0 +1,177 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Index of the items of a listing by name, to avoid listing everything on each lookup by name.
+ * <p>
+ * The index is rebuilt from a complete listing and expires after a time to live. A name absent from the
+ * index is not proof that the item does not exist, callers list again in that case.
+ * </p>
+ *
+ * @param <V>
+ *      indexed value (identifier or item)
+ */
+public class NameIndex<V> {
+
+    /** Default time to live of the index. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /** Default number of indexes kept by a {@link Registry}. */
+    public static final int DEFAULT_REGISTRY_SIZE = 32;
+
+    /** Time to live of the index. */
+    private volatile Duration ttl;
+
+    /** Names are compared ignoring case. */
+    private final boolean ignoreCase;
+
+    /** Current snapshot, null when never built or invalidated. */
+    private volatile Snapshot<V> snapshot;
+
+    /**
+     * Immutable content of the index.
+     *
+     * @param values
+     *      values by name
+     * @param expiresAt
+     *      expiration time in millis
+     * @param <V>
+     *      indexed value
+     */
+    private record Snapshot<V>(Map<String, List<V>> values, long expiresAt) {}
+
+    /**
+     * Constructor.
+     *
+     * @param ttl
+     *      time to live of the index
+     * @param ignoreCase
+     *      names are compared ignoring case
+     */
+    public NameIndex(Duration ttl, boolean ignoreCase) {
+        Assert.notNull(ttl, "ttl");
+        this.ttl        = ttl;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Lookup values by name.
+     *
+     * @param name
+     *      name
+     * @return
+     *      values for the name, empty when unknown or expired
+     */
+    public List<V> get(String name) {
+        Snapshot<V> current = snapshot;
+        if (current == null || System.currentTimeMillis() > current.expiresAt()) {
+            return Collections.emptyList();
+        }
+        return current.values().getOrDefault(key(name), Collections.emptyList());
+    }
+
+    /**
+     * Rebuild the index from a complete listing.
+     *
+     * @param items
+     *      all items
+     * @param nameOf
+     *      name of an item
+     * @param valueOf
+     *      indexed value of an item
+     * @param <T>
+     *      type of items
+     */
+    public <T> void refresh(List<T> items, Function<T, String> nameOf, Function<T, V> valueOf) {
+        Map<String, List<V>> values = new HashMap<>();
+        for (T item : items) {
+            String name = nameOf.apply(item);
+            if (name != null) {
+                values.computeIfAbsent(key(name), k -> new ArrayList<>()).add(valueOf.apply(item));
+            }
+        }
+        snapshot = new Snapshot<>(values, System.currentTimeMillis() + ttl.toMillis());
+    }
+
+    /**
+     * Drop the index, the next lookup lists everything again.
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    /**
+     * Update the time to live, applied on next refresh.
+     *
+     * @param ttl
+     *      time to live of the index
+     */
+    public void setTtl(Duration ttl) {
+        Assert.notNull(ttl, "ttl");
+        this.ttl = ttl;
+    }
+
+    private String key(String name) {
+        return ignoreCase ? name.toLowerCase(Locale.ROOT) : name;
+    }
+
+    /**
+     * Indexes shared by the clients of the same environment and token. Tokens are not kept, the indexes are
+     * keyed by a hash of the token, and only the most recently used indexes are kept.
+     *
+     * @param <V>
+     *      indexed value (identifier or item)
+     */
+    public static final class Registry<V> {
+
+        /** Names are compared ignoring case. */
+        private final boolean ignoreCase;
+
+        /** Indexes by environment and hash of the token, in access order. */
+        private final Map<String, NameIndex<V>> indexes;
+
+        /**
+         * Constructor.
+         *
+         * @param maxSize
+         *      number of indexes kept, the least recently used is evicted first
+         * @param ignoreCase
+         *      names are compared ignoring case
+         */
+        public Registry(int maxSize, boolean ignoreCase) {
+            Assert.isTrue(maxSize > 0, "maxSize should be positive");
+            this.ignoreCase = ignoreCase;
+            this.indexes    = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, NameIndex<V>> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        /**
+         * Get the index of an environment and a token, created when missing.
+         *
+         * @param env
+         *      astra environment
+         * @param token
+         *      token value
+         * @return
+         *      name index
+         */
+        public synchronized NameIndex<V> get(AstraEnvironment env, String token) {
+            return indexes.computeIfAbsent(env.name() + "/" + Utils.sha256(token),
+                    k -> new NameIndex<>(DEFAULT_TTL, ignoreCase));
+        }
+    }
+
+}
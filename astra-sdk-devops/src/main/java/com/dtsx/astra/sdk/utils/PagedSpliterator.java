@@ -0,0 +1,142 @@
+package com.dtsx.astra.sdk.utils;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walk a listing of the Devops API page by page, a page is only requested when the previous one has been consumed.
+ * <p>
+ * The pages are chained with a cursor, the identifier of the last item of the previous page
+ * ({@code starting_after}). A page smaller than the page size is the last one.
+ * </p>
+ *
+ * @param <T>
+ *      type of items
+ */
+public class PagedSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    /** Fetch the page starting after a cursor, the cursor is null for the first page. */
+    private final Function<String, CompletableFuture<List<T>>> pageFetcher;
+
+    /** Cursor of an item. */
+    private final Function<T, String> cursor;
+
+    /** Number of items in a full page. */
+    private final int pageSize;
+
+    /** Request the next page while the current one is consumed. */
+    private final boolean prefetch;
+
+    /** Items of the current page. */
+    private Iterator<T> current;
+
+    /** Next page, when requested. */
+    private CompletableFuture<List<T>> next;
+
+    /** Cursor of the next page. */
+    private String nextCursor;
+
+    /** No more page. */
+    private boolean lastPage;
+
+    /**
+     * Constructor.
+     *
+     * @param pageFetcher
+     *      fetch the page starting after a cursor, the cursor is null for the first page
+     * @param cursor
+     *      cursor of an item
+     * @param pageSize
+     *      number of items in a full page
+     * @param prefetch
+     *      request the next page while the current one is consumed
+     */
+    public PagedSpliterator(Function<String, CompletableFuture<List<T>>> pageFetcher, Function<T, String> cursor, int pageSize, boolean prefetch) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        Assert.notNull(pageFetcher, "pageFetcher");
+        Assert.notNull(cursor, "cursor");
+        Assert.isTrue(pageSize > 0, "pageSize should be positive");
+        this.pageFetcher = pageFetcher;
+        this.cursor      = cursor;
+        this.pageSize    = pageSize;
+        this.prefetch    = prefetch;
+    }
+
+    /**
+     * Lazy stream over all the pages.
+     *
+     * @param pageFetcher
+     *      fetch the page starting after a cursor, the cursor is null for the first page
+     * @param cursor
+     *      cursor of an item
+     * @param pageSize
+     *      number of items in a full page
+     * @param prefetch
+     *      request the next page while the current one is consumed
+     * @param <T>
+     *      type of items
+     * @return
+     *      stream of items
+     */
+    public static <T> Stream<T> stream(Function<String, CompletableFuture<List<T>>> pageFetcher, Function<T, String> cursor, int pageSize, boolean prefetch) {
+        return StreamSupport.stream(new PagedSpliterator<>(pageFetcher, cursor, pageSize, prefetch), false);
+    }
+
+    /**
+     * Lazy stream over a listing returned in a single response, the request is sent by the terminal operation.
+     *
+     * @param listing
+     *      request the listing
+     * @param <T>
+     *      type of items
+     * @return
+     *      stream of items
+     */
+    public static <T> Stream<T> single(Supplier<List<T>> listing) {
+        return StreamSupport.stream(() -> listing.get().spliterator(), Spliterator.ORDERED | Spliterator.SIZED, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (current == null || !current.hasNext()) {
+            if (lastPage) {
+                return false;
+            }
+            List<T> page = join(next != null ? next : pageFetcher.apply(nextCursor));
+            next = null;
+            if (page == null || page.size() < pageSize) {
+                lastPage = true;
+            } else {
+                nextCursor = cursor.apply(page.get(page.size() - 1));
+                if (prefetch) {
+                    next = pageFetcher.apply(nextCursor);
+                }
+            }
+            current = page == null ? null : page.iterator();
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
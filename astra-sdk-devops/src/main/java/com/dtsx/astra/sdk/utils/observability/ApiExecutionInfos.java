@@ -4,12 +4,18 @@ import com.dtsx.astra.sdk.utils.ApiResponse;
 import com.dtsx.astra.sdk.utils.ApiResponseHttp;
 import com.dtsx.astra.sdk.utils.Assert;
 import lombok.Getter;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
 import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
 import org.apache.hc.core5.http.Method;
 import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.ParseException;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.net.URISyntaxException;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
@@ -25,6 +31,8 @@ import java.util.stream.Collectors;
 @Getter
 public class ApiExecutionInfos implements Serializable {
 
+    /** Logger for the execution details. */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ApiExecutionInfos.class);
 
     /**
      * The original command request that was executed. This field provides access to the details of the
@@ -182,12 +190,38 @@ public class ApiExecutionInfos implements Serializable {
                             h -> Collections.singletonList(h.getValue())));
             try {
                 this.requestUrl = req.getUri().toString();
-            } catch (Exception e) {}
+            } catch (URISyntaxException e) {
+                LOGGER.warn("Cannot read the url of the request: {}", e.getMessage());
+            }
             if (req.getEntity() != null) {
                 try {
                     this.payload = EntityUtils.toString(req.getEntity());
-                } catch (Exception e) {}
+                } catch (IOException | ParseException e) {
+                    LOGGER.warn("Cannot read the payload of the request: {}", e.getMessage());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Populate before an asynchronous http call.
+         *
+         * @param req
+         *      input http request
+         * @return
+         *     current reference
+         */
+        public ApiExecutionInfoBuilder withHttpRequest(SimpleHttpRequest req) {
+            this.requestHttpMethod = Method.valueOf(req.getMethod());
+            this.requestHttpHeaders = Arrays.stream(req.getHeaders()).collect
+                    (Collectors.toMap(NameValuePair::getName,
+                            h -> Collections.singletonList(h.getValue())));
+            try {
+                this.requestUrl = req.getUri().toString();
+            } catch (URISyntaxException e) {
+                LOGGER.warn("Cannot read the url of the request: {}", e.getMessage());
             }
+            this.payload = req.getBodyText();
             return this;
         }
 
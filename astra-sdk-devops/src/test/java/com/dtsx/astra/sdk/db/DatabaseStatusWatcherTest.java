@@ -0,0 +1,190 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseStatusType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Polling of the databases status, against an in-memory list of databases.
+ */
+public class DatabaseStatusWatcherTest {
+
+    /**
+     * Client listing the databases of a map, terminated databases are not listed.
+     */
+    static class InMemoryDbClient extends AstraDBOpsClient {
+
+        /** Status by database identifier, in listing order. */
+        final Map<String, DatabaseStatusType> statuses = new ConcurrentHashMap<>();
+
+        /** Listings requested. */
+        final AtomicInteger listings = new AtomicInteger();
+
+        /** Databases read from the listings. */
+        final AtomicInteger listed = new AtomicInteger();
+
+        /** Databases read one by one. */
+        final AtomicInteger found = new AtomicInteger();
+
+        InMemoryDbClient() {
+            super("token");
+        }
+
+        @Override
+        public Stream<Database> findAllNonTerminated() {
+            listings.incrementAndGet();
+            // sorted first, the pages are read lazily
+            List<String> ids = statuses.keySet().stream().sorted().toList();
+            return ids.stream()
+                    .filter(id -> statuses.get(id) != DatabaseStatusType.TERMINATED)
+                    .map(id -> database(id, statuses.get(id)))
+                    .peek(db -> listed.incrementAndGet());
+        }
+
+        @Override
+        public Optional<Database> findById(String id) {
+            found.incrementAndGet();
+            DatabaseStatusType status = statuses.get(id);
+            return status == null ? Optional.empty() : Optional.of(database(id, status));
+        }
+
+        private static Database database(String id, DatabaseStatusType status) {
+            Database db = new Database();
+            db.setId(id);
+            db.setStatus(status);
+            return db;
+        }
+    }
+
+    private final InMemoryDbClient client = new InMemoryDbClient();
+
+    private DatabaseStatusWatcher watcher() {
+        return new DatabaseStatusWatcher(client, Duration.ofMillis(10), Duration.ofMillis(40));
+    }
+
+    private static Throwable failure(CompletableFuture<Database> future) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return e.getCause();
+    }
+
+    /** Wait for a few ticks of the poller. */
+    private static void ticks() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    @Test
+    @DisplayName("Complete when the database reaches the status")
+    public void shouldCompleteWhenStatusIsReached() throws Exception {
+        client.statuses.put("db1", DatabaseStatusType.PENDING);
+        try (DatabaseStatusWatcher watcher = watcher()) {
+            CompletableFuture<Database> active = watcher.watch("db1", DatabaseStatusType.ACTIVE);
+            ticks();
+            assertFalse(active.isDone());
+            assertEquals(1, watcher.size());
+            client.statuses.put("db1", DatabaseStatusType.ACTIVE);
+            Database db = active.get(5, TimeUnit.SECONDS);
+            assertEquals("db1", db.getId());
+            assertEquals(DatabaseStatusType.ACTIVE, db.getStatus());
+            ticks();
+            assertEquals(0, watcher.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Fail on error, on termination and on timeout")
+    public void shouldFailWhenStatusCannotBeReached() throws Exception {
+        client.statuses.put("db1", DatabaseStatusType.ERROR);
+        client.statuses.put("db2", DatabaseStatusType.TERMINATING);
+        client.statuses.put("db3", DatabaseStatusType.PENDING);
+        try (DatabaseStatusWatcher watcher = watcher()) {
+            CompletableFuture<Database> error = watcher.watch("db1", DatabaseStatusType.ACTIVE);
+            CompletableFuture<Database> terminating = watcher.watch("db2", DatabaseStatusType.ACTIVE);
+            CompletableFuture<Database> timeout = watcher.watch("db3", DatabaseStatusType.ACTIVE, Duration.ofMillis(100), false);
+            assertTrue(failure(error).getMessage().contains("ERROR"));
+            assertTrue(failure(terminating).getMessage().contains("TERMINATING"));
+            assertTrue(failure(timeout).getMessage().contains("after timeout"));
+        }
+    }
+
+    @Test
+    @DisplayName("Databases not listed anymore are terminated")
+    public void shouldReadDatabasesNotListedOnce() throws Exception {
+        client.statuses.put("db1", DatabaseStatusType.TERMINATED);
+        try (DatabaseStatusWatcher watcher = watcher()) {
+            CompletableFuture<Database> terminated = watcher.watch("db1", DatabaseStatusType.TERMINATED);
+            CompletableFuture<Database> deleted = watcher.watch("unknown", DatabaseStatusType.TERMINATED);
+            CompletableFuture<Database> active = watcher.watch("unknown", DatabaseStatusType.ACTIVE);
+            assertEquals(DatabaseStatusType.TERMINATED, terminated.get(5, TimeUnit.SECONDS).getStatus());
+            // never found, completed without a database
+            assertNull(deleted.get(5, TimeUnit.SECONDS));
+            assertTrue(failure(active) instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    @DisplayName("Stop reading the listing when every watched database has been seen")
+    public void shouldListOnlyUntilWatchedDatabasesAreSeen() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            client.statuses.put("db" + i, DatabaseStatusType.PENDING);
+        }
+        try (DatabaseStatusWatcher watcher = new DatabaseStatusWatcher(client, Duration.ofMillis(50), Duration.ofMillis(50))) {
+            CompletableFuture<Database> active = watcher.watch("db2", DatabaseStatusType.ACTIVE);
+            Thread.sleep(500);
+            assertTrue(client.listings.get() > 1);
+            // db0 to db2 at most for each listing
+            assertTrue(client.listed.get() <= 3 * client.listings.get());
+            assertEquals(0, client.found.get());
+            client.statuses.put("db2", DatabaseStatusType.ACTIVE);
+            active.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Wait for the database to leave the status when the operation keeps it")
+    public void shouldWaitForTransition() throws Exception {
+        client.statuses.put("db1", DatabaseStatusType.ACTIVE);
+        try (DatabaseStatusWatcher watcher = watcher()) {
+            CompletableFuture<Database> resized = watcher.watch("db1", DatabaseStatusType.ACTIVE,
+                    DatabaseStatusWatcher.DEFAULT_TIMEOUT, true);
+            CompletableFuture<Database> active = watcher.watch("db1", DatabaseStatusType.ACTIVE);
+            active.get(5, TimeUnit.SECONDS);
+            ticks();
+            assertFalse(resized.isDone());
+            client.statuses.put("db1", DatabaseStatusType.MAINTENANCE);
+            ticks();
+            assertFalse(resized.isDone());
+            client.statuses.put("db1", DatabaseStatusType.ACTIVE);
+            assertEquals(DatabaseStatusType.ACTIVE, resized.get(5, TimeUnit.SECONDS).getStatus());
+        }
+    }
+
+    @Test
+    @DisplayName("Closing cancels the pending watches")
+    public void shouldCancelWatchesOnClose() {
+        client.statuses.put("db1", DatabaseStatusType.PENDING);
+        DatabaseStatusWatcher watcher = watcher();
+        CompletableFuture<Database> active = watcher.watch("db1", DatabaseStatusType.ACTIVE);
+        watcher.close();
+        assertTrue(active.isCancelled());
+        assertEquals(0, watcher.size());
+        assertThrows(IllegalStateException.class, () -> watcher.watch("db1", DatabaseStatusType.ACTIVE));
+    }
+}
@@ -0,0 +1,165 @@
+package com.dtsx.astra.sdk.db;
+
+import com.dtsx.astra.sdk.db.domain.Database;
+import com.dtsx.astra.sdk.db.domain.DatabaseInfo;
+import com.dtsx.astra.sdk.db.domain.Datacenter;
+import com.dtsx.astra.sdk.db.exception.RegionNotFoundException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Download and cache of the secure bundles, against a local server.
+ */
+public class SecureBundleManagerTest {
+
+    /** Local server of the bundles, path {@code /region}. */
+    private HttpServer server;
+
+    /** ETag of the bundles, content is {@code region:etag}. */
+    private volatile String etag = "v1";
+
+    /** Bundles sent. */
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    /** Bundles not sent as the ETag matched. */
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    /** Databases read. */
+    private final AtomicInteger reads = new AtomicInteger();
+
+    private Path cacheDirectory;
+
+    private SecureBundleManager manager;
+
+    @BeforeEach
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            String region = exchange.getRequestURI().getPath().substring(1);
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                downloads.incrementAndGet();
+                byte[] body = (region + ":" + etag).getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+        cacheDirectory = Files.createTempDirectory("scb");
+        manager = new SecureBundleManager(new AstraDBOpsClient("token") {
+            @Override
+            public DbOpsClient database(String dbId) {
+                return new DbOpsClient("token", dbId) {
+                    @Override
+                    public Database get() {
+                        reads.incrementAndGet();
+                        return databaseWithRegions(dbId, "us-east1", "EU-West1");
+                    }
+                };
+            }
+        }, cacheDirectory, 2);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        manager.close();
+        server.stop(0);
+    }
+
+    /** Database with a datacenter per region, bundle urls served by the local server. */
+    private Database databaseWithRegions(String databaseId, String... regions) {
+        Set<Datacenter> datacenters = new LinkedHashSet<>();
+        for (String region : regions) {
+            Datacenter dc = new Datacenter();
+            dc.setRegion(region);
+            dc.setSecureBundleUrl("http://localhost:" + server.getAddress().getPort() + "/" + region.toLowerCase());
+            datacenters.add(dc);
+        }
+        DatabaseInfo info = new DatabaseInfo();
+        info.setDatacenters(datacenters);
+        Database db = new Database();
+        db.setId(databaseId);
+        db.setInfo(info);
+        return db;
+    }
+
+    @Test
+    @DisplayName("Download a bundle once whatever the case of the region")
+    public void shouldDownloadBundleOnce() throws Exception {
+        Path bundle = manager.getBundle("db1", "US-East1");
+        assertEquals(manager.getBundlePath("db1", "us-east1"), bundle);
+        assertEquals(manager.getBundlePath("db1", "US-EAST1"), bundle);
+        assertEquals("us-east1:v1", Files.readString(bundle));
+        assertEquals(bundle, manager.getBundle("db1", "us-east1"));
+        assertEquals(1, downloads.get());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("Download a bundle again only when its ETag changed")
+    public void shouldCheckBundleWithETag() throws Exception {
+        Path bundle = manager.getBundle("db1", "us-east1");
+        manager.invalidate("db1");
+        assertEquals(bundle, manager.getBundle("db1", "us-east1"));
+        assertEquals(1, downloads.get());
+        assertEquals(1, notModified.get());
+
+        etag = "v2";
+        manager.invalidate("db1");
+        manager.getBundle("db1", "us-east1");
+        assertEquals(2, downloads.get());
+        assertEquals("us-east1:v2", Files.readString(bundle));
+        assertEquals(3, reads.get());
+    }
+
+    @Test
+    @DisplayName("Download the bundles of all regions")
+    public void shouldDownloadBundlesOfAllRegions() throws Exception {
+        Map<String, Path> bundles = manager.getBundles("db1");
+        assertEquals(Set.of("us-east1", "eu-west1"), bundles.keySet());
+        assertEquals("eu-west1:v1", Files.readString(bundles.get("eu-west1")));
+        assertEquals(manager.getBundlePath("db1", "EU-West1"), bundles.get("eu-west1"));
+        assertEquals(2, downloads.get());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @DisplayName("Unknown region")
+    public void shouldFailOnUnknownRegion() {
+        assertThrows(RegionNotFoundException.class, () -> manager.getBundle("db1", "ap-south1"));
+        assertEquals(0, downloads.get());
+    }
+
+    @Test
+    @DisplayName("Expiration of the signed urls")
+    public void shouldReadUrlExpiration() {
+        // 2024-01-01T00:00:00Z + 300s, minus the 30s margin
+        assertEquals(1704067200000L + 270_000L, SecureBundleManager.getUrlExpiration(
+                "https://bucket/scb.zip?X-Amz-Date=20240101T000000Z&X-Amz-Expires=300&X-Amz-Signature=abc"));
+        assertEquals(1704067200000L - 30_000L, SecureBundleManager.getUrlExpiration(
+                "https://bucket/scb.zip?Expires=1704067200"));
+        long defaultExpiration = SecureBundleManager.getUrlExpiration("https://bucket/scb.zip");
+        assertTrue(defaultExpiration > System.currentTimeMillis());
+        assertTrue(defaultExpiration <= System.currentTimeMillis() + SecureBundleManager.DEFAULT_URL_VALIDITY.toMillis());
+    }
+}
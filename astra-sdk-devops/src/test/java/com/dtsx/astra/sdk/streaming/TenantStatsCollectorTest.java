@@ -0,0 +1,171 @@
+package com.dtsx.astra.sdk.streaming;
+
+import com.dtsx.astra.sdk.streaming.TopicStatsSeries.Metric;
+import com.dtsx.astra.sdk.streaming.domain.Tenant;
+import com.dtsx.astra.sdk.utils.AstraEnvironment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Polls of the tenants statistics, against clients returning fixed statistics.
+ */
+public class TenantStatsCollectorTest {
+
+    /** Interval long enough for the scheduled polls not to run during a test. */
+    private static final Duration NO_SCHEDULED_POLL = Duration.ofHours(1);
+
+    /**
+     * Client returning the statistics set by the test.
+     */
+    static class FixedStatsClient extends TenantStatsClient {
+
+        /** Statistics by topic. */
+        volatile String json;
+
+        /** When set, a poll waits for it once started. */
+        volatile CountDownLatch release;
+
+        /** Counted down when a poll is started. */
+        final CountDownLatch started = new CountDownLatch(1);
+
+        FixedStatsClient(String json) {
+            super("token", AstraEnvironment.PROD, new Tenant());
+            this.json = json;
+        }
+
+        @Override
+        public String topicsAsJson() {
+            started.countDown();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return json;
+        }
+    }
+
+    /**
+     * Listener keeping the events.
+     */
+    static class RecordingListener implements TenantStatsListener {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSample(String tenant, TopicStatsSeries series) {
+            events.add("sample " + tenant + " " + series.getTopic() + " " + series.last(Metric.MESSAGES_IN));
+        }
+
+        @Override
+        public void onPollCompleted(String tenant, int topicCount) {
+            events.add("completed " + tenant + " " + topicCount);
+        }
+
+        @Override
+        public void onError(String tenant, Exception error) {
+            events.add("error " + tenant);
+        }
+    }
+
+    private static String stats(long messagesIn, String... topics) {
+        StringBuilder json = new StringBuilder("{");
+        for (String topic : topics) {
+            json.append(json.length() > 1 ? "," : "")
+                    .append("\"").append(topic).append("\":{\"totalMessagesIn\":").append(messagesIn)
+                    .append(",\"msgBacklogNumber\":3,\"publishers\":[{\"rate\":1}],\"unknown\":\"x\"}");
+        }
+        return json.append("}").toString();
+    }
+
+    @Test
+    @DisplayName("Sample each topic and drop topics not returned anymore")
+    public void shouldSampleTopics() {
+        RecordingListener listener = new RecordingListener();
+        try (TenantStatsCollector collector = new TenantStatsCollector(NO_SCHEDULED_POLL, 5, 1)) {
+            collector.addListener(listener);
+            FixedStatsClient client = new FixedStatsClient(stats(10, "t1", "t2"));
+            collector.addTenant("tenant1", client);
+            collector.poll("tenant1", client);
+            assertEquals(Set.of("t1", "t2"), collector.getTopics("tenant1"));
+            assertEquals(List.of("sample tenant1 t1 10", "sample tenant1 t2 10", "completed tenant1 2"), listener.events);
+
+            client.json = stats(25, "t1");
+            collector.poll("tenant1", client);
+            assertEquals(Set.of("t1"), collector.getTopics("tenant1"));
+            TopicStatsSeries t1 = collector.getSeries("tenant1", "t1").orElseThrow();
+            assertEquals(2, t1.size());
+            assertEquals(15, t1.delta(Metric.MESSAGES_IN));
+            assertEquals(3, t1.last(Metric.BACKLOG));
+            assertFalse(collector.getSeries("tenant1", "t2").isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Report invalid statistics to the listeners")
+    public void shouldReportErrors() {
+        RecordingListener listener = new RecordingListener();
+        try (TenantStatsCollector collector = new TenantStatsCollector(NO_SCHEDULED_POLL, 5, 1)) {
+            collector.addListener(listener);
+            FixedStatsClient client = new FixedStatsClient("[]");
+            collector.addTenant("tenant1", client);
+            collector.poll("tenant1", client);
+            assertEquals(List.of("error tenant1"), listener.events);
+            assertTrue(collector.getTopics("tenant1").isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Drop the statistics of tenants not registered")
+    public void shouldDropStatisticsOfTenantsNotRegistered() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        try (TenantStatsCollector collector = new TenantStatsCollector(NO_SCHEDULED_POLL, 5, 1)) {
+            collector.addListener(listener);
+            FixedStatsClient client = new FixedStatsClient(stats(10, "t1"));
+            collector.poll("tenant1", client);
+            assertTrue(collector.getTopics("tenant1").isEmpty());
+
+            // the tenant is removed while its poll is running
+            collector.addTenant("tenant1", client);
+            client.release = new CountDownLatch(1);
+            Thread poller = new Thread(() -> collector.poll("tenant1", client));
+            poller.start();
+            assertTrue(client.started.await(5, TimeUnit.SECONDS));
+            collector.removeTenant("tenant1");
+            client.release.countDown();
+            poller.join(5000);
+            assertTrue(collector.getTopics("tenant1").isEmpty());
+            assertFalse(collector.getSeries("tenant1", "t1").isPresent());
+            assertTrue(listener.events.isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Poll the tenants on the scheduler until removed")
+    public void shouldPollTenantsOnSchedule() throws Exception {
+        CountDownLatch samples = new CountDownLatch(3);
+        try (TenantStatsCollector collector = new TenantStatsCollector(Duration.ofMillis(20), 2, 2)) {
+            collector.addListener((tenant, series) -> samples.countDown());
+            collector.addTenant("tenant1", new FixedStatsClient(stats(10, "t1")));
+            assertTrue(samples.await(5, TimeUnit.SECONDS));
+            // capacity of 2 samples
+            assertEquals(2, collector.getSeries("tenant1", "t1").orElseThrow().size());
+            collector.removeTenant("tenant1");
+            Thread.sleep(100);
+            assertTrue(collector.getTopics("tenant1").isEmpty());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.dtsx.astra.sdk.streaming;
+
+import com.dtsx.astra.sdk.streaming.TopicStatsSeries.Metric;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Ring buffer of the topic statistics, no tenant needed.
+ */
+public class TopicStatsSeriesTest {
+
+    /** Sample of the messages in and of the backlog, other metrics at 0. */
+    private static long[] sample(long messagesIn, long backlog) {
+        long[] sample = new long[TopicStatsSeries.VALUES.length];
+        sample[Metric.MESSAGES_IN.ordinal()] = messagesIn;
+        sample[Metric.BACKLOG.ordinal()] = backlog;
+        return sample;
+    }
+
+    @Test
+    @DisplayName("Empty and single sample series")
+    public void shouldHandleFewSamples() {
+        TopicStatsSeries series = new TopicStatsSeries("t", 3);
+        assertEquals(0, series.size());
+        assertEquals(0, series.getLastTimestamp());
+        assertEquals(0, series.last(Metric.MESSAGES_IN));
+        series.add(1000, sample(10, 5));
+        assertEquals(1, series.size());
+        assertEquals(10, series.last(Metric.MESSAGES_IN));
+        assertEquals(0, series.delta(Metric.MESSAGES_IN));
+        assertEquals(0, series.rate(Metric.MESSAGES_IN), 0);
+        assertEquals(0, series.averageRate(Metric.MESSAGES_IN), 0);
+        assertEquals(0, series.ratePercentile(Metric.MESSAGES_IN, 50), 0);
+        assertThrows(IllegalArgumentException.class, () -> new TopicStatsSeries("t", 1));
+        assertThrows(IllegalArgumentException.class, () -> series.ratePercentile(Metric.MESSAGES_IN, 101));
+    }
+
+    @Test
+    @DisplayName("Rates and deltas of counters and gauges")
+    public void shouldComputeRatesAndDeltas() {
+        TopicStatsSeries series = new TopicStatsSeries("t", 4);
+        series.add(0, sample(0, 10));
+        series.add(1000, sample(10, 4));
+        series.add(3000, sample(50, 8));
+        assertEquals(40, series.delta(Metric.MESSAGES_IN));
+        assertEquals(20, series.rate(Metric.MESSAGES_IN), 0.0001);
+        // 10 messages in 1s then 40 messages in 2s
+        assertEquals(50 / 3d, series.averageRate(Metric.MESSAGES_IN), 0.0001);
+        // gauges have signed deltas
+        assertEquals(4, series.delta(Metric.BACKLOG));
+        series.add(4000, sample(50, 2));
+        assertEquals(-6, series.delta(Metric.BACKLOG));
+        assertEquals(-6, series.rate(Metric.BACKLOG), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Counter reset")
+    public void shouldTreatLowerCounterAsReset() {
+        TopicStatsSeries series = new TopicStatsSeries("t", 3);
+        series.add(0, sample(100, 0));
+        series.add(1000, sample(7, 0));
+        assertEquals(7, series.delta(Metric.MESSAGES_IN));
+        assertEquals(7, series.rate(Metric.MESSAGES_IN), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Oldest samples are overwritten when the buffer is full")
+    public void shouldWrapAround() {
+        TopicStatsSeries series = new TopicStatsSeries("t", 3);
+        // Rates per interval: 1, 2, 3, 4, 5 messages per second
+        long total = 0;
+        series.add(0, sample(total, 0));
+        for (int i = 1; i <= 5; i++) {
+            total += i;
+            series.add(i * 1000L, sample(total, 0));
+        }
+        assertEquals(3, series.size());
+        assertEquals(5000, series.getLastTimestamp());
+        assertEquals(15, series.last(Metric.MESSAGES_IN));
+        assertEquals(5, series.delta(Metric.MESSAGES_IN));
+        assertEquals(5, series.rate(Metric.MESSAGES_IN), 0.0001);
+        // Window keeps the 2 last intervals
+        assertEquals(4.5, series.averageRate(Metric.MESSAGES_IN), 0.0001);
+        assertEquals(4, series.ratePercentile(Metric.MESSAGES_IN, 50), 0.0001);
+        assertEquals(5, series.ratePercentile(Metric.MESSAGES_IN, 100), 0.0001);
+        assertEquals(4, series.ratePercentile(Metric.MESSAGES_IN, 0), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Percentiles read while samples are added")
+    public void shouldReadPercentilesConcurrently() throws InterruptedException {
+        TopicStatsSeries series = new TopicStatsSeries("t", 64);
+        // Rates alternate between 10 and 30 messages per second, lowest is 10 and highest is 30
+        long[] total = {0};
+        series.add(0, sample(0, 0));
+        for (int i = 1; i < 64; i++) {
+            total[0] += i % 2 == 0 ? 10 : 30;
+            series.add(i * 1000L, sample(total[0], 0));
+        }
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 5_000; i++) {
+                        assertEquals(10, series.ratePercentile(Metric.MESSAGES_IN, 1), 0.0001);
+                        assertEquals(30, series.ratePercentile(Metric.MESSAGES_IN, 100), 0.0001);
+                    }
+                } catch (Throwable t) {
+                    error.compareAndSet(null, t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+        start.countDown();
+        for (int i = 64; i < 5_064; i++) {
+            total[0] += i % 2 == 0 ? 10 : 30;
+            series.add(i * 1000L, sample(total[0], 0));
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(error.get());
+    }
+}
@@ -0,0 +1,69 @@
+package com.dtsx.astra.sdk.utils;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Lifecycle of the transports and of their views, against a local server.
+ */
+public class HttpClientWrapperTest {
+
+    /** Local server answering an empty json object. */
+    private static HttpServer server() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    private static String url(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    @Test
+    @DisplayName("Views of a closed transport reject requests")
+    public void shouldRejectRequestsOfViewsAfterClose() throws Exception {
+        HttpServer server = server();
+        try {
+            HttpClientWrapper transport = new HttpClientWrapper(new HttpClientOptions());
+            HttpClientWrapper view = transport.withOperation("op");
+            assertEquals(200, view.GET_ASYNC(url(server), "token").get().getCode());
+            transport.close();
+            assertThrows(IllegalStateException.class, () -> view.GET_ASYNC(url(server), "token"));
+            assertThrows(IllegalStateException.class, () -> view.GET(url(server), "token"));
+            assertThrows(IllegalStateException.class, () -> transport.GET(url(server), "token"));
+            // closing again does nothing
+            transport.close();
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Closing a view keeps its transport open")
+    public void shouldNotCloseTransportFromView() throws Exception {
+        HttpServer server = server();
+        try (HttpClientWrapper transport = new HttpClientWrapper(new HttpClientOptions())) {
+            HttpClientWrapper view = transport.withOperation("op");
+            view.close();
+            HttpClientWrapper.getDefault().close();
+            assertEquals(200, view.GET(url(server), "token").getCode());
+            assertEquals(200, transport.GET_ASYNC(url(server), "token").get().getCode());
+            assertEquals(200, HttpClientWrapper.getInstance("default").GET(url(server), "token").getCode());
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -57,19 +57,39 @@ public class AstraVectorizeContentRetriever implements ContentRetriever {
     }
 
     public List<Content> retrieve(Query query) {
+        return embeddingStore.search(toSearchRequest(query)).matches()
+                .stream().map(EmbeddingMatch::embedded)
+                .map(Content::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieve the contents for several queries (query expansion, HyDE) with concurrent searches, the rankings
+     * being fused with reciprocal rank fusion.
+     *
+     * @param queries
+     *      queries
+     * @return
+     *      contents found by the queries, without duplicates
+     */
+    public List<Content> retrieveAll(List<Query> queries) {
+        List<EmbeddingSearchRequestAstra> searchRequests = queries.stream()
+                .map(this::toSearchRequest)
+                .collect(Collectors.toList());
+        return embeddingStore.searchAll(searchRequests, true).matches()
+                .stream().map(EmbeddingMatch::embedded)
+                .map(Content::from)
+                .collect(Collectors.toList());
+    }
 
-        EmbeddingSearchRequestAstra searchRequest = EmbeddingSearchRequestAstra
+    private EmbeddingSearchRequestAstra toSearchRequest(Query query) {
+        return EmbeddingSearchRequestAstra
                 .builderAstra()
                 .queryVectorize(query.text())
                 .filter(filterProvider)
                 .minScore(minScoreProvider)
                 .maxResults(maxResultsProvider)
                 .build();
-
-        return embeddingStore.search(searchRequest).matches()
-                .stream().map(EmbeddingMatch::embedded)
-                .map(Content::from)
-                .collect(Collectors.toList());
     }
 
     public String toString() {
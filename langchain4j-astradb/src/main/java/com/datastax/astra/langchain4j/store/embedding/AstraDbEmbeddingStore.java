@@ -24,9 +24,14 @@ import com.datastax.astra.client.collections.Collection;
 import com.datastax.astra.client.collections.commands.options.CollectionFindOneAndReplaceOptions;
 import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
 import com.datastax.astra.client.collections.commands.options.CollectionInsertManyOptions;
+import com.datastax.astra.client.collections.commands.results.CollectionInsertOneResult;
 import com.datastax.astra.client.collections.definition.documents.Document;
 import com.datastax.astra.client.core.DataAPIKeywords;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
 import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.query.Projection;
+import com.datastax.astra.client.core.writer.BufferedWriter;
+import com.datastax.astra.client.core.writer.BufferedWriterOptions;
 import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
@@ -40,13 +45,29 @@ import lombok.Setter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static com.datastax.astra.client.core.query.Filters.eq;
 import static com.datastax.astra.client.core.query.Filters.in;
+import static com.datastax.astra.client.core.query.Projection.exclude;
 import static com.datastax.astra.client.core.query.Projection.include;
 import static com.datastax.astra.client.core.query.Sort.vector;
 import static com.datastax.astra.client.core.query.Sort.vectorize;
@@ -72,6 +93,21 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      */
     public static final String KEY_SIMILARITY = "$similarity";
 
+    /**
+     * Rank constant of the reciprocal rank fusion.
+     */
+    private static final int RRF_K = 60;
+
+    /**
+     * Document keys which are not metadata.
+     */
+    private static final Set<String> RESERVED_KEYS = Set.of(
+            KEY_ATTRIBUTES_BLOB,
+            DataAPIKeywords.ID.getKeyword(),
+            DataAPIKeywords.VECTOR.getKeyword(),
+            DataAPIKeywords.VECTORIZE.getKeyword(),
+            DataAPIKeywords.SIMILARITY.getKeyword());
+
     /**
      * Client to work with an Astra Collection
      */
@@ -87,6 +123,28 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      */
     private final int concurrentThreads;
 
+    /**
+     * Writer shared by the streaming inserts, started by the first one and released by {@link #close()}.
+     */
+    private BufferedWriter<Document, CollectionInsertOneResult> bufferedWriter;
+
+    /**
+     * Return the stored vector with each match, disable it when only text, metadata and score are needed.
+     */
+    private boolean includeEmbeddings = true;
+
+    /**
+     * Metadata keys returned with each match, all keys when null.
+     */
+    private Set<String> metadataKeys;
+
+    /**
+     * Keep the type of the metadata values supported by {@link Metadata} (String, UUID, Integer, Long, Float,
+     * Double), read with the typed getters. Disabled by default, every value is then a String as with
+     * previous versions so that {@link Metadata#getString(String)} keeps working.
+     */
+    private boolean typedMetadata = false;
+
     /**
      * Initialization of the store with an EXISTING collection.
      *
@@ -119,6 +177,16 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
         this.concurrentThreads = concurrentThreads;
     }
 
+    /**
+     * Release the threads of the writer used by the streaming inserts, a later streaming insert starts a new one.
+     */
+    public synchronized void close() {
+        if (bufferedWriter != null) {
+            bufferedWriter.close();
+            bufferedWriter = null;
+        }
+    }
+
     /**
      * Delete all records from the table.
      */
@@ -215,6 +283,126 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Add embeddings as they are produced, without holding the full list in memory.
+     * <p>
+     * Records are converted and sent by chunks of {@code itemsPerChunk} as they are read from the iterators,
+     * {@code concurrentThreads} chunks being in flight at most for all the streaming inserts of the store; reading
+     * is paused when the writer is full. The listener receives the ids of each chunk with its errors as soon as the
+     * chunk is inserted, chunks may complete out of order but the listener is never called concurrently. The method
+     * returns when all the chunks read have been reported, the writer threads are released by {@link #close()}.
+     * </p>
+     *
+     * @param embeddings
+     *      embeddings, can be null to use vectorize on the text segments
+     * @param textSegments
+     *      text segments (same order as the embeddings), can be null
+     * @param listener
+     *      receives the result of each chunk
+     * @return
+     *      number of records inserted
+     * @throws IllegalArgumentException
+     *      when embeddings and text segments have different sizes, the records read before are inserted and reported
+     */
+    public long addAll(Iterator<Embedding> embeddings, Iterator<TextSegment> textSegments,
+                       Consumer<AstraDbInsertChunkResult> listener) {
+        if (embeddings == null && textSegments == null) {
+            throw new IllegalArgumentException("embeddings or textSegments must be provided");
+        }
+        Set<CompletableFuture<?>> pendingChunks = ConcurrentHashMap.newKeySet();
+        AtomicLong insertedCount = new AtomicLong();
+        try {
+            addAll(embeddings, textSegments, listener, getBufferedWriter(), pendingChunks, insertedCount);
+        } finally {
+            // chunk results never complete exceptionally, the listener is called for every chunk sent
+            CompletableFuture.allOf(pendingChunks.toArray(new CompletableFuture<?>[0])).join();
+        }
+        if (embeddings != null && textSegments != null && textSegments.hasNext()) {
+            throw new IllegalArgumentException("embeddings has less elements than textSegments");
+        }
+        return insertedCount.get();
+    }
+
+    /**
+     * Read the iterators and send the records to the writer by chunks.
+     */
+    private void addAll(Iterator<Embedding> embeddings, Iterator<TextSegment> textSegments,
+                        Consumer<AstraDbInsertChunkResult> listener,
+                        BufferedWriter<Document, CollectionInsertOneResult> bufferedWriter,
+                        Set<CompletableFuture<?>> pendingChunks, AtomicLong insertedCount) {
+        long offset = 0;
+        while (embeddings != null ? embeddings.hasNext() : textSegments.hasNext()) {
+            List<CompletableFuture<CollectionInsertOneResult>> chunk = new ArrayList<>(itemsPerChunk);
+            try {
+                while (chunk.size() < itemsPerChunk && (embeddings != null ? embeddings.hasNext() : textSegments.hasNext())) {
+                    Embedding embedding = embeddings != null ? embeddings.next() : null;
+                    if (textSegments != null && !textSegments.hasNext()) {
+                        throw new IllegalArgumentException("textSegments has less elements than embeddings");
+                    }
+                    TextSegment textSegment = textSegments != null ? textSegments.next() : null;
+                    chunk.add(bufferedWriter.insert(fromEmbeddingToDocument(embedding, textSegment)));
+                }
+            } catch (RuntimeException e) {
+                // records of the partial chunk are already sent, they are reported before failing
+                if (!chunk.isEmpty()) {
+                    reportChunk(chunk, offset, listener, pendingChunks, insertedCount);
+                }
+                throw e;
+            }
+            reportChunk(chunk, offset, listener, pendingChunks, insertedCount);
+            offset += chunk.size();
+        }
+    }
+
+    /**
+     * Report the result of a chunk to the listener once all its records have been sent.
+     */
+    private void reportChunk(List<CompletableFuture<CollectionInsertOneResult>> chunk, long chunkOffset,
+                             Consumer<AstraDbInsertChunkResult> listener,
+                             Set<CompletableFuture<?>> pendingChunks, AtomicLong insertedCount) {
+        CompletableFuture<Void> chunkResult = CompletableFuture
+                .allOf(chunk.toArray(new CompletableFuture[0]))
+                .handle((r, e) -> {
+                    List<String> ids = new ArrayList<>(chunk.size());
+                    Map<Integer, Throwable> errors = new HashMap<>();
+                    for (int i = 0; i < chunk.size(); i++) {
+                        try {
+                            ids.add(chunk.get(i).join().getInsertedId().toString());
+                        } catch (RuntimeException error) {
+                            ids.add(null);
+                            errors.put(i, error.getCause() != null ? error.getCause() : error);
+                        }
+                    }
+                    insertedCount.addAndGet(chunk.size() - errors.size());
+                    if (listener != null) {
+                        synchronized (listener) {
+                            listener.accept(new AstraDbInsertChunkResult(chunkOffset, ids, errors));
+                        }
+                    }
+                    return null;
+                });
+        pendingChunks.add(chunkResult);
+        chunkResult.whenComplete((r, e) -> pendingChunks.remove(chunkResult));
+    }
+
+    /**
+     * Writer of the streaming inserts, batches of {@code itemsPerChunk} sent by {@code concurrentThreads}.
+     * It is created on first use and shared by all the streaming inserts of the store.
+     *
+     * @return
+     *      the buffered writer
+     */
+    private synchronized BufferedWriter<Document, CollectionInsertOneResult> getBufferedWriter() {
+        if (bufferedWriter == null) {
+            int batchSize = Math.min(itemsPerChunk, DataAPIClientOptions.MAX_CHUNK_SIZE);
+            bufferedWriter = astraDBCollection.bufferedWriter(new BufferedWriterOptions()
+                    .batchSize(batchSize)
+                    .concurrency(concurrentThreads)
+                    .maxPendingRecords(batchSize * concurrentThreads * 2));
+        }
+        return bufferedWriter;
+    }
+
     /** {@inheritDoc}  */
     public List<EmbeddingMatch<TextSegment>> findRelevant(Embedding referenceEmbedding, int maxResults, double minScore) {
         return findRelevant(referenceEmbedding, (Filter) null, maxResults, minScore);
@@ -232,6 +420,102 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
         return new EmbeddingSearchResult(matches2);
     }
 
+    /**
+     * Run several searches concurrently and merge their matches, an id returned by several searches is kept once
+     * with its best score.
+     *
+     * @param requests
+     *      searches, {@link EmbeddingSearchRequestAstra} with a query use vectorize
+     * @return
+     *      matches sorted by score, at most the largest {@code maxResults} of the requests
+     */
+    public EmbeddingSearchResult<TextSegment> searchAll(List<? extends EmbeddingSearchRequest> requests) {
+        return searchAll(requests, false);
+    }
+
+    /**
+     * Run several searches concurrently (query expansion, HyDE) and merge their matches by id.
+     * <p>
+     * With {@code reciprocalRankFusion}, the score of a match is the sum of {@code 1 / (60 + rank)} over the
+     * searches returning it, which favours documents found by several searches. Otherwise, a match keeps its best
+     * similarity. Matches with the same score keep the order of the first search returning them. The minimum
+     * score of a request filters the similarities of its search, before the fusion.
+     * </p>
+     * <p>
+     * The searches run on threads dedicated to the call, they block on the HTTP requests and do not use the
+     * common pool.
+     * </p>
+     *
+     * @param requests
+     *      searches, {@link EmbeddingSearchRequestAstra} with a query use vectorize
+     * @param reciprocalRankFusion
+     *      fuse the rankings instead of keeping the best similarity
+     * @return
+     *      matches sorted by score, at most the largest {@code maxResults} of the requests
+     */
+    public EmbeddingSearchResult<TextSegment> searchAll(List<? extends EmbeddingSearchRequest> requests, boolean reciprocalRankFusion) {
+        if (requests == null || requests.isEmpty()) {
+            return new EmbeddingSearchResult<>(new ArrayList<>());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(requests.size());
+        List<CompletableFuture<List<EmbeddingMatch<TextSegment>>>> searches;
+        try {
+            searches = requests.stream()
+                    .map(request -> searchAsync(request, executor))
+                    .collect(Collectors.toList());
+            CompletableFuture.allOf(searches.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Map<String, EmbeddingMatch<TextSegment>> matchesById = new LinkedHashMap<>();
+        Map<String, Double> scores = new HashMap<>();
+        for (CompletableFuture<List<EmbeddingMatch<TextSegment>>> search : searches) {
+            List<EmbeddingMatch<TextSegment>> matches = search.join();
+            for (int rank = 0; rank < matches.size(); rank++) {
+                EmbeddingMatch<TextSegment> match = matches.get(rank);
+                matchesById.putIfAbsent(match.embeddingId(), match);
+                if (reciprocalRankFusion) {
+                    scores.merge(match.embeddingId(), 1d / (RRF_K + rank + 1), Double::sum);
+                } else {
+                    scores.merge(match.embeddingId(), match.score(), Math::max);
+                }
+            }
+        }
+        int maxResults = requests.stream().mapToInt(EmbeddingSearchRequest::maxResults).max().orElse(0);
+        List<EmbeddingMatch<TextSegment>> merged = matchesById.values().stream()
+                .map(m -> new EmbeddingMatch<>(scores.get(m.embeddingId()), m.embeddingId(), m.embedding(), m.embedded()))
+                .sorted(Comparator.comparingDouble((EmbeddingMatch<TextSegment> m) -> m.score()).reversed())
+                .limit(maxResults)
+                .collect(Collectors.toList());
+        return new EmbeddingSearchResult<>(merged);
+    }
+
+    /**
+     * Run a search without blocking the caller.
+     *
+     * @param request
+     *      search request
+     * @param executor
+     *      executor running the search
+     * @return
+     *      matches of the search
+     */
+    private CompletableFuture<List<EmbeddingMatch<TextSegment>>> searchAsync(EmbeddingSearchRequest request, Executor executor) {
+        Filter astraFilter = request.filter() != null ? AstraDbFilterMapper.map(request.filter()) : null;
+        CollectionFindOptions options = new CollectionFindOptions()
+                .limit(request.maxResults())
+                .projection(getSearchProjection())
+                .includeSimilarity(true);
+        if (request instanceof EmbeddingSearchRequestAstra && ((EmbeddingSearchRequestAstra) request).query() != null) {
+            options.sort(vectorize(((EmbeddingSearchRequestAstra) request).query()));
+        } else {
+            options.sort(vector(request.queryEmbedding().vector()));
+        }
+        return CompletableFuture.supplyAsync(() -> astraDBCollection.findPage(astraFilter, options), executor)
+                .thenApply(page -> toMatches(page.getResults(), request.minScore()));
+    }
+
     /**
      * Implementation of the Search to add the metadata Filtering.
      *
@@ -274,16 +558,9 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      *      records
      */
     public List<EmbeddingMatch<TextSegment>> findRelevant(Embedding referenceEmbedding, Filter metaDatafilter, int maxResults, double minScore) {
-        return astraDBCollection
-                .find(metaDatafilter, new CollectionFindOptions()
-                        .sort(vector(referenceEmbedding.vector()))
-                        .limit(maxResults)
-                        .projection(include("*"))
-                        .includeSimilarity(true))
-                .toList().stream()
-                .filter(r -> r.getSimilarity().isPresent() &&  r.getSimilarity().get()>= minScore)
-                .map(this::fromDocumentToEmbeddingMatch)
-                .collect(Collectors.toList());
+        return findRelevant(metaDatafilter, new CollectionFindOptions()
+                .sort(vector(referenceEmbedding.vector()))
+                .limit(maxResults), minScore);
     }
 
     /**
@@ -352,15 +629,71 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      *      records
      */
     protected List<EmbeddingMatch<TextSegment>> findRelevant(String vectorize, Filter metaDatafilter, int maxResults, double minScore) {
-        return astraDBCollection.find(metaDatafilter, new CollectionFindOptions()
-                        .limit(maxResults)
-                        .sort(vectorize(vectorize))
-                        .projection(include("*"))
-                        .includeSimilarity(true))
-                .toList().stream()
-                .filter(r -> r.getSimilarity().isPresent() &&  r.getSimilarity().get()>= minScore)
-                .map(this::fromDocumentToEmbeddingMatch)
-                .collect(Collectors.toList());
+        return findRelevant(metaDatafilter, new CollectionFindOptions()
+                .limit(maxResults)
+                .sort(vectorize(vectorize)), minScore);
+    }
+
+    /**
+     * Run a vector search, converting the matches until the similarity falls below the threshold.
+     *
+     * @param metaDatafilter
+     *      filter for metadata
+     * @param options
+     *      options with the vector sort and the limit
+     * @param minScore
+     *      threshold
+     * @return
+     *      records
+     */
+    private List<EmbeddingMatch<TextSegment>> findRelevant(Filter metaDatafilter, CollectionFindOptions options, double minScore) {
+        options.projection(getSearchProjection()).includeSimilarity(true);
+        return toMatches(astraDBCollection.find(metaDatafilter, options), minScore);
+    }
+
+    /**
+     * Convert the documents of a vector search until the similarity falls below the threshold.
+     *
+     * @param documents
+     *      documents sorted by similarity
+     * @param minScore
+     *      threshold
+     * @return
+     *      records
+     */
+    private List<EmbeddingMatch<TextSegment>> toMatches(Iterable<Document> documents, double minScore) {
+        List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>();
+        for (Document doc : documents) {
+            Optional<Double> similarity = doc.getSimilarity();
+            if (similarity.isEmpty()) {
+                continue;
+            }
+            if (similarity.get() < minScore) {
+                // results are sorted by similarity, the next ones are below the threshold too
+                break;
+            }
+            matches.add(fromDocumentToEmbeddingMatch(doc));
+        }
+        return matches;
+    }
+
+    /**
+     * Projection of the searches: the vector is only returned when embeddings are requested and the metadata
+     * can be limited to a list of keys.
+     *
+     * @return
+     *      projection
+     */
+    private Projection[] getSearchProjection() {
+        if (metadataKeys != null) {
+            List<String> fields = new ArrayList<>(metadataKeys);
+            fields.add(KEY_ATTRIBUTES_BLOB);
+            if (includeEmbeddings) {
+                fields.add(DataAPIKeywords.VECTOR.getKeyword());
+            }
+            return include(fields.toArray(new String[0]));
+        }
+        return includeEmbeddings ? include("*") : exclude(DataAPIKeywords.VECTOR.getKeyword());
     }
 
     /**
@@ -371,7 +704,7 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @return
      *      embedding match as expected by langchain4j
      */
-    private EmbeddingMatch<TextSegment> fromDocumentToEmbeddingMatch(Document doc) {
+    EmbeddingMatch<TextSegment> fromDocumentToEmbeddingMatch(Document doc) {
         Double score        = doc.getSimilarity().orElse(0d);
         String embeddingId  = doc.getId(String.class);
         Embedding embedding = null;
@@ -381,20 +714,36 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
         TextSegment embedded = null;
         Object body = doc.get(KEY_ATTRIBUTES_BLOB);
         if (body != null) {
-            Metadata metadata = new Metadata(doc.getDocumentMap().entrySet().stream()
-                        .collect(Collectors.toMap(Map.Entry::getKey,
-                                entry -> entry.getValue() == null ? "" : entry.getValue().toString()
-            )));
-            metadata.remove(KEY_ATTRIBUTES_BLOB);
-            metadata.remove(DataAPIKeywords.ID.getKeyword());
-            metadata.remove(DataAPIKeywords.VECTOR.getKeyword());
-            metadata.remove(DataAPIKeywords.VECTORIZE.getKeyword());
-            metadata.remove(DataAPIKeywords.SIMILARITY.getKeyword());
-            embedded = new TextSegment(body.toString(), metadata);
+            Map<String, Object> metadata = new HashMap<>();
+            for (Map.Entry<String, Object> entry : doc.getDocumentMap().entrySet()) {
+                if (!RESERVED_KEYS.contains(entry.getKey())) {
+                    metadata.put(entry.getKey(), toMetadataValue(entry.getValue()));
+                }
+            }
+            embedded = new TextSegment(body.toString(), new Metadata(metadata));
         }
         return new EmbeddingMatch<>(score, embeddingId, embedding, embedded);
     }
 
+    /**
+     * Convert a value to String, unless {@code typedMetadata} is set and the value is supported by {@link Metadata}.
+     *
+     * @param value
+     *      value of the document
+     * @return
+     *      metadata value
+     */
+    private Object toMetadataValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (typedMetadata && (value instanceof String || value instanceof UUID || value instanceof Integer
+                || value instanceof Long || value instanceof Float || value instanceof Double)) {
+            return value;
+        }
+        return value.toString();
+    }
+
     /**
      * Map from LangChain4j record to AstraDB record.
      *
@@ -405,7 +754,7 @@ public class AstraDbEmbeddingStore implements EmbeddingStore<TextSegment> {
      * @return
      *      a json document
      */
-    private Document fromEmbeddingToDocument(Embedding embedding, TextSegment textSegment) {
+    Document fromEmbeddingToDocument(Embedding embedding, TextSegment textSegment) {
         Document record = new Document();
         if (embedding!=null) {
             record.vector(embedding.vector());
@@ -0,0 +1,76 @@
+package com.datastax.astra.langchain4j.store.embedding;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one chunk of a streaming {@code addAll}: the ids of the records inserted and the errors of the
+ * records rejected.
+ */
+@Getter
+public class AstraDbInsertChunkResult {
+
+    /**
+     * Position of the first record of the chunk in the input.
+     */
+    private final long offset;
+
+    /**
+     * Ids of the records of the chunk, in input order, null for a record rejected.
+     */
+    private final List<String> ids;
+
+    /**
+     * Errors of the records rejected, by position in the chunk.
+     */
+    private final Map<Integer, Throwable> errors;
+
+    /**
+     * Constructor.
+     *
+     * @param offset
+     *      position of the first record of the chunk in the input
+     * @param ids
+     *      ids of the records, null for a record rejected
+     * @param errors
+     *      errors by position in the chunk
+     */
+    public AstraDbInsertChunkResult(long offset, List<String> ids, Map<Integer, Throwable> errors) {
+        this.offset = offset;
+        this.ids    = Collections.unmodifiableList(ids);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Check if all the records of the chunk are inserted.
+     *
+     * @return
+     *      true if no record was rejected
+     */
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,326 @@
+package com.datastax.astra.langchain4j.store.memory;
+
+/*-
+ * #%L
+ * Data API Java Client
+ * --
+ * Copyright (C) 2024 DataStax
+ * --
+ * Licensed under the Apache License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.databases.Database;
+import dev.langchain4j.data.message.ChatMessage;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.datastax.astra.client.core.query.Filters.and;
+import static com.datastax.astra.client.core.query.Filters.eq;
+import static com.datastax.astra.client.core.query.Filters.in;
+import static com.datastax.astra.client.core.query.Sort.descending;
+
+/**
+ * Chat memory store writing only the changes of a conversation.
+ * <p>
+ * The store keeps the last known state of each conversation. On {@link #updateMessages(Object, List)} the new
+ * list is compared with it in order: messages already stored keep their id and are not written again, new
+ * messages are appended with increasing times and messages evicted by the chat memory are deleted by id.
+ * A turn therefore costs one insert and at most one delete, whatever the length of the conversation.
+ * </p>
+ * <p>
+ * Reads return the last {@code windowSize} messages, oldest first, using a sort and a limit. The window should
+ * be at least the size of the chat memory window. The state of a conversation is loaded from the collection on
+ * first access, reading at least as many messages as the update, use {@link #evict(Object)} when several
+ * instances update the same conversation.
+ * </p>
+ * <p>
+ * Updates of a conversation are serialized with a lock chosen from the chat id, not with its state, so that
+ * an update, a deletion and the eviction of the state never interleave.
+ * </p>
+ */
+@Slf4j
+@Getter
+@Setter
+@Accessors(fluent = true)
+public class AstraDbIncrementalChatMemoryStore extends AstraDbChatMemoryStore {
+
+    /**
+     * Default number of conversations kept in memory.
+     */
+    public static final int DEFAULT_MAX_CONVERSATIONS = 10000;
+
+    /**
+     * Number of locks shared by the conversations.
+     */
+    private static final int LOCK_STRIPES = 256;
+
+    /**
+     * Number of messages read for a conversation, all messages when null.
+     */
+    private Integer windowSize;
+
+    /**
+     * Last known state of the conversations, least recently used evicted first.
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final Map<Object, Conversation> conversations;
+
+    /**
+     * Locks of the conversations, kept when their state is evicted.
+     */
+    @Getter(lombok.AccessLevel.NONE)
+    @Setter(lombok.AccessLevel.NONE)
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Messages stored for a conversation, oldest first.
+     */
+    private static final class Conversation {
+
+        /** Stored messages. */
+        private List<AstraDbChatMessage> messages;
+
+        /** Time of the last message, new messages are stored after it. */
+        private Instant lastTime = Instant.EPOCH;
+    }
+
+    /**
+     * Reuse a collection to store chat messages.
+     *
+     * @param collection
+     *      current collection to store chat messages
+     */
+    public AstraDbIncrementalChatMemoryStore(Collection<AstraDbChatMessage> collection) {
+        this(collection, DEFAULT_MAX_CONVERSATIONS);
+    }
+
+    /**
+     * Reuse a collection to store chat messages.
+     *
+     * @param collection
+     *      current collection to store chat messages
+     * @param maxConversations
+     *      number of conversations states kept in memory
+     */
+    public AstraDbIncrementalChatMemoryStore(Collection<AstraDbChatMessage> collection, int maxConversations) {
+        super(collection);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        this.conversations = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Conversation> eldest) {
+                return size() > maxConversations;
+            }
+        });
+    }
+
+    /**
+     * Create a default collection (no vector) to store chat messages.
+     *
+     * @param database
+     *      client for existing active database
+     */
+    public AstraDbIncrementalChatMemoryStore(Database database) {
+        this(new AstraDbChatMemoryStore(database).chatMemoryCollection());
+    }
+
+    /**
+     * Set the number of messages read for a conversation.
+     *
+     * @param windowSize
+     *      number of messages, all messages when null
+     * @return
+     *      current store
+     */
+    public AstraDbIncrementalChatMemoryStore windowSize(Integer windowSize) {
+        if (windowSize != null && windowSize < 1) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.windowSize = windowSize;
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<ChatMessage> getMessages(@NonNull Object chatId) {
+        return getLastMessages(chatId, windowSize)
+                .stream()
+                .map(AstraDbChatMessage::toChatMessage)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Read the last messages of a conversation.
+     *
+     * @param chatId
+     *      conversation id
+     * @param limit
+     *      number of messages, all messages when null
+     * @return
+     *      messages, oldest first
+     */
+    public List<AstraDbChatMessage> getLastMessages(@NonNull Object chatId, Integer limit) {
+        CollectionFindOptions options = new CollectionFindOptions()
+                .sort(descending(AstraDbChatMessage.PROP_MESSAGE_TIME));
+        if (limit != null) {
+            options.limit(limit);
+        }
+        List<AstraDbChatMessage> messages = new ArrayList<>(chatMemoryCollection()
+                .find(eq(AstraDbChatMessage.PROP_CHAT_ID, chatId), options)
+                .toList());
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void updateMessages(Object chatId, List<ChatMessage> list) {
+        if (list == null) {
+            return;
+        }
+        synchronized (lock(chatId)) {
+            Conversation conversation = conversations.computeIfAbsent(chatId, k -> new Conversation());
+            if (conversation.messages == null) {
+                // a smaller window would miss stored messages of the update and insert them again
+                conversation.messages = getLastMessages(chatId,
+                        windowSize == null ? null : Math.max(windowSize, list.size()));
+                conversation.messages.stream()
+                        .map(AstraDbChatMessage::messageTime)
+                        .filter(Objects::nonNull)
+                        .max(Instant::compareTo)
+                        .ifPresent(t -> conversation.lastTime = t);
+            }
+            List<AstraDbChatMessage> stored   = conversation.messages;
+            List<AstraDbChatMessage> updated  = new ArrayList<>(list.size());
+            List<AstraDbChatMessage> inserted = new ArrayList<>();
+            List<UUID> evicted = new ArrayList<>();
+            int next = 0;
+            for (ChatMessage message : list) {
+                AstraDbChatMessage candidate = new AstraDbChatMessage(message);
+                String fingerprint = fingerprint(candidate);
+                int found = -1;
+                for (int i = next; i < stored.size(); i++) {
+                    if (fingerprint.equals(fingerprint(stored.get(i)))) {
+                        found = i;
+                        break;
+                    }
+                }
+                if (found >= 0) {
+                    // messages skipped in between were evicted by the chat memory
+                    stored.subList(next, found).forEach(m -> evicted.add(m.messageId()));
+                    updated.add(stored.get(found));
+                    next = found + 1;
+                } else {
+                    conversation.lastTime = nextTime(conversation.lastTime);
+                    candidate.chatId(chatId.toString());
+                    candidate.messageId(UUID.randomUUID());
+                    candidate.messageTime(conversation.lastTime);
+                    inserted.add(candidate);
+                    updated.add(candidate);
+                }
+            }
+            stored.subList(next, stored.size()).forEach(m -> evicted.add(m.messageId()));
+            evicted.removeIf(Objects::isNull);
+            if (!evicted.isEmpty()) {
+                chatMemoryCollection().deleteMany(and(
+                        eq(AstraDbChatMessage.PROP_CHAT_ID, chatId),
+                        in(AstraDbChatMessage.PROP_MESSAGE_ID, evicted.toArray())));
+            }
+            if (!inserted.isEmpty()) {
+                chatMemoryCollection().insertMany(inserted);
+            }
+            conversation.messages = updated;
+            // the state may have been evicted while writing
+            conversations.put(chatId, conversation);
+            log.debug("Conversation {}: {} messages inserted, {} deleted", chatId, inserted.size(), evicted.size());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void deleteMessages(Object chatId) {
+        synchronized (lock(chatId)) {
+            conversations.remove(chatId);
+            super.deleteMessages(chatId);
+        }
+    }
+
+    /**
+     * Forget the state of a conversation, it is read again from the collection on next update.
+     *
+     * @param chatId
+     *      conversation id
+     */
+    public void evict(Object chatId) {
+        synchronized (lock(chatId)) {
+            conversations.remove(chatId);
+        }
+    }
+
+    /**
+     * Lock of a conversation.
+     *
+     * @param chatId
+     *      conversation id
+     * @return
+     *      lock shared with the conversations of the same stripe
+     */
+    private Object lock(Object chatId) {
+        return locks[Math.floorMod(chatId.hashCode(), locks.length)];
+    }
+
+    /**
+     * Time of a new message, strictly after the previous one to keep the order of a turn.
+     *
+     * @param lastTime
+     *      time of the previous message
+     * @return
+     *      time of the new message
+     */
+    private static Instant nextTime(Instant lastTime) {
+        Instant now = Instant.now();
+        Instant after = lastTime.plusMillis(1);
+        return now.isAfter(after) ? now : after;
+    }
+
+    /**
+     * Identify a message by its content, ids and times are not part of a {@link ChatMessage}.
+     *
+     * @param message
+     *      stored message
+     * @return
+     *      fingerprint
+     */
+    private static String fingerprint(AstraDbChatMessage message) {
+        return message.messageType() + "|" + message.name() + "|" + message.text() + "|" + message.toolExecutionRequests()
+                + "|" + message.contents();
+    }
+}
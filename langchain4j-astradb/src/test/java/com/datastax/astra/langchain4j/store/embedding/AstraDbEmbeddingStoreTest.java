@@ -0,0 +1,352 @@
+package com.datastax.astra.langchain4j.store.embedding;
+
+import com.datastax.astra.client.DataAPIClient;
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.CollectionOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.commands.results.CollectionInsertOneResult;
+import com.datastax.astra.client.collections.definition.documents.Document;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.paging.Page;
+import com.datastax.astra.client.core.query.Filter;
+import com.datastax.astra.client.core.vector.DataAPIVector;
+import com.datastax.astra.client.core.writer.BufferedWriter;
+import com.datastax.astra.client.core.writer.BufferedWriterOptions;
+import com.datastax.astra.internal.api.DataAPIResponse;
+import com.datastax.astra.internal.api.DataAPIStatus;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Mapping of the records, merge of the searches and streaming inserts, no database needed.
+ */
+class AstraDbEmbeddingStoreTest {
+
+    private final AstraDbEmbeddingStore store = new AstraDbEmbeddingStore(new DataAPIClient("token")
+            .getDatabase("http://localhost:8181")
+            .getCollection("test_store"));
+
+    private static TextSegment segment() {
+        return TextSegment.from("hello", new Metadata()
+                .put("name", "doc")
+                .put("page", 3)
+                .put("offset", 4_000_000_000L)
+                .put("ratio", 0.5d));
+    }
+
+    /** Document as read back from the Data API. */
+    private Document roundTrip(TextSegment segment) {
+        Document document = store.fromEmbeddingToDocument(Embedding.from(new float[] {0.1f, 0.2f}), segment);
+        document.put("_id", "id1");
+        return Document.parse(document.toJson());
+    }
+
+    @Test
+    void shouldReadMetadataAsStringsByDefault() {
+        EmbeddingMatch<TextSegment> match = store.fromDocumentToEmbeddingMatch(roundTrip(segment()));
+        Metadata metadata = match.embedded().metadata();
+        assertThat(match.embeddingId()).isEqualTo("id1");
+        assertThat(match.embedded().text()).isEqualTo("hello");
+        assertThat(metadata.toMap()).containsOnlyKeys("name", "page", "offset", "ratio");
+        assertThat(metadata.getString("name")).isEqualTo("doc");
+        assertThat(metadata.getString("page")).isEqualTo("3");
+        assertThat(metadata.getString("offset")).isEqualTo("4000000000");
+        assertThat(metadata.getString("ratio")).isEqualTo("0.5");
+        // typed getters still parse the strings
+        assertThat(metadata.getInteger("page")).isEqualTo(3);
+        assertThat(metadata.getDouble("ratio")).isEqualTo(0.5d);
+    }
+
+    /** Metadata value read back with the default settings. */
+    private Object readBack(Object value) {
+        Document document = new Document().id("id1").append(AstraDbEmbeddingStore.KEY_ATTRIBUTES_BLOB, "hello")
+                .append("value", value);
+        return store.fromDocumentToEmbeddingMatch(document).embedded().metadata().toMap().get("value");
+    }
+
+    @Test
+    void shouldReadStringAsStringByDefault() {
+        assertThat(readBack("doc")).isEqualTo("doc");
+    }
+
+    @Test
+    void shouldReadUuidAsStringByDefault() {
+        UUID uuid = UUID.randomUUID();
+        assertThat(readBack(uuid)).isEqualTo(uuid.toString());
+    }
+
+    @Test
+    void shouldReadIntegerAsStringByDefault() {
+        assertThat(readBack(3)).isEqualTo("3");
+    }
+
+    @Test
+    void shouldReadLongAsStringByDefault() {
+        assertThat(readBack(4_000_000_000L)).isEqualTo("4000000000");
+    }
+
+    @Test
+    void shouldReadFloatAsStringByDefault() {
+        assertThat(readBack(1.5f)).isEqualTo("1.5");
+    }
+
+    @Test
+    void shouldReadDoubleAsStringByDefault() {
+        assertThat(readBack(0.5d)).isEqualTo("0.5");
+    }
+
+    @Test
+    void shouldKeepMetadataTypesWhenEnabled() {
+        store.typedMetadata(true);
+        Metadata metadata = store.fromDocumentToEmbeddingMatch(roundTrip(segment())).embedded().metadata();
+        assertThat(metadata.getString("name")).isEqualTo("doc");
+        assertThat(metadata.getInteger("page")).isEqualTo(3);
+        assertThat(metadata.getLong("offset")).isEqualTo(4_000_000_000L);
+        assertThat(metadata.getDouble("ratio")).isEqualTo(0.5d);
+        assertThatThrownBy(() -> metadata.getString("page")).isInstanceOf(RuntimeException.class);
+    }
+
+    /**
+     * Collection returning the pages of a search from the first component of its query vector.
+     */
+    static class SearchCollection extends Collection<Document> {
+
+        /** Ids and similarities returned for a query, best first. */
+        private final Map<Float, List<Object[]>> results = new HashMap<>();
+
+        /** Threads running the searches. */
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        /** Counted down by each search, when set the searches wait for each other. */
+        private CountDownLatch concurrentSearches;
+
+        SearchCollection() {
+            super(new DataAPIClient("token").getDatabase("http://localhost:8181"), "test_store",
+                    new CollectionOptions("token", new DataAPIClientOptions()), Document.class);
+        }
+
+        SearchCollection results(float query, Object... idsAndSimilarities) {
+            List<Object[]> matches = new ArrayList<>();
+            for (int i = 0; i < idsAndSimilarities.length; i += 2) {
+                matches.add(new Object[] {idsAndSimilarities[i], idsAndSimilarities[i + 1]});
+            }
+            results.put(query, matches);
+            return this;
+        }
+
+        @Override
+        public Page<Document> findPage(Filter filter, CollectionFindOptions options) {
+            threads.add(Thread.currentThread().getName());
+            if (concurrentSearches != null) {
+                concurrentSearches.countDown();
+                try {
+                    assertThat(concurrentSearches.await(5, TimeUnit.SECONDS)).isTrue();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            float query = ((DataAPIVector) options.getSortArray()[0].getValue()).getEmbeddings()[0];
+            List<Document> page = results.get(query).stream()
+                    .limit(options.limit())
+                    .map(match -> new Document().id((String) match[0])
+                            .append(AstraDbEmbeddingStore.KEY_ATTRIBUTES_BLOB, "text " + match[0])
+                            .append(AstraDbEmbeddingStore.KEY_SIMILARITY, match[1]))
+                    .collect(Collectors.toList());
+            return new Page<>(null, page, null);
+        }
+    }
+
+    private static EmbeddingSearchRequest request(float query, int maxResults, double minScore) {
+        return EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {query, 0.5f}))
+                .maxResults(maxResults)
+                .minScore(minScore)
+                .build();
+    }
+
+    private static List<String> ids(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream().map(EmbeddingMatch::embeddingId).collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldFuseRankingsOfSearches() {
+        AstraDbEmbeddingStore searchStore = new AstraDbEmbeddingStore(new SearchCollection()
+                .results(1f, "a", 0.9d, "b", 0.8d, "c", 0.7d)
+                .results(2f, "c", 0.95d, "b", 0.6d));
+        List<EmbeddingMatch<TextSegment>> matches = searchStore
+                .searchAll(List.of(request(1f, 3, 0), request(2f, 3, 0)), true).matches();
+        // c: 1/63 + 1/61, b: 1/62 + 1/62, a: 1/61
+        assertThat(ids(matches)).containsExactly("c", "b", "a");
+        assertThat(matches.get(0).score()).isCloseTo(1d / 63 + 1d / 61, within(1e-9));
+        assertThat(matches.get(1).score()).isCloseTo(2d / 62, within(1e-9));
+        assertThat(matches.get(2).score()).isCloseTo(1d / 61, within(1e-9));
+        assertThat(matches.get(0).embedded().text()).isEqualTo("text c");
+    }
+
+    @Test
+    void shouldKeepBestSimilarityWithoutFusion() {
+        AstraDbEmbeddingStore searchStore = new AstraDbEmbeddingStore(new SearchCollection()
+                .results(1f, "a", 0.9d, "b", 0.8d, "c", 0.7d)
+                .results(2f, "c", 0.95d, "b", 0.6d));
+        List<EmbeddingMatch<TextSegment>> matches = searchStore
+                .searchAll(List.of(request(1f, 3, 0), request(2f, 3, 0))).matches();
+        assertThat(ids(matches)).containsExactly("c", "a", "b");
+        assertThat(matches.get(2).score()).isEqualTo(0.8d);
+    }
+
+    @Test
+    void shouldKeepOrderOfFirstSearchOnTies() {
+        AstraDbEmbeddingStore searchStore = new AstraDbEmbeddingStore(new SearchCollection()
+                .results(1f, "a", 0.9d, "b", 0.8d)
+                .results(2f, "c", 0.9d, "d", 0.8d));
+        assertThat(ids(searchStore.searchAll(List.of(request(1f, 4, 0), request(2f, 2, 0)), true).matches()))
+                .containsExactly("a", "c", "b", "d");
+        assertThat(ids(searchStore.searchAll(List.of(request(2f, 4, 0), request(1f, 2, 0)), true).matches()))
+                .containsExactly("c", "a", "d", "b");
+    }
+
+    @Test
+    void shouldFilterMinScoreBeforeFusionAndLimitAfter() {
+        AstraDbEmbeddingStore searchStore = new AstraDbEmbeddingStore(new SearchCollection()
+                .results(1f, "a", 0.9d, "b", 0.8d, "c", 0.7d)
+                .results(2f, "c", 0.95d, "d", 0.5d, "e", 0.4d));
+        // c is below the minimum of the first search, only its rank in the second one counts
+        List<EmbeddingMatch<TextSegment>> matches = searchStore
+                .searchAll(List.of(request(1f, 3, 0.75d), request(2f, 2, 0)), true).matches();
+        assertThat(ids(matches)).containsExactly("a", "c", "b");
+        assertThat(matches.get(1).score()).isCloseTo(1d / 61, within(1e-9));
+    }
+
+    @Test
+    void shouldRunSearchesConcurrentlyOutsideCommonPool() {
+        SearchCollection collection = new SearchCollection()
+                .results(1f, "a", 0.9d)
+                .results(2f, "b", 0.9d)
+                .results(3f, "c", 0.9d)
+                .results(4f, "d", 0.9d);
+        // each search waits for the others, a pool smaller than the requests would time out
+        collection.concurrentSearches = new CountDownLatch(4);
+        List<EmbeddingMatch<TextSegment>> matches = new AstraDbEmbeddingStore(collection).searchAll(List.of(
+                request(1f, 1, 0), request(2f, 1, 0), request(3f, 1, 0), request(4f, 1, 0))).matches();
+        assertThat(matches).hasSize(1);
+        assertThat(collection.threads).hasSize(4);
+        assertThat(collection.threads).noneMatch(name -> name.startsWith("ForkJoinPool"));
+    }
+
+    /**
+     * Collection inserting the documents in memory with the buffered writers it creates.
+     */
+    static class WriterCollection extends Collection<Document> {
+
+        /** Documents inserted. */
+        private final List<Document> documents = Collections.synchronizedList(new ArrayList<>());
+
+        /** Number of buffered writers created. */
+        private final AtomicInteger writers = new AtomicInteger();
+
+        WriterCollection() {
+            super(new DataAPIClient("token").getDatabase("http://localhost:8181"), "test_store",
+                    new CollectionOptions("token", new DataAPIClientOptions()), Document.class);
+        }
+
+        @Override
+        public BufferedWriter<Document, CollectionInsertOneResult> bufferedWriter(BufferedWriterOptions options) {
+            writers.incrementAndGet();
+            return new BufferedWriter<>(options, batch -> {
+                List<Object> ids = new ArrayList<>();
+                synchronized (documents) {
+                    for (Document document : batch) {
+                        ids.add("id" + documents.size());
+                        documents.add(document);
+                    }
+                }
+                DataAPIStatus status = new DataAPIStatus();
+                status.setInsertedIds(ids);
+                DataAPIResponse response = new DataAPIResponse();
+                response.setStatus(status);
+                return response;
+            }, (status, id) -> new CollectionInsertOneResult(id));
+        }
+    }
+
+    private static List<Embedding> embeddings(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Embedding.from(new float[] {i, 1f})).collect(Collectors.toList());
+    }
+
+    private static List<TextSegment> segments(int count) {
+        return IntStream.range(0, count).mapToObj(i -> TextSegment.from("text " + i)).collect(Collectors.toList());
+    }
+
+    @Test
+    void shouldReportEveryChunkOfStreamingInsert() {
+        WriterCollection collection = new WriterCollection();
+        AstraDbEmbeddingStore writerStore = new AstraDbEmbeddingStore(collection, 3, 2);
+        List<AstraDbInsertChunkResult> chunks = new ArrayList<>();
+        try {
+            assertThat(writerStore.addAll(embeddings(8).iterator(), segments(8).iterator(), chunks::add)).isEqualTo(8);
+        } finally {
+            writerStore.close();
+        }
+        assertThat(chunks).extracting(AstraDbInsertChunkResult::getOffset).containsExactlyInAnyOrder(0L, 3L, 6L);
+        assertThat(chunks.stream().mapToInt(chunk -> chunk.getIds().size()).sum()).isEqualTo(8);
+        assertThat(chunks).allMatch(chunk -> chunk.getErrors().isEmpty());
+        assertThat(collection.documents).hasSize(8);
+    }
+
+    @Test
+    void shouldReportPartialChunkWhenSizesDiffer() {
+        WriterCollection collection = new WriterCollection();
+        AstraDbEmbeddingStore writerStore = new AstraDbEmbeddingStore(collection, 2, 2);
+        List<AstraDbInsertChunkResult> chunks = new ArrayList<>();
+        try {
+            assertThatThrownBy(() -> writerStore.addAll(embeddings(5).iterator(), segments(3).iterator(), chunks::add))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            writerStore.close();
+        }
+        // the third record was sent before the size difference was found
+        assertThat(collection.documents).hasSize(3);
+        assertThat(chunks).extracting(AstraDbInsertChunkResult::getOffset).containsExactlyInAnyOrder(0L, 2L);
+        assertThat(chunks.stream().mapToInt(chunk -> chunk.getIds().size()).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldShareWriterBetweenStreamingInserts() {
+        WriterCollection collection = new WriterCollection();
+        AstraDbEmbeddingStore writerStore = new AstraDbEmbeddingStore(collection, 2, 2);
+        try {
+            writerStore.addAll(embeddings(3).iterator(), null, null);
+            writerStore.addAll(null, segments(3).iterator(), null);
+            assertThat(collection.writers.get()).isEqualTo(1);
+        } finally {
+            writerStore.close();
+        }
+        assertThat(collection.documents).hasSize(6);
+        // a new writer is started after close
+        writerStore.addAll(embeddings(1).iterator(), null, null);
+        writerStore.close();
+        assertThat(collection.writers.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,201 @@
+package com.datastax.astra.langchain4j.store.memory;
+
+import com.datastax.astra.client.DataAPIClient;
+import com.datastax.astra.client.collections.Collection;
+import com.datastax.astra.client.collections.CollectionOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionDeleteManyOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionFindOptions;
+import com.datastax.astra.client.collections.commands.options.CollectionInsertManyOptions;
+import com.datastax.astra.client.collections.commands.results.CollectionDeleteResult;
+import com.datastax.astra.client.collections.commands.results.CollectionInsertManyResult;
+import com.datastax.astra.client.collections.commands.cursor.CollectionFindCursor;
+import com.datastax.astra.client.core.options.DataAPIClientOptions;
+import com.datastax.astra.client.core.query.Filter;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.UserMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Diff of the conversations against an in-memory collection, no database needed.
+ */
+class AstraDbIncrementalChatMemoryStoreTest {
+
+    private static final String CHAT_ID = "chat1";
+
+    /**
+     * Collection keeping the messages in memory.
+     */
+    static class StubCollection extends Collection<AstraDbChatMessage> {
+
+        final List<AstraDbChatMessage> rows = new ArrayList<>();
+
+        int inserts;
+
+        int deletes;
+
+        /** Released to let the inserts complete, open when null. */
+        volatile CountDownLatch insertGate;
+
+        /** Counted down when an insert is waiting on the gate. */
+        final CountDownLatch insertStarted = new CountDownLatch(1);
+
+        StubCollection() {
+            super(new DataAPIClient("token").getDatabase("http://localhost:8181"), "chat_memory",
+                    new CollectionOptions("token", new DataAPIClientOptions()), AstraDbChatMessage.class);
+        }
+
+        @Override
+        public CollectionFindCursor<AstraDbChatMessage, AstraDbChatMessage> find(Filter filter, CollectionFindOptions options) {
+            return new CollectionFindCursor<>(this, filter, options, AstraDbChatMessage.class) {
+                @Override
+                public List<AstraDbChatMessage> toList() {
+                    synchronized (rows) {
+                        return rows.stream()
+                                .filter(m -> m.chatId().equals(filter.get(AstraDbChatMessage.PROP_CHAT_ID)))
+                                .sorted(Comparator.comparing(AstraDbChatMessage::messageTime, Comparator.reverseOrder()))
+                                .limit(options.limit() == null ? Long.MAX_VALUE : options.limit())
+                                .collect(Collectors.toList());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public CollectionInsertManyResult insertMany(List<? extends AstraDbChatMessage> documents, CollectionInsertManyOptions options) {
+            CountDownLatch gate = insertGate;
+            if (gate != null) {
+                insertStarted.countDown();
+                try {
+                    gate.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (rows) {
+                inserts++;
+                rows.addAll(documents);
+            }
+            return new CollectionInsertManyResult();
+        }
+
+        @Override
+        public CollectionDeleteResult deleteMany(Filter filter, CollectionDeleteManyOptions options) {
+            String json = filter.toJson();
+            synchronized (rows) {
+                deletes++;
+                int size = rows.size();
+                rows.removeIf(m -> json.contains(m.chatId())
+                        && (!json.contains("$in") || json.contains(m.messageId().toString())));
+                return new CollectionDeleteResult(size - rows.size());
+            }
+        }
+
+        List<String> texts() {
+            synchronized (rows) {
+                return rows.stream()
+                        .sorted(Comparator.comparing(AstraDbChatMessage::messageTime))
+                        .map(AstraDbChatMessage::text)
+                        .collect(Collectors.toList());
+            }
+        }
+    }
+
+    private final StubCollection collection = new StubCollection();
+
+    private final AstraDbIncrementalChatMemoryStore store = new AstraDbIncrementalChatMemoryStore(collection);
+
+    private static List<ChatMessage> messages(ChatMessage... messages) {
+        return List.of(messages);
+    }
+
+    @Test
+    void shouldInsertOnlyNewMessages() {
+        store.updateMessages(CHAT_ID, messages(SystemMessage.from("sys"), UserMessage.from("q1")));
+        store.updateMessages(CHAT_ID, messages(SystemMessage.from("sys"), UserMessage.from("q1"),
+                AiMessage.from("a1"), UserMessage.from("q2")));
+        assertThat(collection.texts()).containsExactly("sys", "q1", "a1", "q2");
+        assertThat(collection.inserts).isEqualTo(2);
+        assertThat(collection.deletes).isEqualTo(0);
+    }
+
+    @Test
+    void shouldDeleteMessagesEvictedByChatMemory() {
+        store.updateMessages(CHAT_ID, messages(SystemMessage.from("sys"), UserMessage.from("q1"),
+                AiMessage.from("a1"), UserMessage.from("q2")));
+        store.updateMessages(CHAT_ID, messages(SystemMessage.from("sys"),
+                AiMessage.from("a1"), UserMessage.from("q2"), AiMessage.from("a2")));
+        assertThat(collection.texts()).containsExactly("sys", "a1", "q2", "a2");
+        assertThat(collection.inserts).isEqualTo(2);
+        assertThat(collection.deletes).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompareAllContentsOfMessages() {
+        store.updateMessages(CHAT_ID, messages(
+                UserMessage.from(TextContent.from("look"), new ImageContent("http://host/cat.png"))));
+        store.updateMessages(CHAT_ID, messages(
+                UserMessage.from(TextContent.from("look"), new ImageContent("http://host/dog.png"))));
+        assertThat(collection.rows).hasSize(1);
+        assertThat(((ImageContent) collection.rows.get(0).contents().get(1).asContent()).image().url())
+                .isEqualTo("http://host/dog.png");
+    }
+
+    @Test
+    void shouldLoadEnoughMessagesWhenWindowIsSmallerThanMemory() {
+        List<ChatMessage> turn = messages(SystemMessage.from("sys"), UserMessage.from("q1"),
+                AiMessage.from("a1"), UserMessage.from("q2"));
+        store.windowSize(2).updateMessages(CHAT_ID, turn);
+        // another instance resumes the conversation
+        AstraDbIncrementalChatMemoryStore resumed = new AstraDbIncrementalChatMemoryStore(collection).windowSize(2);
+        List<ChatMessage> next = new ArrayList<>(turn);
+        next.add(AiMessage.from("a2"));
+        resumed.updateMessages(CHAT_ID, next);
+        assertThat(collection.texts()).containsExactly("sys", "q1", "a1", "q2", "a2");
+        assertThat(collection.deletes).isEqualTo(0);
+    }
+
+    @Test
+    void shouldRejectEmptyWindow() {
+        assertThatThrownBy(() -> store.windowSize(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldWaitForUpdateBeforeDeletingConversation() throws Exception {
+        collection.insertGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> update = executor.submit(() -> store.updateMessages(CHAT_ID, messages(UserMessage.from("q1"))));
+            assertThat(collection.insertStarted.await(10, TimeUnit.SECONDS)).isTrue();
+            Future<?> delete = executor.submit(() -> store.deleteMessages(CHAT_ID));
+            Thread.sleep(200);
+            assertThat(delete.isDone()).isFalse();
+            collection.insertGate.countDown();
+            update.get(10, TimeUnit.SECONDS);
+            delete.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(collection.rows).isEmpty();
+        // the state was dropped with the messages
+        collection.insertGate = null;
+        store.updateMessages(CHAT_ID, messages(UserMessage.from("q1")));
+        assertThat(collection.texts()).containsExactly("q1");
+    }
+}